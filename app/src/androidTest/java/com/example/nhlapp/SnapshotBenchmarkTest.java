@@ -0,0 +1,283 @@
+package com.example.nhlapp;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.nhlapp.Objects.Game;
+import com.example.nhlapp.Objects.NHLPlayer;
+import com.example.nhlapp.Objects.Team;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Cold start load time of the binary snapshot against the old JSON files,
+ * using a full regular season (1312 games) and 800 players. Results are logged
+ * under the SnapshotBenchmark tag.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SnapshotBenchmarkTest {
+    private static final String TAG = "SnapshotBenchmark";
+    private static final String SEASON = "20242025";
+    private static final int TEAM_COUNT = 32;
+    private static final int GAME_COUNT = 1312;
+    private static final int PLAYER_COUNT = 800;
+    private static final int RUNS = 5;
+
+    private File dir;
+    private List<Team> teams;
+    private List<NHLPlayer> players;
+    private List<Game> games;
+
+    @Before
+    public void setUp() throws Exception {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        dir = new File(context.getCacheDir(), "snapshot_benchmark");
+        dir.mkdirs();
+
+        teams = new ArrayList<>();
+        for (int t = 0; t < TEAM_COUNT; t++) {
+            Team team = new Team();
+            team.setTeamID(t + 1);
+            team.setName("Team " + (t + 1));
+            team.setAbreviatedName("T" + (t + 1));
+            team.setLogoPath("/data/logos/T" + (t + 1) + ".png");
+            teams.add(team);
+        }
+
+        players = new ArrayList<>();
+        for (int p = 0; p < PLAYER_COUNT; p++) {
+            NHLPlayer player = new NHLPlayer();
+            player.setPlayerId(8470000 + p);
+            player.setName("Player " + p);
+            player.setTeamId(p % TEAM_COUNT + 1);
+            player.setHeadshotPath("");
+            players.add(player);
+        }
+
+        games = new ArrayList<>();
+        for (int g = 0; g < GAME_COUNT; g++) {
+            Game game = new Game();
+            game.setGameId(2024020001 + g);
+            game.setGameDate(String.format("2024-%02d-%02d", 10 + (g / 224) % 3, 1 + (g / 8) % 28));
+            game.setHomeTeamId(g % TEAM_COUNT + 1);
+            game.setAwayTeamId((g + 7) % TEAM_COUNT + 1);
+            game.setHomeScore(g % 6);
+            game.setAwayScore(g % 5);
+            game.setHomeTeamName("Team " + (g % TEAM_COUNT + 1));
+            game.setAwayTeamName("Team " + ((g + 7) % TEAM_COUNT + 1));
+            game.setTimeStatus("OFF");
+            games.add(game);
+        }
+
+        writeJsonFiles();
+        int[] seasonIds = new int[games.size()];
+        for (int i = 0; i < seasonIds.length; i++) {
+            seasonIds[i] = games.get(i).getGameId();
+        }
+        Map<String, int[]> seasonGameIds = new HashMap<>();
+        seasonGameIds.put(SEASON, seasonIds);
+        List<String> seasons = new ArrayList<>();
+        seasons.add(SEASON);
+        SnapshotStore.write(new File(dir, SnapshotStore.SNAPSHOT_FILE), teams, players, games, seasons, seasonGameIds);
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    @Test
+    public void snapshotRoundTrip() throws Exception {
+        SnapshotStore.Snapshot snapshot = SnapshotStore.read(new File(dir, SnapshotStore.SNAPSHOT_FILE));
+        assertNotNull(snapshot);
+        assertEquals(TEAM_COUNT, snapshot.teams.size());
+        assertEquals(PLAYER_COUNT, snapshot.players.size());
+        assertEquals(GAME_COUNT, snapshot.games.size());
+        assertEquals(GAME_COUNT, snapshot.seasonGameIds.get(SEASON).length);
+
+        Game first = snapshot.games.get(0);
+        assertEquals(games.get(0).getGameId(), first.getGameId());
+        assertEquals(games.get(0).getGameDate(), first.getGameDate());
+        assertEquals(games.get(0).getHomeTeamName(), first.getHomeTeamName());
+        assertEquals(games.get(0).getAwayScore(), first.getAwayScore());
+    }
+
+    @Test
+    public void compareColdStartLoad() throws Exception {
+        // Warm up the class loader and JIT for both paths before timing
+        loadJson();
+        SnapshotStore.read(new File(dir, SnapshotStore.SNAPSHOT_FILE));
+
+        long jsonNanos = Long.MAX_VALUE;
+        long snapshotNanos = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            int jsonGames = loadJson();
+            jsonNanos = Math.min(jsonNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            SnapshotStore.Snapshot snapshot = SnapshotStore.read(new File(dir, SnapshotStore.SNAPSHOT_FILE));
+            snapshotNanos = Math.min(snapshotNanos, System.nanoTime() - start);
+
+            assertEquals(jsonGames, snapshot.games.size());
+        }
+
+        long jsonBytes = 0;
+        for (String name : new String[]{"teams.json", "players.json", "games.json", "gamesBySeason.json"}) {
+            jsonBytes += new File(dir, name).length();
+        }
+        long snapshotBytes = new File(dir, SnapshotStore.SNAPSHOT_FILE).length();
+
+        Log.i(TAG, String.format("JSON: %.2fms %d bytes, snapshot: %.2fms %d bytes",
+                jsonNanos / 1e6, jsonBytes, snapshotNanos / 1e6, snapshotBytes));
+    }
+
+    /**
+     * Same work DataManager did at startup before the snapshot existed
+     */
+    private int loadJson() throws Exception {
+        JSONArray teamArray = new JSONArray(readFile("teams.json"));
+        for (int i = 0; i < teamArray.length(); i++) {
+            JSONObject teamJson = teamArray.getJSONObject(i);
+            Team team = new Team();
+            team.setTeamID(teamJson.getInt("id"));
+            team.setName(teamJson.getString("name"));
+            team.setLogoUrl(teamJson.optString("logoPath", ""));
+        }
+
+        JSONArray playerArray = new JSONArray(readFile("players.json"));
+        for (int i = 0; i < playerArray.length(); i++) {
+            JSONObject playerJson = playerArray.getJSONObject(i);
+            NHLPlayer player = new NHLPlayer();
+            player.setPlayerId(playerJson.getInt("id"));
+            player.setName(playerJson.getString("name"));
+            player.setTeamId(playerJson.getInt("teamId"));
+            player.setHeadshotPath(playerJson.optString("headshotPath", ""));
+        }
+
+        int loaded = 0;
+        JSONArray gameArray = new JSONArray(readFile("games.json"));
+        for (int i = 0; i < gameArray.length(); i++) {
+            parseGame(gameArray.getJSONObject(i));
+            loaded++;
+        }
+
+        JSONObject seasonObject = new JSONObject(readFile("gamesBySeason.json"));
+        JSONArray seasonGames = seasonObject.getJSONArray(SEASON);
+        for (int i = 0; i < seasonGames.length(); i++) {
+            Game game = parseGame(seasonGames.getJSONObject(i));
+            game.setHomeTeamName(seasonGames.getJSONObject(i).optString("homeName", ""));
+            game.setAwayTeamName(seasonGames.getJSONObject(i).optString("awayName", ""));
+        }
+        return loaded;
+    }
+
+    private Game parseGame(JSONObject gameJson) throws Exception {
+        Game game = new Game();
+        game.setGameId(gameJson.getInt("id"));
+        game.setGameDate(gameJson.getString("date"));
+        game.setHomeTeamId(gameJson.getInt("homeTeamId"));
+        game.setAwayTeamId(gameJson.getInt("awayTeamId"));
+        game.setHomeScore(gameJson.optInt("homeScore", -1));
+        game.setAwayScore(gameJson.optInt("awayScore", -1));
+        return game;
+    }
+
+    /**
+     * Writes the files in the layout JsonHelper used
+     */
+    private void writeJsonFiles() throws Exception {
+        JSONArray teamArray = new JSONArray();
+        for (Team team : teams) {
+            JSONObject teamJson = new JSONObject();
+            teamJson.put("id", team.getTeamID());
+            teamJson.put("name", team.getName());
+            teamJson.put("logoPath", team.getLogoPath());
+            teamJson.put("rosterPlayerIds", new JSONArray());
+            teamArray.put(teamJson);
+        }
+        writeFile("teams.json", teamArray.toString());
+
+        JSONArray playerArray = new JSONArray();
+        for (NHLPlayer player : players) {
+            JSONObject playerJson = new JSONObject();
+            playerJson.put("id", player.getPlayerId());
+            playerJson.put("name", player.getName());
+            playerJson.put("teamId", player.getTeamId());
+            playerJson.put("headshotPath", player.getHeadshotPath());
+            playerArray.put(playerJson);
+        }
+        writeFile("players.json", playerArray.toString());
+
+        JSONArray gameArray = new JSONArray();
+        JSONArray seasonArray = new JSONArray();
+        for (Game game : games) {
+            JSONObject gameJson = new JSONObject();
+            gameJson.put("id", game.getGameId());
+            gameJson.put("date", game.getGameDate());
+            gameJson.put("homeTeamId", game.getHomeTeamId());
+            gameJson.put("awayTeamId", game.getAwayTeamId());
+            gameJson.put("homeScore", game.getHomeScore());
+            gameJson.put("awayScore", game.getAwayScore());
+            gameArray.put(gameJson);
+
+            JSONObject seasonGameJson = new JSONObject(gameJson.toString());
+            seasonGameJson.put("homeName", game.getHomeTeamName());
+            seasonGameJson.put("awayName", game.getAwayTeamName());
+            seasonArray.put(seasonGameJson);
+        }
+        writeFile("games.json", gameArray.toString());
+        JSONObject seasonObject = new JSONObject();
+        seasonObject.put(SEASON, seasonArray);
+        writeFile("gamesBySeason.json", seasonObject.toString());
+    }
+
+    private void writeFile(String name, String data) throws IOException {
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(new File(dir, name)), StandardCharsets.UTF_8)) {
+            writer.write(data);
+        }
+    }
+
+    private String readFile(String name) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        char[] buffer = new char[8192];
+        try (Reader reader = new InputStreamReader(new FileInputStream(new File(dir, name)), StandardCharsets.UTF_8)) {
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                builder.append(buffer, 0, read);
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -2,7 +2,6 @@ package com.example.nhlapp.Activities;
 
 import android.content.Intent;
 import android.os.Bundle;
-import android.os.Handler;
 import android.util.Log;
 import android.view.View;
 import android.widget.AdapterView;
@@ -19,13 +18,20 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.nhlapp.Adapters.DateAdapter;
 import com.example.nhlapp.Adapters.GameAdapter;
 import com.example.nhlapp.AltImageDownloader;
+import com.example.nhlapp.AssetDownloadScheduler;
 import com.example.nhlapp.AsyncApiClient;
 import com.example.nhlapp.DataCallback;
 import com.example.nhlapp.DataManager;
+import com.example.nhlapp.GameDateIndex;
 import com.example.nhlapp.ImageHelper;
+import com.example.nhlapp.IntObjectMap;
+import com.example.nhlapp.LiveGameEngine;
+import com.example.nhlapp.PlayByPlayFeed;
 import com.example.nhlapp.Objects.Game;
+import com.example.nhlapp.Objects.Play;
 import com.example.nhlapp.Objects.Team;
 import com.example.nhlapp.R;
+import com.example.nhlapp.StreamingJsonParser;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -34,19 +40,14 @@ import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.URL;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Calendar;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -55,7 +56,6 @@ public class DatesActivity extends AppCompatActivity {
     private static final String BASE_URL = "https://api-web.nhle.com/v1";
     private static final String STATS_BASE_URL = "https://api.nhle.com/stats/rest/en";
     private static final String TAG = "DatesActivity";
-    private static final long LIVE_UPDATE_INTERVAL = 15000; // 15 seconds
 
     // UI Components
     private RecyclerView dateRecyclerView;
@@ -73,15 +73,17 @@ public class DatesActivity extends AppCompatActivity {
     private AsyncApiClient apiClient;
     private String selectedDate;
     private String currentSeason;
-    private Map<String, List<Game>> gamesByDateCache;
+    // Games of the current season by id and the season's dates, swapped together on the UI thread
+    private IntObjectMap<Game> seasonGamesById;
+    private GameDateIndex seasonDateIndex;
 
     private List<String> seasons;
     private List<Team> allTeams;
     private List<Team> currentTeams;
 
     // Live updates
-    private Handler liveUpdateHandler;
-    private Runnable liveUpdateRunnable;
+    private LiveGameEngine liveGameEngine;
+    private PlayByPlayFeed playByPlayFeed;
     private boolean isLiveUpdatesEnabled = false;
     private boolean isUserSelection = false;
     private boolean isUpdatingSpinner = false;
@@ -118,8 +120,13 @@ public class DatesActivity extends AppCompatActivity {
     private void initializeComponents() {
         dataManager = DataManager.getInstance();
         apiClient = new AsyncApiClient();
-        gamesByDateCache = new HashMap<>();
-        liveUpdateHandler = new Handler();
+        seasonGamesById = new IntObjectMap<>();
+        seasonDateIndex = GameDateIndex.EMPTY;
+        liveGameEngine = new LiveGameEngine(apiClient);
+        liveGameEngine.addListener(this::onLiveGameChanged);
+        playByPlayFeed = new PlayByPlayFeed(apiClient);
+        playByPlayFeed.addListener(this::onLivePlaysAdded);
+        liveGameEngine.setPlayByPlayFeed(playByPlayFeed);
         currentSeason = "20242025";
         imageDownloader = new AltImageDownloader(this);
         imageHelper = ImageHelper.getInstance(this);
@@ -318,8 +325,8 @@ public class DatesActivity extends AppCompatActivity {
                         newTeam.setAbreviatedName(teamObj.getString("triCode"));
                         newTeam.setFullName(teamObj.getString("fullName"));
                         allTeams.add(newTeam);
-                        DataManager.getInstance().addTeam(newTeam);
                     }
+                    DataManager.getInstance().addTeams(allTeams);
 
                     Log.d(TAG, "Got teams: " + allTeams.size());
 
@@ -359,18 +366,23 @@ public class DatesActivity extends AppCompatActivity {
         AtomicInteger completedRequests = new AtomicInteger(0);
         AtomicInteger successfulRequests = new AtomicInteger(0);
 
-        List<AsyncApiClient.ApiRequest<String>> requests = new ArrayList<>();
+        List<AsyncApiClient.ApiRequest<List<Game>>> requests = new ArrayList<>();
         currentTeams.clear();
         for(Team team: allTeams){
             String apiUrl = "https://api-web.nhle.com/v1/club-schedule-season/" + team.getAbreviatedName() + "/" + currentSeason;
 
-            AsyncApiClient.ApiRequest<String> request = new AsyncApiClient.ApiRequest<>(
+            AsyncApiClient.ApiRequest<List<Game>> request = new AsyncApiClient.ApiRequest<>(
                     apiUrl,
-                    new AsyncApiClient.ApiCallback<String>() {
+                    new AsyncApiClient.ApiCallback<List<Game>>() {
                         @Override
-                        public void onSuccess(String response) {
+                        public void onSuccess(List<Game> teamGames) {
                             try {
-                                List<Game> teamGames = parseTeamScheduleResponse(response, team.getAbreviatedName());
+                                // One publish per schedule, not a map copy per team per game
+                                List<Team> resolvedTeams = new ArrayList<>(teamGames.size() * 2);
+                                for (Game game : teamGames) {
+                                    resolveGameTeams(game, resolvedTeams);
+                                }
+                                DataManager.getInstance().addTeams(resolvedTeams);
                                 Log.d("LoadTeamsAndSchedules", "Parsed " + teamGames.size() + " games for " + team.getAbreviatedName());
                                 if(!teamGames.isEmpty())
                                     currentTeams.add(team);
@@ -378,8 +390,7 @@ public class DatesActivity extends AppCompatActivity {
                                 // Add unique games to the collection
                                 synchronized (uniqueGameIds) {
                                     for (Game game : teamGames) {
-                                        if (!uniqueGameIds.contains(game.getGameId())) {
-                                            uniqueGameIds.add(game.getGameId());
+                                        if (uniqueGameIds.add(game.getGameId())) {
                                             Log.d("DatesActivity", "Adding game with " + game.getHomeTeamName() + " and " + game.getAwayTeamName());
                                             Log.d("DatesActivity", "Adding game homer team with " + game.getHomeTeam().getAbreviatedName() + " and " +  game.getHomeTeam().getFullName());
                                             Log.d("DatesActivity", "Adding game away team with " + game.getAwayTeam().getAbreviatedName() + " and " +  game.getAwayTeam().getFullName());
@@ -404,7 +415,7 @@ public class DatesActivity extends AppCompatActivity {
                             checkIfAllRequestsComplete(completedRequests, allGames);
                         }
                     },
-                    String.class,
+                    StreamingJsonParser::parseClubSchedule,
                     isLoadingCancelled
             );
 
@@ -521,7 +532,7 @@ public class DatesActivity extends AppCompatActivity {
         if (teamsWithExistingLogos > 0) {
             runOnUiThread(() -> {
                 if (gameAdapter != null) {
-                    gameAdapter.notifyDataSetChanged();
+                    gameAdapter.submitGames(games);
                 }
             });
         }
@@ -530,7 +541,8 @@ public class DatesActivity extends AppCompatActivity {
         if (!teamsWithoutLogos.isEmpty()) {
             Log.d(TAG, "Starting downloads for " + teamsWithoutLogos.size() + " teams");
 
-            imageDownloader.downloadTeamLogos(teamsWithoutLogos, new AltImageDownloader.DownloadCallback() {
+            // These are the logos of the games on screen
+            imageDownloader.downloadTeamLogos(teamsWithoutLogos, AssetDownloadScheduler.Priority.INTERACTIVE, new AltImageDownloader.DownloadCallback() {
                 @Override
                 public void onComplete(int successful, int failed, int skipped) {
                     Log.d(TAG, "Logo downloads completed: " + successful + " successful, " + failed + " failed, " + skipped + " skipped");
@@ -548,7 +560,7 @@ public class DatesActivity extends AppCompatActivity {
                     runOnUiThread(() -> {
                         // Final refresh to show all logos
                         if (gameAdapter != null) {
-                            gameAdapter.notifyDataSetChanged();
+                            gameAdapter.submitGames(games);
                         }
 
                         // Show completion message
@@ -587,7 +599,7 @@ public class DatesActivity extends AppCompatActivity {
                     // Update UI immediately when each logo is downloaded
                     runOnUiThread(() -> {
                         if (gameAdapter != null) {
-                            gameAdapter.notifyDataSetChanged();
+                            gameAdapter.submitGames(games);
                         }
                     });
                 }
@@ -605,21 +617,23 @@ public class DatesActivity extends AppCompatActivity {
         DataManager.getInstance().addTeam(updatedTeam);
 
         // Update team references in all cached games
-        for (List<Game> gameList : gamesByDateCache.values()) {
-            for (Game game : gameList) {
-                if (game.homeTeam != null && game.homeTeam.getTeamID() == updatedTeam.getTeamID()) {
-                    // Update home team logo path
-                    game.homeTeam.setLogoPath(updatedTeam.getLogoPath());
-                    if (updatedTeam.getLogoUrl() != null) {
-                        game.homeTeam.setLogoUrl(updatedTeam.getLogoUrl());
-                    }
+        IntObjectMap<Game> currentGames = seasonGamesById;
+        for (int slot = 0; slot < currentGames.capacity(); slot++) {
+            Game game = currentGames.valueAt(slot);
+            if (game == null) continue;
+
+            if (game.homeTeam != null && game.homeTeam.getTeamID() == updatedTeam.getTeamID()) {
+                // Update home team logo path
+                game.homeTeam.setLogoPath(updatedTeam.getLogoPath());
+                if (updatedTeam.getLogoUrl() != null) {
+                    game.homeTeam.setLogoUrl(updatedTeam.getLogoUrl());
                 }
-                if (game.awayTeam != null && game.awayTeam.getTeamID() == updatedTeam.getTeamID()) {
-                    // Update away team logo path
-                    game.awayTeam.setLogoPath(updatedTeam.getLogoPath());
-                    if (updatedTeam.getLogoUrl() != null) {
-                        game.awayTeam.setLogoUrl(updatedTeam.getLogoUrl());
-                    }
+            }
+            if (game.awayTeam != null && game.awayTeam.getTeamID() == updatedTeam.getTeamID()) {
+                // Update away team logo path
+                game.awayTeam.setLogoPath(updatedTeam.getLogoPath());
+                if (updatedTeam.getLogoUrl() != null) {
+                    game.awayTeam.setLogoUrl(updatedTeam.getLogoUrl());
                 }
             }
         }
@@ -671,247 +685,51 @@ public class DatesActivity extends AppCompatActivity {
     }
 
 
-    private List<Game> parseTeamScheduleResponse(String response, String teamAbbr) {
-        List<Game> addingGames = new ArrayList<>();
-
-        try {
-            JSONObject jsonResponse = new JSONObject(response);
-            Log.d("parseTeamScheduleResponse", response);
-            if (jsonResponse.has("games") && jsonResponse.has("currentSeason")) {
-                JSONArray gamesArray = jsonResponse.getJSONArray("games");
-
-                for (int i = 0; i < gamesArray.length(); i++) {
-                    JSONObject gameJson = gamesArray.getJSONObject(i);
-                    Game game = parseGameFromJson(gameJson);
-                    if (game != null) {
-                        addingGames.add(game);
-                    }
-                }
-            }
-
-        } catch (Exception e) {
-            Log.e(TAG, "Error parsing team schedule response for " + teamAbbr, e);
+    /**
+     * Fill in full names and logos for the bare teams the schedule parser produced,
+     * collecting them in resolved for the caller to publish in one go
+     */
+    private void resolveGameTeams(Game game, List<Team> resolved) {
+        Team homeTeam = game.getHomeTeam();
+        if (homeTeam != null) {
+            resolveScheduleTeam(homeTeam);
+            resolved.add(homeTeam);
+            game.setHomeTeamName(homeTeam.getAbreviatedName());
         }
 
-        return addingGames;
-    }
-
-//    private Game parseGameFromJson(org.json.JSONObject gameJson) {
-//        try {
-//            Game game = new Game();
-//            game.setGameId(gameJson.getInt("id"));
-//            game.setGameDate(gameJson.getString("gameDate"));
-//
-//            // Parse home team
-//            if (gameJson.has("homeTeam")) {
-//                org.json.JSONObject homeTeamJson = gameJson.getJSONObject("homeTeam");
-//                Team homeTeam = parseTeamFromGameJson(homeTeamJson);
-//                game.homeTeam = homeTeam;
-//
-//                // Set score
-//                if (homeTeamJson.has("score")) {
-//                    game.setHomeScore(homeTeamJson.getInt("score"));
-//                }
-//            }
-//
-//            // Parse away team
-//            if (gameJson.has("awayTeam")) {
-//                org.json.JSONObject awayTeamJson = gameJson.getJSONObject("awayTeam");
-//                Team awayTeam = parseTeamFromGameJson(awayTeamJson);
-//                game.awayTeam = awayTeam;
-//
-//                // Set score
-//                if (awayTeamJson.has("score")) {
-//                    game.setAwayScore(awayTeamJson.getInt("score"));
-//                }
-//            }
-//
-//            // Parse game state/status
-//            String gameState = gameJson.optString("gameState", "Unknown");
-//            if ("FUT".equalsIgnoreCase(gameState) || "PRE".equalsIgnoreCase(gameState)) {
-//                if (gameJson.has("startTimeUTC")) {
-//                    String startTime = gameJson.getString("startTimeUTC");
-//                    game.setStartTime(startTime);
-//                }
-//            }
-//
-//            return game;
-//        } catch (Exception e) {
-//            Log.e(TAG, "Error parsing individual game JSON", e);
-//            return null;
-//        }
-//    }
-
-    private Team parseTeamFromGameJson(org.json.JSONObject teamJson) {
-        Team team = new Team();
-
-        try {
-            // Set basic team info
-            team.setTeamID(teamJson.getInt("id"));
-            team.setAbreviatedName(teamJson.optString("abbrev", ""));
-
-            // Extract and set logo URL from API response
-            if (teamJson.has("logo")) {
-                String logoUrl = teamJson.getString("logo");
-                team.setLogoUrl(logoUrl);
-                Log.d(TAG, "Set logoUrl for " + team.getAbreviatedName() + ": " + logoUrl);
-            } else {
-                // Build logo URL if not provided
-                String builtUrl = buildLogoUrlForTeam(team);
-                team.setLogoUrl(builtUrl);
-                Log.d(TAG, "Built logoUrl for " + team.getAbreviatedName() + ": " + builtUrl);
-            }
-
-            // Add to DataManager for future reference
-            DataManager.getInstance().addTeam(team);
-
-            // Find and merge with full team info if available
-            Team fullTeamInfo = findTeamById(team.getTeamID());
-            if (fullTeamInfo != null) {
-                // Copy full name and other details
-                team.setFullName(fullTeamInfo.getFullName());
-
-                // Update abbreviation if it wasn't set properly
-                if (team.getAbreviatedName().isEmpty()) {
-                    team.setAbreviatedName(fullTeamInfo.getAbreviatedName());
-                }
-
-                // Preserve existing logo URL if the full team info doesn't have one
-                if (fullTeamInfo.getLogoUrl() == null || fullTeamInfo.getLogoUrl().trim().isEmpty()) {
-                    fullTeamInfo.setLogoUrl(team.getLogoUrl());
-                }
-            } else {
-                // Fallback: set full name based on abbreviation
-                if (!team.getAbreviatedName().isEmpty()) {
-                    team.setFullName(getFullTeamName(team.getAbreviatedName()));
-                }
-            }
-
-        } catch (Exception e) {
-            Log.e(TAG, "Error parsing team from game JSON", e);
+        Team awayTeam = game.getAwayTeam();
+        if (awayTeam != null) {
+            resolveScheduleTeam(awayTeam);
+            resolved.add(awayTeam);
+            game.setAwayTeamName(awayTeam.getAbreviatedName());
         }
 
-        return team;
+        // Only upcoming games keep their start time
+        String gameState = game.getTimeStatus();
+        if (!"FUT".equalsIgnoreCase(gameState) && !"PRE".equalsIgnoreCase(gameState)) {
+            game.setStartTime(null);
+        }
     }
 
-    private Game parseGameFromJson(org.json.JSONObject gameJson) {
-        try {
-            Game game = new Game();
-            game.setGameId(gameJson.getInt("id"));
-            game.setGameDate(gameJson.getString("gameDate"));
-
-            // Parse teams with logo URLs
-            if (gameJson.has("homeTeam")) {
-                org.json.JSONObject homeTeamJson = gameJson.getJSONObject("homeTeam");
-
-                Team temp = new Team();
-                temp.setTeamID(homeTeamJson.getInt("id"));
-                temp.setAbreviatedName(homeTeamJson.optString("abbrev", ""));
-
-
-                // Extract logo URL if available
-                if (homeTeamJson.has("logo")) {
-                    temp.logoUrl = homeTeamJson.getString("logo");
-                    if(temp.logoUrl.contains("_secondary"))
-                        temp.logoUrl = temp.logoUrl.replace("_secondary", "");
-                }
-
-                Team fullTeamInfo = findTeamById(temp.getTeamID());
-                if (fullTeamInfo != null) {
-                    temp.setFullName(fullTeamInfo.getFullName());
-                    // Also copy abbreviation if it wasn't set properly
-                    if (temp.getAbreviatedName().isEmpty()) {
-                        temp.setAbreviatedName(fullTeamInfo.getAbreviatedName());
-                    }
-                } else {
-                    // Fallback: try to set a reasonable full name based on abbreviation
-                    if (!temp.getAbreviatedName().isEmpty()) {
-                        temp.setFullName(getFullTeamName(temp.getAbreviatedName()));
-                    }
-                }
-                game.setHomeTeam(temp);
-                DataManager.getInstance().addTeam(temp);
-
-                game.setHomeTeamId(temp.getTeamID());
-                game.setHomeTeamName(temp.getAbreviatedName());
-
-                // Set score
-                if (homeTeamJson.has("score")) {
-                    game.setHomeScore(homeTeamJson.getInt("score"));
-                } else {
-                    game.setHomeScore(-1);
-                }
-
-                // Find full team info from allTeams list
-
-            }
-
-            if (gameJson.has("awayTeam")) {
-                org.json.JSONObject awayTeamJson = gameJson.getJSONObject("awayTeam");
-                StringBuilder keys = new StringBuilder();
-                for (Iterator<String> it = awayTeamJson.keys(); it.hasNext(); ) {
-                    String key = it.next();
-                    keys.append(" ").append(key);
-                }
-//                Log.d("DatesActivity", "awayTeamJson keys " + keys);
-
-                Team temp = new Team();
-                temp.setTeamID(awayTeamJson.getInt("id"));
-                temp.setAbreviatedName(awayTeamJson.optString("abbrev", ""));
-
-
-                // Extract logo URL if available
-                if (awayTeamJson.has("logo")) {
-                    temp.logoUrl = awayTeamJson.getString("logo");
-                    if(temp.logoUrl.contains("_secondary"))
-                        temp.logoUrl = temp.logoUrl.replace("_secondary", "");
-                }
-
-                // Find full team info from allTeams list
-                Team fullTeamInfo = findTeamById(temp.getTeamID());
-                if (fullTeamInfo != null) {
-                    temp.setFullName(fullTeamInfo.getFullName());
-                    // Also copy abbreviation if it wasn't set properly
-                    if (temp.getAbreviatedName().isEmpty()) {
-                        temp.setAbreviatedName(fullTeamInfo.getAbreviatedName());
-                    }
-                } else {
-                    // Fallback: try to set a reasonable full name based on abbreviation
-                    if (!temp.getAbreviatedName().isEmpty()) {
-                        temp.setFullName(getFullTeamName(temp.getAbreviatedName()));
-                    }
-                }
-
-                game.setAwayTeam(temp);
-                DataManager.getInstance().addTeam(temp);
-
-                game.setAwayTeamId(temp.getTeamID());
-                game.setAwayTeamName(temp.getAbreviatedName());
-
-                // Set score
-                if (awayTeamJson.has("score")) {
-                    game.setAwayScore(awayTeamJson.getInt("score"));
-                } else {
-                    game.setAwayScore(-1);
-                }
-
+    private void resolveScheduleTeam(Team temp) {
+        // Extract logo URL if available
+        if (temp.logoUrl != null && temp.logoUrl.contains("_secondary")) {
+            temp.logoUrl = temp.logoUrl.replace("_secondary", "");
+        }
 
+        // Find full team info from allTeams list
+        Team fullTeamInfo = findTeamById(temp.getTeamID());
+        if (fullTeamInfo != null) {
+            temp.setFullName(fullTeamInfo.getFullName());
+            // Also copy abbreviation if it wasn't set properly
+            if (temp.getAbreviatedName().isEmpty()) {
+                temp.setAbreviatedName(fullTeamInfo.getAbreviatedName());
             }
-            Log.d("DatesActivity", "awayTeam name " + game.getAwayTeam().getAbreviatedName() + " " + game.getAwayTeam().getFullName());
-            Log.d("DatesActivity", "homeTeam name " + game.getHomeTeam().getAbreviatedName() + " " + game.getHomeTeam().getFullName());
-            // Parse game state/status
-            String gameState = gameJson.optString("gameState", "Unknown");
-            if ("FUT".equalsIgnoreCase(gameState) || "PRE".equalsIgnoreCase(gameState)) {
-                if (gameJson.has("startTimeUTC")) {
-                    String startTime = gameJson.getString("startTimeUTC");
-                    game.setStartTime(startTime);
-                }
+        } else {
+            // Fallback: try to set a reasonable full name based on abbreviation
+            if (!temp.getAbreviatedName().isEmpty()) {
+                temp.setFullName(getFullTeamName(temp.getAbreviatedName()));
             }
-
-            return game;
-        } catch (Exception e) {
-            Log.e(TAG, "Error parsing individual game JSON", e);
-            return null;
         }
     }
 
@@ -925,70 +743,60 @@ public class DatesActivity extends AppCompatActivity {
     }
 
     private void processSeasonGames(List<Game> seasonGames) {
-        // Extract unique dates and cache games by date
-        Map<String, List<Game>> gamesByDate = new HashMap<>();
-
+        IntObjectMap<Game> gamesById = new IntObjectMap<>(seasonGames.size());
         for (Game game : seasonGames) {
-            String gameDate = game.getGameDate();
-            if (!gamesByDate.containsKey(gameDate)) {
-                gamesByDate.put(gameDate, new ArrayList<>());
+            if (game != null) {
+                gamesById.put(game.getGameId(), game);
             }
-            Objects.requireNonNull(gamesByDate.get(gameDate)).add(game);
         }
 
-        // Update cache
-        gamesByDateCache.putAll(gamesByDate);
-        Log.d("DatesActivty", "GamesByCache size " + gamesByDateCache.size());
-        // Extract and sort dates
-        List<String> dateList = new ArrayList<>(gamesByDate.keySet());
-//        dateList.sort(Collections.reverseOrder());
-        Collections.sort(dateList);
-
+        // The DataManager keeps one date index per season, so returning to a season reuses it
+        GameDateIndex index = dataManager.getSeasonDateIndex(currentSeason);
+        if (index.isEmpty()) {
+            index = GameDateIndex.build(seasonGames);
+        }
+        GameDateIndex dateIndex = index;
 
         // Update UI on main thread
         runOnUiThread(() -> {
+            seasonGamesById = gamesById;
+            seasonDateIndex = dateIndex;
+
             dates.clear();
-            dates.addAll(dateList);
+            dates.addAll(dateIndex.dates());
             dateAdapter.notifyDataSetChanged();
 
             hideLoadingState();
 
             // Select closest date to today
-            String todayDate = getTodayDateString();
-            String closestDate = findClosestDate(dateList, todayDate);
+            String closestDate = findClosestDate(dateIndex, GameDateIndex.today());
             if (closestDate != null) {
                 selectDate(closestDate);
             }
 
-            Log.d(TAG, "Loaded " + seasonGames.size() + " games across " + dateList.size() + " dates");
+            Log.d(TAG, "Loaded " + seasonGames.size() + " games across " + dateIndex.size() + " dates");
             showMessage("Loaded " + seasonGames.size() + " games for season " + currentSeason);
         });
     }
 
-    private String findClosestDate(List<String> dateList, String targetDate) {
-        if (dateList.isEmpty()) return null;
-
-        String closest = dateList.get(0);
-        long minDiff = Long.MAX_VALUE;
-
-        try {
-            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd", Locale.US);
-            long targetTime = sdf.parse(targetDate).getTime();
+    private String findClosestDate(GameDateIndex index, int targetDay) {
+        int closest = index.closestIndex(targetDay);
+        return closest < 0 ? null : index.dateAt(closest);
+    }
 
-            for (String date : dateList) {
-                long dateTime = sdf.parse(date).getTime();
-                long diff = Math.abs(dateTime - targetTime);
-                if (diff < minDiff) {
-                    minDiff = diff;
-                    closest = date;
-                }
+    /**
+     * Games of the current season on a date, looked up through the date index
+     */
+    private List<Game> getSeasonGamesForDate(String date) {
+        int[] gameIds = seasonDateIndex.gameIdsOn(GameDateIndex.toEpochDay(date));
+        List<Game> dateGames = new ArrayList<>(gameIds.length);
+        for (int gameId : gameIds) {
+            Game game = seasonGamesById.get(gameId);
+            if (game != null) {
+                dateGames.add(game);
             }
-        } catch (Exception e) {
-            Log.e(TAG, "Error finding closest date", e);
-            return dateList.get(0);
         }
-
-        return closest;
+        return dateGames;
     }
 
     private void selectDate(String date) {
@@ -1003,8 +811,8 @@ public class DatesActivity extends AppCompatActivity {
         // Update the date adapter to highlight the selected date and scroll to it
         updateDateSelection(date);
 
-        if (gamesByDateCache.containsKey(date)) {
-            List<Game> cachedGames = gamesByDateCache.get(date);
+        List<Game> cachedGames = getSeasonGamesForDate(date);
+        if (!cachedGames.isEmpty()) {
             updateGamesDisplay(cachedGames);
             Log.d(TAG, "Using cached games for " + date + ": " + cachedGames.size() + " games");
 
@@ -1016,9 +824,7 @@ public class DatesActivity extends AppCompatActivity {
 
         ArrayList<Game> gamesForDate = dataManager.getGamesForDate(date);
         if (gamesForDate != null && !gamesForDate.isEmpty()) {
-            if(!gamesByDateCache.containsKey(date))
-                gamesByDateCache.put(date, gamesForDate);
-            updateGamesDisplay(gamesByDateCache.get(date));
+            updateGamesDisplay(gamesForDate);
             Log.d(TAG, "Using DataManager games for " + date + ": " + gamesForDate.size() + " games");
 
             if (getTodayDateString().equals(date)) {
@@ -1052,108 +858,44 @@ public class DatesActivity extends AppCompatActivity {
     }
 
     private void startLiveUpdates() {
-        if (!isLiveUpdatesEnabled && getTodayDateString().equals(selectedDate)) {
-            Log.d(TAG, "Starting live updates for today's games");
-            isLiveUpdatesEnabled = true;
-
-            liveUpdateRunnable = new Runnable() {
-                @Override
-                public void run() {
-                    if (isLiveUpdatesEnabled && getTodayDateString().equals(selectedDate)) {
-                        updateLiveScores();
-                        liveUpdateHandler.postDelayed(this, LIVE_UPDATE_INTERVAL);
-                    }
-                }
-            };
-
-            liveUpdateHandler.postDelayed(liveUpdateRunnable, LIVE_UPDATE_INTERVAL);
-        }
-    }
-
-    private void updateLiveScores() {
-        if (selectedDate == null || !gamesByDateCache.containsKey(selectedDate)) {
+        if (!getTodayDateString().equals(selectedDate)) {
             return;
         }
 
-        List<Game> todaysGames = gamesByDateCache.get(selectedDate);
-        if (todaysGames == null || todaysGames.isEmpty()) {
-            return;
+        // The engine decides which of today's games need polling and how often
+        liveGameEngine.track(games);
+        if (!isLiveUpdatesEnabled) {
+            Log.d(TAG, "Starting live updates for today's games");
+            isLiveUpdatesEnabled = true;
+            liveGameEngine.start();
         }
+    }
 
-        Log.d(TAG, "Updating live scores for " + todaysGames.size() + " games");
-
-        List<AsyncApiClient.ApiRequest<String>> requests = new ArrayList<>();
-
-        for (Game game : todaysGames) {
-            String liveScoreUrl = "https://api-web.nhle.com/v1/gamecenter/" + game.getGameId() + "/landing";
-
-            AsyncApiClient.ApiRequest<String> request = new AsyncApiClient.ApiRequest<>(
-                    liveScoreUrl,
-                    new AsyncApiClient.ApiCallback<String>() {
-                        @Override
-                        public void onSuccess(String response) {
-                            updateGameFromLiveScore(game.getGameId(), response);
-                        }
-
-                        @Override
-                        public void onError(String error) {
-                            Log.w(TAG, "Failed to update live score for game " + game.getGameId());
-                        }
-                    },
-                    String.class,
-                    isLoadingCancelled
-            );
+    /**
+     * Refresh only the row of the game that changed, a score change rebinds just the score
+     */
+    private void onLiveGameChanged(LiveGameEngine.GameChange change) {
+        gameAdapter.submitGames(games);
 
-            requests.add(request);
+        if (change.has(LiveGameEngine.Change.SCORE)) {
+            Log.d(TAG, "Updated live score for game " + change.game.getGameId() + ": "
+                    + change.game.getAwayScore() + "-" + change.game.getHomeScore());
         }
-
-        apiClient.makeAsyncRequests(requests);
     }
 
-    private void updateGameFromLiveScore(int gameId, String response) {
-        try {
-            org.json.JSONObject jsonResponse = new org.json.JSONObject(response);
-
-            if (jsonResponse.has("gameState") && jsonResponse.has("homeTeam") && jsonResponse.has("awayTeam")) {
-                int homeScore = jsonResponse.getJSONObject("homeTeam").optInt("score", -1);
-                int awayScore = jsonResponse.getJSONObject("awayTeam").optInt("score", -1);
-
-                for (List<Game> gameList : gamesByDateCache.values()) {
-                    for (Game game : gameList) {
-                        if (game.getGameId() == gameId) {
-                            boolean scoreChanged = game.getHomeScore() != homeScore || game.getAwayScore() != awayScore;
-
-                            game.setHomeScore(homeScore);
-                            game.setAwayScore(awayScore);
-
-                            if (scoreChanged) {
-                                dataManager.addGame(game);
-
-                                runOnUiThread(() -> {
-                                    if (selectedDate != null && gamesByDateCache.containsKey(selectedDate)) {
-                                        updateGamesDisplay(gamesByDateCache.get(selectedDate));
-                                    }
-                                });
-
-                                Log.d(TAG, "Updated live score for game " + gameId + ": " + awayScore + "-" + homeScore);
-                            }
-                            break;
-                        }
-                    }
-                }
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error updating live score for game " + gameId, e);
-        }
+    /**
+     * Save the game once new plays land so the game screen opens with them
+     */
+    private void onLivePlaysAdded(Game game, List<Play> newPlays) {
+        Log.d(TAG, "Game " + game.getGameId() + " picked up " + newPlays.size() + " live plays");
+        dataManager.addGame(game);
     }
 
     private void stopLiveUpdates() {
         if (isLiveUpdatesEnabled) {
             Log.d(TAG, "Stopping live updates");
             isLiveUpdatesEnabled = false;
-            if (liveUpdateRunnable != null) {
-                liveUpdateHandler.removeCallbacks(liveUpdateRunnable);
-            }
+            liveGameEngine.stop();
         }
     }
 
@@ -1168,7 +910,7 @@ public class DatesActivity extends AppCompatActivity {
         if (gamesToShow != null) {
             games.addAll(gamesToShow);
         }
-        gameAdapter.notifyDataSetChanged();
+        gameAdapter.submitGames(games);
         Log.d(TAG, "Updated games display with " + games.size() + " games");
     }
 
@@ -1201,9 +943,7 @@ public class DatesActivity extends AppCompatActivity {
 //    }
 
     private String getTodayDateString() {
-        Calendar cal = Calendar.getInstance();
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd", Locale.US);
-        return sdf.format(cal.getTime());
+        return GameDateIndex.toDateString(GameDateIndex.today());
     }
 
     private void showMessage(String message) {
@@ -1223,6 +963,7 @@ public class DatesActivity extends AppCompatActivity {
         // Cancel all ongoing requests
         isLoadingCancelled.set(true);
         stopLiveUpdates();
+        liveGameEngine.shutdown();
         if (apiClient != null) {
             apiClient.cancelAllRequests();
         }
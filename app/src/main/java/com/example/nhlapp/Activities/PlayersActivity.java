@@ -3,6 +3,8 @@ package com.example.nhlapp.Activities;
 import android.content.Context;
 import android.os.AsyncTask;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.text.Editable;
 import android.text.TextWatcher;
 import android.view.View;
@@ -15,20 +17,29 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.nhlapp.AppSettings;
+import com.example.nhlapp.AssetDownloadScheduler;
 import com.example.nhlapp.DataCallback;
 import com.example.nhlapp.DataManager;
+import com.example.nhlapp.DiskCacheManager;
 import com.example.nhlapp.ImageDownloader;
 import com.example.nhlapp.JsonHelper;
 import com.example.nhlapp.NHLApiClient;
 import com.example.nhlapp.Objects.NHLPlayer;
+import com.example.nhlapp.PlayerSearchIndex;
 import com.example.nhlapp.Objects.Player;
 import com.example.nhlapp.Adapters.PlayersAdapter;
 import com.example.nhlapp.R;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
+import java.io.File;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class PlayersActivity extends AppCompatActivity {
     private RecyclerView recyclerView;
@@ -37,10 +48,27 @@ public class PlayersActivity extends AppCompatActivity {
     private Button btnNextPage, btnPrevPage;
     private Button savePlayersBtn;
     private List<NHLPlayer> allPlayers = new ArrayList<>();
-    private List<NHLPlayer> filteredPlayers = new ArrayList<>();
     private List<NHLPlayer> currentPagePlayers = new ArrayList<>();
     private int currentPage = 0;
     private static final int PLAYERS_PER_PAGE = 25;
+    // Wait for a pause in typing before searching
+    private static final long SEARCH_DEBOUNCE_MS = 150;
+
+    // Built off the main thread each time the players load, null until then
+    private PlayerSearchIndex searchIndex;
+    // Matches for the current query, null shows allPlayers as they are
+    private PlayerSearchIndex.Result searchResults;
+    private String searchQuery = "";
+    // Bumped per search or rebuild so a slow result can't replace a newer one
+    private int searchGeneration = 0;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService searchExecutor = Executors.newSingleThreadExecutor();
+    private final Runnable searchRunnable = this::runSearch;
+
+    // One listener for every headshot this screen asks for, removed again in onDestroy
+    private final HeadshotListener headshotListener = new HeadshotListener(this);
+    // Players waiting on a headshot, by the file it will be saved to
+    private final Map<String, NHLPlayer> pendingHeadshots = new HashMap<>();
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -54,6 +82,16 @@ public class PlayersActivity extends AppCompatActivity {
         loadPlayers();
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        mainHandler.removeCallbacksAndMessages(null);
+        searchExecutor.shutdownNow();
+        // The scheduler is process wide, don't leave it holding this screen
+        AssetDownloadScheduler.getInstance(this).removeListener(headshotListener);
+        pendingHeadshots.clear();
+    }
+
     private void initViews() {
         savePlayersBtn = findViewById(R.id.savePlayersBtn);
         recyclerView = findViewById(R.id.recyclerViewPlayers);
@@ -91,8 +129,8 @@ public class PlayersActivity extends AppCompatActivity {
                 DataManager manager = DataManager.getInstance();
                 if(!allPlayers.isEmpty()){
                     // Lets just save all of the players that are filtered
-                    if(!filteredPlayers.isEmpty()){
-                        manager.addPlayers(filteredPlayers);
+                    if(searchResults != null && searchResults.size() > 0){
+                        manager.addPlayers(searchResults.toList());
                     } else{
                         manager.addPlayers(allPlayers);
                     }
@@ -103,7 +141,7 @@ public class PlayersActivity extends AppCompatActivity {
         });
 
         btnNextPage.setOnClickListener(v -> {
-            if ((currentPage + 1) * PLAYERS_PER_PAGE < filteredPlayers.size()) {
+            if ((currentPage + 1) * PLAYERS_PER_PAGE < resultCount()) {
                 currentPage++;
                 updateCurrentPage();
             }
@@ -124,36 +162,152 @@ public class PlayersActivity extends AppCompatActivity {
     // Stats can also be something I can get from internally looking at lists, but because it is not a DB, this might become more difficult
     // For now have it as an API call and later down the line refine for optimization
     private void filterPlayers(String query) {
-        filteredPlayers.clear();
-        if (query.isEmpty()) {
-            filteredPlayers.addAll(allPlayers);
-        } else {
-            for (NHLPlayer player : allPlayers) {
-                if (player.getName().toLowerCase().contains(query.toLowerCase())) {
-                    filteredPlayers.add(player);
-                }
-            }
+        searchQuery = query;
+        mainHandler.removeCallbacks(searchRunnable);
+        // Clearing the box shouldn't wait
+        mainHandler.postDelayed(searchRunnable, query.isEmpty() ? 0 : SEARCH_DEBOUNCE_MS);
+    }
+
+    /**
+     * Query the index on the search thread, the newest query wins
+     */
+    private void runSearch() {
+        final PlayerSearchIndex index = searchIndex;
+        if (index == null) {
+            // Still building, it searches searchQuery once it is ready
+            return;
         }
-        currentPage = 0;
+        final String query = searchQuery;
+        final int generation = ++searchGeneration;
+        searchExecutor.execute(() -> {
+            PlayerSearchIndex.Result results = index.search(query);
+            mainHandler.post(() -> {
+                if (generation != searchGeneration || isDestroyed()) {
+                    return;
+                }
+                searchResults = results;
+                currentPage = 0;
+                updateCurrentPage();
+            });
+        });
+    }
+
+    /**
+     * Take a freshly loaded player list and index it in the background
+     */
+    private void onPlayersLoaded(List<NHLPlayer> players) {
+        allPlayers.clear();
+        allPlayers.addAll(players);
+        searchIndex = null;
+        searchResults = null;
         updateCurrentPage();
+
+        final List<NHLPlayer> snapshot = new ArrayList<>(allPlayers);
+        final int generation = ++searchGeneration;
+        searchExecutor.execute(() -> {
+            PlayerSearchIndex index = new PlayerSearchIndex(snapshot);
+            mainHandler.post(() -> {
+                if (generation != searchGeneration || isDestroyed()) {
+                    return;
+                }
+                searchIndex = index;
+                if (!searchQuery.isEmpty()) {
+                    runSearch();
+                }
+            });
+        });
     }
 
-    private void updateCurrentPage() {
-        currentPagePlayers.clear();
-        int start = currentPage * PLAYERS_PER_PAGE;
-        int end = Math.min(start + PLAYERS_PER_PAGE, filteredPlayers.size());
+    private int resultCount() {
+        return searchResults != null ? searchResults.size() : allPlayers.size();
+    }
 
-        for (int i = start; i < end; i++) {
-            currentPagePlayers.add(filteredPlayers.get(i));
+    private void updateCurrentPage() {
+        if (searchResults != null) {
+            searchResults.fillPage(currentPage, PLAYERS_PER_PAGE, currentPagePlayers);
+        } else {
+            currentPagePlayers.clear();
+            int start = currentPage * PLAYERS_PER_PAGE;
+            int end = Math.min(start + PLAYERS_PER_PAGE, allPlayers.size());
+            for (int i = start; i < end; i++) {
+                currentPagePlayers.add(allPlayers.get(i));
+            }
         }
 
         adapter.notifyDataSetChanged();
         updatePaginationButtons();
+        requestVisibleHeadshots();
+    }
+
+    /**
+     * Move the headshots of the page on screen ahead of the bulk prefetch
+     */
+    private void requestVisibleHeadshots() {
+        for (NHLPlayer player : currentPagePlayers) {
+            requestHeadshot(player, AssetDownloadScheduler.Priority.INTERACTIVE);
+        }
+    }
+
+    /**
+     * Queue every player's headshot behind whatever is on screen
+     */
+    private void prefetchHeadshots() {
+        for (NHLPlayer player : allPlayers) {
+            requestHeadshot(player, AssetDownloadScheduler.Priority.PREFETCH);
+        }
+    }
+
+    private void requestHeadshot(NHLPlayer player, AssetDownloadScheduler.Priority priority) {
+        if (hasHeadshot(player)) {
+            return;
+        }
+        pendingHeadshots.put(ImageDownloader.getHeadshotFile(this, player).getAbsolutePath(), player);
+        ImageDownloader.enqueuePlayerHeadshot(this, player, priority, headshotListener);
+    }
+
+    /** Store the path and rebind only the row showing the player, if any */
+    private void onHeadshotDownloaded(File file) {
+        NHLPlayer player = pendingHeadshots.remove(file.getAbsolutePath());
+        if (player == null || file.getAbsolutePath().equals(player.getHeadshotPath())) {
+            return;
+        }
+        player.setHeadshotPath(file.getAbsolutePath());
+        int position = currentPagePlayers.indexOf(player);
+        if (position >= 0) {
+            adapter.notifyItemChanged(position);
+        }
+    }
+
+    private boolean hasHeadshot(NHLPlayer player) {
+        String path = player.getHeadshotPath();
+        return path != null && !path.isEmpty() && DiskCacheManager.getInstance(this).contains(new File(path));
+    }
+
+    /** Static with a weak reference so queued downloads never keep the Activity alive */
+    private static class HeadshotListener implements AssetDownloadScheduler.Listener {
+        private final WeakReference<PlayersActivity> activityRef;
+
+        HeadshotListener(PlayersActivity activity) {
+            this.activityRef = new WeakReference<>(activity);
+        }
+
+        @Override
+        public void onDownloaded(String url, File file) {
+            PlayersActivity activity = activityRef.get();
+            if (activity != null && !activity.isDestroyed()) {
+                activity.onHeadshotDownloaded(file);
+            }
+        }
+
+        @Override
+        public void onFailed(String url, String error) {
+            // Row keeps its placeholder
+        }
     }
 
     private void updatePaginationButtons() {
         btnPrevPage.setVisibility(currentPage > 0 ? View.VISIBLE : View.INVISIBLE);
-        btnNextPage.setVisibility((currentPage + 1) * PLAYERS_PER_PAGE < filteredPlayers.size() ? View.VISIBLE : View.INVISIBLE);
+        btnNextPage.setVisibility((currentPage + 1) * PLAYERS_PER_PAGE < resultCount() ? View.VISIBLE : View.INVISIBLE);
     }
 
     private void loadPlayers() {
@@ -168,11 +322,7 @@ public class PlayersActivity extends AppCompatActivity {
             DataManager.getInstance().getPlayers(new DataCallback<List<NHLPlayer>>() {
                 @Override
                 public void onSuccess(List<NHLPlayer> data) {
-                    allPlayers.clear();
-                    allPlayers.addAll(data);
-                    filteredPlayers.clear();
-                    filteredPlayers.addAll(allPlayers);
-                    updateCurrentPage();
+                    onPlayersLoaded(data);
                 }
 
                 @Override
@@ -208,11 +358,7 @@ public class PlayersActivity extends AppCompatActivity {
                     loadedPlayers.add(player);
                 }
 
-                allPlayers.clear();
-                allPlayers.addAll(loadedPlayers);
-                filteredPlayers.clear();
-                filteredPlayers.addAll(allPlayers);
-                updateCurrentPage();
+                onPlayersLoaded(loadedPlayers);
             } catch (Exception e) {
                 e.printStackTrace();
             }
@@ -228,38 +374,11 @@ public class PlayersActivity extends AppCompatActivity {
         @Override
         protected void onPostExecute(List<NHLPlayer> result) {
             if (result != null) {
-                allPlayers.clear();
-                allPlayers.addAll(result);
-                filteredPlayers.clear();
-                filteredPlayers.addAll(allPlayers);
-                updateCurrentPage();
+                onPlayersLoaded(result);
 
                 // Download player headshots
-                for (NHLPlayer player : allPlayers) {
-                    new DownloadPlayerImageTask(player).execute();
-                }
-            }
-        }
-    }
-
-    private class DownloadPlayerImageTask extends AsyncTask<Void, Void, String> {
-        private NHLPlayer player;
-
-        public DownloadPlayerImageTask(NHLPlayer player) {
-            this.player = player;
-        }
-
-        @Override
-        protected String doInBackground(Void... voids) {
-            return ImageDownloader.downloadPlayerHeadshot(PlayersActivity.this, player);
-        }
-
-        @Override
-        protected void onPostExecute(String imagePath) {
-            if (imagePath != null) {
-                player.setHeadshotPath(imagePath);
-                adapter.notifyDataSetChanged();
+                prefetchHeadshots();
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -21,20 +21,18 @@ import com.example.nhlapp.Adapters.GeneralOverviewAdapter;
 import com.example.nhlapp.AltImageDownloader;
 import com.example.nhlapp.AsyncApiClient;
 import com.example.nhlapp.DataManager;
+import com.example.nhlapp.IntObjectMap;
 import com.example.nhlapp.Objects.Game;
 import com.example.nhlapp.Objects.NHLPlayer;
 import com.example.nhlapp.Objects.Team;
 import com.example.nhlapp.Objects.TeamStats;
 import com.example.nhlapp.R;
+import com.example.nhlapp.StreamingJsonParser;
 import com.squareup.picasso.Picasso;
 
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
 
 import java.io.File;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -311,25 +309,18 @@ public class SpecificGameActivity extends AppCompatActivity {
         // Make async API call to get boxscore data
         String boxscoreUrl = "https://api-web.nhle.com/v1/gamecenter/" + gameId + "/boxscore";
 
-        apiClient.makeAsyncRequest(
+        apiClient.makeAsyncStreamingRequest(
                 boxscoreUrl,
-                new AsyncApiClient.ApiCallback<String>() {
+                StreamingJsonParser::parseBoxscore,
+                new AsyncApiClient.ApiCallback<StreamingJsonParser.Boxscore>() {
                     @Override
-                    public void onSuccess(String result) {
-                        try {
-                            gameResult = parseBoxScore(result);
-                            updateTeamsWithBoxscoreData();
-                            runOnUiThread(() -> {
-                                statusText.setText("Boxscore data loaded");
-                                showGeneralOverview();
-                            });
-                        } catch (JSONException e) {
-                            Log.e(TAG, "Error parsing boxscore data", e);
-                            runOnUiThread(() -> {
-                                statusText.setText("Error loading boxscore data");
-                                showGeneralOverview();
-                            });
-                        }
+                    public void onSuccess(StreamingJsonParser.Boxscore result) {
+                        gameResult = resolveBoxScore(result);
+                        updateTeamsWithBoxscoreData();
+                        runOnUiThread(() -> {
+                            statusText.setText("Boxscore data loaded");
+                            showGeneralOverview();
+                        });
                     }
 
                     @Override
@@ -342,70 +333,33 @@ public class SpecificGameActivity extends AppCompatActivity {
                         });
                     }
                 },
-                String.class,  // Changed from Game.class to String.class
                 isLoadingCancelled
         );
     }
 
-    private Game parseBoxScore(String responseToParse) throws JSONException {
-        JSONObject boxScore = new JSONObject(responseToParse);
-        int season = boxScore.getInt("season");
-        Game returnGame = new Game();
+    /**
+     * Apply the app-side defaults the streamed boxscore can't know about
+     */
+    private Game resolveBoxScore(StreamingJsonParser.Boxscore boxscore) {
+        Game returnGame = boxscore.game;
 
         // Set game ID to match current game
         returnGame.setGameId(gameId);
 
-        // Parse teams
-        if (boxScore.has("awayTeam")) {
-            returnGame.setAwayTeam(parseTeam(boxScore.getJSONObject("awayTeam")));
-            returnGame.setAwayTeamName(returnGame.getAwayTeam().getAbreviatedName());
-            returnGame.setAwayTeamId(returnGame.getAwayTeam().getTeamID());
-            returnGame.setAwayScore(returnGame.getAwayTeam().getGoalsFor());
+        if (returnGame.getAwayTeam() != null) {
+            resolveTeam(returnGame.getAwayTeam(), boxscore.season);
         }
-
-        if (boxScore.has("homeTeam")) {
-            returnGame.setHomeTeam(parseTeam(boxScore.getJSONObject("homeTeam")));
-            returnGame.setHomeTeamName(returnGame.getHomeTeam().getAbreviatedName());
-            returnGame.setHomeTeamId(returnGame.getHomeTeam().getTeamID());
-            returnGame.setHomeScore(returnGame.getHomeTeam().getGoalsFor());
-        }
-
-        // Parse player stats if available
-        if (boxScore.has("playerByGameStats")) {
-            JSONObject playerByGameStats = boxScore.getJSONObject("playerByGameStats");
-
-            if (playerByGameStats.has("awayTeam") && returnGame.getAwayTeam() != null) {
-                HashMap<Integer, NHLPlayer> awayPlayers = parsePlayers(playerByGameStats.getJSONObject("awayTeam"), returnGame.getAwayTeam().getAbreviatedName(), season);
-                returnGame.getAwayTeam().setTeamRoster(awayPlayers);
-            }
-
-            if (playerByGameStats.has("homeTeam") && returnGame.getHomeTeam() != null) {
-                HashMap<Integer, NHLPlayer> homePlayers = parsePlayers(playerByGameStats.getJSONObject("homeTeam"),  returnGame.getHomeTeam().getAbreviatedName(), season);
-                returnGame.getHomeTeam().setTeamRoster(homePlayers);
-            }
+        if (returnGame.getHomeTeam() != null) {
+            resolveTeam(returnGame.getHomeTeam(), boxscore.season);
         }
 
         return returnGame;
     }
 
-    private Team parseTeam(JSONObject teamObj) throws JSONException {
-        Team returnTeam = new Team();
-        returnTeam.setTeamID(teamObj.getInt("id"));
-        returnTeam.setAbreviatedName(teamObj.optString("abbrev", ""));
-        returnTeam.setGoalsFor(teamObj.optInt("score", 0));
-        returnTeam.setShotsOnGoal(teamObj.optInt("sog", 0));
-
+    private void resolveTeam(Team returnTeam, int season) {
         // Handle logo URL
-        String logoUrl = teamObj.optString("logo", "");
-        if (logoUrl.isEmpty()) {
-            logoUrl = buildLogoUrlForTeam(returnTeam);
-        }
-        returnTeam.setLogoUrl(logoUrl);
-
-        // Handle team name
-        if (teamObj.has("commonName")) {
-            JSONObject commonNameObj = teamObj.getJSONObject("commonName");
-            returnTeam.setFullName(commonNameObj.optString("default", ""));
+        if (returnTeam.getLogoUrl() == null || returnTeam.getLogoUrl().isEmpty()) {
+            returnTeam.setLogoUrl(buildLogoUrlForTeam(returnTeam));
         }
 
         // If full name is still empty, try to get it from existing team data
@@ -418,133 +372,9 @@ public class SpecificGameActivity extends AppCompatActivity {
             }
         }
 
-        return returnTeam;
-    }
-
-    private int parseTimeOnIceToSeconds(String timeString) {
-        if (timeString == null || timeString.trim().isEmpty()) {
-            return 0;
-        }
-
-        try {
-            // Handle formats like "12:34" or "1:23:45"
-            String[] parts = timeString.split(":");
-            int totalSeconds = 0;
-
-            if (parts.length == 2) {
-                // MM:SS format
-                int minutes = Integer.parseInt(parts[0]);
-                int seconds = Integer.parseInt(parts[1]);
-                totalSeconds = minutes * 60 + seconds;
-            } else if (parts.length == 3) {
-                // HH:MM:SS format
-                int hours = Integer.parseInt(parts[0]);
-                int minutes = Integer.parseInt(parts[1]);
-                int seconds = Integer.parseInt(parts[2]);
-                totalSeconds = hours * 3600 + minutes * 60 + seconds;
-            } else {
-                // Try to parse as integer (already in seconds)
-                totalSeconds = Integer.parseInt(timeString);
-            }
-
-            return totalSeconds;
-        } catch (NumberFormatException e) {
-            Log.w(TAG, "Failed to parse time on ice: " + timeString, e);
-            return 0;
-        }
-    }
-
-
-
-
-
-    private HashMap<Integer, NHLPlayer> parsePlayers(JSONObject playersList, String abbrevName, int season) throws JSONException {
-        HashMap<Integer, NHLPlayer> returnPlayers = new HashMap<>();
-        String[] playerTypes = {"forwards", "defense", "goalies"};
-
-        for (String playerType : playerTypes) {
-            if (playersList.has(playerType)) {
-                JSONArray playersArray = playersList.getJSONArray(playerType);
-                for (int i = 0; i < playersArray.length(); i++) {
-                    JSONObject playerObj = playersArray.getJSONObject(i);
-                    NHLPlayer newPlayer = parseNewPlayer(playerObj);
-                    if (newPlayer != null) {
-                        newPlayer.setLogoURL("https://assets/nhle.com/mugs/nhl/"+season+"/"+abbrevName+"/"+newPlayer.getPlayerId()+".png");
-                        returnPlayers.put(newPlayer.getPlayerId(), newPlayer);
-                    }
-                }
-            }
-        }
-
-        return returnPlayers;
-    }
-
-    private NHLPlayer parseNewPlayer(JSONObject playerObj) {
-        NHLPlayer newPlayer = new NHLPlayer();
-        try {
-            newPlayer.setPlayerId(playerObj.getInt("playerId"));
-            newPlayer.setPosition(playerObj.optString("position", ""));
-            newPlayer.setJerseyNumber(playerObj.optInt("sweaterNumber", 0));
-
-            // Parse player name
-            if (playerObj.has("name")) {
-                JSONObject nameObj = playerObj.getJSONObject("name");
-                newPlayer.setName(nameObj.optString("default", ""));
-            }
-
-
-            // Skater stats (forwards and defense)
-            newPlayer.setGoals(playerObj.optInt("goals", 0));
-            newPlayer.setAssists(playerObj.optInt("assists", 0));
-            newPlayer.setPoints(playerObj.optInt("points", 0));
-            newPlayer.setPlusMinus(playerObj.optInt("plusMinus", 0));
-            newPlayer.setPenaltyMinutes(playerObj.optInt("pim", 0));
-            newPlayer.setHits(playerObj.optInt("hits", 0));
-            newPlayer.setPowerplayGoals(playerObj.optInt("powerPlayGoals", 0));
-            newPlayer.setShotsOnGoal(playerObj.optInt("sog", 0));
-//            newPlayer.setTimeOnIce(playerObj.optInt("toi", 0));
-            if (playerObj.has("toi")) {
-                Object toiValue = playerObj.get("toi");
-                if (toiValue instanceof String) {
-                    // If it's a string like "12:34", convert to seconds
-                    String toiString = (String) toiValue;
-                    newPlayer.setTimeOnIce(parseTimeOnIceToSeconds(toiString));
-                } else if (toiValue instanceof Integer) {
-                    // If it's already in seconds
-                    newPlayer.setTimeOnIce(playerObj.getInt("toi"));
-                } else {
-                    newPlayer.setTimeOnIce(0);
-                }
-            } else {
-                newPlayer.setTimeOnIce(0);
-            }
-            newPlayer.setBlocks(playerObj.optInt("blockedShots", 0));
-            newPlayer.setGiveaways(playerObj.optInt("giveaways", 0));
-            newPlayer.setTakeaways(playerObj.optInt("takeaways", 0));
-            newPlayer.setShifts(playerObj.optInt("shifts", 0));
-            newPlayer.setFaceoffWinPercentage(playerObj.optDouble("faceoffWinningPctg", 0.0));
-
-            // Goalie stats
-            newPlayer.setSaves(playerObj.optInt("saves", 0));
-//            newPlayer.setTotalShots(playerObj.optInt("shotsAgainst", 0));
-            int shotsAgainst = 0;
-            if (playerObj.has("shotsAgainst")) {
-                shotsAgainst = playerObj.getInt("shotsAgainst");
-            } else if (playerObj.has("shots")) {
-                shotsAgainst = playerObj.getInt("shots");
-            } else if (playerObj.has("sa")) {
-                shotsAgainst = playerObj.getInt("sa");
-            }
-            newPlayer.setTotalShots(shotsAgainst);
-            newPlayer.setGoalsAgainst(playerObj.optInt("goalsAgainst", 0));
-            newPlayer.setSavePercentage(playerObj.optDouble("savePctg", 0.0));
-            newPlayer.setEvenStrengthGoalsAgainst(playerObj.optInt("evenStrengthGoalsAgainst", 0));
-            newPlayer.setPowerPlayGoalsAgainst(playerObj.optInt("powerPlayGoalsAgainst", 0));
-
-            return newPlayer;
-        } catch (Exception e) {
-            Log.w(TAG, "Error parsing player: " + e.getMessage());
-            return null;
+        String abbrevName = returnTeam.getAbreviatedName();
+        for (NHLPlayer newPlayer : returnTeam.getTeamRoster().values()) {
+            newPlayer.setLogoURL("https://assets.nhle.com/mugs/nhl/"+season+"/"+abbrevName+"/"+newPlayer.getPlayerId()+".png");
         }
     }
 
@@ -598,17 +428,18 @@ public class SpecificGameActivity extends AppCompatActivity {
         if (boxscoreTeam.getTeamRoster() != null && !boxscoreTeam.getTeamRoster().isEmpty()) {
             // Initialize roster if needed
             if (existingTeam.getTeamRoster() == null) {
-                existingTeam.setTeamRoster(new HashMap<>());
+                existingTeam.setTeamRoster(new IntObjectMap<>());
             }
 
-            for (NHLPlayer boxscorePlayer : boxscoreTeam.getTeamRoster().values()) {
+            List<NHLPlayer> boxscorePlayers = boxscoreTeam.getTeamRoster().values();
+            for (NHLPlayer boxscorePlayer : boxscorePlayers) {
                 // Add or update player in existing team
                 existingTeam.addPlayer(boxscorePlayer);
-
-                // Also update in DataManager
-                dataManager.addPlayer(boxscorePlayer);
             }
 
+            // Also update in DataManager, one copy of the players table for the whole team
+            dataManager.addPlayers(boxscorePlayers);
+
             Log.d(TAG, "Merged " + boxscoreTeam.getTeamRoster().size() +
                     " players into " + existingTeam.getAbreviatedName());
         }
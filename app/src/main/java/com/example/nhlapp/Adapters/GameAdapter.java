@@ -1,9 +1,6 @@
 package com.example.nhlapp.Adapters;
 
 import android.content.Context;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
-import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -11,6 +8,7 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.nhlapp.DataManager;
@@ -19,7 +17,6 @@ import com.example.nhlapp.Objects.Game;
 import com.example.nhlapp.Objects.Team;
 import com.example.nhlapp.R;
 
-import java.io.File;
 import java.text.SimpleDateFormat;
 import java.util.List;
 import java.util.Locale;
@@ -27,19 +24,22 @@ import java.util.Locale;
 public class GameAdapter extends RecyclerView.Adapter<GameAdapter.GameViewHolder> {
     private static final String TAG = "GameAdapter";
 
-    private List<Game> games;
+    // Diffs snapshots on a background thread and dispatches only the rows that changed
+    private final AsyncListDiffer<GameListItem> differ = new AsyncListDiffer<>(this, GameListItem.DIFF);
     private Context context;
     private OnGameClickListener onGameClickListener;
     private ImageHelper imageHelper;
     private DataManager dataManager;
+    private int logoSizePx;
 
     public interface OnGameClickListener {
         void onGameClick(Game game);
     }
 
     public GameAdapter(List<Game> games, OnGameClickListener listener) {
-        this.games = games;
         this.onGameClickListener = listener;
+        setHasStableIds(true);
+        submitGames(games);
     }
 
     @NonNull
@@ -48,6 +48,7 @@ public class GameAdapter extends RecyclerView.Adapter<GameAdapter.GameViewHolder
         context = parent.getContext();
         imageHelper = ImageHelper.getInstance(context);
         dataManager = DataManager.getInstance();
+        logoSizePx = context.getResources().getDimensionPixelSize(R.dimen.team_logo_size);
 
         View view = LayoutInflater.from(context).inflate(R.layout.item_game, parent, false);
         return new GameViewHolder(view);
@@ -55,18 +56,51 @@ public class GameAdapter extends RecyclerView.Adapter<GameAdapter.GameViewHolder
 
     @Override
     public void onBindViewHolder(@NonNull GameViewHolder holder, int position) {
-        Game game = games.get(position);
-        holder.bind(game);
+        holder.bind(differ.getCurrentList().get(position));
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull GameViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        // Only the score changed, leave names and logos alone
+        GameListItem item = differ.getCurrentList().get(position);
+        holder.setScores(item);
+        holder.setGameTimeAndStatus(item);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return differ.getCurrentList().get(position).gameId;
+    }
+
+    @Override
+    public void onViewRecycled(@NonNull GameViewHolder holder) {
+        super.onViewRecycled(holder);
+        // Rows that scrolled away stop waiting on their logos
+        if (imageHelper != null) {
+            imageHelper.cancelTeamLogo(holder.awayTeamLogo);
+            imageHelper.cancelTeamLogo(holder.homeTeamLogo);
+        }
     }
 
     @Override
     public int getItemCount() {
-        return games != null ? games.size() : 0;
+        return differ.getCurrentList().size();
+    }
+
+    /**
+     * Show these games. Call again after games were changed in place, the snapshot
+     * taken here is what the next call is diffed against.
+     */
+    public void submitGames(List<Game> games) {
+        differ.submitList(GameListItem.snapshot(games));
     }
 
     public void updateGames(List<Game> newGames) {
-        this.games = newGames;
-        notifyDataSetChanged();
+        submitGames(newGames);
     }
 
     class GameViewHolder extends RecyclerView.ViewHolder {
@@ -97,86 +131,48 @@ public class GameAdapter extends RecyclerView.Adapter<GameAdapter.GameViewHolder
             itemView.setOnClickListener(v -> {
                 int position = getAdapterPosition();
                 if (position != RecyclerView.NO_POSITION && onGameClickListener != null) {
-                    onGameClickListener.onGameClick(games.get(position));
+                    onGameClickListener.onGameClick(differ.getCurrentList().get(position).game);
                 }
             });
         }
 
-        public void bind(Game game) {
-            if (game == null) return;
+        public void bind(GameListItem item) {
+            if (item == null) return;
 
-
-            // Load team data
-//            Team homeTeam = dataManager.getTeamById(game.getHomeTeamId());
-//            Team awayTeam = dataManager.getTeamById(game.getAwayTeamId());
-            Team homeTeam = game.getHomeTeam();
-            Team awayTeam = game.getAwayTeam();
-            Log.d("GameAdapter", "Loading game in with away team name " + awayTeam.getAbreviatedName() + " and other name " + awayTeam.getName());
-            Log.d("GameAdapter", "Loading game in with home team name " + homeTeam.getAbreviatedName() + " and other name " + homeTeam.getName());
-            Log.d("GameAdapter", "Loading game in with game home team name " + game.getHomeTeamName() + " and away team " + game.getAwayTeamName());
-            // Set team names (use abbreviation if full name not available)
-            setTeamName(awayTeamName, awayTeam, game.getAwayTeamName());
-            setTeamName(homeTeamName, homeTeam, game.getHomeTeamName());
+            // Names were resolved when the snapshot was taken
+            awayTeamName.setText(item.awayName);
+            homeTeamName.setText(item.homeName);
+            awayTeamName.setVisibility(View.VISIBLE);
+            homeTeamName.setVisibility(View.VISIBLE);
 
             // Load team logos
-            loadTeamLogo(awayTeamLogo, awayTeam);
-            loadTeamLogo(homeTeamLogo, homeTeam);
+            loadTeamLogo(awayTeamLogo, item.game.getAwayTeam());
+            loadTeamLogo(homeTeamLogo, item.game.getHomeTeam());
 
             // Set scores
-            setScores(game);
+            setScores(item);
 
             // Set game time/status
-            setGameTimeAndStatus(game);
-        }
-
-        private void setTeamName(TextView textView, Team team, String fallbackName) {
-            if (team != null && team.getAbreviatedName() != null) {
-                textView.setText(team.getAbreviatedName() != null ?
-                        team.getAbreviatedName() : team.getName());
-                textView.setVisibility(View.VISIBLE);
-            } else if (fallbackName != null && !fallbackName.isEmpty()) {
-                textView.setText(fallbackName);
-                textView.setVisibility(View.VISIBLE);
-            } else {
-                textView.setText("TBD");
-            }
+            setGameTimeAndStatus(item);
         }
 
         private void loadTeamLogo(ImageView logoView, Team team) {
-            Log.d("IDK WHY", String.valueOf(team));
-            String logoPath = team.getLogoPath();
-            Log.d("Logo master", "Got a logo path of " + logoPath);
-            Log.d("Logo URL master", "Got a logo path of " + team.getLogoUrl());
-
-            if (logoPath != null && !logoPath.isEmpty()) {
-                // Try to load the downloaded logo
-                File logoFile = new File(logoPath);
-                if (logoFile.exists()) {
-                    try {
-                        Bitmap bitmap = BitmapFactory.decodeFile(logoPath);
-                        if (bitmap != null) {
-                            logoView.setImageBitmap(bitmap);
-                            return;
-                        }
-                    } catch (Exception e) {
-                        // If loading fails, fall through to default
-                    }
-                }
+            if (team == null) {
+                logoView.setImageResource(R.drawable.ic_team_placeholder);
+                return;
             }
-
-
-            // Use default logo if no downloaded logo available
-            logoView.setImageResource(R.drawable.ic_team_placeholder);
+            // Decoded once per team and size, rebinding a row is a cache hit
+            imageHelper.loadTeamLogo(team, logoView, R.drawable.ic_team_placeholder, logoSizePx);
         }
 
-        private void setScores(Game game) {
-            boolean hasScores = game.getHomeScore() >= 0 && game.getAwayScore() >= 0;
+        void setScores(GameListItem game) {
+            boolean hasScores = game.hasScores();
 
             if (hasScores) {
 //                Log.d("GameAdapter", "Setting scores of " + game.getHomeScore())
                 // Game has scores - show them
 //                awayScore.setText(String.valueOf(game.getAwayScore()));
-                score.setText(String.format("%d - %d", game.getAwayScore(), game.getHomeScore()));
+                score.setText(String.format("%d - %d", game.awayScore, game.homeScore));
                 score.setVisibility(View.VISIBLE);
 //                vsIndicator.setVisibility(View.GONE);
             } else {
@@ -189,9 +185,9 @@ public class GameAdapter extends RecyclerView.Adapter<GameAdapter.GameViewHolder
             }
         }
 
-        private void setGameTimeAndStatus(Game game) {
+        void setGameTimeAndStatus(GameListItem game) {
             // Determine game status and time
-            boolean hasScores = game.getHomeScore() >= 0 && game.getAwayScore() >= 0;
+            boolean hasScores = game.hasScores();
 
             if (hasScores) {
                 // Game is completed or in progress
@@ -203,12 +199,12 @@ public class GameAdapter extends RecyclerView.Adapter<GameAdapter.GameViewHolder
                 // Future game - show start time if available
 //                gameStatus.setVisibility(View.GONE);
 
-                if (game.getStartTime() != null) {
+                if (game.startTime != null) {
                     try {
                         // Parse and format start time
                         SimpleDateFormat inputFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.US);
                         SimpleDateFormat outputFormat = new SimpleDateFormat("h:mm a", Locale.US);
-                        java.util.Date startTime = inputFormat.parse(game.getStartTime());
+                        java.util.Date startTime = inputFormat.parse(game.startTime);
                         if (startTime != null) {
                             gameTime.setText(outputFormat.format(startTime));
                         } else {
@@ -0,0 +1,109 @@
+package com.example.nhlapp.Adapters;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.example.nhlapp.Objects.Game;
+import com.example.nhlapp.Objects.Team;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * What one GameAdapter row shows, copied out of a Game when the list is submitted.
+ *
+ * Games are updated in place by the live engine and boxscore merges, so comparing
+ * a Game with itself would never see a change. The diff compares these snapshots
+ * instead, and a row whose only change is the score gets PAYLOAD_SCORE so just the
+ * score and status text are rebound, not the logos.
+ */
+public final class GameListItem {
+    public static final String PAYLOAD_SCORE = "score";
+
+    /** The live object, for click handling and logo loading only */
+    public final Game game;
+    public final int gameId;
+    public final String awayName;
+    public final String homeName;
+    public final String awayLogoKey;
+    public final String homeLogoKey;
+    public final int awayScore;
+    public final int homeScore;
+    public final String startTime;
+
+    private GameListItem(Game game) {
+        this.game = game;
+        this.gameId = game.getGameId();
+        Team away = game.getAwayTeam();
+        Team home = game.getHomeTeam();
+        this.awayName = displayName(away, game.getAwayTeamName());
+        this.homeName = displayName(home, game.getHomeTeamName());
+        this.awayLogoKey = logoKey(away);
+        this.homeLogoKey = logoKey(home);
+        this.awayScore = game.getAwayScore();
+        this.homeScore = game.getHomeScore();
+        this.startTime = game.getStartTime();
+    }
+
+    public static List<GameListItem> snapshot(List<Game> games) {
+        List<GameListItem> items = new ArrayList<>(games != null ? games.size() : 0);
+        if (games != null) {
+            for (Game game : games) {
+                if (game != null) {
+                    items.add(new GameListItem(game));
+                }
+            }
+        }
+        return items;
+    }
+
+    private static String displayName(Team team, String fallbackName) {
+        if (team != null && team.getAbreviatedName() != null) {
+            return team.getAbreviatedName();
+        }
+        if (fallbackName != null && !fallbackName.isEmpty()) {
+            return fallbackName;
+        }
+        return "TBD";
+    }
+
+    // A row needs its logos reloaded only when the team or its logo file changes
+    private static String logoKey(Team team) {
+        return team == null ? null : team.getTeamID() + ":" + team.getLogoPath();
+    }
+
+    public boolean hasScores() {
+        return homeScore >= 0 && awayScore >= 0;
+    }
+
+    private boolean sameExceptScore(GameListItem other) {
+        return Objects.equals(awayName, other.awayName)
+                && Objects.equals(homeName, other.homeName)
+                && Objects.equals(awayLogoKey, other.awayLogoKey)
+                && Objects.equals(homeLogoKey, other.homeLogoKey)
+                && Objects.equals(startTime, other.startTime);
+    }
+
+    private boolean sameScore(GameListItem other) {
+        return awayScore == other.awayScore && homeScore == other.homeScore;
+    }
+
+    static final DiffUtil.ItemCallback<GameListItem> DIFF = new DiffUtil.ItemCallback<GameListItem>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull GameListItem oldItem, @NonNull GameListItem newItem) {
+            return oldItem.gameId == newItem.gameId;
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull GameListItem oldItem, @NonNull GameListItem newItem) {
+            return oldItem.sameExceptScore(newItem) && oldItem.sameScore(newItem);
+        }
+
+        @Override
+        public Object getChangePayload(@NonNull GameListItem oldItem, @NonNull GameListItem newItem) {
+            // Null asks for a full rebind
+            return oldItem.sameExceptScore(newItem) ? PAYLOAD_SCORE : null;
+        }
+    };
+}
@@ -2,6 +2,8 @@ package com.example.nhlapp.Adapters;
 
 import android.annotation.SuppressLint;
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -10,19 +12,20 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.example.nhlapp.ImageHelper;
 import com.example.nhlapp.Objects.NHLPlayer;
 import com.example.nhlapp.Objects.Team;
 import com.example.nhlapp.R;
-import com.squareup.picasso.Picasso;
-import com.squareup.picasso.Callback;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class GamePlayerStatsAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
 
@@ -32,25 +35,72 @@ public class GamePlayerStatsAdapter extends RecyclerView.Adapter<RecyclerView.Vi
     private static final int VIEW_TYPE_SECTION = 3;
 
     private Context context;
-    private List<Object> items; // Mixed list of headers, players, and section dividers
+    private final ImageHelper imageHelper;
+    private List<Object> items; // Mixed list of headers, players, and section dividers, as last submitted
+    // Shown list, a re-sort is diffed off the main thread into moves instead of a full rebind
+    private final AsyncListDiffer<Object> differ = new AsyncListDiffer<>(this, ITEM_DIFF);
+    // Header rows get negative ids so they never collide with player ids
+    private long nextHeaderId = -1;
     private Team team;
 
     // Sort state tracking
     private String currentSortColumn = null;
     private boolean isAscending = true;
 
+    // Column orders are built once per boxscore, off the main thread
+    private static final ExecutorService sortExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final List<Section> sections = new ArrayList<>();
+    // Null until the background build is done, a tap before that is applied when it lands
+    private List<PlayerStatsTable> tables;
+
     public GamePlayerStatsAdapter(Context context, Team teamData, Team team) {
         this.context = context;
+        this.imageHelper = ImageHelper.getInstance(context);
         this.team = team;
         this.items = new ArrayList<>();
+        setHasStableIds(true);
 
         if (teamData != null) {
             setupItems(teamData);
         }
     }
 
+    /**
+     * Players are the same row when their ids match, headers only when they are the same
+     * object. Sorting moves rows around without changing them, so nothing is rebound.
+     */
+    private static final DiffUtil.ItemCallback<Object> ITEM_DIFF = new DiffUtil.ItemCallback<Object>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Object oldItem, @NonNull Object newItem) {
+            if (oldItem instanceof NHLPlayer && newItem instanceof NHLPlayer) {
+                return ((NHLPlayer) oldItem).getPlayerId() == ((NHLPlayer) newItem).getPlayerId();
+            }
+            return oldItem == newItem;
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Object oldItem, @NonNull Object newItem) {
+            return oldItem == newItem;
+        }
+    };
+
+    /** A section title, its column header row and its players in roster order */
+    private static class Section {
+        final SectionHeader title;
+        final HeaderItem columnHeader;
+        final List<NHLPlayer> players;
+
+        Section(SectionHeader title, HeaderItem columnHeader, List<NHLPlayer> players) {
+            this.title = title;
+            this.columnHeader = columnHeader;
+            this.players = players;
+        }
+    }
+
     private void setupItems(Team teamData) {
-        items.clear();
+        items = new ArrayList<>();
+        sections.clear();
         List<NHLPlayer> forwards = new ArrayList<>();
         List<NHLPlayer> defense = new ArrayList<>();
         List<NHLPlayer> goalies = new ArrayList<>();
@@ -68,29 +118,54 @@ public class GamePlayerStatsAdapter extends RecyclerView.Adapter<RecyclerView.Vi
             }
         }
         if (!forwards.isEmpty()) {
-            items.add(new SectionHeader("Forwards"));
-            items.add(new SkaterHeader());
-            items.addAll(forwards);
+            sections.add(new Section(new SectionHeader(nextHeaderId--, "Forwards"),
+                    new SkaterHeader(nextHeaderId--), forwards));
         }
 
         // Add defense section
         if (!defense.isEmpty()) {
-            items.add(new SectionHeader("Defense"));
-            items.add(new SkaterHeader());
-            items.addAll(defense);
+            sections.add(new Section(new SectionHeader(nextHeaderId--, "Defense"),
+                    new SkaterHeader(nextHeaderId--), defense));
         }
 
         // Add goalies section
         if (!goalies.isEmpty()) {
-            items.add(new SectionHeader("Goalies"));
-            items.add(new GoalieHeader());
-            items.addAll(goalies);
+            sections.add(new Section(new SectionHeader(nextHeaderId--, "Goalies"),
+                    new GoalieHeader(nextHeaderId--), goalies));
+        }
+
+        for (Section section : sections) {
+            items.add(section.title);
+            items.add(section.columnHeader);
+            items.addAll(section.players);
         }
+        differ.submitList(items);
+        buildSortTables();
+    }
+
+    /**
+     * Store each section column-wise and sort every column once, in the background
+     */
+    private void buildSortTables() {
+        tables = null;
+        List<Section> building = new ArrayList<>(sections);
+        sortExecutor.execute(() -> {
+            List<PlayerStatsTable> built = new ArrayList<>(building.size());
+            for (Section section : building) {
+                built.add(new PlayerStatsTable(section.players));
+            }
+            mainHandler.post(() -> {
+                tables = built;
+                if (currentSortColumn != null) {
+                    applySort();
+                }
+            });
+        });
     }
 
 //    @Override
     public int getViewType(int position) {
-        Object item = items.get(position);
+        Object item = differ.getCurrentList().get(position);
         if (item instanceof SectionHeader) {
             return VIEW_TYPE_SECTION;
         } else if (item instanceof SkaterHeader || item instanceof GoalieHeader) {
@@ -132,7 +207,7 @@ public class GamePlayerStatsAdapter extends RecyclerView.Adapter<RecyclerView.Vi
 
     @Override
     public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
-        Object item = items.get(position);
+        Object item = differ.getCurrentList().get(position);
 
         switch (holder.getItemViewType()) {
             case VIEW_TYPE_SECTION:
@@ -183,8 +258,8 @@ public class GamePlayerStatsAdapter extends RecyclerView.Adapter<RecyclerView.Vi
     }
 
     private void bindSkaterStats(SkaterViewHolder holder, NHLPlayer player) {
-        // Load player photo (but don't save to storage as requested)
-        loadPlayerPhoto(holder.playerPhoto, player.getPlayerId(), getTeamAbbreviation());
+        // Load player photo, kept on disk once and decoded at the row's size
+        imageHelper.loadPlayerHeadshot(player, holder.playerPhoto, R.drawable.ic_player_placeholder);
 
         holder.playerName.setText(player.getName());
         holder.jersey.setText(String.valueOf(player.getJerseyNumber()));
@@ -219,8 +294,8 @@ public class GamePlayerStatsAdapter extends RecyclerView.Adapter<RecyclerView.Vi
     }
 
     private void bindGoalieStats(GoalieViewHolder holder, NHLPlayer player) {
-        // Load player photo (but don't save to storage as requested)
-        loadPlayerPhoto(holder.playerPhoto, player.getPlayerId(), getTeamAbbreviation());
+        // Load player photo, kept on disk once and decoded at the row's size
+        imageHelper.loadPlayerHeadshot(player, holder.playerPhoto, R.drawable.ic_player_placeholder);
 
         holder.playerName.setText(player.getName());
         holder.jersey.setText(String.valueOf(player.getJerseyNumber()));
@@ -260,64 +335,6 @@ public class GamePlayerStatsAdapter extends RecyclerView.Adapter<RecyclerView.Vi
 //
 //    }
 
-    /**
-     * Improved player photo loading with multiple fallback URLs
-     */
-    private void loadPlayerPhoto(ImageView imageView, int playerId, String teamAbbrev) {
-        if (playerId <= 0) {
-            imageView.setImageResource(R.drawable.ic_player_placeholder);
-            return;
-        }
-
-        // Try multiple URL patterns in order of preference
-        String[] urlPatterns = {
-                // Current season headshots (most likely to work)
-                "https://assets.nhle.com/mugs/nhl/20242025/" + teamAbbrev + "/" + playerId + ".png",
-                "https://cms.nhl.bamgrid.com/images/headshots/current/168x168/" + playerId + ".jpg",
-
-                // Previous season as fallback
-                "https://assets.nhle.com/mugs/nhl/20232024/" + playerId + ".png",
-
-                // Alternative NHL API endpoints
-                "https://cms.nhl.bamgrid.com/images/headshots/current/60x60/" + playerId + ".jpg",
-                "https://www-league.nhlstatic.com/images/headshots/current/168x168/" + playerId + ".jpg",
-        };
-
-        tryLoadPlayerPhoto(imageView, urlPatterns, 0, playerId, teamAbbrev);
-    }
-
-    /**
-     * Recursively try different URL patterns until one works
-     */
-    private void tryLoadPlayerPhoto(ImageView imageView, String[] urlPatterns, int urlIndex, int playerId, String teamAbbrev) {
-        if (urlIndex >= urlPatterns.length) {
-            // All URLs failed, show placeholder
-            Log.d("GamePlayerStatsAdapter", "All headshot URLs failed for player " + playerId);
-            imageView.setImageResource(R.drawable.ic_player_placeholder);
-            return;
-        }
-
-        String currentUrl = urlPatterns[urlIndex];
-        Log.d("GamePlayerStatsAdapter", "Trying headshot URL " + (urlIndex + 1) + "/" + urlPatterns.length + " for player " + playerId + ": " + currentUrl);
-
-        Picasso.get()
-                .load(currentUrl)
-                .placeholder(R.drawable.ic_player_placeholder)
-                .into(imageView, new Callback() {
-                    @Override
-                    public void onSuccess() {
-                        Log.d("GamePlayerStatsAdapter", "Successfully loaded headshot for player " + playerId + " from URL: " + currentUrl);
-                    }
-
-                    @Override
-                    public void onError(Exception e) {
-                        Log.d("GamePlayerStatsAdapter", "Failed to load headshot from URL: " + currentUrl + ", trying next...");
-                        // Try the next URL pattern
-                        tryLoadPlayerPhoto(imageView, urlPatterns, urlIndex + 1, playerId, teamAbbrev);
-                    }
-                });
-    }
-
     private void sortByColumn(String column) {
         // Toggle sort direction if same column
         if (column.equals(currentSortColumn)) {
@@ -327,111 +344,55 @@ public class GamePlayerStatsAdapter extends RecyclerView.Adapter<RecyclerView.Vi
             isAscending = true;
         }
 
-        // Find sections and sort players within each section
-        List<Object> newItems = new ArrayList<>();
-        List<NHLPlayer> currentPlayers = new ArrayList<>();
-        Object currentSection = null;
-        Object currentHeader = null;
-
-        for (Object item : items) {
-            if (item instanceof SectionHeader || item instanceof SkaterHeader || item instanceof GoalieHeader) {
-                // Sort and add previous section if it exists
-                if (!currentPlayers.isEmpty()) {
-                    sortPlayers(currentPlayers, column);
-                    newItems.addAll(currentPlayers);
-                    currentPlayers.clear();
-                }
-
-                newItems.add(item);
-                if (item instanceof SectionHeader) {
-                    currentSection = item;
-                } else {
-                    currentHeader = item;
-                }
-            } else if (item instanceof NHLPlayer) {
-                currentPlayers.add((NHLPlayer) item);
-            }
+        // Applied once the tables are built if they aren't yet
+        if (tables != null) {
+            applySort();
         }
+    }
 
-        // Sort and add final section
-        if (!currentPlayers.isEmpty()) {
-            sortPlayers(currentPlayers, column);
-            newItems.addAll(currentPlayers);
+    /**
+     * Lay each section out in the precomputed order of the current column, the differ
+     * turns the change into moves
+     */
+    private void applySort() {
+        PlayerStatsTable.Column column = PlayerStatsTable.Column.forLabel(currentSortColumn);
+        List<Object> newItems = new ArrayList<>(items.size());
+        for (int i = 0; i < sections.size(); i++) {
+            Section section = sections.get(i);
+            PlayerStatsTable table = tables.get(i);
+            newItems.add(section.title);
+            newItems.add(section.columnHeader);
+            for (int index : table.order(column, isAscending)) {
+                newItems.add(table.players[index]);
+            }
         }
 
         items = newItems;
-        notifyDataSetChanged();
+        differ.submitList(newItems);
     }
 
-    private void sortPlayers(List<NHLPlayer> players, String column) {
-        Collections.sort(players, new Comparator<NHLPlayer>() {
-            @Override
-            public int compare(NHLPlayer p1, NHLPlayer p2) {
-                int result = 0;
-
-                switch (column) {
-                    case "Name":
-                        result = p1.getName().compareToIgnoreCase(p2.getName());
-                        break;
-                    case "Jersey":
-                        result = Integer.compare(p1.getJerseyNumber(), p2.getJerseyNumber());
-                        break;
-                    case "Position":
-                        result = p1.getPosition().compareToIgnoreCase(p2.getPosition());
-                        break;
-                    case "TOI":
-                        result = Float.compare(p1.getTimeOnIce(), p2.getTimeOnIce());
-                        break;
-                    case "G":
-                        result = Integer.compare(p1.getGoals(), p2.getGoals());
-                        break;
-                    case "A":
-                        result = Integer.compare(p1.getAssists(), p2.getAssists());
-                        break;
-                    case "P":
-                        result = Integer.compare(p1.getPoints(), p2.getPoints());
-                        break;
-                    case "S":
-                        result = Integer.compare(p1.getShotsOnGoal(), p2.getShotsOnGoal());
-                        break;
-                    case "H":
-                        result = Integer.compare(p1.getHits(), p2.getHits());
-                        break;
-                    case "BS":
-                        result = Integer.compare(p1.getBlocks(), p2.getBlocks());
-                        break;
-                    case "PIM":
-                        result = Integer.compare(p1.getPenaltyMinutes(), p2.getPenaltyMinutes());
-                        break;
-                    // Goalie stats
-                    case "Saves":
-                        result = Integer.compare(p1.getSaves(), p2.getSaves());
-                        break;
-                    case "Shots":
-                        result = Integer.compare(p1.getShotsAgainst(), p2.getShotsAgainst());
-                        break;
-                    case "Sv%":
-                        result = Double.compare(p1.getSavePercentage(), p2.getSavePercentage());
-                        break;
-                    case "GA":
-                        result = Integer.compare(p1.getGoalsAgainst(), p2.getGoalsAgainst());
-                        break;
-//                    case "Decision":
-//                        result = p1.getDecision().compareToIgnoreCase(p2.getDecision());
-//                        break;
-                    default:
-                        result = p1.getName().compareToIgnoreCase(p2.getName());
-                        break;
-                }
+    @Override
+    public int getItemCount() {
+        return differ.getCurrentList().size();
+    }
 
-                return isAscending ? result : -result;
-            }
-        });
+    @Override
+    public long getItemId(int position) {
+        Object item = differ.getCurrentList().get(position);
+        if (item instanceof NHLPlayer) {
+            return ((NHLPlayer) item).getPlayerId();
+        }
+        return ((HeaderItem) item).id;
     }
 
     @Override
-    public int getItemCount() {
-        return items.size();
+    public void onViewRecycled(@NonNull RecyclerView.ViewHolder holder) {
+        super.onViewRecycled(holder);
+        if (holder instanceof SkaterViewHolder) {
+            imageHelper.cancelTeamLogo(((SkaterViewHolder) holder).playerPhoto);
+        } else if (holder instanceof GoalieViewHolder) {
+            imageHelper.cancelTeamLogo(((GoalieViewHolder) holder).playerPhoto);
+        }
     }
 
     // ViewHolder classes
@@ -530,13 +491,6 @@ public class GamePlayerStatsAdapter extends RecyclerView.Adapter<RecyclerView.Vi
         }
     }
 
-    private String getTeamAbbreviation() {
-        if (team != null && team.getAbreviatedName() != null) {
-            return team.getAbreviatedName();
-        }
-        return "NHL";
-    }
-
     static class SkaterViewHolder extends RecyclerView.ViewHolder {
         ImageView playerPhoto;
         TextView playerName, jersey, position, toi, goals, assists, points, shots, hits, blockedShots, pim;
@@ -577,13 +531,23 @@ public class GamePlayerStatsAdapter extends RecyclerView.Adapter<RecyclerView.Vi
     }
 
     // Helper classes
-    static class SectionHeader {
+    static class HeaderItem {
+        final long id;
+        HeaderItem(long id) { this.id = id; }
+    }
+
+    static class SectionHeader extends HeaderItem {
         String title;
-        SectionHeader(String title) { this.title = title; }
+        SectionHeader(long id, String title) { super(id); this.title = title; }
     }
 
-    static class SkaterHeader { }
-    static class GoalieHeader { }
+    static class SkaterHeader extends HeaderItem {
+        SkaterHeader(long id) { super(id); }
+    }
+
+    static class GoalieHeader extends HeaderItem {
+        GoalieHeader(long id) { super(id); }
+    }
 
     interface HeaderClickListener {
         void onHeaderClick(String column);
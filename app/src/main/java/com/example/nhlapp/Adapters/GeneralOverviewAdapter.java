@@ -5,16 +5,32 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.nhlapp.R;
+import java.util.ArrayList;
 import java.util.List;
 
 public class GeneralOverviewAdapter extends RecyclerView.Adapter<GeneralOverviewAdapter.OverviewViewHolder> {
 
-    private List<String> overviewData;
+    // Lines are plain text, a line that didn't change keeps its view
+    private static final DiffUtil.ItemCallback<String> DIFF = new DiffUtil.ItemCallback<String>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull String oldItem, @NonNull String newItem) {
+            return oldItem.equals(newItem);
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull String oldItem, @NonNull String newItem) {
+            return true;
+        }
+    };
+
+    private final AsyncListDiffer<String> differ = new AsyncListDiffer<>(this, DIFF);
 
     public GeneralOverviewAdapter(List<String> overviewData) {
-        this.overviewData = overviewData;
+        updateData(overviewData);
     }
 
     @NonNull
@@ -27,7 +43,7 @@ public class GeneralOverviewAdapter extends RecyclerView.Adapter<GeneralOverview
 
     @Override
     public void onBindViewHolder(@NonNull OverviewViewHolder holder, int position) {
-        String text = overviewData.get(position);
+        String text = differ.getCurrentList().get(position);
         holder.textView.setText(text);
 
         // Style headers differently
@@ -54,12 +70,15 @@ public class GeneralOverviewAdapter extends RecyclerView.Adapter<GeneralOverview
 
     @Override
     public int getItemCount() {
-        return overviewData != null ? overviewData.size() : 0;
+        return differ.getCurrentList().size();
     }
 
+    /**
+     * Show new lines, diffed against the current ones off the main thread
+     */
     public void updateData(List<String> newData) {
-        this.overviewData = newData;
-        notifyDataSetChanged();
+        // Copied, the differ must not see the caller's list change under it
+        differ.submitList(newData != null ? new ArrayList<>(newData) : null);
     }
 
     static class OverviewViewHolder extends RecyclerView.ViewHolder {
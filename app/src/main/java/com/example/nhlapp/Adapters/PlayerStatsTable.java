@@ -0,0 +1,141 @@
+package com.example.nhlapp.Adapters;
+
+import com.example.nhlapp.Objects.NHLPlayer;
+
+import java.util.List;
+
+/**
+ * One section of a boxscore (forwards, defense or goalies) stored column-wise, one
+ * primitive array per stat, with the row order for every sortable column computed
+ * up front. Sorting on a header tap is then picking an int[] that already exists,
+ * no comparator and no re-sort.
+ *
+ * Build it off the main thread, it is read-only afterwards.
+ */
+final class PlayerStatsTable {
+
+    /** Sortable columns by the header label GamePlayerStatsAdapter reports on a tap */
+    enum Column {
+        NAME("Name"),
+        JERSEY("Jersey"),
+        POSITION("Position"),
+        TOI("TOI"),
+        GOALS("G"),
+        ASSISTS("A"),
+        POINTS("P"),
+        SHOTS("S"),
+        HITS("H"),
+        BLOCKS("BS"),
+        PIM("PIM"),
+        SAVES("Saves"),
+        SHOTS_AGAINST("Shots"),
+        SAVE_PCTG("Sv%"),
+        GOALS_AGAINST("GA");
+
+        final String label;
+
+        Column(String label) {
+            this.label = label;
+        }
+
+        /** The column for a header label, NAME for anything unknown like the old default */
+        static Column forLabel(String label) {
+            for (Column column : COLUMNS) {
+                if (column.label.equals(label)) {
+                    return column;
+                }
+            }
+            return NAME;
+        }
+    }
+
+    private static final Column[] COLUMNS = Column.values();
+
+    final NHLPlayer[] players;
+    // Numeric stats by column ordinal then player index, null for the text columns
+    private final double[][] values = new double[COLUMNS.length][];
+    private final String[] names;
+    private final String[] positions;
+    // Row orders by column ordinal, both keep tied players in roster order
+    private final int[][] ascending = new int[COLUMNS.length][];
+    private final int[][] descending = new int[COLUMNS.length][];
+
+    PlayerStatsTable(List<NHLPlayer> roster) {
+        int count = roster.size();
+        players = roster.toArray(new NHLPlayer[0]);
+        names = new String[count];
+        positions = new String[count];
+        for (Column column : COLUMNS) {
+            if (column != Column.NAME && column != Column.POSITION) {
+                values[column.ordinal()] = new double[count];
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            NHLPlayer player = players[i];
+            names[i] = player.getName() != null ? player.getName() : "";
+            positions[i] = player.getPosition() != null ? player.getPosition() : "";
+            values[Column.JERSEY.ordinal()][i] = player.getJerseyNumber();
+            values[Column.TOI.ordinal()][i] = player.getTimeOnIce();
+            values[Column.GOALS.ordinal()][i] = player.getGoals();
+            values[Column.ASSISTS.ordinal()][i] = player.getAssists();
+            values[Column.POINTS.ordinal()][i] = player.getPoints();
+            values[Column.SHOTS.ordinal()][i] = player.getShotsOnGoal();
+            values[Column.HITS.ordinal()][i] = player.getHits();
+            values[Column.BLOCKS.ordinal()][i] = player.getBlocks();
+            values[Column.PIM.ordinal()][i] = player.getPenaltyMinutes();
+            values[Column.SAVES.ordinal()][i] = player.getSaves();
+            values[Column.SHOTS_AGAINST.ordinal()][i] = player.getShotsAgainst();
+            values[Column.SAVE_PCTG.ordinal()][i] = player.getSavePercentage();
+            values[Column.GOALS_AGAINST.ordinal()][i] = player.getGoalsAgainst();
+        }
+
+        for (Column column : COLUMNS) {
+            ascending[column.ordinal()] = sortedOrder(column, 1);
+            descending[column.ordinal()] = sortedOrder(column, -1);
+        }
+    }
+
+    int size() {
+        return players.length;
+    }
+
+    /** Player indexes in display order, shared, don't modify */
+    int[] order(Column column, boolean ascendingOrder) {
+        return ascendingOrder ? ascending[column.ordinal()] : descending[column.ordinal()];
+    }
+
+    /**
+     * Stable insertion sort of the player indexes, a section is a couple of dozen rows.
+     * direction is 1 for ascending and -1 for descending, ties stay in roster order either way
+     */
+    private int[] sortedOrder(Column column, int direction) {
+        int count = players.length;
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        for (int i = 1; i < count; i++) {
+            int current = order[i];
+            int j = i - 1;
+            while (j >= 0 && direction * compare(column, order[j], current) > 0) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = current;
+        }
+        return order;
+    }
+
+    private int compare(Column column, int a, int b) {
+        switch (column) {
+            case NAME:
+                return names[a].compareToIgnoreCase(names[b]);
+            case POSITION:
+                return positions[a].compareToIgnoreCase(positions[b]);
+            default:
+                double[] stat = values[column.ordinal()];
+                return Double.compare(stat[a], stat[b]);
+        }
+    }
+}
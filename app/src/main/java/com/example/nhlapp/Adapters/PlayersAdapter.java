@@ -1,7 +1,6 @@
 package com.example.nhlapp.Adapters;
 
 import android.content.Context;
-import android.graphics.BitmapFactory;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -10,20 +9,22 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.example.nhlapp.ImageHelper;
 import com.example.nhlapp.Objects.NHLPlayer;
 import com.example.nhlapp.Objects.Player;
 import com.example.nhlapp.R;
 
-import java.io.File;
 import java.util.List;
 
 public class PlayersAdapter extends RecyclerView.Adapter<PlayersAdapter.PlayerViewHolder> {
     private List<NHLPlayer> players;
     private Context context;
+    private final ImageHelper imageHelper;
 
     public PlayersAdapter(List<NHLPlayer> players, Context context) {
         this.players = players;
         this.context = context;
+        this.imageHelper = ImageHelper.getInstance(context);
     }
 
     @NonNull
@@ -38,17 +39,14 @@ public class PlayersAdapter extends RecyclerView.Adapter<PlayersAdapter.PlayerVi
         NHLPlayer player = players.get(position);
         holder.playerName.setText(player.getName());
 
-        // Load player headshot if available
-        if (player.getHeadshotPath() != null && !player.getHeadshotPath().isEmpty()) {
-            File headshotFile = new File(player.getHeadshotPath());
-            if (headshotFile.exists()) {
-                holder.playerHeadshot.setImageBitmap(BitmapFactory.decodeFile(player.getHeadshotPath()));
-            } else {
-                holder.playerHeadshot.setImageResource(R.drawable.ic_player_placeholder);
-            }
-        } else {
-            holder.playerHeadshot.setImageResource(R.drawable.ic_player_placeholder);
-        }
+        // Decoded off the main thread at the view's size, downloaded first if needed
+        imageHelper.loadPlayerHeadshot(player, holder.playerHeadshot, R.drawable.ic_player_placeholder);
+    }
+
+    @Override
+    public void onViewRecycled(@NonNull PlayerViewHolder holder) {
+        super.onViewRecycled(holder);
+        imageHelper.cancelTeamLogo(holder.playerHeadshot);
     }
 
     @Override
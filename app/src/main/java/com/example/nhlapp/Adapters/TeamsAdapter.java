@@ -1,7 +1,6 @@
 package com.example.nhlapp.Adapters;
 
 import android.content.Context;
-import android.graphics.BitmapFactory;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -10,19 +9,23 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.example.nhlapp.ImageHelper;
 import com.example.nhlapp.Objects.Team;
 import com.example.nhlapp.R;
 
-import java.io.File;
 import java.util.List;
 
 public class TeamsAdapter extends RecyclerView.Adapter<TeamsAdapter.TeamViewHolder> {
     private List<Team> teams;
     private Context context;
+    private final ImageHelper imageHelper;
+    private final int logoSizePx;
 
     public TeamsAdapter(List<Team> teams, Context context) {
         this.teams = teams;
         this.context = context;
+        this.imageHelper = ImageHelper.getInstance(context);
+        this.logoSizePx = context.getResources().getDimensionPixelSize(R.dimen.team_logo_size);
     }
 
     @NonNull
@@ -37,17 +40,14 @@ public class TeamsAdapter extends RecyclerView.Adapter<TeamsAdapter.TeamViewHold
         Team team = teams.get(position);
         holder.teamName.setText(team.getName());
 
-        // Load team logo if available
-        if (team.getLogoPath() != null && !team.getLogoPath().isEmpty()) {
-            File logoFile = new File(team.getLogoPath());
-            if (logoFile.exists()) {
-                holder.teamLogo.setImageBitmap(BitmapFactory.decodeFile(team.getLogoPath()));
-            } else {
-                holder.teamLogo.setImageResource(R.drawable.ic_team_placeholder);
-            }
-        } else {
-            holder.teamLogo.setImageResource(R.drawable.ic_team_placeholder);
-        }
+        // Load team logo if available, decoded off the main thread and cached
+        imageHelper.loadTeamLogo(team, holder.teamLogo, R.drawable.ic_team_placeholder, logoSizePx);
+    }
+
+    @Override
+    public void onViewRecycled(@NonNull TeamViewHolder holder) {
+        super.onViewRecycled(holder);
+        imageHelper.cancelTeamLogo(holder.teamLogo);
     }
 
     @Override
@@ -5,6 +5,7 @@ import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
 import android.graphics.Canvas;
 import android.graphics.Picture;
+import android.graphics.RectF;
 import android.os.Handler;
 import android.os.Looper;
 import android.util.Log;
@@ -14,11 +15,12 @@ import com.caverock.androidsvg.SVGParseException;
 import com.example.nhlapp.Objects.Team;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -29,19 +31,23 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class AltImageDownloader {
     private static final String TAG = "ImageDownloader";
     private static final String LOGOS_DIR = "team_logos";
-    private static final int MAX_CONCURRENT_DOWNLOADS = 3;
-    private static final int DOWNLOAD_TIMEOUT = 15000; // 15 seconds
     private static final int MAX_IMAGE_SIZE = 200; // Max width/height in pixels
     private static final String LOGO_FILE_EXTENSION = ".png";
+    private static final String SVG_FILE_EXTENSION = ".svg";
+    private static final Object ATLAS_LOCK = new Object();
 
-    private final ExecutorService executorService;
+    // Downloads go through AssetDownloadScheduler, this one thread only rasterizes and packs the atlas
+    private final ExecutorService renderExecutor;
+    private final AssetDownloadScheduler scheduler;
     private final Handler mainHandler;
     private final Context context;
+    private final DiskCacheManager diskCache;
     private File logosDirectory;
 
     // Track downloads in progress to prevent duplicates
     private final Set<String> downloadsInProgress = ConcurrentHashMap.newKeySet();
-    private final Set<String> downloadsFailed = ConcurrentHashMap.newKeySet();
+    // Listeners still registered with the scheduler, dropped on shutdown
+    private final Set<AssetDownloadScheduler.Listener> pendingListeners = ConcurrentHashMap.newKeySet();
 
     public interface DownloadCallback {
         void onComplete(int successful, int failed, int skipped);
@@ -50,8 +56,11 @@ public class AltImageDownloader {
 
     public AltImageDownloader(Context context) {
         this.context = context.getApplicationContext();
-        this.executorService = Executors.newFixedThreadPool(MAX_CONCURRENT_DOWNLOADS);
+        HttpClientProvider.initialize(this.context);
+        this.renderExecutor = Executors.newSingleThreadExecutor();
+        this.scheduler = AssetDownloadScheduler.getInstance(this.context);
         this.mainHandler = new Handler(Looper.getMainLooper());
+        this.diskCache = DiskCacheManager.getInstance(this.context);
         initializeDirectories();
     }
 
@@ -82,6 +91,16 @@ public class AltImageDownloader {
      * Download team logos for all teams that don't have them locally
      */
     public void downloadTeamLogos(List<Team> teams, DownloadCallback callback) {
+        downloadTeamLogos(teams, AssetDownloadScheduler.Priority.NORMAL, callback);
+    }
+
+    /**
+     * Download team logos through the shared download scheduler at the given priority.
+     * Failed downloads are retried with backoff by the scheduler, a later call tries
+     * again whatever is still missing.
+     */
+    public void downloadTeamLogos(List<Team> teams, AssetDownloadScheduler.Priority priority,
+                                  DownloadCallback callback) {
         if (teams == null || teams.isEmpty()) {
             if (callback != null) {
                 callback.onComplete(0, 0, 0);
@@ -100,85 +119,49 @@ public class AltImageDownloader {
             for (Team team : teams) {
                 updateTeamWithLocalPath(team);
             }
+            buildLogoAtlasAsync(teams);
             if (callback != null) {
                 callback.onComplete(0, 0, teams.size());
             }
             return;
         }
 
-        Log.d(TAG, "Starting logo downloads for " + teamsToDownload.size() + " teams");
-
-        AtomicInteger completed = new AtomicInteger(0);
-        AtomicInteger successful = new AtomicInteger(0);
-        AtomicInteger failed = new AtomicInteger(0);
-        AtomicInteger skipped = new AtomicInteger(0);
-        int totalTeams = teamsToDownload.size();
+        Log.d(TAG, "Queueing logo downloads for " + teamsToDownload.size() + " teams");
 
+        LogoBatch batch = new LogoBatch(teams, teamsToDownload.size(), callback);
         for (Team team : teamsToDownload) {
-            String teamKey = getTeamKey(team);
-
-            // Mark as in progress
-            downloadsInProgress.add(teamKey);
-
-            executorService.execute(() -> {
-                try {
-                    boolean result = downloadTeamLogo(team);
-
-                    if (result) {
-                        successful.incrementAndGet();
-                        Log.d(TAG, "Successfully downloaded logo for " + team.getAbreviatedName());
-
-                        // IMPORTANT: Update the team object with the local path immediately
-                        String localPath = getLocalLogoPath(team);
-                        if (localPath != null) {
-                            team.setLogoPath(localPath);
-                            Log.d(TAG, "Set logoPath for " + team.getAbreviatedName() + ": " + localPath);
-                        }
-
-                    } else if (hasLocalLogo(team)) {
-                        skipped.incrementAndGet();
-                        updateTeamWithLocalPath(team);
-                        Log.d(TAG, "Logo already exists for " + team.getAbreviatedName());
-                    } else {
-                        failed.incrementAndGet();
-                        downloadsFailed.add(teamKey);
-                        Log.w(TAG, "Failed to download logo for " + team.getAbreviatedName());
-                    }
-
-                    // Update progress on main thread
-                    if (callback != null) {
-                        mainHandler.post(() -> callback.onProgress(
-                                team.getAbreviatedName() != null ? team.getAbreviatedName() : "Unknown Team",
-                                result
-                        ));
-                    }
-
-                } catch (Exception e) {
-                    Log.e(TAG, "Error downloading logo for team: " + team.getAbreviatedName(), e);
-                    failed.incrementAndGet();
-                    downloadsFailed.add(teamKey);
+            String logoUrl = resolveLogoUrl(team);
+            if (logoUrl == null) {
+                Log.w(TAG, "Could not determine logo URL for team: " + team.getAbreviatedName());
+                finishLogo(batch, team, false);
+                continue;
+            }
 
-                    if (callback != null) {
-                        mainHandler.post(() -> callback.onProgress(
-                                team.getAbreviatedName() != null ? team.getAbreviatedName() : "Unknown Team",
-                                false
-                        ));
+            downloadsInProgress.add(getTeamKey(team));
+            boolean svg = logoUrl.toLowerCase().contains(".svg");
+            // SVGs are kept as downloaded for the atlas, anything else is re-encoded and dropped
+            File target = new File(logosDirectory, svg ? generateSvgFilename(team) : generateRawFilename(team));
+            AssetDownloadScheduler.Listener listener = new AssetDownloadScheduler.Listener() {
+                @Override
+                public void onDownloaded(String url, File file) {
+                    pendingListeners.remove(this);
+                    if (renderExecutor.isShutdown()) {
+                        downloadsInProgress.remove(getTeamKey(team));
+                        return;
                     }
-                } finally {
-                    // Remove from in-progress tracking
-                    downloadsInProgress.remove(teamKey);
+                    renderExecutor.execute(() -> finishLogo(batch, team, saveLogo(team, file, svg)));
                 }
 
-                // Check if all downloads completed
-                int completedCount = completed.incrementAndGet();
-                if (completedCount >= totalTeams && callback != null) {
-                    mainHandler.post(() -> callback.onComplete(
-                            successful.get(),
-                            failed.get(),
-                            skipped.get()
-                    ));
+                @Override
+                public void onFailed(String url, String error) {
+                    pendingListeners.remove(this);
+                    Log.w(TAG, "Failed to download logo for " + team.getAbreviatedName() + ": " + error);
+                    finishLogo(batch, team, false);
                 }
-            });
+            };
+            pendingListeners.add(listener);
+            Log.d(TAG, "Downloading logo for " + team.getAbreviatedName() + " from: " + logoUrl);
+            scheduler.enqueue(logoUrl, target, priority, listener);
         }
 
         // Update teams that already have logos with their paths
@@ -189,6 +172,46 @@ public class AltImageDownloader {
         }
     }
 
+    /** Progress of one downloadTeamLogos call */
+    private static class LogoBatch {
+        final List<Team> teams;
+        final int total;
+        final DownloadCallback callback;
+        final AtomicInteger completed = new AtomicInteger(0);
+        final AtomicInteger successful = new AtomicInteger(0);
+        final AtomicInteger failed = new AtomicInteger(0);
+
+        LogoBatch(List<Team> teams, int total, DownloadCallback callback) {
+            this.teams = new ArrayList<>(teams);
+            this.total = total;
+            this.callback = callback;
+        }
+    }
+
+    /**
+     * Count one team's result, report it on the main thread, and repack the atlas after the last one
+     */
+    private void finishLogo(LogoBatch batch, Team team, boolean success) {
+        downloadsInProgress.remove(getTeamKey(team));
+        if (success) {
+            batch.successful.incrementAndGet();
+        } else {
+            batch.failed.incrementAndGet();
+        }
+        if (batch.callback != null) {
+            String teamName = team.getAbreviatedName() != null ? team.getAbreviatedName() : "Unknown Team";
+            mainHandler.post(() -> batch.callback.onProgress(teamName, success));
+        }
+
+        if (batch.completed.incrementAndGet() >= batch.total) {
+            if (batch.callback != null) {
+                mainHandler.post(() -> batch.callback.onComplete(batch.successful.get(), batch.failed.get(), 0));
+            }
+            // Repack with the new logos, views fall back to the PNGs until it is done
+            buildLogoAtlasAsync(batch.teams);
+        }
+    }
+
     /**
      * Check if a team should have its logo downloaded
      */
@@ -197,10 +220,8 @@ public class AltImageDownloader {
             return false;
         }
 
-        String teamKey = getTeamKey(team);
-
-        // Don't download if already in progress or recently failed
-        if (downloadsInProgress.contains(teamKey) || downloadsFailed.contains(teamKey)) {
+        // Don't queue it twice
+        if (downloadsInProgress.contains(getTeamKey(team))) {
             return false;
         }
 
@@ -219,52 +240,17 @@ public class AltImageDownloader {
     }
 
     /**
-     * Download logo for a single team
+     * The team's logo URL, or the NHL assets one built from its abbreviation
      */
-    private boolean downloadTeamLogo(Team team) {
-        if (team == null || team.getAbreviatedName() == null || team.getAbreviatedName().trim().isEmpty()) {
-            Log.w(TAG, "Invalid team data for logo download");
-            return false;
-        }
-
-        // Double-check if logo already exists (race condition protection)
-        if (hasLocalLogo(team)) {
-            updateTeamWithLocalPath(team);
-            return false; // Not a new download, but logo exists
-        }
-
-        // Use logoUrl from team if available, otherwise build URL
+    private String resolveLogoUrl(Team team) {
         String logoUrl = team.logoUrl;
         if (logoUrl == null || logoUrl.trim().isEmpty()) {
             logoUrl = buildLogoUrl(team);
         }
-
-        if (logoUrl == null) {
-            Log.w(TAG, "Could not determine logo URL for team: " + team.getAbreviatedName());
-            return false;
-        }
-        if(logoUrl.contains("_secondary")){
+        if (logoUrl != null && logoUrl.contains("_secondary")) {
             logoUrl = logoUrl.replace("_secondary", "");
         }
-
-        Log.d(TAG, "Downloading logo for " + team.getAbreviatedName() + " from: " + logoUrl);
-
-        try {
-            Bitmap logoBitmap = downloadAndConvertSvg(logoUrl);
-            if (logoBitmap != null) {
-                String savedPath = saveBitmapToFile(logoBitmap, team);
-                if (savedPath != null) {
-                    // CRITICAL: Set the logoPath immediately after successful save
-                    team.setLogoPath(savedPath);
-                    Log.d(TAG, "Successfully downloaded and saved logo for " + team.getAbreviatedName() + " to " + savedPath);
-                    return true;
-                }
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to download logo for " + team.getAbreviatedName() + " from " + logoUrl, e);
-        }
-
-        return false;
+        return logoUrl;
     }
 
     /**
@@ -281,53 +267,32 @@ public class AltImageDownloader {
     }
 
     /**
-     * Download SVG and convert to bitmap
+     * Turn a downloaded logo into the team's PNG, runs on the render thread
      */
-    private Bitmap downloadAndConvertSvg(String imageUrl) throws IOException {
-        HttpURLConnection connection = null;
-        InputStream inputStream = null;
-
-        try {
-            URL url = new URL(imageUrl);
-            connection = (HttpURLConnection) url.openConnection();
-            connection.setConnectTimeout(DOWNLOAD_TIMEOUT);
-            connection.setReadTimeout(DOWNLOAD_TIMEOUT);
-            connection.setRequestProperty("User-Agent", "NHL-App/1.0");
-            connection.setRequestProperty("Accept", "image/svg+xml,image/*,*/*");
-
-            int responseCode = connection.getResponseCode();
-            if (responseCode != HttpURLConnection.HTTP_OK) {
-                Log.w(TAG, "HTTP error " + responseCode + " for URL: " + imageUrl);
-                return null;
-            }
-
-            inputStream = connection.getInputStream();
-
-            // Check if it's actually an SVG by trying to parse it
-            if (imageUrl.toLowerCase().contains(".svg")) {
-                return convertSvgToBitmap(inputStream);
-            } else {
-                // Fallback for non-SVG images
-                Bitmap bitmap = BitmapFactory.decodeStream(inputStream);
-                if (bitmap != null) {
-                    return resizeBitmap(bitmap, MAX_IMAGE_SIZE, MAX_IMAGE_SIZE);
-                }
+    private boolean saveLogo(Team team, File downloaded, boolean svg) {
+        Bitmap logoBitmap;
+        if (svg) {
+            try (InputStream input = new FileInputStream(downloaded)) {
+                logoBitmap = convertSvgToBitmap(input);
+            } catch (IOException e) {
+                Log.e(TAG, "Failed to read downloaded SVG for " + team.getAbreviatedName(), e);
+                return false;
             }
+        } else {
+            // Fallback for non-SVG images
+            Bitmap decoded = BitmapFactory.decodeFile(downloaded.getAbsolutePath());
+            logoBitmap = decoded != null ? resizeBitmap(decoded, MAX_IMAGE_SIZE, MAX_IMAGE_SIZE) : null;
+            downloaded.delete();
+            diskCache.remove(downloaded);
+        }
 
-            return null;
-
-        } finally {
-            if (inputStream != null) {
-                try {
-                    inputStream.close();
-                } catch (IOException e) {
-                    Log.w(TAG, "Error closing input stream", e);
-                }
-            }
-            if (connection != null) {
-                connection.disconnect();
-            }
+        String savedPath = saveBitmapToFile(logoBitmap, team);
+        if (savedPath == null) {
+            return false;
         }
+        team.setLogoPath(savedPath);
+        Log.d(TAG, "Successfully downloaded and saved logo for " + team.getAbreviatedName() + " to " + savedPath);
+        return true;
     }
 
     /**
@@ -338,20 +303,7 @@ public class AltImageDownloader {
             // Try to use AndroidSVG library if available
             SVG svg = SVG.getFromInputStream(svgInputStream);
 
-            // Set a reasonable size for the SVG
-            if (svg.getDocumentWidth() <= 0) {
-                svg.setDocumentWidth(MAX_IMAGE_SIZE);
-            }
-            if (svg.getDocumentHeight() <= 0) {
-                svg.setDocumentHeight(MAX_IMAGE_SIZE);
-            }
-
-            // Create bitmap and render SVG to it
-            Bitmap bitmap = Bitmap.createBitmap(MAX_IMAGE_SIZE, MAX_IMAGE_SIZE, Bitmap.Config.ARGB_8888);
-            Canvas canvas = new Canvas(bitmap);
-            svg.renderToCanvas(canvas);
-
-            return bitmap;
+            return renderSvg(svg, MAX_IMAGE_SIZE);
 
         } catch (SVGParseException e) {
             Log.e(TAG, "Failed to parse SVG", e);
@@ -362,6 +314,21 @@ public class AltImageDownloader {
         }
     }
 
+    /**
+     * Render an SVG scaled to fit a sizePx square, keeping its aspect ratio
+     */
+    private static Bitmap renderSvg(SVG svg, int sizePx) {
+        // Scaling to the viewport needs a viewBox, fall back to the document size
+        if (svg.getDocumentViewBox() == null && svg.getDocumentWidth() > 0 && svg.getDocumentHeight() > 0) {
+            svg.setDocumentViewBox(0, 0, svg.getDocumentWidth(), svg.getDocumentHeight());
+        }
+
+        Bitmap bitmap = Bitmap.createBitmap(sizePx, sizePx, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+        svg.renderToCanvas(canvas, new RectF(0, 0, sizePx, sizePx));
+        return bitmap;
+    }
+
     /**
      * Create a simple placeholder bitmap for teams without logos
      */
@@ -439,6 +406,7 @@ public class AltImageDownloader {
                 return null;
             }
 
+            diskCache.record(logoFile);
             return absolutePath;
 
         } catch (IOException e) {
@@ -447,6 +415,7 @@ public class AltImageDownloader {
             if (logoFile.exists()) {
                 logoFile.delete();
             }
+            diskCache.remove(logoFile);
             return null;
         } finally {
             // Don't recycle bitmap here as it might be used elsewhere
@@ -464,6 +433,128 @@ public class AltImageDownloader {
         return teamAbbrev.toLowerCase().trim() + LOGO_FILE_EXTENSION;
     }
 
+    /** Where a non-SVG logo is downloaded to before it is re-encoded as the PNG */
+    private String generateRawFilename(Team team) {
+        String filename = generateLogoFilename(team);
+        return filename.substring(0, filename.length() - LOGO_FILE_EXTENSION.length()) + ".download";
+    }
+
+    private String generateSvgFilename(Team team) {
+        String filename = generateLogoFilename(team);
+        return filename.substring(0, filename.length() - LOGO_FILE_EXTENSION.length()) + SVG_FILE_EXTENSION;
+    }
+
+    /**
+     * Pixel sizes logos are shown at on this device, every layout uses team_logo_size
+     */
+    private int[] atlasSizesPx() {
+        return new int[]{context.getResources().getDimensionPixelSize(R.dimen.team_logo_size)};
+    }
+
+    /**
+     * Rebuild the logo atlas in the background if a logo on disk is missing from it or newer
+     */
+    public void buildLogoAtlasAsync(List<Team> teams) {
+        if (teams == null || teams.isEmpty() || renderExecutor.isShutdown()) {
+            return;
+        }
+        List<Team> snapshot = new ArrayList<>(teams);
+        renderExecutor.execute(() -> buildLogoAtlas(snapshot));
+    }
+
+    /**
+     * Rasterize the teams' logos once at the layout sizes and pack them into one file.
+     * SVGs are rendered at the exact size, teams with only a PNG are scaled from it.
+     * Logos already in the atlas for teams not in the list are kept, so rebuilding
+     * after a partial download doesn't drop everyone else. Returns true when a new
+     * atlas was written.
+     */
+    public boolean buildLogoAtlas(List<Team> teams) {
+        // Several downloaders can exist, they all write the same file
+        synchronized (ATLAS_LOCK) {
+            File atlasFile = new File(logosDirectory, LogoAtlas.ATLAS_FILE);
+            int[] sizes = atlasSizesPx();
+            if (!needsAtlasRebuild(teams, sizes, atlasFile)) {
+                return false;
+            }
+            return writeLogoAtlas(teams, sizes, atlasFile);
+        }
+    }
+
+    private boolean writeLogoAtlas(List<Team> teams, int[] sizes, File atlasFile) {
+        List<LogoAtlas.Entry> entries = new ArrayList<>();
+        Set<Integer> rebuiltTeamIds = new HashSet<>();
+        for (Team team : teams) {
+            if (team == null || team.getTeamID() <= 0) continue;
+            try {
+                File svgFile = new File(logosDirectory, generateSvgFilename(team));
+                File pngFile = new File(logosDirectory, generateLogoFilename(team));
+                if (svgFile.isFile() && svgFile.length() > 0) {
+                    SVG svg;
+                    try (InputStream input = new FileInputStream(svgFile)) {
+                        svg = SVG.getFromInputStream(input);
+                    }
+                    for (int size : sizes) {
+                        entries.add(new LogoAtlas.Entry(team.getTeamID(), size, renderSvg(svg, size)));
+                    }
+                    rebuiltTeamIds.add(team.getTeamID());
+                } else if (pngFile.isFile() && pngFile.length() > 0) {
+                    for (int size : sizes) {
+                        Bitmap decoded = ImageHelper.loadBitmapWithConstraints(
+                                pngFile.getAbsolutePath(), size, size, Bitmap.Config.ARGB_8888);
+                        Bitmap fitted = decoded != null ? resizeBitmap(decoded, size, size) : null;
+                        if (fitted != null) {
+                            entries.add(new LogoAtlas.Entry(team.getTeamID(), size, fitted));
+                            rebuiltTeamIds.add(team.getTeamID());
+                        }
+                    }
+                }
+            } catch (IOException | SVGParseException | RuntimeException e) {
+                Log.w(TAG, "Leaving " + team.getAbreviatedName() + " out of the logo atlas", e);
+            }
+        }
+        if (entries.isEmpty()) {
+            return false;
+        }
+
+        LogoAtlas existing = LogoAtlas.open(atlasFile);
+        if (existing != null) {
+            for (int size : sizes) {
+                entries.addAll(existing.entriesExcept(rebuiltTeamIds, size));
+            }
+        }
+
+        boolean written = LogoAtlas.write(atlasFile, entries);
+        if (written) {
+            ImageHelper.getInstance(context).reloadLogoAtlas();
+        }
+        return written;
+    }
+
+    private boolean needsAtlasRebuild(List<Team> teams, int[] sizes, File atlasFile) {
+        LogoAtlas atlas = LogoAtlas.open(atlasFile);
+        if (atlas == null) {
+            return true;
+        }
+        long builtAt = atlasFile.lastModified();
+        for (Team team : teams) {
+            if (team == null || team.getTeamID() <= 0) continue;
+            File svgFile = new File(logosDirectory, generateSvgFilename(team));
+            File pngFile = new File(logosDirectory, generateLogoFilename(team));
+            File source = svgFile.isFile() ? svgFile : pngFile;
+            if (!source.isFile()) continue;
+            if (source.lastModified() > builtAt) {
+                return true;
+            }
+            for (int size : sizes) {
+                if (!atlas.contains(team.getTeamID(), size)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * Check if team has local logo file
      */
@@ -472,7 +563,7 @@ public class AltImageDownloader {
 
         String filename = generateLogoFilename(team);
         File logoFile = new File(logosDirectory, filename);
-        boolean exists = logoFile.exists() && logoFile.length() > 0;
+        boolean exists = diskCache.contains(logoFile);
 
         if (exists) {
             Log.d(TAG, "Local logo exists for " + team.getAbreviatedName() + ": " + logoFile.getAbsolutePath());
@@ -490,7 +581,7 @@ public class AltImageDownloader {
         String filename = generateLogoFilename(team);
         File logoFile = new File(logosDirectory, filename);
 
-        if (logoFile.exists() && logoFile.length() > 0) {
+        if (diskCache.contains(logoFile)) {
             String absolutePath = logoFile.getAbsolutePath();
             Log.d(TAG, "Found local logo for " + team.getAbreviatedName() + ": " + absolutePath);
             return absolutePath;
@@ -520,7 +611,7 @@ public class AltImageDownloader {
 
         String filename = generateLogoFilename(team);
         File logoFile = new File(logosDirectory, filename);
-        return logoFile.exists() && logoFile.length() > 0 ? logoFile : null;
+        return diskCache.contains(logoFile) ? logoFile : null;
     }
 
     /**
@@ -590,6 +681,7 @@ public class AltImageDownloader {
                 if (file.lastModified() < cutoffTime) {
                     boolean deleted = file.delete();
                     if (deleted) {
+                        diskCache.remove(file);
                         deletedCount++;
                         Log.d(TAG, "Deleted old logo file: " + file.getName());
                     }
@@ -604,17 +696,9 @@ public class AltImageDownloader {
      * Get total size of logo cache in bytes
      */
     public long getCacheSize() {
-        if (!logosDirectory.exists()) return 0;
-
-        long totalSize = 0;
-        File[] files = logosDirectory.listFiles();
-        if (files != null) {
-            for (File file : files) {
-                totalSize += file.length();
-            }
-        }
-
-        Log.d(TAG, "Logo cache size: " + totalSize + " bytes (" + (files != null ? files.length : 0) + " files)");
+        // From the disk cache index, no directory listing
+        long totalSize = diskCache.getSize(DiskCacheManager.LOGOS_DIR);
+        Log.d(TAG, "Logo cache size: " + totalSize + " bytes");
         return totalSize;
     }
 
@@ -622,6 +706,7 @@ public class AltImageDownloader {
      * Clear all cached logos
      */
     public void clearCache() {
+        diskCache.clear(DiskCacheManager.LOGOS_DIR);
         if (!logosDirectory.exists()) return;
 
         File[] files = logosDirectory.listFiles();
@@ -636,18 +721,10 @@ public class AltImageDownloader {
             }
             Log.d(TAG, "Cache cleared: deleted " + deletedCount + " files");
         }
+        ImageHelper.getInstance(context).reloadLogoAtlas();
 
         // Clear tracking sets
         downloadsInProgress.clear();
-        downloadsFailed.clear();
-    }
-
-    /**
-     * Reset failed downloads tracking (call this when you want to retry failed downloads)
-     */
-    public void resetFailedDownloads() {
-        downloadsFailed.clear();
-        Log.d(TAG, "Reset failed downloads tracking");
     }
 
     /**
@@ -661,13 +738,16 @@ public class AltImageDownloader {
      * Shutdown the downloader and clean up resources
      */
     public void shutdown() {
-        if (executorService != null && !executorService.isShutdown()) {
-            executorService.shutdown();
+        if (renderExecutor != null && !renderExecutor.isShutdown()) {
+            renderExecutor.shutdown();
             Log.d(TAG, "Image downloader shutdown");
         }
 
-        // Clear tracking sets
+        // The downloads carry on in the scheduler, nobody here is waiting for them anymore
+        for (AssetDownloadScheduler.Listener listener : pendingListeners) {
+            scheduler.removeListener(listener);
+        }
+        pendingListeners.clear();
         downloadsInProgress.clear();
-        downloadsFailed.clear();
     }
 }
\ No newline at end of file
@@ -12,6 +12,8 @@ public class AppSettings {
     private static final String KEY_ONLINE_MODE = "online_mode";
     private static final String KEY_USE_SINGLETON = "use_singleton";
     private static final String KEY_PERIODIC_SAVING = "periodic_saving";
+    private static final String KEY_IMAGE_CACHE_BUDGET = "image_cache_budget_bytes";
+    private static final long DEFAULT_IMAGE_CACHE_BUDGET = 50L * 1024 * 1024;
 
     private AppSettings(Context context) {
         prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
@@ -55,4 +57,13 @@ public class AppSettings {
     public void setPeriodicSavingEnabled(boolean enabled) {
         prefs.edit().putBoolean(KEY_PERIODIC_SAVING, enabled).apply();
     }
+
+    /** Bytes team logos and player headshots may take on disk together */
+    public long getImageCacheBudgetBytes() {
+        return prefs.getLong(KEY_IMAGE_CACHE_BUDGET, DEFAULT_IMAGE_CACHE_BUDGET);
+    }
+
+    public void setImageCacheBudgetBytes(long bytes) {
+        prefs.edit().putLong(KEY_IMAGE_CACHE_BUDGET, bytes).apply();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,612 @@
+package com.example.nhlapp;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * One queue for every logo and headshot download in the app.
+ *
+ * Downloads are ordered by priority, so a row on screen is fetched before a
+ * bulk prefetch, and prefetches only ever get PREFETCH_SLOTS of the workers
+ * so interactive requests always find one free. Each host gets at most
+ * MAX_PER_HOST downloads at a time. Failures are retried with exponential
+ * backoff, a 404 is final. Files are written to a .part file that a later
+ * attempt resumes with a Range request, guarded by If-Range so a file that
+ * changed on the server starts over instead of being spliced. The queue itself
+ * is saved so pending downloads continue after the process is killed.
+ *
+ * Listeners are called on the main thread. The scheduler outlives every screen,
+ * so a listener tied to one should be removed with removeListener when it goes.
+ */
+public class AssetDownloadScheduler {
+    private static final String TAG = "AssetDownloadScheduler";
+    private static final String QUEUE_FILE = "download_queue.json";
+
+    private static final int MAX_CONCURRENT = 6;
+    private static final int MAX_PER_HOST = 4;
+    // Workers bulk prefetches may hold, the rest are kept for visible items
+    private static final int PREFETCH_SLOTS = 2;
+    private static final int MAX_ATTEMPTS = 6;
+    private static final long BASE_BACKOFF_MS = 2_000;
+    private static final long MAX_BACKOFF_MS = 5 * 60_000;
+    private static final long PERSIST_DELAY_MS = 1_000;
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final String PART_SUFFIX = ".part";
+
+    public enum Priority {
+        /** Shown on screen right now */
+        INTERACTIVE,
+        NORMAL,
+        /** Bulk work nobody is looking at yet */
+        PREFETCH
+    }
+
+    public interface Listener {
+        void onDownloaded(String url, File file);
+        void onFailed(String url, String error);
+    }
+
+    /** One file to fetch, keyed by its target path */
+    private static class Task {
+        final String url;
+        final File target;
+        final String host;
+        final List<Listener> listeners = new ArrayList<>(1);
+        Priority priority;
+        long sequence;
+        int attempts;
+        long notBefore;
+        // Whether it holds a prefetch slot, priority may be raised while it runs
+        boolean holdsPrefetchSlot;
+        // ETag or Last-Modified of the response the .part file came from, guarded by the scheduler
+        String validator;
+
+        Task(String url, File target, Priority priority) {
+            this.url = url;
+            this.target = target;
+            this.priority = priority;
+            HttpUrl parsed = HttpUrl.parse(url);
+            this.host = parsed != null ? parsed.host() : "";
+        }
+    }
+
+    private static AssetDownloadScheduler instance;
+
+    private final Context context;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService timer;
+    private final Handler mainHandler;
+
+    // Guarded by this
+    private final PriorityQueue<Task> queue = new PriorityQueue<>(64, AssetDownloadScheduler::compare);
+    private final Map<String, Task> tasksByPath = new HashMap<>();
+    private final Map<String, Integer> activeByHost = new HashMap<>();
+    private int active;
+    private int activePrefetch;
+    private long nextSequence;
+    private long wakeAt = Long.MAX_VALUE;
+    private boolean persistScheduled;
+
+    // Metrics, guarded by this
+    private long bytesDownloaded;
+    // Wall-clock time with at least one download running, plus when the current stretch began
+    private long busyMillis;
+    private long busySince;
+    private int completedCount;
+    private int failedCount;
+    private int retryCount;
+    private int resumedCount;
+
+    private AssetDownloadScheduler(Context context) {
+        this.context = context.getApplicationContext();
+        HttpClientProvider.initialize(this.context);
+        this.workers = Executors.newFixedThreadPool(MAX_CONCURRENT);
+        this.timer = Executors.newSingleThreadScheduledExecutor();
+        this.mainHandler = new Handler(Looper.getMainLooper());
+        timer.execute(this::restoreQueue);
+    }
+
+    public static synchronized AssetDownloadScheduler getInstance(Context context) {
+        if (instance == null) {
+            instance = new AssetDownloadScheduler(context);
+        }
+        return instance;
+    }
+
+    /**
+     * Interactive work first, newest first among it since that is what just scrolled
+     * into view. Everything else in the order it was asked for.
+     */
+    private static int compare(Task a, Task b) {
+        if (a.priority != b.priority) {
+            return a.priority.compareTo(b.priority);
+        }
+        if (a.priority == Priority.INTERACTIVE) {
+            return Long.compare(b.sequence, a.sequence);
+        }
+        return Long.compare(a.sequence, b.sequence);
+    }
+
+    /**
+     * Queue a download. A file that is already there is reported right away, a target
+     * already queued keeps one download and is raised to the higher of the two priorities.
+     */
+    public void enqueue(String url, File target, Priority priority, Listener listener) {
+        if (url == null || target == null) {
+            return;
+        }
+        if (DiskCacheManager.getInstance(context).contains(target)) {
+            if (listener != null) {
+                mainHandler.post(() -> listener.onDownloaded(url, target));
+            }
+            return;
+        }
+
+        synchronized (this) {
+            String path = target.getAbsolutePath();
+            Task task = tasksByPath.get(path);
+            if (task == null) {
+                task = new Task(url, target, priority);
+                task.sequence = nextSequence++;
+                tasksByPath.put(path, task);
+                queue.add(task);
+                schedulePersist();
+            } else if (priority.compareTo(task.priority) < 0 || priority == Priority.INTERACTIVE) {
+                // Re-insert so the queue sees the new order, a no-op for a running task
+                boolean queued = queue.remove(task);
+                task.priority = priority;
+                task.sequence = nextSequence++;
+                if (queued) {
+                    queue.add(task);
+                }
+            }
+            if (listener != null && !task.listeners.contains(listener)) {
+                task.listeners.add(listener);
+            }
+        }
+        pump();
+    }
+
+    /**
+     * Stop calling a listener about any download, queued or running. The downloads
+     * themselves carry on.
+     */
+    public synchronized void removeListener(Listener listener) {
+        for (Task task : tasksByPath.values()) {
+            task.listeners.remove(listener);
+        }
+    }
+
+    /**
+     * Download on the calling thread's behalf and wait for it, for callers already off
+     * the main thread. Returns the file, or null when the download failed for good.
+     */
+    public File downloadBlocking(String url, File target, Priority priority) {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            throw new IllegalStateException("downloadBlocking called on the main thread");
+        }
+
+        CountDownLatch done = new CountDownLatch(1);
+        File[] result = new File[1];
+        enqueue(url, target, priority, new Listener() {
+            @Override
+            public void onDownloaded(String downloadedUrl, File file) {
+                result[0] = file;
+                done.countDown();
+            }
+
+            @Override
+            public void onFailed(String failedUrl, String error) {
+                done.countDown();
+            }
+        });
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        return result[0];
+    }
+
+    /**
+     * Drop every queued download at this priority, running ones finish. Listeners of
+     * the dropped downloads get onFailed so nobody is left waiting.
+     */
+    public int cancel(Priority priority) {
+        int dropped = 0;
+        Map<String, List<Listener>> listenersByUrl = new HashMap<>();
+        synchronized (this) {
+            Iterator<Task> iterator = queue.iterator();
+            while (iterator.hasNext()) {
+                Task task = iterator.next();
+                if (task.priority == priority) {
+                    iterator.remove();
+                    tasksByPath.remove(task.target.getAbsolutePath());
+                    if (!task.listeners.isEmpty()) {
+                        listenersByUrl.put(task.url, new ArrayList<>(task.listeners));
+                    }
+                    dropped++;
+                }
+            }
+            if (dropped > 0) {
+                schedulePersist();
+            }
+        }
+
+        if (!listenersByUrl.isEmpty()) {
+            mainHandler.post(() -> {
+                for (Map.Entry<String, List<Listener>> entry : listenersByUrl.entrySet()) {
+                    for (Listener listener : entry.getValue()) {
+                        listener.onFailed(entry.getKey(), "Cancelled");
+                    }
+                }
+            });
+        }
+        return dropped;
+    }
+
+    public synchronized int getQueuedCount() {
+        return queue.size();
+    }
+
+    public synchronized int getActiveCount() {
+        return active;
+    }
+
+    /** Average download rate over the time at least one download was running */
+    public synchronized long getThroughputBytesPerSecond() {
+        long busy = busyMillis + (active > 0 ? SystemClock.elapsedRealtime() - busySince : 0);
+        return busy > 0 ? bytesDownloaded * 1000 / busy : 0;
+    }
+
+    public synchronized String getStats() {
+        return String.format(Locale.US,
+                "downloads: %d done, %d failed, %d retries, %d resumed, %d queued, %d active, %d KB at %d KB/s",
+                completedCount, failedCount, retryCount, resumedCount, queue.size(), active,
+                bytesDownloaded / 1024, getThroughputBytesPerSecond() / 1024);
+    }
+
+    /**
+     * Start as many queued downloads as the limits allow
+     */
+    private void pump() {
+        List<Task> started = new ArrayList<>();
+        synchronized (this) {
+            long now = SystemClock.elapsedRealtime();
+            long earliestWait = Long.MAX_VALUE;
+            List<Task> skipped = new ArrayList<>();
+
+            while (active < MAX_CONCURRENT && !queue.isEmpty()) {
+                Task task = queue.poll();
+                if (task.notBefore > now) {
+                    earliestWait = Math.min(earliestWait, task.notBefore);
+                    skipped.add(task);
+                    continue;
+                }
+                int hostActive = activeByHost.getOrDefault(task.host, 0);
+                boolean prefetch = task.priority == Priority.PREFETCH;
+                if (hostActive >= MAX_PER_HOST || (prefetch && activePrefetch >= PREFETCH_SLOTS)) {
+                    skipped.add(task);
+                    continue;
+                }
+
+                activeByHost.put(task.host, hostActive + 1);
+                if (active == 0) {
+                    busySince = now;
+                }
+                active++;
+                if (prefetch) {
+                    activePrefetch++;
+                }
+                task.holdsPrefetchSlot = prefetch;
+                started.add(task);
+            }
+            queue.addAll(skipped);
+
+            // Wake up again when the first backed-off task is due
+            if (earliestWait != Long.MAX_VALUE && earliestWait < wakeAt) {
+                wakeAt = earliestWait;
+                timer.schedule(() -> {
+                    synchronized (this) {
+                        wakeAt = Long.MAX_VALUE;
+                    }
+                    pump();
+                }, earliestWait - now, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        for (Task task : started) {
+            workers.execute(() -> run(task));
+        }
+    }
+
+    private void run(Task task) {
+        long bytes = 0;
+        String error = null;
+        boolean retry = false;
+        try {
+            bytes = fetch(task);
+        } catch (DownloadException e) {
+            error = e.getMessage();
+            retry = e.retryable;
+        } catch (IOException e) {
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            retry = true;
+        }
+
+        List<Listener> listeners;
+        boolean finished;
+        synchronized (this) {
+            active--;
+            if (active == 0) {
+                busyMillis += SystemClock.elapsedRealtime() - busySince;
+            }
+            if (task.holdsPrefetchSlot) {
+                activePrefetch--;
+                task.holdsPrefetchSlot = false;
+            }
+            activeByHost.put(task.host, activeByHost.getOrDefault(task.host, 1) - 1);
+            bytesDownloaded += bytes;
+
+            task.attempts++;
+            if (error != null && retry && task.attempts < MAX_ATTEMPTS) {
+                long backoff = Math.min(MAX_BACKOFF_MS, BASE_BACKOFF_MS << (task.attempts - 1));
+                // Jitter so a burst of failures doesn't retry in lockstep
+                backoff += (long) (Math.random() * backoff / 4);
+                task.notBefore = SystemClock.elapsedRealtime() + backoff;
+                retryCount++;
+                queue.add(task);
+                listeners = null;
+                finished = false;
+                Log.w(TAG, "Retrying " + task.url + " in " + backoff + "ms (attempt " + task.attempts + "): " + error);
+            } else {
+                tasksByPath.remove(task.target.getAbsolutePath());
+                listeners = new ArrayList<>(task.listeners);
+                finished = true;
+                if (error == null) {
+                    completedCount++;
+                } else {
+                    failedCount++;
+                    Log.w(TAG, "Giving up on " + task.url + ": " + error);
+                }
+            }
+            schedulePersist();
+        }
+
+        if (finished && !listeners.isEmpty()) {
+            String failure = error;
+            mainHandler.post(() -> {
+                for (Listener listener : listeners) {
+                    if (failure == null) {
+                        listener.onDownloaded(task.url, task.target);
+                    } else {
+                        listener.onFailed(task.url, failure);
+                    }
+                }
+            });
+        }
+        pump();
+    }
+
+    /** A failed response, retryable unless the server said the file isn't there */
+    private static class DownloadException extends IOException {
+        final boolean retryable;
+
+        DownloadException(String message, boolean retryable) {
+            super(message);
+            this.retryable = retryable;
+        }
+    }
+
+    /**
+     * Stream the response into the .part file, resuming it when the server allows,
+     * then move it into place. Returns the bytes received.
+     */
+    private long fetch(Task task) throws IOException {
+        File directory = task.target.getParentFile();
+        if (directory != null && !directory.exists() && !directory.mkdirs()) {
+            throw new DownloadException("Could not create " + directory, false);
+        }
+
+        File part = new File(task.target.getPath() + PART_SUFFIX);
+        long existing = part.isFile() ? part.length() : 0;
+        String validator;
+        synchronized (this) {
+            validator = task.validator;
+        }
+        if (existing > 0 && validator == null) {
+            // No way to tell whether the server's file is still the one we started on
+            part.delete();
+            existing = 0;
+        }
+        Request.Builder request = HttpClientProvider.assetRequest(task.url).newBuilder();
+        if (existing > 0) {
+            // The server answers 200 with the whole file if it no longer matches
+            request.header("Range", "bytes=" + existing + "-");
+            request.header("If-Range", validator);
+        }
+
+        try (Response response = HttpClientProvider.getClient().newCall(request.build()).execute()) {
+            int code = response.code();
+            if (code == 404 || code == 410) {
+                part.delete();
+                throw new DownloadException("HTTP " + code, false);
+            }
+            if (code == 416) {
+                // The part file is already complete, or stale, start over next attempt
+                part.delete();
+                throw new DownloadException("HTTP 416", true);
+            }
+            if (!response.isSuccessful()) {
+                throw new DownloadException("HTTP " + code, code >= 500 || code == 429 || code == 408);
+            }
+
+            ResponseBody body = response.body();
+            if (body == null) {
+                throw new DownloadException("Empty body", true);
+            }
+
+            boolean append = code == 206 && existing > 0;
+            String responseValidator = validatorOf(response);
+            if (append && responseValidator != null && !responseValidator.equals(validator)) {
+                // A server that ignored If-Range, the part file belongs to another version
+                part.delete();
+                throw new DownloadException("Partial file is stale", true);
+            }
+            synchronized (this) {
+                if (append) {
+                    resumedCount++;
+                } else {
+                    // Anything written from here on is resumable against this version only
+                    task.validator = responseValidator;
+                    schedulePersist();
+                }
+            }
+            long received = 0;
+            try (InputStream input = body.byteStream();
+                 OutputStream output = new FileOutputStream(part, append)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = input.read(buffer)) != -1) {
+                    output.write(buffer, 0, read);
+                    received += read;
+                }
+            }
+
+            if (!part.renameTo(task.target)) {
+                part.delete();
+                throw new DownloadException("Could not move " + part + " into place", true);
+            }
+            DiskCacheManager.getInstance(context).record(task.target);
+            return received;
+        }
+    }
+
+    /**
+     * Strong ETag, else Last-Modified, else null. Weak ETags can't be used with If-Range.
+     */
+    private static String validatorOf(Response response) {
+        String etag = response.header("ETag");
+        if (etag != null && !etag.startsWith("W/")) {
+            return etag;
+        }
+        return response.header("Last-Modified");
+    }
+
+    private void schedulePersist() {
+        if (persistScheduled) {
+            return;
+        }
+        persistScheduled = true;
+        timer.schedule(this::persistQueue, PERSIST_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Save every pending download, running ones included, so they resume after a restart
+     */
+    private void persistQueue() {
+        JSONArray pending = new JSONArray();
+        synchronized (this) {
+            persistScheduled = false;
+            try {
+                for (Task task : tasksByPath.values()) {
+                    JSONObject json = new JSONObject();
+                    json.put("url", task.url);
+                    json.put("path", task.target.getAbsolutePath());
+                    json.put("priority", task.priority.name());
+                    json.put("attempts", task.attempts);
+                    if (task.validator != null) {
+                        json.put("validator", task.validator);
+                    }
+                    pending.put(json);
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Error encoding download queue", e);
+                return;
+            }
+        }
+        JsonHelper.saveJsonToFile(context, QUEUE_FILE, pending.toString());
+    }
+
+    private void restoreQueue() {
+        String jsonData = JsonHelper.loadJsonFromFile(context, QUEUE_FILE);
+        if (jsonData == null) {
+            return;
+        }
+
+        Map<String, Task> restored = new LinkedHashMap<>();
+        try {
+            JSONArray pending = new JSONArray(jsonData);
+            for (int i = 0; i < pending.length(); i++) {
+                JSONObject json = pending.getJSONObject(i);
+                Priority priority = Priority.valueOf(json.optString("priority", Priority.NORMAL.name()));
+                // Whatever was on screen is gone after a restart
+                if (priority == Priority.INTERACTIVE) {
+                    priority = Priority.NORMAL;
+                }
+                Task task = new Task(json.getString("url"), new File(json.getString("path")), priority);
+                task.attempts = Math.min(json.optInt("attempts", 0), MAX_ATTEMPTS - 1);
+                task.validator = json.has("validator") ? json.getString("validator") : null;
+                restored.put(task.target.getAbsolutePath(), task);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error loading download queue", e);
+            return;
+        }
+
+        int count = 0;
+        synchronized (this) {
+            for (Task task : restored.values()) {
+                if (tasksByPath.containsKey(task.target.getAbsolutePath())
+                        || DiskCacheManager.getInstance(context).contains(task.target)) continue;
+                task.sequence = nextSequence++;
+                tasksByPath.put(task.target.getAbsolutePath(), task);
+                queue.add(task);
+                count++;
+            }
+        }
+        Log.d(TAG, "Resumed " + count + " pending downloads");
+        pump();
+    }
+
+    /**
+     * Stop the workers, the saved queue picks up where this left off
+     */
+    public void shutdown() {
+        persistQueue();
+        workers.shutdown();
+        timer.shutdown();
+    }
+}
@@ -8,35 +8,45 @@ import com.example.nhlapp.Objects.Game;
 import com.example.nhlapp.Objects.NHLPlayer;
 import com.example.nhlapp.Objects.Team;
 import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonSyntaxException;
 
 import java.io.BufferedReader;
+import java.io.FilterReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.io.Reader;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import okhttp3.Call;
+import okhttp3.Response;
 
 public class AsyncApiClient {
     private static final String TAG = "AsyncApiClient";
     private static final int MAX_CONCURRENT_REQUESTS = 10;
-    private static final int REQUEST_TIMEOUT = 10000; // 10 seconds
 
     private final ExecutorService executorService;
     private final Handler mainHandler;
     private final Gson gson;
     private final List<Future<?>> activeTasks;
+    private final Map<String, InFlightCall> inFlightCalls;
+    private final AtomicInteger deduplicatedRequests;
 
     public AsyncApiClient() {
         executorService = Executors.newFixedThreadPool(MAX_CONCURRENT_REQUESTS);
         mainHandler = new Handler(Looper.getMainLooper());
         gson = new Gson();
         activeTasks = new ArrayList<>();
+        inFlightCalls = new HashMap<>();
+        deduplicatedRequests = new AtomicInteger(0);
     }
 
     public interface ApiCallback<T> {
@@ -48,19 +58,57 @@ public class AsyncApiClient {
         private final String url;
         private final ApiCallback<T> callback;
         private final Class<T> responseClass;
+        private final StreamingJsonParser.ResponseParser<T> parser;
+        private final String parserKey;
         private final AtomicBoolean cancellationFlag;
 
         public ApiRequest(String url, ApiCallback<T> callback, Class<T> responseClass, AtomicBoolean cancellationFlag) {
             this.url = url;
             this.callback = callback;
             this.responseClass = responseClass;
+            this.parser = null;
+            this.parserKey = null;
+            this.cancellationFlag = cancellationFlag;
+        }
+
+        /**
+         * Request whose body is parsed straight from the response stream
+         */
+        public ApiRequest(String url, ApiCallback<T> callback, StreamingJsonParser.ResponseParser<T> parser, AtomicBoolean cancellationFlag) {
+            this(url, callback, parser, null, cancellationFlag);
+        }
+
+        /**
+         * Streaming request whose parser captures arguments, parserKey has to tell apart
+         * parsers from the same lambda that would produce different results
+         */
+        public ApiRequest(String url, ApiCallback<T> callback, StreamingJsonParser.ResponseParser<T> parser,
+                          String parserKey, AtomicBoolean cancellationFlag) {
+            this.url = url;
+            this.callback = callback;
+            this.responseClass = null;
+            this.parser = parser;
+            this.parserKey = parserKey;
             this.cancellationFlag = cancellationFlag;
         }
 
         public String getUrl() { return url; }
         public ApiCallback<T> getCallback() { return callback; }
         public Class<T> getResponseClass() { return responseClass; }
+        public StreamingJsonParser.ResponseParser<T> getParser() { return parser; }
         public AtomicBoolean getCancellationFlag() { return cancellationFlag; }
+
+        /**
+         * Requests only share a call when they would parse the body the same way. The parser
+         * class alone can't see captured arguments, so the parser key is part of it too
+         */
+        String getFlightKey() {
+            if (parser == null) {
+                return url;
+            }
+            String key = url + "#" + parser.getClass().getName();
+            return parserKey != null ? key + "#" + parserKey : key;
+        }
     }
 
     /**
@@ -71,6 +119,25 @@ public class AsyncApiClient {
         executeRequest(request);
     }
 
+    /**
+     * Make a single async API request, parsing the body as it streams in
+     */
+    public <T> void makeAsyncStreamingRequest(String url, StreamingJsonParser.ResponseParser<T> parser,
+                                              ApiCallback<T> callback, AtomicBoolean cancellationFlag) {
+        ApiRequest<T> request = new ApiRequest<>(url, callback, parser, cancellationFlag);
+        executeRequest(request);
+    }
+
+    /**
+     * Streaming request with a parser that captures arguments, only requests with the
+     * same parserKey share a call
+     */
+    public <T> void makeAsyncStreamingRequest(String url, StreamingJsonParser.ResponseParser<T> parser, String parserKey,
+                                              ApiCallback<T> callback, AtomicBoolean cancellationFlag) {
+        ApiRequest<T> request = new ApiRequest<>(url, callback, parser, parserKey, cancellationFlag);
+        executeRequest(request);
+    }
+
     /**
      * Make multiple concurrent API requests
      */
@@ -80,106 +147,219 @@ public class AsyncApiClient {
         }
     }
 
-    private <T> void executeRequest(ApiRequest<T> request) {
-        Future<?> task = executorService.submit(() -> {
-            try {
-                // Check cancellation before starting
-                if (request.getCancellationFlag() != null && request.getCancellationFlag().get()) {
-                    Log.d(TAG, "Request cancelled before execution: " + request.getUrl());
-                    return;
-                }
-
-                String response = makeApiCall(request.getUrl(), request.getCancellationFlag());
+    /**
+     * One network call shared by every request for the same URL
+     */
+    private static class InFlightCall {
+        private final String key;
+        private final String url;
+        private final StreamingJsonParser.ResponseParser<?> parser;
+        private final List<ApiRequest<?>> waiters = new ArrayList<>();
+        private volatile boolean abandoned = false;
+
+        InFlightCall(ApiRequest<?> request) {
+            this.key = request.getFlightKey();
+            this.url = request.getUrl();
+            this.parser = request.getParser();
+        }
 
-                // Check cancellation after API call
-                if (request.getCancellationFlag() != null && request.getCancellationFlag().get()) {
-                    Log.d(TAG, "Request cancelled after API call: " + request.getUrl());
-                    return;
+        /**
+         * The shared call is only worth finishing while someone still wants it
+         */
+        boolean isCancelled() {
+            synchronized (waiters) {
+                for (ApiRequest<?> waiter : waiters) {
+                    if (!isRequestCancelled(waiter)) {
+                        return false;
+                    }
                 }
+                abandoned = true;
+                return true;
+            }
+        }
 
-                // Parse response based on type
-                T parsedResponse = parseResponse(response, request.getResponseClass());
-
-                // Check cancellation before callback
-                if (request.getCancellationFlag() != null && request.getCancellationFlag().get()) {
-                    Log.d(TAG, "Request cancelled before callback: " + request.getUrl());
-                    return;
-                }
+        void addWaiter(ApiRequest<?> request) {
+            synchronized (waiters) {
+                waiters.add(request);
+            }
+        }
 
-                // Post success to main thread
-                mainHandler.post(() -> {
-                    if (request.getCancellationFlag() == null || !request.getCancellationFlag().get()) {
-                        request.getCallback().onSuccess(parsedResponse);
-                    }
-                });
+        List<ApiRequest<?>> getWaiters() {
+            synchronized (waiters) {
+                return new ArrayList<>(waiters);
+            }
+        }
+    }
 
-            } catch (Exception e) {
-                // Check if cancellation caused the exception
-                if (request.getCancellationFlag() != null && request.getCancellationFlag().get()) {
-                    Log.d(TAG, "Request cancelled via exception: " + request.getUrl());
-                    return;
-                }
+    private static boolean isRequestCancelled(ApiRequest<?> request) {
+        return request.getCancellationFlag() != null && request.getCancellationFlag().get();
+    }
 
-                Log.e(TAG, "API request failed: " + request.getUrl(), e);
+    private <T> void executeRequest(ApiRequest<T> request) {
+        // Check cancellation before queueing
+        if (isRequestCancelled(request)) {
+            Log.d(TAG, "Request cancelled before execution: " + request.getUrl());
+            return;
+        }
 
-                // Post error to main thread
-                mainHandler.post(() -> {
-                    if (request.getCancellationFlag() == null || !request.getCancellationFlag().get()) {
-                        request.getCallback().onError(e.getMessage());
-                    }
-                });
+        InFlightCall flight;
+        synchronized (inFlightCalls) {
+            InFlightCall existing = inFlightCalls.get(request.getFlightKey());
+            if (existing != null) {
+                existing.addWaiter(request);
+                int deduplicated = deduplicatedRequests.incrementAndGet();
+                Log.d(TAG, "Joined in-flight request (" + deduplicated + " deduplicated): " + request.getUrl());
+                return;
             }
-        });
+
+            flight = new InFlightCall(request);
+            flight.addWaiter(request);
+            inFlightCalls.put(flight.key, flight);
+        }
+
+        Future<?> task = executorService.submit(() -> runInFlightCall(flight));
 
         synchronized (activeTasks) {
             activeTasks.add(task);
         }
     }
 
-    private String makeApiCall(String urlString, AtomicBoolean cancellationFlag) throws Exception {
-        HttpURLConnection connection = null;
-        BufferedReader reader = null;
+    private void runInFlightCall(InFlightCall flight) {
+        Object response = null;
+        Exception error = null;
 
         try {
-            // Check cancellation before connection
-            if (cancellationFlag != null && cancellationFlag.get()) {
-                throw new Exception("Request cancelled");
+            // Check cancellation before starting
+            if (!flight.isCancelled()) {
+                if (flight.parser != null) {
+                    response = makeStreamingApiCall(flight.url, flight.parser, flight::isCancelled);
+                } else {
+                    response = makeApiCall(flight.url, flight::isCancelled);
+                }
             }
+        } catch (Exception e) {
+            error = e;
+        } finally {
+            // Nobody can join once the call is out of the map, so the waiter list is final
+            synchronized (inFlightCalls) {
+                if (inFlightCalls.get(flight.key) == flight) {
+                    inFlightCalls.remove(flight.key);
+                }
+            }
+        }
 
-            URL url = new URL(urlString);
-            connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            connection.setConnectTimeout(REQUEST_TIMEOUT);
-            connection.setReadTimeout(REQUEST_TIMEOUT);
-            connection.setRequestProperty("User-Agent", "NHL-App/1.0");
-            connection.setRequestProperty("Accept", "application/json");
+        for (ApiRequest<?> waiter : flight.getWaiters()) {
+            deliverResult(waiter, flight, response, error);
+        }
+    }
 
-            // Check cancellation before connecting
-            if (cancellationFlag != null && cancellationFlag.get()) {
-                throw new Exception("Request cancelled");
+    @SuppressWarnings("unchecked")
+    private <T> void deliverResult(ApiRequest<T> request, InFlightCall flight, Object response, Exception error) {
+        // A shared call dropped because its other callers cancelled must not fail this one
+        if (flight.abandoned && !isRequestCancelled(request)) {
+            Log.d(TAG, "Retrying request after shared call was abandoned: " + request.getUrl());
+            executeRequest(request);
+            return;
+        }
+
+        try {
+            if (error != null) {
+                throw error;
             }
 
-            int responseCode = connection.getResponseCode();
-            if (responseCode != 200) {
-                throw new Exception("API call failed with response code: " + responseCode);
+            // Check cancellation after API call
+            if (isRequestCancelled(request)) {
+                Log.d(TAG, "Request cancelled after API call: " + request.getUrl());
+                return;
             }
 
-            reader = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-            StringBuilder response = new StringBuilder();
-            String line;
+            // Parse response based on type
+            // Streaming requests were parsed on the way in, every waiter shares that result
+            T parsedResponse = flight.parser != null
+                    ? (T) response
+                    : parseResponse((String) response, request.getResponseClass());
 
-            while ((line = reader.readLine()) != null) {
-                // Check cancellation during reading
-                if (cancellationFlag != null && cancellationFlag.get()) {
-                    throw new Exception("Request cancelled");
+            // Check cancellation before callback
+            if (isRequestCancelled(request)) {
+                Log.d(TAG, "Request cancelled before callback: " + request.getUrl());
+                return;
+            }
+
+            // Post success to main thread
+            mainHandler.post(() -> {
+                if (!isRequestCancelled(request)) {
+                    request.getCallback().onSuccess(parsedResponse);
                 }
-                response.append(line);
+            });
+
+        } catch (Exception e) {
+            // Check if cancellation caused the exception
+            if (isRequestCancelled(request)) {
+                Log.d(TAG, "Request cancelled via exception: " + request.getUrl());
+                return;
             }
 
-            return response.toString();
+            Log.e(TAG, "API request failed: " + request.getUrl(), e);
+
+            // Post error to main thread
+            mainHandler.post(() -> {
+                if (!isRequestCancelled(request)) {
+                    request.getCallback().onError(e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Number of requests that were served by joining an identical in-flight call
+     */
+    public int getDeduplicatedRequestCount() {
+        return deduplicatedRequests.get();
+    }
+
+    private String makeApiCall(String urlString, BooleanSupplier cancellationCheck) throws Exception {
+        Call call = null;
+        BufferedReader reader = null;
+
+        try {
+            // Check cancellation before connection
+            if (cancellationCheck.getAsBoolean()) {
+                throw new Exception("Request cancelled");
+            }
+
+            call = HttpClientProvider.getClient().newCall(HttpClientProvider.jsonRequest(urlString));
+            try (Response httpResponse = call.execute()) {
+                // Check cancellation once headers are in
+                if (cancellationCheck.getAsBoolean()) {
+                    throw new Exception("Request cancelled");
+                }
+
+                int responseCode = httpResponse.code();
+                if (responseCode != 200) {
+                    throw new Exception("API call failed with response code: " + responseCode);
+                }
+
+                reader = new BufferedReader(httpResponse.body().charStream());
+                StringBuilder response = new StringBuilder();
+                String line;
+
+                while ((line = reader.readLine()) != null) {
+                    // Check cancellation during reading
+                    if (cancellationCheck.getAsBoolean()) {
+                        call.cancel();
+                        throw new Exception("Request cancelled");
+                    }
+                    response.append(line);
+                }
+
+                return response.toString();
+            }
 
         } catch (java.io.InterruptedIOException e) {
             Log.d(TAG, "API call interrupted: " + urlString);
+            if (call != null) {
+                call.cancel();
+            }
             throw new Exception("Request cancelled", e);
         } finally {
             if (reader != null) {
@@ -189,9 +369,63 @@ public class AsyncApiClient {
                     // Ignore cleanup errors
                 }
             }
-            if (connection != null) {
-                connection.disconnect();
+        }
+    }
+
+    private <T> T makeStreamingApiCall(String urlString, StreamingJsonParser.ResponseParser<T> parser,
+                                       BooleanSupplier cancellationCheck) throws Exception {
+        Call call = null;
+
+        try {
+            if (cancellationCheck.getAsBoolean()) {
+                throw new Exception("Request cancelled");
+            }
+
+            call = HttpClientProvider.getClient().newCall(HttpClientProvider.jsonRequest(urlString));
+            try (Response httpResponse = call.execute()) {
+                if (cancellationCheck.getAsBoolean()) {
+                    throw new Exception("Request cancelled");
+                }
+
+                int responseCode = httpResponse.code();
+                if (responseCode != 200) {
+                    throw new Exception("API call failed with response code: " + responseCode);
+                }
+
+                Reader reader = new CancellableReader(httpResponse.body().charStream(), cancellationCheck);
+                try {
+                    return parser.parse(reader);
+                } catch (IllegalStateException | JsonParseException e) {
+                    throw new Exception("Failed to parse JSON response: " + e.getMessage(), e);
+                }
             }
+
+        } catch (java.io.InterruptedIOException e) {
+            Log.d(TAG, "API call interrupted: " + urlString);
+            if (call != null) {
+                call.cancel();
+            }
+            throw new Exception("Request cancelled", e);
+        }
+    }
+
+    /**
+     * Stops a streaming parse as soon as every caller has cancelled
+     */
+    private static class CancellableReader extends FilterReader {
+        private final BooleanSupplier cancellationCheck;
+
+        CancellableReader(Reader in, BooleanSupplier cancellationCheck) {
+            super(in);
+            this.cancellationCheck = cancellationCheck;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            if (cancellationCheck.getAsBoolean()) {
+                throw new java.io.InterruptedIOException("Request cancelled");
+            }
+            return super.read(buffer, offset, length);
         }
     }
 
@@ -387,6 +621,9 @@ public class AsyncApiClient {
             }
             activeTasks.clear();
         }
+        synchronized (inFlightCalls) {
+            inFlightCalls.clear();
+        }
         Log.d(TAG, "Cancelled all active API requests");
     }
 
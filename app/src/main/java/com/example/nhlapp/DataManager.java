@@ -11,15 +11,22 @@ import com.example.nhlapp.Objects.Game;
 import com.example.nhlapp.Objects.NHLPlayer;
 import com.example.nhlapp.Objects.Team;
 
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Enhanced DataManager with full async support using AsyncApiClient
@@ -31,12 +38,28 @@ public class DataManager {
     private boolean isDownloadingLogos = false;
 
     // Core data storage
-    private final HashMap<Integer, Team> teamsById = new HashMap<>();
-    private final HashMap<Integer, NHLPlayer> playersById = new HashMap<>();
-    private final HashMap<Integer, Game> gamesById = new HashMap<>();
-    private final HashMap<String, ArrayList<Integer>> gamesByDate = new HashMap<>();
-    private final HashMap<String, List<Integer>> gamesBySeason = new HashMap<>();
-    private final List<String> seasons = new ArrayList<>();
+    // Readers never lock: the id maps are copy-on-write primitive maps and the int[] posting
+    // lists are never modified once stored, writers replace them whole. A season's games are
+    // published before its id list.
+    private final SharedIntMap<Team> teamsById = new SharedIntMap<>();
+    private final SharedIntMap<NHLPlayer> playersById = new SharedIntMap<>();
+    private final SharedIntMap<Game> gamesById = new SharedIntMap<>();
+    private final ConcurrentHashMap<String, int[]> gamesBySeason = new ConcurrentHashMap<>();
+    // Game ids by epoch day, replaced whole under dateIndexLock
+    private volatile GameDateIndex dateIndex = GameDateIndex.EMPTY;
+    private final Object dateIndexLock = new Object();
+    // Per-season date indexes, kept so switching seasons does not rebuild the date list
+    private final ConcurrentHashMap<String, GameDateIndex> seasonDateIndexes = new ConcurrentHashMap<>();
+    private volatile List<String> seasons = Collections.emptyList();
+    private final HashMap<String, SeasonSyncState> seasonSyncStates = new HashMap<>();
+    // Finished seasons live on disk and are read on demand instead of sitting in the maps above
+    private SeasonGameStore seasonGameStore;
+
+    // Records changed since the last save, only these go into the next journal batch
+    private final DirtyRecords dirty = new DirtyRecords();
+    private final Object persistLock = new Object();
+    private static final long JOURNAL_COMPACT_BYTES = 512 * 1024;
+    private static final String SEASON_SYNC_FILE = "season_sync.json";
 
     // Async components
     private AsyncApiClient apiClient;
@@ -45,12 +68,12 @@ public class DataManager {
     private Context context;
 
     // Data loading flags
-    private boolean teamsLoadedFromJson = false;
-    private boolean playersLoadedFromJson = false;
-    private boolean seasonsLoadedFromJson = false;
-    private boolean gamesLoadedFromJson = false;
-    private boolean gamesBySeasonLoadedFromJson = false;
-    private boolean isInitialLoadComplete = false;
+    private volatile boolean teamsLoadedFromJson = false;
+    private volatile boolean playersLoadedFromJson = false;
+    private volatile boolean seasonsLoadedFromJson = false;
+    private volatile boolean gamesLoadedFromJson = false;
+    private volatile boolean gamesBySeasonLoadedFromJson = false;
+    private volatile boolean isInitialLoadComplete = false;
 
     private DataManager() {
         apiClient = new AsyncApiClient();
@@ -68,6 +91,9 @@ public class DataManager {
 
     public void initialize(Context context) {
         this.context = context.getApplicationContext();
+        HttpClientProvider.initialize(this.context);
+        seasonGameStore = new SeasonGameStore(new File(this.context.getFilesDir(), "season_games"), teamsById::get);
+        executorService.execute(this::loadSeasonSyncStates);
         AppSettings settings = AppSettings.getInstance(context);
 
         if (settings.isJsonSavingEnabled()) {
@@ -146,12 +172,8 @@ public class DataManager {
                     @Override
                     public void onError(String error) {
                         // Fallback to hardcoded seasons
-                        seasons.clear();
-                        seasons.add("20242025");
-                        seasons.add("20232024");
-                        seasons.add("20222023");
-                        seasons.add("20212022");
-                        seasons.add("20202021");
+                        seasons = Collections.unmodifiableList(Arrays.asList(
+                                "20242025", "20232024", "20222023", "20212022", "20202021"));
                         callback.onSuccess(new ArrayList<>(seasons));
                     }
                 },
@@ -162,42 +184,226 @@ public class DataManager {
 
     public void getGamesForSeasonAsync(String season, boolean forceRefresh, DataCallback<List<Game>> callback) {
         // Check cache first if not forcing refresh
-        if (!forceRefresh && gamesBySeason.containsKey(season) && !Objects.requireNonNull(gamesBySeason.get(season)).isEmpty()) {
-            List<Game> cachedGames = new ArrayList<>();
-            for (Integer gameId : Objects.requireNonNull(gamesBySeason.get(season))) {
-                Game game = gamesById.get(gameId);
-                if (game != null) {
-                    cachedGames.add(game);
+        if (!forceRefresh && hasGamesForSeason(season)) {
+            callback.onSuccess(getCachedGamesForSeason(season));
+            return;
+        }
+
+        // A season we already hold only needs its unfinished games refreshed
+        if (forceRefresh && hasGamesForSeason(season) && getSeasonSyncState(season) != null) {
+            syncSeasonIncrementalAsync(season, callback);
+            return;
+        }
+
+        loadFullSeasonAsync(season, callback);
+    }
+
+    /**
+     * Full season load: every team's schedule through the parallel loader
+     */
+    private void loadFullSeasonAsync(String season, DataCallback<List<Game>> callback) {
+        executorService.execute(() -> {
+            List<Game> games = NHLApiClient.getGamesForSeason(season, new AtomicBoolean(false));
+            if (games.isEmpty()) {
+                mainHandler.post(() -> callback.onError("Failed to load games for season " + season));
+                return;
+            }
+
+            addSeasonGames(season, games);
+            SeasonSyncState state = getOrCreateSeasonSyncState(season);
+            state.setLastSyncMillis(System.currentTimeMillis());
+            saveSeasonSyncStates();
+
+            Log.d(TAG, "Full sync of season " + season + ": " + games.size() + " games, "
+                    + state.getFinalGameCount() + " final");
+            mainHandler.post(() -> callback.onSuccess(games));
+        });
+    }
+
+    /**
+     * Refresh only the weeks of a cached season that still contain games that can change.
+     * Official final games are never requested again.
+     */
+    public void syncSeasonIncrementalAsync(String season, DataCallback<List<Game>> callback) {
+        SeasonSyncState state = getOrCreateSeasonSyncState(season);
+        List<Game> seasonGames = getCachedGamesForSeason(season);
+        List<String> weekStarts = state.getWeeksToRefresh(seasonGames, LocalDate.now());
+
+        if (weekStarts.isEmpty()) {
+            Log.d(TAG, "Season " + season + " has nothing that can still change, nothing to sync");
+            state.setLastSyncMillis(System.currentTimeMillis());
+            executorService.execute(this::saveSeasonSyncStates);
+            mainHandler.post(() -> callback.onSuccess(seasonGames));
+            return;
+        }
+
+        Log.d(TAG, "Incremental sync of season " + season + ": " + weekStarts.size() + " schedule requests");
+        AtomicInteger remaining = new AtomicInteger(weekStarts.size());
+        AtomicInteger updated = new AtomicInteger(0);
+
+        for (String weekStart : weekStarts) {
+            apiClient.makeAsyncStreamingRequest(
+                    "https://api-web.nhle.com/v1/schedule/" + weekStart,
+                    StreamingJsonParser::parseScheduleWeeks,
+                    new AsyncApiClient.ApiCallback<List<Game>>() {
+                        @Override
+                        public void onSuccess(List<Game> weekGames) {
+                            executorService.execute(() -> {
+                                updated.addAndGet(mergeSyncedGames(season, state, weekGames));
+                                finishIncrementalSync(season, state, remaining, updated, callback);
+                            });
+                        }
+
+                        @Override
+                        public void onError(String error) {
+                            Log.w(TAG, "Failed to sync week " + weekStart + " of season " + season + ": " + error);
+                            executorService.execute(() ->
+                                    finishIncrementalSync(season, state, remaining, updated, callback));
+                        }
+                    },
+                    new AtomicBoolean(false)
+            );
+        }
+    }
+
+    private void finishIncrementalSync(String season, SeasonSyncState state, AtomicInteger remaining,
+                                       AtomicInteger updated, DataCallback<List<Game>> callback) {
+        if (remaining.decrementAndGet() > 0) {
+            return;
+        }
+
+        state.setLastSyncMillis(System.currentTimeMillis());
+        saveSeasonSyncStates();
+
+        List<Game> seasonGames = getCachedGamesForSeason(season);
+        Log.d(TAG, "Incremental sync of season " + season + " updated " + updated.get() + " games, "
+                + state.getFinalGameCount() + " final");
+        mainHandler.post(() -> callback.onSuccess(seasonGames));
+    }
+
+    /**
+     * Fold a week of fresh schedule data into the cached games, adding games scheduled
+     * since the last sync. Returns how many were updated or added.
+     */
+    private int mergeSyncedGames(String season, SeasonSyncState state, List<Game> weekGames) {
+        int updated = 0;
+        List<Game> changed = new ArrayList<>();
+        List<Game> added = new ArrayList<>();
+        // Seasons moved to the SeasonGameStore are finished and take no new games
+        boolean inMemory = gamesBySeason.containsKey(season);
+
+        for (Game fresh : weekGames) {
+            // The week can include other seasons' games or games already locked in
+            if (!season.equals(seasonForGame(fresh.getGameId())) || state.isFinal(fresh.getGameId())) {
+                continue;
+            }
+            Game cached = gamesById.get(fresh.getGameId());
+            if (cached == null) {
+                if (inMemory && fresh.getGameDate() != null) {
+                    added.add(fresh);
                 }
+                continue;
             }
-            callback.onSuccess(cachedGames);
+
+            cached.setHomeScore(fresh.getHomeScore());
+            cached.setAwayScore(fresh.getAwayScore());
+            cached.setTimeStatus(fresh.getTimeStatus());
+            if (fresh.getStartTime() != null) {
+                cached.setStartTime(fresh.getStartTime());
+            }
+            changed.add(cached);
+            dirty.markGame(cached.getGameId());
+            updated++;
+        }
+
+        if (!added.isEmpty()) {
+            addGames(added);
+            appendSeasonGameIds(season, added);
+            changed.addAll(added);
+            updated += added.size();
+            Log.d(TAG, "Sync added " + added.size() + " new games to season " + season);
+        }
+
+        state.recordFinalGames(changed);
+        return updated;
+    }
+
+    /**
+     * Add game ids to a season's list, weeks merge in parallel so the swap is atomic
+     */
+    private void appendSeasonGameIds(String season, List<Game> games) {
+        gamesBySeason.compute(season, (key, ids) -> {
+            int[] existing = ids != null ? ids : new int[0];
+            int[] merged = Arrays.copyOf(existing, existing.length + games.size());
+            int count = existing.length;
+            for (Game game : games) {
+                merged[count++] = game.getGameId();
+            }
+            return merged;
+        });
+        dirty.markSeason(season);
+    }
+
+    public SeasonSyncState getSeasonSyncState(String season) {
+        synchronized (seasonSyncStates) {
+            return seasonSyncStates.get(season);
+        }
+    }
+
+    private SeasonSyncState getOrCreateSeasonSyncState(String season) {
+        synchronized (seasonSyncStates) {
+            SeasonSyncState state = seasonSyncStates.get(season);
+            if (state == null) {
+                state = new SeasonSyncState(season);
+                seasonSyncStates.put(season, state);
+            }
+            return state;
+        }
+    }
+
+    private void loadSeasonSyncStates() {
+        String jsonData = JsonHelper.loadJsonFromFile(context, SEASON_SYNC_FILE);
+        if (jsonData == null) {
             return;
         }
 
-        // Load from API
-        String scheduleUrl = "https://api-web.nhle.com/v1/schedule/" + season;
-        apiClient.makeAsyncRequest(
-                scheduleUrl,
-                new AsyncApiClient.ApiCallback<String>() {
-                    @Override
-                    public void onSuccess(String response) {
-                        parseScheduleResponse(response, season, callback);
-                    }
+        try {
+            org.json.JSONArray jsonArray = new org.json.JSONArray(jsonData);
+            synchronized (seasonSyncStates) {
+                for (int i = 0; i < jsonArray.length(); i++) {
+                    SeasonSyncState state = SeasonSyncState.fromJson(jsonArray.getJSONObject(i));
+                    seasonSyncStates.put(state.getSeason(), state);
+                }
+            }
+            Log.d(TAG, "Loaded sync state for " + jsonArray.length() + " seasons");
+        } catch (Exception e) {
+            Log.e(TAG, "Error loading season sync state", e);
+        }
+    }
 
-                    @Override
-                    public void onError(String error) {
-                        callback.onError("Failed to load games for season " + season + ": " + error);
-                    }
-                },
-                String.class,
-                new AtomicBoolean(false)
-        );
+    private void saveSeasonSyncStates() {
+        if (context == null) {
+            return;
+        }
+
+        try {
+            org.json.JSONArray jsonArray = new org.json.JSONArray();
+            synchronized (seasonSyncStates) {
+                for (SeasonSyncState state : seasonSyncStates.values()) {
+                    jsonArray.put(state.toJson());
+                }
+            }
+            JsonHelper.saveJsonToFile(context, SEASON_SYNC_FILE, jsonArray.toString());
+        } catch (Exception e) {
+            Log.e(TAG, "Error saving season sync state", e);
+        }
     }
 
     public void getGamesForDateAsync(String date, DataCallback<List<Game>> callback) {
-        if (gamesByDate.containsKey(date)) {
-            List<Game> dateGames = new ArrayList<>();
-            for (Integer gameId : Objects.requireNonNull(gamesByDate.get(date))) {
+        int[] cachedIds = dateIndex.gameIdsOn(GameDateIndex.toEpochDay(date));
+        if (cachedIds.length > 0) {
+            List<Game> dateGames = new ArrayList<>(cachedIds.length);
+            for (int gameId : cachedIds) {
                 Game game = gamesById.get(gameId);
                 if (game != null) {
                     dateGames.add(game);
@@ -209,12 +415,13 @@ public class DataManager {
 
         // Load games for the specific date
         String dateUrl = "https://api-web.nhle.com/v1/schedule/" + date;
-        apiClient.makeAsyncRequest(
+        apiClient.makeAsyncStreamingRequest(
                 dateUrl,
-                new AsyncApiClient.ApiCallback<String>() {
+                StreamingJsonParser::parseScheduleWeeks,
+                new AsyncApiClient.ApiCallback<List<Game>>() {
                     @Override
-                    public void onSuccess(String response) {
-                        parseDateGamesResponse(response, date, callback);
+                    public void onSuccess(List<Game> weekGames) {
+                        cacheDateGames(weekGames, date, callback);
                     }
 
                     @Override
@@ -222,7 +429,6 @@ public class DataManager {
                         callback.onError("Failed to load games for date " + date + ": " + error);
                     }
                 },
-                String.class,
                 new AtomicBoolean(false)
         );
     }
@@ -230,8 +436,9 @@ public class DataManager {
     public void getGameBoxscoreAsync(int gameId, DataCallback<Game> callback) {
         String boxscoreUrl = "https://api-web.nhle.com/v1/gamecenter/" + gameId + "/boxscore";
 
-        apiClient.makeAsyncRequest(
+        apiClient.makeAsyncStreamingRequest(
                 boxscoreUrl,
+                reader -> StreamingJsonParser.parseBoxscore(reader).game,
                 new AsyncApiClient.ApiCallback<Game>() {
                     @Override
                     public void onSuccess(Game result) {
@@ -245,7 +452,6 @@ public class DataManager {
                         callback.onError("Failed to load boxscore for game " + gameId + ": " + error);
                     }
                 },
-                Game.class,
                 new AtomicBoolean(false)
         );
     }
@@ -271,10 +477,13 @@ public class DataManager {
                 }
 
                 // Update cache
-                teamsById.clear();
+                // Swap the whole map so readers never see an empty one
+                IntObjectMap<Team> freshTeams = new IntObjectMap<>(teams.size());
                 for (Team team : teams) {
-                    teamsById.put(team.getTeamID(), team);
+                    freshTeams.put(team.getTeamID(), team);
+                    dirty.markTeam(team.getTeamID());
                 }
+                teamsById.replaceAll(freshTeams);
 
                 mainHandler.post(() -> callback.onSuccess(teams));
 
@@ -345,6 +554,7 @@ public class DataManager {
     }
 
     private void parsePlayerArray(org.json.JSONArray playerArray, int teamId, String position) {
+        IntObjectMap<NHLPlayer> parsed = new IntObjectMap<>(playerArray.length());
         try {
             for (int i = 0; i < playerArray.length(); i++) {
                 org.json.JSONObject playerJson = playerArray.getJSONObject(i);
@@ -361,23 +571,27 @@ public class DataManager {
                     player.setName(playerJson.getString("fullName"));
                 }
 
-                playersById.put(player.getPlayerId(), player);
+                parsed.put(player.getPlayerId(), player);
+                dirty.markPlayer(player.getPlayerId());
             }
         } catch (Exception e) {
             Log.e(TAG, "Error parsing player array", e);
         }
+        playersById.putAll(parsed);
     }
 
     private void parseSeasonsResponse(String response, DataCallback<List<String>> callback) {
         executorService.execute(() -> {
             try {
                 org.json.JSONArray seasonsArray = new org.json.JSONArray(response);
-                seasons.clear();
+                List<String> freshSeasons = new ArrayList<>();
 
                 for (int i = 0; i < seasonsArray.length(); i++) {
                     String season = seasonsArray.getString(i);
-                    seasons.add(season);
+                    freshSeasons.add(season);
                 }
+                seasons = Collections.unmodifiableList(freshSeasons);
+                dirty.markSeasonList();
 
                 mainHandler.post(() -> callback.onSuccess(new ArrayList<>(seasons)));
 
@@ -388,65 +602,14 @@ public class DataManager {
         });
     }
 
-    private void parseScheduleResponse(String response, String season, DataCallback<List<Game>> callback) {
-        executorService.execute(() -> {
-            try {
-                org.json.JSONObject jsonResponse = new org.json.JSONObject(response);
-                List<Game> games = new ArrayList<>();
-
-                if (jsonResponse.has("gameWeek")) {
-                    org.json.JSONArray gameWeeks = jsonResponse.getJSONArray("gameWeek");
-
-                    for (int i = 0; i < gameWeeks.length(); i++) {
-                        org.json.JSONObject week = gameWeeks.getJSONObject(i);
-                        if (week.has("games")) {
-                            org.json.JSONArray weekGames = week.getJSONArray("games");
-
-                            for (int j = 0; j < weekGames.length(); j++) {
-                                org.json.JSONObject gameJson = weekGames.getJSONObject(j);
-                                Game game = parseGameFromJson(gameJson);
-                                if (game != null) {
-                                    games.add(game);
-                                }
-                            }
-                        }
-                    }
-                }
-
-                // Update cache
-                addSeasonGames(season, games);
-
-                mainHandler.post(() -> callback.onSuccess(games));
-
-            } catch (Exception e) {
-                Log.e(TAG, "Error parsing schedule response", e);
-                mainHandler.post(() -> callback.onError("Failed to parse schedule data"));
-            }
-        });
-    }
-
-    private void parseDateGamesResponse(String response, String date, DataCallback<List<Game>> callback) {
+    private void cacheDateGames(List<Game> weekGames, String date, DataCallback<List<Game>> callback) {
         executorService.execute(() -> {
             try {
-                org.json.JSONObject jsonResponse = new org.json.JSONObject(response);
+                // The schedule endpoint returns the whole week, keep only the requested date
                 List<Game> games = new ArrayList<>();
-
-                if (jsonResponse.has("gameWeek")) {
-                    org.json.JSONArray gameWeeks = jsonResponse.getJSONArray("gameWeek");
-
-                    for (int i = 0; i < gameWeeks.length(); i++) {
-                        org.json.JSONObject week = gameWeeks.getJSONObject(i);
-                        if (week.has("games")) {
-                            org.json.JSONArray weekGames = week.getJSONArray("games");
-
-                            for (int j = 0; j < weekGames.length(); j++) {
-                                org.json.JSONObject gameJson = weekGames.getJSONObject(j);
-                                Game game = parseGameFromJson(gameJson);
-                                if (game != null && game.getGameDate().equals(date)) {
-                                    games.add(game);
-                                }
-                            }
-                        }
+                for (Game game : weekGames) {
+                    if (date.equals(game.getGameDate())) {
+                        games.add(game);
                     }
                 }
 
@@ -456,73 +619,67 @@ public class DataManager {
                 mainHandler.post(() -> callback.onSuccess(games));
 
             } catch (Exception e) {
-                Log.e(TAG, "Error parsing date games response", e);
+                Log.e(TAG, "Error caching date games response", e);
                 mainHandler.post(() -> callback.onError("Failed to parse date games data"));
             }
         });
     }
 
-    private Game parseGameFromJson(org.json.JSONObject gameJson) {
-        try {
-            Game game = new Game();
-            game.setGameId(gameJson.getInt("id"));
-            game.setGameDate(gameJson.getString("gameDate"));
-
-            // Parse teams
-            if (gameJson.has("homeTeam")) {
-                org.json.JSONObject homeTeam = gameJson.getJSONObject("homeTeam");
-                game.setHomeTeamId(homeTeam.getInt("id"));
-                game.setHomeTeamName(homeTeam.optString("abbrev", ""));
-                game.setHomeScore(homeTeam.optInt("score", -1));
-            }
-
-            if (gameJson.has("awayTeam")) {
-                org.json.JSONObject awayTeam = gameJson.getJSONObject("awayTeam");
-                game.setAwayTeamId(awayTeam.getInt("id"));
-                game.setAwayTeamName(awayTeam.optString("abbrev", ""));
-                game.setAwayScore(awayTeam.optInt("score", -1));
-            }
-
-            return game;
-        } catch (Exception e) {
-            Log.e(TAG, "Error parsing game JSON", e);
-            return null;
+    /**
+     * Fold a boxscore's live fields into the stored game, returns the Game.CHANGED_ bits.
+     * The stored object is updated in place, so an unchanged boxscore costs no map copy or save.
+     */
+    private int updateGameFromBoxscore(int gameId, Game boxscore) {
+        Game game = gamesById.get(gameId);
+        if (game == null) {
+            return Game.CHANGED_NONE;
         }
-    }
 
-    private void updateGameFromBoxscore(int gameId, Game boxscore) {
-        Game game = gamesById.get(gameId);
-        if (game != null && boxscore.getAwayScore() > -1 && boxscore.getHomeScore() > -1) {
-            game.setHomeScore(boxscore.getHomeScore());
-            game.setAwayScore(boxscore.getAwayScore());
-            gamesById.put(gameId, game);
+        int changed = game.combineLiveState(boxscore);
+        if (changed != Game.CHANGED_NONE) {
+            dirty.markGame(gameId);
         }
+        return changed;
     }
 
     // Existing synchronous methods for backward compatibility and cached data access
 
     public ArrayList<Game> getGamesForDate(String date) {
-        if (!gamesByDate.containsKey(date)) {
-            return new ArrayList<>();
+        int day = GameDateIndex.toEpochDay(date);
+        ArrayList<Game> games = resolveGames(dateIndex.gameIdsOn(day));
+
+        if (games.isEmpty() && seasonGameStore != null && day != GameDateIndex.NO_DAY) {
+            games.addAll(seasonGameStore.getGamesForDate(date));
         }
 
-        ArrayList<Game> games = new ArrayList<>();
-        List<Integer> gameIds = gamesByDate.get(date);
+        return games;
+    }
 
-        if (gameIds != null) {
-            for (int gameId : gameIds) {
-                Game game = gamesById.get(gameId);
-                if (game != null) {
-                    games.add(game);
-                }
+    /**
+     * Games held in memory from fromDay to toDay inclusive (epoch days), in date order
+     */
+    public ArrayList<Game> getGamesBetween(int fromDay, int toDay) {
+        return resolveGames(dateIndex.gameIdsBetween(fromDay, toDay));
+    }
+
+    private ArrayList<Game> resolveGames(int[] gameIds) {
+        ArrayList<Game> games = new ArrayList<>(gameIds.length);
+        IntObjectMap<Game> current = gamesById.current();
+        for (int gameId : gameIds) {
+            Game game = current.get(gameId);
+            if (game != null) {
+                games.add(game);
             }
         }
-
         return games;
     }
 
     public Game getGameById(int gameId) {
-        return gamesById.get(gameId);
+        Game game = gamesById.get(gameId);
+        if (game == null && seasonGameStore != null) {
+            game = seasonGameStore.getGame(gameId);
+        }
+        return game;
     }
 
     public Team getTeamById(int teamId) {
@@ -539,16 +696,62 @@ public class DataManager {
         }
 
         gamesById.put(game.getGameId(), game);
+        dirty.markGame(game.getGameId());
+        addToDates(new int[]{GameDateIndex.toEpochDay(game.getGameDate())}, new int[]{game.getGameId()}, 1);
+    }
 
-        String gameDate = game.getGameDate();
-        if (!gamesByDate.containsKey(gameDate)) {
-            gamesByDate.put(gameDate, new ArrayList<>());
+    /**
+     * Add many games with a single copy of the id map
+     */
+    private void addGames(List<Game> games) {
+        IntObjectMap<Game> batch = new IntObjectMap<>(games.size());
+        for (Game game : games) {
+            if (game != null && game.getGameDate() != null) {
+                batch.put(game.getGameId(), game);
+                dirty.markGame(game.getGameId());
+            }
+        }
+        gamesById.putAll(batch);
+        int[] days = new int[batch.size()];
+        int[] gameIds = new int[batch.size()];
+        int count = 0;
+        for (int slot = 0; slot < batch.capacity(); slot++) {
+            Game game = batch.valueAt(slot);
+            if (game != null) {
+                days[count] = GameDateIndex.toEpochDay(game.getGameDate());
+                gameIds[count++] = game.getGameId();
+            }
         }
+        addToDates(days, gameIds, count);
+    }
 
-        List<Integer> gamesForDate = gamesByDate.get(gameDate);
-        if (gamesForDate != null && !gamesForDate.contains(game.getGameId())) {
-            gamesForDate.add(game.getGameId());
+    /**
+     * Publish a new date index with the first count (epoch day, game id) pairs added.
+     * Pairs without a usable day are left out of the index.
+     */
+    private void addToDates(int[] days, int[] gameIds, int count) {
+        int[] keptDays = new int[count];
+        int[] keptIds = new int[count];
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (days[i] != GameDateIndex.NO_DAY) {
+                keptDays[kept] = days[i];
+                keptIds[kept++] = gameIds[i];
+                // The cached season index no longer covers this game
+                seasonDateIndexes.remove(seasonForGame(gameIds[i]));
+            }
         }
+        synchronized (dateIndexLock) {
+            dateIndex = dateIndex.withGames(keptDays, keptIds, kept);
+        }
+    }
+
+    /**
+     * Season key such as "20242025" from the leading year of a game id
+     */
+    private static String seasonForGame(int gameId) {
+        int startYear = gameId / 1000000;
+        return startYear + String.valueOf(startYear + 1);
     }
 
 //    public void addPlayer(NHLPlayer player) {
@@ -556,10 +759,20 @@ public class DataManager {
 //            playersById.put(player.getPlayerId(), player);
 //        }
 //    }
+    /**
+     * Full save: rewrites the snapshot and folds the journal into it
+     */
     public void saveAllDataToJson(Context context) {
         new SaveDataTask(context).execute();
     }
 
+    /**
+     * Append only the records changed since the last save to the journal
+     */
+    public void saveChangedData(Context context) {
+        new SaveChangesTask(context).execute();
+    }
+
     public void saveSpecificDataToJson(Context context, String dataToSave) {
         new SaveSpecificDataTask(context, dataToSave).execute();
     }
@@ -576,38 +789,33 @@ public class DataManager {
 
         @Override
         protected Void doInBackground(Void... voids) {
-            // Save all data to JSON files
-            if(Objects.equals(dataToSave, "Teams"))
-                JsonHelper.saveTeamsToJson(context, new ArrayList<>(teamsById.values()));
-//                JsonHelper.saveTeamsToJson(context, (List<Team>) teamsById.values().stream().iterator());
-            if(Objects.equals(dataToSave, "Players"))
-                JsonHelper.savePlayersToJson(context, (List<NHLPlayer>) playersById.values());
-            if(Objects.equals(dataToSave, "Games"))
-                JsonHelper.saveGamesToJson(context, (List<Game>) gamesById.values());// forgot we cant use rust iterators and collapse
-            if(Objects.equals(dataToSave, "Seasons"))
-                JsonHelper.saveSeasonsToJson(context, seasons);
-            if(Objects.equals(dataToSave, "Images"))
+            // Image paths still live in JSON, everything else is journaled as it changes
+            if (Objects.equals(dataToSave, "Images"))
                 JsonHelper.saveImagePathsToJson(context);
-            if(Objects.equals(dataToSave, "GamesBySeason")){
-                HashMap<String, List<Game>> gameHash = new HashMap<>();
-                for(String season: gamesBySeason.keySet()){
-                    List<Game> games = new ArrayList<>();
-                    for(int gameId: Objects.requireNonNull(gamesBySeason.get(season))){
-                        if (gamesById.containsKey(gameId))
-                            games.add(gamesById.get(gameId));
-                    }
-                    if(!games.isEmpty())
-                        gameHash.put(season, games);
-                }
-
-                JsonHelper.saveGamesBySeasonToJson(context, gameHash);
-            }
+            else
+                persistChanges(context);
 
             Log.d("DataManager","Finished background saving for " + dataToSave);
             return null;
         }
     }
 
+    @SuppressLint("StaticFieldLeak")
+    private class SaveChangesTask extends AsyncTask<Void, Void, Void> {
+        private Context context;
+
+        public SaveChangesTask(Context context) {
+            this.context = context;
+        }
+
+        @Override
+        protected Void doInBackground(Void... voids) {
+            persistChanges(context);
+            JsonHelper.saveImagePathsToJson(context);
+            return null;
+        }
+    }
+
     @SuppressLint("StaticFieldLeak")
     private class SaveDataTask extends AsyncTask<Void, Void, Void> {
         private Context context;
@@ -618,24 +826,108 @@ public class DataManager {
 
         @Override
         protected Void doInBackground(Void... voids) {
-            // Save all data to JSON files
-            JsonHelper.saveTeamsToJson(context, (List<Team>) teamsById.values());
-            JsonHelper.savePlayersToJson(context, (List<NHLPlayer>) playersById.values());
-            JsonHelper.saveGamesToJson(context, (List<Game>) gamesById.values());
-            JsonHelper.saveSeasonsToJson(context, seasons);
+            writeSnapshot(context);
             JsonHelper.saveImagePathsToJson(context);
-            HashMap<String, List<Game>> gameHash = new HashMap<>();
-            for(String season: gamesBySeason.keySet()){
-                List<Game> games = new ArrayList<>();
-                for(int gameId: Objects.requireNonNull(gamesBySeason.get(season))){
-                    if (gamesById.containsKey(gameId))
-                        games.add(gamesById.get(gameId));
+            return null;
+        }
+    }
+
+    /**
+     * Append the dirty records to the journal, compacting into a new snapshot
+     * once the journal has grown past JOURNAL_COMPACT_BYTES
+     */
+    private boolean persistChanges(Context context) {
+        synchronized (persistLock) {
+            File snapshotFile = new File(context.getFilesDir(), SnapshotStore.SNAPSHOT_FILE);
+            File journalFile = new File(context.getFilesDir(), SnapshotStore.JOURNAL_FILE);
+            if (!snapshotFile.exists()) {
+                return writeSnapshot(context);
+            }
+
+            DirtyRecords.Batch batch = dirty.take();
+            if (batch.isEmpty()) {
+                Log.d(TAG, "No changes to save");
+                return true;
+            }
+
+            List<Team> teams = new ArrayList<>();
+            for (int teamId : batch.teams) {
+                Team team = teamsById.get(teamId);
+                if (team != null)
+                    teams.add(team);
+            }
+            List<NHLPlayer> players = new ArrayList<>();
+            for (int playerId : batch.players) {
+                NHLPlayer player = playersById.get(playerId);
+                if (player != null)
+                    players.add(player);
+            }
+            // Games of evicted seasons are no longer here, the SeasonGameStore already has them
+            List<Game> games = new ArrayList<>();
+            for (int gameId : batch.games) {
+                Game game = gamesById.get(gameId);
+                if (game != null)
+                    games.add(game);
+            }
+            Map<String, int[]> seasonGameIds = new HashMap<>();
+            for (String season : batch.seasons) {
+                int[] ids = gamesBySeason.get(season);
+                if (ids != null && ids.length > 0)
+                    seasonGameIds.put(season, ids);
+            }
+            List<String> seasonList = batch.seasonList ? new ArrayList<>(seasons) : null;
+
+            try {
+                SnapshotStore.appendJournal(journalFile, teams, players, games, seasonList, seasonGameIds);
+                Log.d(TAG, String.format("Journaled %d teams, %d players, %d games, %d seasons",
+                        teams.size(), players.size(), games.size(), seasonGameIds.size()));
+            } catch (IOException e) {
+                Log.e(TAG, "Error appending to journal", e);
+                dirty.restore(batch);
+                return false;
+            }
+
+            if (journalFile.length() > JOURNAL_COMPACT_BYTES) {
+                Log.d(TAG, "Compacting journal of " + journalFile.length() + " bytes");
+                return writeSnapshot(context);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Write teams, players, games and season mappings to the binary snapshot.
+     * The snapshot covers everything in memory, so the journal is dropped after.
+     */
+    private boolean writeSnapshot(Context context) {
+        synchronized (persistLock) {
+            DirtyRecords.Batch batch = dirty.take();
+            List<Team> teams = new ArrayList<>(teamsById.values());
+            List<NHLPlayer> players = new ArrayList<>(playersById.values());
+            List<Game> games = new ArrayList<>(gamesById.values());
+            List<String> seasonList = new ArrayList<>(seasons);
+            Map<String, int[]> seasonGameIds = new HashMap<>();
+            for (Map.Entry<String, int[]> entry : gamesBySeason.entrySet()) {
+                if (entry.getValue().length > 0)
+                    seasonGameIds.put(entry.getKey(), entry.getValue());
+            }
+
+            try {
+                long start = System.currentTimeMillis();
+                SnapshotStore.write(new File(context.getFilesDir(), SnapshotStore.SNAPSHOT_FILE),
+                        teams, players, games, seasonList, seasonGameIds);
+                File journalFile = new File(context.getFilesDir(), SnapshotStore.JOURNAL_FILE);
+                if (journalFile.exists() && !journalFile.delete()) {
+                    Log.w(TAG, "Could not delete journal after compaction");
                 }
-                if(!games.isEmpty())
-                    gameHash.put(season, games);
+                Log.d(TAG, "Wrote snapshot with " + games.size() + " games in "
+                        + (System.currentTimeMillis() - start) + "ms");
+                return true;
+            } catch (IOException e) {
+                Log.e(TAG, "Error writing snapshot", e);
+                dirty.restore(batch);
+                return false;
             }
-            JsonHelper.saveGamesBySeasonToJson(context, gameHash);
-            return null;
         }
     }
 
@@ -646,12 +938,14 @@ public class DataManager {
     public Map<String, List<Game>> getGamesForSeason() {
         Map<String, List<Game>> result = new HashMap<>();
 
-        for (String season : gamesBySeason.keySet()) {
-            List<Integer> gameIds = gamesBySeason.get(season);
+        IntObjectMap<Game> current = gamesById.current();
+        for (Map.Entry<String, int[]> entry : gamesBySeason.entrySet()) {
+            String season = entry.getKey();
+            int[] gameIds = entry.getValue();
             if (gameIds != null) {
-                List<Game> games = new ArrayList<>();
-                for (Integer gameId : gameIds) {
-                    Game game = gamesById.get(gameId);
+                List<Game> games = new ArrayList<>(gameIds.length);
+                for (int gameId : gameIds) {
+                    Game game = current.get(gameId);
                     if (game != null) {
                         games.add(game);
                     }
@@ -665,19 +959,18 @@ public class DataManager {
 
     // Or better yet, add a more specific method:
     public List<Game> getCachedGamesForSeason(String season) {
-        if (!gamesBySeason.containsKey(season)) {
-            return new ArrayList<>();
+        int[] gameIds = gamesBySeason.get(season);
+        if (gameIds == null) {
+            return seasonGameStore != null ? seasonGameStore.getGamesForSeason(season) : new ArrayList<>();
         }
 
-        List<Integer> gameIds = gamesBySeason.get(season);
-        List<Game> games = new ArrayList<>();
-
-        if (gameIds != null) {
-            for (Integer gameId : gameIds) {
-                Game game = gamesById.get(gameId);
-                if (game != null) {
-                    games.add(game);
-                }
+        // One read of the table, then plain int lookups with no boxing
+        IntObjectMap<Game> current = gamesById.current();
+        List<Game> games = new ArrayList<>(gameIds.length);
+        for (int gameId : gameIds) {
+            Game game = current.get(gameId);
+            if (game != null) {
+                games.add(game);
             }
         }
 
@@ -687,71 +980,137 @@ public class DataManager {
     public void addTeam(Team team) {
         if (team != null) {
             teamsById.put(team.getTeamID(), team);
+            dirty.markTeam(team.getTeamID());
         }
     }
 
+    /**
+     * Add many teams with a single copy of the id map, later entries win
+     */
+    public void addTeams(Collection<Team> teams) {
+        IntObjectMap<Team> batch = new IntObjectMap<>(teams.size());
+        for (Team team : teams) {
+            if (team != null) {
+                batch.put(team.getTeamID(), team);
+                dirty.markTeam(team.getTeamID());
+            }
+        }
+        teamsById.putAll(batch);
+    }
+
     public void addSeasonGames(String season, List<Game> games) {
         if (games == null || games.isEmpty()) {
             return;
         }
 
-        ArrayList<Integer> gameIds = new ArrayList<>();
+        // Build the whole batch first, then publish games, dates and finally the season list
+        int[] gameIds = new int[games.size()];
+        int count = 0;
+        IntObjectMap<Game> batch = new IntObjectMap<>(games.size());
+        int[] days = new int[games.size()];
 
         for (Game game : games) {
             if (game == null) continue;
 
-            gameIds.add(game.getGameId());
-            gamesById.put(game.getGameId(), game);
-
-            // Add to games by date
-            String gameDate = game.getGameDate();
-            if (gameDate != null) {
-                if (!gamesByDate.containsKey(gameDate)) {
-                    gamesByDate.put(gameDate, new ArrayList<>());
-                }
-                List<Integer> gamesForDate = gamesByDate.get(gameDate);
-                if (gamesForDate != null && !gamesForDate.contains(game.getGameId())) {
-                    gamesForDate.add(game.getGameId());
-                }
-            }
+            days[count] = GameDateIndex.toEpochDay(game.getGameDate());
+            gameIds[count++] = game.getGameId();
+            batch.put(game.getGameId(), game);
+            dirty.markGame(game.getGameId());
         }
 
+        gamesById.putAll(batch);
+        addToDates(days, gameIds, count);
+
         // Update season games mapping
-        gamesBySeason.put(season, gameIds);
+        gamesBySeason.put(season, count == gameIds.length ? gameIds : Arrays.copyOf(gameIds, count));
+        seasonDateIndexes.put(season, GameDateIndex.build(games));
+        dirty.markSeason(season);
+        getOrCreateSeasonSyncState(season).recordFinalGames(games);
         Log.d(TAG, "Added " + games.size() + " games for season " + season);
+
+        // A finished season will not change again, move it out of the heap
+        if (seasonGameStore != null && SeasonGameStore.isFinishedSeason(season, LocalDate.now())
+                && seasonGameStore.writeSeason(season, games)) {
+            evictSeason(season);
+        }
     }
 
-    public void addGamesForDate(String date, ArrayList<Game> games) {
-        if (!gamesByDate.containsKey(date)) {
-            gamesByDate.put(date, new ArrayList<>());
+    /**
+     * Drop a season that is held by the SeasonGameStore from the in-memory maps
+     */
+    private void evictSeason(String season) {
+        int[] gameIds = gamesBySeason.remove(season);
+        if (gameIds == null) {
+            return;
         }
 
-        for (Game game : games) {
-            gamesById.put(game.getGameId(), game);
-            if (!Objects.requireNonNull(gamesByDate.get(date)).contains(game.getGameId())) {
-                Objects.requireNonNull(gamesByDate.get(date)).add(game.getGameId());
-            }
+        List<Game> removed = gamesById.removeAll(gameIds);
+        int[] days = new int[removed.size()];
+        int[] removedIds = new int[removed.size()];
+        for (int i = 0; i < removed.size(); i++) {
+            days[i] = GameDateIndex.toEpochDay(removed.get(i).getGameDate());
+            removedIds[i] = removed.get(i).getGameId();
+        }
+        synchronized (dateIndexLock) {
+            dateIndex = dateIndex.withoutGames(days, removedIds, removedIds.length);
+        }
+        // The season's date index stays cached, its ids now resolve through the SeasonGameStore
+        Log.d(TAG, "Evicted " + gameIds.length + " games for season " + season + " to disk");
+    }
+
+    public void addGamesForDate(String date, ArrayList<Game> games) {
+        int[] gameIds = new int[games.size()];
+        int[] days = new int[games.size()];
+        Arrays.fill(days, GameDateIndex.toEpochDay(date));
+        IntObjectMap<Game> batch = new IntObjectMap<>(games.size());
+        for (int i = 0; i < gameIds.length; i++) {
+            Game game = games.get(i);
+            batch.put(game.getGameId(), game);
+            dirty.markGame(game.getGameId());
+            gameIds[i] = game.getGameId();
         }
+        gamesById.putAll(batch);
+        addToDates(days, gameIds, gameIds.length);
     }
 
+    /**
+     * Every date with games in memory, newest first
+     */
     public ArrayList<String> getAllDates() {
-        ArrayList<String> dates = new ArrayList<>(gamesByDate.keySet());
-        dates.sort(Collections.reverseOrder());
+        ArrayList<String> dates = new ArrayList<>(dateIndex.dates());
+        Collections.reverse(dates);
         return dates;
     }
 
+    /**
+     * Date index for one season, built once from the cached or stored games and reused
+     */
+    public GameDateIndex getSeasonDateIndex(String season) {
+        GameDateIndex index = seasonDateIndexes.get(season);
+        if (index != null) {
+            return index;
+        }
+
+        index = GameDateIndex.build(getCachedGamesForSeason(season));
+        if (!index.isEmpty()) {
+            seasonDateIndexes.put(season, index);
+        }
+        return index;
+    }
+
     public boolean hasGamesForSeason(String season) {
-        return gamesBySeason.containsKey(season) &&
-                gamesBySeason.get(season) != null &&
-                !Objects.requireNonNull(gamesBySeason.get(season)).isEmpty();
+        int[] gameIds = gamesBySeason.get(season);
+        if (gameIds != null && gameIds.length > 0)
+            return true;
+        return seasonGameStore != null && seasonGameStore.hasSeason(season);
     }
 
     public int getGamesCountForSeason(String season) {
         if (!gamesBySeason.containsKey(season)) {
             return 0;
         }
-        List<Integer> gameIds = gamesBySeason.get(season);
-        return gameIds != null ? gameIds.size() : 0;
+        int[] gameIds = gamesBySeason.get(season);
+        return gameIds != null ? gameIds.length : 0;
     }
 
     public List<Team> getCachedTeams() {
@@ -770,16 +1129,33 @@ public class DataManager {
         return isInitialLoadComplete;
     }
 
-    // JSON loading methods (async)
+    // Startup loading (async), the binary snapshot first and the old JSON files as an import path
     private void loadDataFromJsonAsync(Runnable onComplete) {
         executorService.execute(() -> {
-            teamsLoadedFromJson = loadTeamsFromJson();
-            playersLoadedFromJson = loadPlayersFromJson();
-            seasonsLoadedFromJson = loadSeasonsFromJson();
-            gamesLoadedFromJson = loadGamesFromJson();
-            gamesBySeasonLoadedFromJson = loadGamesBySeasonFromJson();
+            if (loadFromSnapshot()) {
+                // What was just loaded is already on disk
+                dirty.take();
+                teamsLoadedFromJson = !teamsById.isEmpty();
+                playersLoadedFromJson = !playersById.isEmpty();
+                seasonsLoadedFromJson = !seasons.isEmpty();
+                gamesLoadedFromJson = !gamesById.isEmpty();
+                gamesBySeasonLoadedFromJson = !gamesBySeason.isEmpty();
+            } else {
+                teamsLoadedFromJson = loadTeamsFromJson();
+                playersLoadedFromJson = loadPlayersFromJson();
+                seasonsLoadedFromJson = loadSeasonsFromJson();
+                gamesLoadedFromJson = loadGamesFromJson();
+                gamesBySeasonLoadedFromJson = loadGamesBySeasonFromJson();
+
+                // One time import for installs that only have the JSON files
+                if (teamsLoadedFromJson || playersLoadedFromJson || gamesLoadedFromJson || gamesBySeasonLoadedFromJson) {
+                    if (writeSnapshot(context)) {
+                        JsonHelper.deleteLegacyDataFiles(context);
+                    }
+                }
+            }
 
-            Log.d(TAG, String.format("Data loaded from JSON - Teams: %b, Players: %b, Seasons: %b, Games: %b, GamesBySeason: %b",
+            Log.d(TAG, String.format("Data loaded - Teams: %b, Players: %b, Seasons: %b, Games: %b, GamesBySeason: %b",
                     teamsLoadedFromJson, playersLoadedFromJson, seasonsLoadedFromJson, gamesLoadedFromJson, gamesBySeasonLoadedFromJson));
 
             if (onComplete != null) {
@@ -788,11 +1164,94 @@ public class DataManager {
         });
     }
 
+    /**
+     * Load the snapshot and replay the journal over it, later records win
+     */
+    private boolean loadFromSnapshot() {
+        File file = new File(context.getFilesDir(), SnapshotStore.SNAPSHOT_FILE);
+        File journalFile = new File(context.getFilesDir(), SnapshotStore.JOURNAL_FILE);
+        long start = System.currentTimeMillis();
+        List<SnapshotStore.Snapshot> layers = new ArrayList<>();
+        boolean compactAfterLoad = false;
+        try {
+            SnapshotStore.Snapshot snapshot = SnapshotStore.read(file);
+            if (snapshot != null)
+                layers.add(snapshot);
+        } catch (IOException e) {
+            Log.e(TAG, "Error reading snapshot, falling back to JSON", e);
+            return false;
+        }
+        try {
+            SnapshotStore.Journal journal = SnapshotStore.readJournal(journalFile);
+            layers.addAll(journal.batches);
+            if (journal.tornTail) {
+                Log.w(TAG, "Journal has a torn tail, keeping " + journal.batches.size()
+                        + " batches (" + journal.validLength + " of " + journalFile.length() + " bytes)");
+                try {
+                    SnapshotStore.truncateJournal(journalFile, journal.validLength);
+                } catch (IOException e) {
+                    // Appends can't follow the garbage, fold what was read into a new snapshot
+                    Log.e(TAG, "Error truncating journal", e);
+                    compactAfterLoad = true;
+                }
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Error opening journal, using the snapshot alone", e);
+        }
+        if (layers.isEmpty()) {
+            return false;
+        }
+
+        IntObjectMap<Team> teams = new IntObjectMap<>();
+        IntObjectMap<NHLPlayer> players = new IntObjectMap<>();
+        IntObjectMap<Game> games = new IntObjectMap<>();
+        Map<String, int[]> seasonGameIds = new HashMap<>();
+        for (SnapshotStore.Snapshot layer : layers) {
+            for (Team team : layer.teams) {
+                teams.put(team.getTeamID(), team);
+            }
+            for (NHLPlayer player : layer.players) {
+                players.put(player.getPlayerId(), player);
+            }
+            for (Game game : layer.games) {
+                games.put(game.getGameId(), game);
+            }
+            if (layer.hasSeasons) {
+                seasons = Collections.unmodifiableList(new ArrayList<>(layer.seasons));
+            }
+            seasonGameIds.putAll(layer.seasonGameIds);
+        }
+
+        teamsById.putAll(teams);
+        playersById.putAll(players);
+
+        for (Map.Entry<String, int[]> entry : seasonGameIds.entrySet()) {
+            boolean onDisk = seasonGameStore != null && seasonGameStore.hasSeason(entry.getKey());
+            List<Game> seasonGames = new ArrayList<>(entry.getValue().length);
+            for (int gameId : entry.getValue()) {
+                Game game = games.remove(gameId);
+                if (game != null)
+                    seasonGames.add(game);
+            }
+            if (!onDisk)
+                addSeasonGames(entry.getKey(), seasonGames);
+        }
+        addGames(games.values());
+
+        Log.d(TAG, "Loaded snapshot and " + (layers.size() - 1) + " journal batches with "
+                + gamesById.size() + " games in " + (System.currentTimeMillis() - start) + "ms");
+        if (compactAfterLoad) {
+            writeSnapshot(context);
+        }
+        return true;
+    }
+
     private boolean loadTeamsFromJson() {
         String jsonData = JsonHelper.loadJsonFromFile(context, "teams.json");
         if (jsonData != null) {
             try {
                 org.json.JSONArray jsonArray = new org.json.JSONArray(jsonData);
+                IntObjectMap<Team> teams = new IntObjectMap<>(jsonArray.length());
 
                 for (int i = 0; i < jsonArray.length(); i++) {
                     org.json.JSONObject teamJson = jsonArray.getJSONObject(i);
@@ -810,8 +1269,9 @@ public class DataManager {
                         team.setRosterPlayerIds(rosterIds);
                     }
 
-                    teamsById.put(team.getTeamID(), team);
+                    teams.put(team.getTeamID(), team);
                 }
+                teamsById.putAll(teams);
 
                 Log.d(TAG, "Loaded " + teamsById.size() + " teams from JSON");
                 return true;
@@ -827,6 +1287,7 @@ public class DataManager {
         if (jsonData != null) {
             try {
                 org.json.JSONArray jsonArray = new org.json.JSONArray(jsonData);
+                IntObjectMap<NHLPlayer> players = new IntObjectMap<>(jsonArray.length());
 
                 for (int i = 0; i < jsonArray.length(); i++) {
                     org.json.JSONObject playerJson = jsonArray.getJSONObject(i);
@@ -835,8 +1296,9 @@ public class DataManager {
                     player.setName(playerJson.getString("name"));
                     player.setTeamId(playerJson.getInt("teamId"));
                     player.setHeadshotPath(playerJson.optString("headshotPath", ""));
-                    playersById.put(player.getPlayerId(), player);
+                    players.put(player.getPlayerId(), player);
                 }
+                playersById.putAll(players);
 
                 Log.d(TAG, "Loaded " + playersById.size() + " players from JSON");
                 return true;
@@ -852,11 +1314,12 @@ public class DataManager {
         if (jsonData != null) {
             try {
                 org.json.JSONArray jsonArray = new org.json.JSONArray(jsonData);
-                seasons.clear();
+                List<String> loadedSeasons = new ArrayList<>();
 
                 for (int i = 0; i < jsonArray.length(); i++) {
-                    seasons.add(jsonArray.getString(i));
+                    loadedSeasons.add(jsonArray.getString(i));
                 }
+                seasons = Collections.unmodifiableList(loadedSeasons);
 
                 Log.d(TAG, "Loaded " + seasons.size() + " seasons from JSON");
                 return true;
@@ -872,6 +1335,7 @@ public class DataManager {
         if (jsonData != null) {
             try {
                 org.json.JSONArray jsonArray = new org.json.JSONArray(jsonData);
+                List<Game> games = new ArrayList<>(jsonArray.length());
 
                 for (int i = 0; i < jsonArray.length(); i++) {
                     org.json.JSONObject gameJson = jsonArray.getJSONObject(i);
@@ -883,8 +1347,9 @@ public class DataManager {
                     game.setHomeScore(gameJson.optInt("homeScore", -1));
                     game.setAwayScore(gameJson.optInt("awayScore", -1));
 
-                    addGame(game);
+                    games.add(game);
                 }
+                addGames(games);
 
                 Log.d(TAG, "Loaded " + gamesById.size() + " games from JSON");
                 return true;
@@ -949,9 +1414,18 @@ public class DataManager {
         teamsById.clear();
         playersById.clear();
         gamesById.clear();
-        gamesByDate.clear();
+        synchronized (dateIndexLock) {
+            dateIndex = GameDateIndex.EMPTY;
+        }
+        seasonDateIndexes.clear();
         gamesBySeason.clear();
-        seasons.clear();
+        seasons = Collections.emptyList();
+        synchronized (seasonSyncStates) {
+            seasonSyncStates.clear();
+        }
+        if (seasonGameStore != null) {
+            seasonGameStore.clear();
+        }
     }
 
     // Keep old callback-based methods for backward compatibility
@@ -982,15 +1456,20 @@ public class DataManager {
         info.append("Teams: ").append(teamsById.size()).append("\n");
         info.append("Players: ").append(playersById.size()).append("\n");
         info.append("Total Games: ").append(gamesById.size()).append("\n");
-        info.append("Games by Date: ").append(gamesByDate.size()).append(" dates\n");
+        info.append("Games by Date: ").append(dateIndex.size()).append(" dates\n");
         info.append("Seasons: ").append(gamesBySeason.size()).append("\n");
 
-        for (String season : gamesBySeason.keySet()) {
-            List<Integer> seasonGames = gamesBySeason.get(season);
-            info.append("  ").append(season).append(": ");
-            info.append(seasonGames != null ? seasonGames.size() : 0).append(" games\n");
+        for (Map.Entry<String, int[]> entry : gamesBySeason.entrySet()) {
+            info.append("  ").append(entry.getKey()).append(": ");
+            info.append(entry.getValue().length).append(" games\n");
         }
 
+        if (seasonGameStore != null) {
+            info.append("Seasons on disk: ").append(seasonGameStore.getStoredSeasons()).append("\n");
+        }
+        info.append(HttpClientProvider.getCacheStats()).append("\n");
+        info.append("Deduplicated requests: ").append(apiClient.getDeduplicatedRequestCount()).append("\n");
+
         return info.toString();
     }
 
@@ -1002,21 +1481,20 @@ public class DataManager {
         }else{
             playersById.put(player.getPlayerId(), player);
         }
+        dirty.markPlayer(player.getPlayerId());
 
 
     }
 
     public void addPlayers(List<NHLPlayer> recievedPlayers){
+        // Realistically this is where the combine code comes in handy, really just a way to update whats new
+        // Good way to combine different data avenues into one location (overlay lol)
+        IntObjectMap<NHLPlayer> batch = new IntObjectMap<>(recievedPlayers.size());
         for (NHLPlayer player: recievedPlayers){
-            if(playersById.containsKey(player.getPlayerId())){
-                // Realistically this is where the combine code comes in handy, really just a way to update whats new
-                // Good way to combine different data avenues into one location (overlay lol)
-                playersById.replace(player.getPlayerId(), player);
-            }else{
-                playersById.put(player.getPlayerId(), player);
-            }
+            batch.put(player.getPlayerId(), player);
+            dirty.markPlayer(player.getPlayerId());
         }
-
+        playersById.putAll(batch);
     }
 
     public void downloadTeamLogos(DataCallback<String> callback) {
@@ -1053,6 +1531,7 @@ public class DataManager {
                                 String logoPath = imageDownloader.getLocalLogoPath(team);
                                 team.setLogoPath(logoPath);
                                 teamsById.put(team.getTeamID(), team);
+                                dirty.markTeam(team.getTeamID());
                             }
                         }
 
@@ -1101,6 +1580,7 @@ public class DataManager {
         // Update cache
         for (Team team : teams) {
             teamsById.put(team.getTeamID(), team);
+            dirty.markTeam(team.getTeamID());
         }
     }
 
@@ -0,0 +1,66 @@
+package com.example.nhlapp;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Ids of records changed since the last save, grouped by collection.
+ * Writers mark from any thread, the saver takes the whole set in one step.
+ */
+public class DirtyRecords {
+    private Batch pending = new Batch();
+
+    /** One save's worth of changed ids */
+    public static class Batch {
+        public final Set<Integer> teams = new HashSet<>();
+        public final Set<Integer> players = new HashSet<>();
+        public final Set<Integer> games = new HashSet<>();
+        public final Set<String> seasons = new HashSet<>();
+        public boolean seasonList = false;
+
+        public boolean isEmpty() {
+            return teams.isEmpty() && players.isEmpty() && games.isEmpty()
+                    && seasons.isEmpty() && !seasonList;
+        }
+    }
+
+    public synchronized void markTeam(int teamId) {
+        pending.teams.add(teamId);
+    }
+
+    public synchronized void markPlayer(int playerId) {
+        pending.players.add(playerId);
+    }
+
+    public synchronized void markGame(int gameId) {
+        pending.games.add(gameId);
+    }
+
+    public synchronized void markSeason(String season) {
+        pending.seasons.add(season);
+    }
+
+    public synchronized void markSeasonList() {
+        pending.seasonList = true;
+    }
+
+    /**
+     * Hand over everything marked so far and start a fresh batch
+     */
+    public synchronized Batch take() {
+        Batch taken = pending;
+        pending = new Batch();
+        return taken;
+    }
+
+    /**
+     * Put a batch back after a failed save so the next one retries it
+     */
+    public synchronized void restore(Batch batch) {
+        pending.teams.addAll(batch.teams);
+        pending.players.addAll(batch.players);
+        pending.games.addAll(batch.games);
+        pending.seasons.addAll(batch.seasons);
+        pending.seasonList |= batch.seasonList;
+    }
+}
@@ -0,0 +1,438 @@
+package com.example.nhlapp;
+
+import android.content.Context;
+import android.util.Log;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Index of the image files under team_logos and player_headshots, with a byte budget.
+ *
+ * Each entry keeps its size, last access time and the season it belongs to, 0 when
+ * unknown. The index is kept in access order and saved to disk_cache_index.json, so
+ * "is this logo on disk" is a map lookup rather than a stat or a directory listing.
+ * When the total goes over the budget, a background pass deletes headshots of past
+ * seasons first and then the least recently used files.
+ *
+ * Files written outside this class must be reported with record(), files deleted
+ * with remove(). A file deleted behind its back is dropped when a read finds it gone.
+ */
+public class DiskCacheManager {
+    private static final String TAG = "DiskCacheManager";
+    private static final String INDEX_FILE = "disk_cache_index.json";
+    public static final String LOGOS_DIR = "team_logos";
+    public static final String HEADSHOTS_DIR = "player_headshots";
+    private static final String[] CACHE_DIRS = {LOGOS_DIR, HEADSHOTS_DIR};
+    // Access times are saved at most this often, evictions and new files save right away
+    private static final long ACCESS_SAVE_INTERVAL_MS = 60_000;
+
+    /** One cached file */
+    private static class Entry {
+        long size;
+        long lastAccess;
+        int season;
+
+        Entry(long size, long lastAccess, int season) {
+            this.size = size;
+            this.lastAccess = lastAccess;
+            this.season = season;
+        }
+    }
+
+    private static DiskCacheManager instance;
+
+    private final Context context;
+    private final File filesDir;
+    private final AppSettings settings;
+    // Single thread, so trims and saves never overlap
+    private final ExecutorService executor;
+
+    // Guarded by this. Keyed by path relative to filesDir, least recently used first
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+    private boolean loaded;
+    private boolean trimScheduled;
+    private boolean saveScheduled;
+    private long lastSaveAt;
+    private int evictedCount;
+    private long evictedBytes;
+    // Bumped whenever a file is added or removed
+    private int modCount;
+
+    private DiskCacheManager(Context context) {
+        this.context = context.getApplicationContext();
+        this.filesDir = this.context.getFilesDir();
+        this.settings = AppSettings.getInstance(this.context);
+        this.executor = Executors.newSingleThreadExecutor();
+        executor.execute(this::loadIndex);
+    }
+
+    public static synchronized DiskCacheManager getInstance(Context context) {
+        if (instance == null) {
+            instance = new DiskCacheManager(context);
+        }
+        return instance;
+    }
+
+    /**
+     * Whether the file is in the cache, from the index once it is loaded
+     */
+    public boolean contains(File file) {
+        String key = keyFor(file);
+        synchronized (this) {
+            if (key != null && loaded) {
+                return entries.containsKey(key);
+            }
+        }
+        return file.isFile();
+    }
+
+    /**
+     * Mark a file as used, it moves to the back of the eviction order
+     */
+    public void touch(File file) {
+        String key = keyFor(file);
+        if (key == null) {
+            return;
+        }
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return;
+            }
+            entry.lastAccess = System.currentTimeMillis();
+            if (entry.lastAccess - lastSaveAt > ACCESS_SAVE_INTERVAL_MS) {
+                scheduleSave();
+            }
+        }
+    }
+
+    /**
+     * Add or update a file that was just written, and trim if that went over budget
+     */
+    public void record(File file) {
+        record(file, 0);
+    }
+
+    public void record(File file, int season) {
+        String key = keyFor(file);
+        if (key == null) {
+            return;
+        }
+        long size = file.length();
+        if (size <= 0) {
+            remove(file);
+            return;
+        }
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                entries.put(key, new Entry(size, System.currentTimeMillis(), season));
+                modCount++;
+            } else {
+                totalBytes -= entry.size;
+                entry.size = size;
+                entry.lastAccess = System.currentTimeMillis();
+                if (season != 0) {
+                    entry.season = season;
+                }
+            }
+            totalBytes += size;
+            scheduleSave();
+            if (totalBytes > getMaxBytes()) {
+                scheduleTrim();
+            }
+        }
+    }
+
+    /**
+     * Tag a file with the season it belongs to, files of past seasons are evicted first
+     */
+    public synchronized void setSeason(File file, int season) {
+        String key = keyFor(file);
+        Entry entry = key != null ? entries.get(key) : null;
+        if (entry != null && season != 0 && entry.season != season) {
+            entry.season = season;
+            scheduleSave();
+        }
+    }
+
+    /**
+     * Forget a file, after it was deleted or when it turned out to be missing
+     */
+    public synchronized void remove(File file) {
+        String key = keyFor(file);
+        Entry entry = key != null ? entries.remove(key) : null;
+        if (entry != null) {
+            totalBytes -= entry.size;
+            modCount++;
+            scheduleSave();
+        }
+    }
+
+    /**
+     * Delete every cached file in one of the cache directories
+     */
+    public void clear(String directory) {
+        List<String> keys = new ArrayList<>();
+        synchronized (this) {
+            String prefix = directory + File.separator;
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, Entry> entry = iterator.next();
+                if (entry.getKey().startsWith(prefix)) {
+                    keys.add(entry.getKey());
+                    totalBytes -= entry.getValue().size;
+                    iterator.remove();
+                }
+            }
+            modCount++;
+            scheduleSave();
+        }
+        for (String key : keys) {
+            new File(filesDir, key).delete();
+        }
+    }
+
+    /**
+     * Files in a cache directory, from the index, no directory listing
+     */
+    public synchronized List<File> listFiles(String directory) {
+        List<File> files = new ArrayList<>();
+        String prefix = directory + File.separator;
+        for (String key : entries.keySet()) {
+            if (key.startsWith(prefix)) {
+                files.add(new File(filesDir, key));
+            }
+        }
+        return files;
+    }
+
+    /** Changes whenever a file is added or removed, for callers that cache a listing */
+    public synchronized int getModCount() {
+        return modCount;
+    }
+
+    public synchronized long getSize() {
+        return totalBytes;
+    }
+
+    public synchronized long getSize(String directory) {
+        long size = 0;
+        String prefix = directory + File.separator;
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                size += entry.getValue().size;
+            }
+        }
+        return size;
+    }
+
+    public long getMaxBytes() {
+        return settings.getImageCacheBudgetBytes();
+    }
+
+    /**
+     * Change the budget and trim to it in the background
+     */
+    public void setMaxBytes(long maxBytes) {
+        settings.setImageCacheBudgetBytes(maxBytes);
+        synchronized (this) {
+            scheduleTrim();
+        }
+    }
+
+    public synchronized String getStats() {
+        return String.format(Locale.US, "disk cache: %d files, %d/%d KB, %d evicted (%d KB)",
+                entries.size(), totalBytes / 1024, getMaxBytes() / 1024, evictedCount, evictedBytes / 1024);
+    }
+
+    /**
+     * Path relative to filesDir, null for files this cache doesn't manage. The logo
+     * atlas and partial downloads are derived or temporary and never indexed.
+     */
+    private String keyFor(File file) {
+        if (file == null) {
+            return null;
+        }
+        File parent = file.getParentFile();
+        if (parent == null || !filesDir.equals(parent.getParentFile())) {
+            return null;
+        }
+        String name = file.getName();
+        if (name.equals(LogoAtlas.ATLAS_FILE) || name.endsWith(".part") || name.endsWith(".tmp")
+                || name.endsWith(".download")) {
+            return null;
+        }
+        for (String directory : CACHE_DIRS) {
+            if (directory.equals(parent.getName())) {
+                return directory + File.separator + name;
+            }
+        }
+        return null;
+    }
+
+    private void scheduleTrim() {
+        if (!trimScheduled) {
+            trimScheduled = true;
+            executor.execute(this::trimToBudget);
+        }
+    }
+
+    private void scheduleSave() {
+        if (!saveScheduled && loaded) {
+            saveScheduled = true;
+            executor.execute(this::saveIndex);
+        }
+    }
+
+    /**
+     * Delete files until the cache fits its budget. Past-season headshots go first since
+     * they won't be shown again, then everything else from least recently used.
+     */
+    private void trimToBudget() {
+        List<String> victims = new ArrayList<>();
+        synchronized (this) {
+            trimScheduled = false;
+            long maxBytes = getMaxBytes();
+            if (totalBytes <= maxBytes) {
+                return;
+            }
+
+            int newestSeason = 0;
+            for (Entry entry : entries.values()) {
+                newestSeason = Math.max(newestSeason, entry.season);
+            }
+
+            // Iteration doesn't count as access, order stays least recently used first
+            for (int pass = 0; pass < 2 && totalBytes > maxBytes; pass++) {
+                Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+                while (iterator.hasNext() && totalBytes > maxBytes) {
+                    Map.Entry<String, Entry> entry = iterator.next();
+                    int season = entry.getValue().season;
+                    if (pass == 0 && (season == 0 || season >= newestSeason)) continue;
+                    victims.add(entry.getKey());
+                    totalBytes -= entry.getValue().size;
+                    evictedBytes += entry.getValue().size;
+                    evictedCount++;
+                    iterator.remove();
+                }
+            }
+            modCount++;
+            scheduleSave();
+        }
+
+        for (String key : victims) {
+            new File(filesDir, key).delete();
+        }
+        Log.d(TAG, "Evicted " + victims.size() + " files, " + getStats());
+    }
+
+    private void loadIndex() {
+        String jsonData = JsonHelper.loadJsonFromFile(context, INDEX_FILE);
+        LinkedHashMap<String, Entry> restored = new LinkedHashMap<>();
+        if (jsonData != null) {
+            try {
+                JSONArray array = new JSONArray(jsonData);
+                for (int i = 0; i < array.length(); i++) {
+                    JSONObject json = array.getJSONObject(i);
+                    restored.put(json.getString("path"), new Entry(json.getLong("size"),
+                            json.getLong("lastAccess"), json.optInt("season", 0)));
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Error loading disk cache index, rebuilding it", e);
+                restored = null;
+            }
+        } else {
+            restored = null;
+        }
+        if (restored == null) {
+            restored = scanDirectories();
+        }
+
+        synchronized (this) {
+            // Anything recorded while the index was loading is newer
+            LinkedHashMap<String, Entry> recordedMeanwhile = new LinkedHashMap<>(entries);
+            entries.clear();
+            totalBytes = 0;
+            for (Map.Entry<String, Entry> entry : restored.entrySet()) {
+                if (!recordedMeanwhile.containsKey(entry.getKey())) {
+                    entries.put(entry.getKey(), entry.getValue());
+                }
+            }
+            entries.putAll(recordedMeanwhile);
+            for (Entry entry : entries.values()) {
+                totalBytes += entry.size;
+            }
+            loaded = true;
+            modCount++;
+            lastSaveAt = System.currentTimeMillis();
+            if (jsonData == null || !recordedMeanwhile.isEmpty()) {
+                scheduleSave();
+            }
+            if (totalBytes > getMaxBytes()) {
+                scheduleTrim();
+            }
+            Log.d(TAG, "Loaded " + getStats());
+        }
+    }
+
+    /**
+     * One directory listing per cache directory, only when there is no usable index
+     */
+    private LinkedHashMap<String, Entry> scanDirectories() {
+        List<File> files = new ArrayList<>();
+        for (String directory : CACHE_DIRS) {
+            File[] listed = new File(filesDir, directory).listFiles();
+            if (listed != null) {
+                for (File file : listed) {
+                    if (file.isFile() && keyFor(file) != null) {
+                        files.add(file);
+                    }
+                }
+            }
+        }
+        // Oldest first, modification time is the best guess at last use
+        files.sort((a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+
+        LinkedHashMap<String, Entry> scanned = new LinkedHashMap<>();
+        for (File file : files) {
+            scanned.put(keyFor(file), new Entry(file.length(), file.lastModified(), 0));
+        }
+        return scanned;
+    }
+
+    private void saveIndex() {
+        JSONArray array = new JSONArray();
+        synchronized (this) {
+            saveScheduled = false;
+            lastSaveAt = System.currentTimeMillis();
+            try {
+                // Saved least recently used first, loading puts them back in that order
+                for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                    JSONObject json = new JSONObject();
+                    json.put("path", entry.getKey());
+                    json.put("size", entry.getValue().size);
+                    json.put("lastAccess", entry.getValue().lastAccess);
+                    json.put("season", entry.getValue().season);
+                    array.put(json);
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Error encoding disk cache index", e);
+                return;
+            }
+        }
+        JsonHelper.saveJsonToFile(context, INDEX_FILE, array.toString());
+    }
+}
@@ -0,0 +1,331 @@
+package com.example.nhlapp;
+
+import com.example.nhlapp.Objects.Game;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Game ids grouped by day, keyed by epoch day instead of "yyyy-MM-dd" strings.
+ *
+ * Days are kept in a sorted int[] with a parallel array of id lists, so a
+ * date lookup, the closest date to today and "games between X and Y" are
+ * binary searches with no parsing. Instances never change, the with and
+ * without methods return a new index that shares untouched id lists.
+ */
+public final class GameDateIndex {
+    public static final int NO_DAY = Integer.MIN_VALUE;
+    public static final GameDateIndex EMPTY = new GameDateIndex(new int[0], new int[0][]);
+
+    private final int[] days;
+    private final int[][] gameIds;
+    // Built on first use, the index is immutable so a racing rebuild is harmless
+    private volatile List<String> dateStrings;
+
+    private GameDateIndex(int[] days, int[][] gameIds) {
+        this.days = days;
+        this.gameIds = gameIds;
+    }
+
+    /**
+     * Index a list of games, games without a usable date are skipped
+     */
+    public static GameDateIndex build(List<Game> games) {
+        int[] gameDays = new int[games.size()];
+        int[] ids = new int[games.size()];
+        int count = 0;
+        for (Game game : games) {
+            if (game == null) continue;
+            int day = toEpochDay(game.getGameDate());
+            if (day != NO_DAY) {
+                gameDays[count] = day;
+                ids[count++] = game.getGameId();
+            }
+        }
+        return EMPTY.withGames(gameDays, ids, count);
+    }
+
+    /**
+     * Epoch day of a "yyyy-MM-dd" date, or NO_DAY when it can't be read
+     */
+    public static int toEpochDay(String date) {
+        if (date == null || date.length() < 10 || date.charAt(4) != '-' || date.charAt(7) != '-') {
+            return NO_DAY;
+        }
+        int year = digits(date, 0, 4);
+        int month = digits(date, 5, 7);
+        int dayOfMonth = digits(date, 8, 10);
+        if (year < 0 || month < 0 || dayOfMonth < 0) {
+            return NO_DAY;
+        }
+        try {
+            return (int) LocalDate.of(year, month, dayOfMonth).toEpochDay();
+        } catch (DateTimeException e) {
+            return NO_DAY;
+        }
+    }
+
+    public static String toDateString(int day) {
+        return LocalDate.ofEpochDay(day).toString();
+    }
+
+    public static int today() {
+        return (int) LocalDate.now().toEpochDay();
+    }
+
+    private static int digits(String text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    public int size() {
+        return days.length;
+    }
+
+    public boolean isEmpty() {
+        return days.length == 0;
+    }
+
+    public int dayAt(int index) {
+        return days[index];
+    }
+
+    public String dateAt(int index) {
+        return dates().get(index);
+    }
+
+    /** Ids for the day at index, must not be modified */
+    public int[] gameIdsAt(int index) {
+        return gameIds[index];
+    }
+
+    /**
+     * Position of the day, or -1 when no games are on it
+     */
+    public int indexOf(int day) {
+        int index = Arrays.binarySearch(days, day);
+        return index >= 0 ? index : -1;
+    }
+
+    /** Ids of the games on a day, empty when there are none. Must not be modified */
+    public int[] gameIdsOn(int day) {
+        int index = indexOf(day);
+        return index < 0 ? new int[0] : gameIds[index];
+    }
+
+    /**
+     * Position of the day nearest to the given one, the earlier day wins a tie.
+     * Returns -1 for an empty index.
+     */
+    public int closestIndex(int day) {
+        if (days.length == 0) {
+            return -1;
+        }
+        int index = Arrays.binarySearch(days, day);
+        if (index >= 0) {
+            return index;
+        }
+        int after = -index - 1;
+        if (after == 0) {
+            return 0;
+        }
+        if (after == days.length) {
+            return days.length - 1;
+        }
+        return day - days[after - 1] <= days[after] - day ? after - 1 : after;
+    }
+
+    /**
+     * Ids of every game from fromDay to toDay inclusive, in day order
+     */
+    public int[] gameIdsBetween(int fromDay, int toDay) {
+        int start = lowerBound(fromDay);
+        int end = toDay == Integer.MAX_VALUE ? days.length : lowerBound(toDay + 1);
+        int total = 0;
+        for (int i = start; i < end; i++) {
+            total += gameIds[i].length;
+        }
+        int[] result = new int[total];
+        int offset = 0;
+        for (int i = start; i < end; i++) {
+            System.arraycopy(gameIds[i], 0, result, offset, gameIds[i].length);
+            offset += gameIds[i].length;
+        }
+        return result;
+    }
+
+    /**
+     * All dates as "yyyy-MM-dd" in ascending order, formatted once per index
+     */
+    public List<String> dates() {
+        List<String> result = dateStrings;
+        if (result == null) {
+            String[] formatted = new String[days.length];
+            for (int i = 0; i < days.length; i++) {
+                formatted[i] = toDateString(days[i]);
+            }
+            result = Collections.unmodifiableList(Arrays.asList(formatted));
+            dateStrings = result;
+        }
+        return result;
+    }
+
+    /**
+     * A new index with the first count (day, id) pairs added, ids already on their day are skipped.
+     * An id indexed under a different day is moved, so a rescheduled game leaves its old day.
+     */
+    public GameDateIndex withGames(int[] addDays, int[] addIds, int count) {
+        if (count == 0) {
+            return this;
+        }
+        GameDateIndex base = withoutMovedGames(addDays, addIds, count);
+        if (base != this) {
+            return base.withGames(addDays, addIds, count);
+        }
+
+        // Sort the additions by day, keeping their original order within a day
+        long[] order = new long[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = ((long) addDays[i] << 32) | i;
+        }
+        Arrays.sort(order);
+
+        int[] mergedDays = new int[days.length + count];
+        int[][] mergedIds = new int[days.length + count][];
+        int size = 0;
+        int existing = 0;
+        int next = 0;
+        while (existing < days.length || next < count) {
+            int day;
+            if (next >= count || (existing < days.length && days[existing] < (int) (order[next] >> 32))) {
+                day = days[existing];
+                mergedDays[size] = day;
+                mergedIds[size++] = gameIds[existing++];
+                continue;
+            }
+
+            day = (int) (order[next] >> 32);
+            int[] current = existing < days.length && days[existing] == day ? gameIds[existing++] : new int[0];
+            int groupEnd = next;
+            while (groupEnd < count && (int) (order[groupEnd] >> 32) == day) {
+                groupEnd++;
+            }
+
+            int[] ids = Arrays.copyOf(current, current.length + groupEnd - next);
+            int idCount = current.length;
+            for (int i = next; i < groupEnd; i++) {
+                int gameId = addIds[(int) order[i]];
+                if (indexOf(ids, idCount, gameId) < 0) {
+                    ids[idCount++] = gameId;
+                }
+            }
+            mergedDays[size] = day;
+            mergedIds[size++] = idCount == current.length && current.length > 0 ? current
+                    : (idCount == ids.length ? ids : Arrays.copyOf(ids, idCount));
+            next = groupEnd;
+        }
+
+        return new GameDateIndex(Arrays.copyOf(mergedDays, size), Arrays.copyOf(mergedIds, size));
+    }
+
+    /**
+     * A new index without the first count (day, id) pairs, days left with no games are dropped
+     */
+    public GameDateIndex withoutGames(int[] removeDays, int[] removeIds, int count) {
+        int[][] remaining = null;
+        for (int i = 0; i < count; i++) {
+            int index = indexOf(removeDays[i]);
+            if (index < 0) continue;
+
+            int[] current = remaining != null ? remaining[index] : gameIds[index];
+            int position = indexOf(current, current.length, removeIds[i]);
+            if (position < 0) continue;
+
+            if (remaining == null) {
+                remaining = gameIds.clone();
+            }
+            int[] updated = new int[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, position);
+            System.arraycopy(current, position + 1, updated, position, updated.length - position);
+            remaining[index] = updated;
+        }
+        if (remaining == null) {
+            return this;
+        }
+
+        int[] keptDays = new int[days.length];
+        int[][] keptIds = new int[days.length][];
+        int size = 0;
+        for (int i = 0; i < days.length; i++) {
+            if (remaining[i].length > 0) {
+                keptDays[size] = days[i];
+                keptIds[size++] = remaining[i];
+            }
+        }
+        return new GameDateIndex(Arrays.copyOf(keptDays, size), Arrays.copyOf(keptIds, size));
+    }
+
+    /**
+     * This index without the ids among the additions that are filed under another day
+     */
+    private GameDateIndex withoutMovedGames(int[] addDays, int[] addIds, int count) {
+        // Additions sorted by id, the day rides in the low bits
+        long[] byId = new long[count];
+        for (int i = 0; i < count; i++) {
+            byId[i] = ((long) addIds[i] << 32) | (addDays[i] & 0xFFFFFFFFL);
+        }
+        Arrays.sort(byId);
+
+        int[] staleDays = null;
+        int[] staleIds = null;
+        int staleCount = 0;
+        for (int i = 0; i < days.length; i++) {
+            for (int gameId : gameIds[i]) {
+                int position = Arrays.binarySearch(byId, (long) gameId << 32);
+                if (position < 0) {
+                    position = -position - 1;
+                }
+                if (position >= count || (int) (byId[position] >> 32) != gameId
+                        || (int) byId[position] == days[i]) {
+                    continue;
+                }
+                if (staleDays == null) {
+                    staleDays = new int[count];
+                    staleIds = new int[count];
+                }
+                if (staleCount == staleDays.length) {
+                    staleDays = Arrays.copyOf(staleDays, staleCount * 2);
+                    staleIds = Arrays.copyOf(staleIds, staleCount * 2);
+                }
+                staleDays[staleCount] = days[i];
+                staleIds[staleCount++] = gameId;
+            }
+        }
+        return staleCount == 0 ? this : withoutGames(staleDays, staleIds, staleCount);
+    }
+
+    private int lowerBound(int day) {
+        int index = Arrays.binarySearch(days, day);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private static int indexOf(int[] ids, int size, int gameId) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == gameId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.nhlapp;
+
+import java.io.IOException;
+import java.util.Calendar;
+import java.util.List;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Network interceptor that assigns freshness to NHL API responses by endpoint.
+ * The API sends short or missing cache headers, so without this every launch
+ * would revalidate data that can no longer change. Responses that are not
+ * covered here keep the server's own headers and are revalidated with
+ * ETag / Last-Modified through the OkHttp cache.
+ */
+public class HttpCachePolicy implements Interceptor {
+    private static final int ONE_DAY = 24 * 60 * 60;
+    private static final int SEASON_LIST_MAX_AGE = 7 * ONE_DAY;
+    private static final int PAST_SEASON_MAX_AGE = 365 * ONE_DAY;
+    private static final int TEAM_LIST_MAX_AGE = ONE_DAY;
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+
+        if (!"GET".equals(request.method()) || !response.isSuccessful()) {
+            return response;
+        }
+
+        int maxAge = getMaxAge(request.url().encodedPathSegments());
+        if (maxAge <= 0) {
+            return response;
+        }
+
+        return response.newBuilder()
+                .removeHeader("Pragma")
+                .header("Cache-Control", "public, max-age=" + maxAge)
+                .build();
+    }
+
+    /**
+     * Seconds a response for this path stays fresh, or 0 to keep the server's policy
+     */
+    static int getMaxAge(List<String> segments) {
+        if (segments.size() < 2) {
+            return 0;
+        }
+
+        // api-web.nhle.com/v1/...
+        if ("v1".equals(segments.get(0))) {
+            String endpoint = segments.get(1);
+
+            // The season list only grows once a year
+            if ("season".equals(endpoint) && segments.size() == 2) {
+                return SEASON_LIST_MAX_AGE;
+            }
+
+            // /club-schedule-season/{team}/{season}
+            if ("club-schedule-season".equals(endpoint) && segments.size() == 4) {
+                return isPastSeason(segments.get(3)) ? PAST_SEASON_MAX_AGE : 0;
+            }
+
+            // /schedule/{season} as used by DataManager
+            if ("schedule".equals(endpoint) && segments.size() == 3 && segments.get(2).length() == 8) {
+                return isPastSeason(segments.get(2)) ? PAST_SEASON_MAX_AGE : 0;
+            }
+
+            return 0;
+        }
+
+        // api.nhle.com/stats/rest/en/team
+        if ("stats".equals(segments.get(0)) && "team".equals(segments.get(segments.size() - 1))) {
+            return TEAM_LIST_MAX_AGE;
+        }
+
+        return 0;
+    }
+
+    /**
+     * A season like "20232024" is past once a newer season has started
+     */
+    static boolean isPastSeason(String season) {
+        if (season == null || season.length() != 8) {
+            return false;
+        }
+
+        int endYear;
+        try {
+            endYear = Integer.parseInt(season.substring(4));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+
+        Calendar now = Calendar.getInstance();
+        int currentEndYear = now.get(Calendar.YEAR);
+        // Playoffs wrap up in June, the next season's schedule is published over the summer
+        if (now.get(Calendar.MONTH) >= Calendar.JULY) {
+            currentEndYear++;
+        }
+
+        return endYear < currentEndYear;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.nhlapp;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+
+/**
+ * Process-wide HTTP transport shared by every network call in the app.
+ * Keeping a single OkHttpClient means one connection pool, so TLS sessions to
+ * api-web.nhle.com and assets.nhle.com are reused and HTTP/2 requests are
+ * multiplexed over the same socket. OkHttp adds Accept-Encoding: gzip and
+ * decompresses transparently.
+ *
+ * Once initialize() has been called with a Context the client also carries an
+ * LRU disk cache under getCacheDir(), so unchanged responses are revalidated
+ * with conditional requests and served locally on a 304.
+ */
+public class HttpClientProvider {
+    private static final String TAG = "HttpClientProvider";
+    private static final String USER_AGENT = "NHL-App/1.0";
+    private static final int CONNECT_TIMEOUT = 10000; // 10 seconds
+    private static final int READ_TIMEOUT = 15000; // 15 seconds
+    private static final int MAX_IDLE_CONNECTIONS = 8;
+    private static final long KEEP_ALIVE_MINUTES = 5;
+    private static final String CACHE_DIR = "http_cache";
+    private static final long CACHE_SIZE = 20L * 1024 * 1024; // 20 MB
+
+    private static OkHttpClient client;
+    private static Cache cache;
+
+    private HttpClientProvider() {
+    }
+
+    /**
+     * Attach the on-disk HTTP cache, safe to call more than once
+     */
+    public static synchronized void initialize(Context context) {
+        if (cache != null || context == null) {
+            return;
+        }
+
+        File cacheDir = new File(context.getApplicationContext().getCacheDir(), CACHE_DIR);
+        cache = new Cache(cacheDir, CACHE_SIZE);
+        Log.d(TAG, "HTTP cache at " + cacheDir.getAbsolutePath());
+
+        // Rebuild on top of the existing client so the connection pool is kept
+        if (client != null) {
+            client = client.newBuilder().cache(cache).build();
+        }
+    }
+
+    /**
+     * Get the shared client, building it on first use
+     */
+    public static synchronized OkHttpClient getClient() {
+        if (client == null) {
+            OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                    .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                    .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                    .connectTimeout(CONNECT_TIMEOUT, TimeUnit.MILLISECONDS)
+                    .readTimeout(READ_TIMEOUT, TimeUnit.MILLISECONDS)
+                    .retryOnConnectionFailure(true)
+                    .addInterceptor(chain -> chain.proceed(chain.request().newBuilder()
+                            .header("User-Agent", USER_AGENT)
+                            .build()))
+                    .addNetworkInterceptor(new HttpCachePolicy());
+            if (cache != null) {
+                builder.cache(cache);
+            }
+            client = builder.build();
+        }
+        return client;
+    }
+
+    /**
+     * Hit/request counts for the disk cache, for debug output
+     */
+    public static synchronized String getCacheStats() {
+        if (cache == null) {
+            return "HTTP cache disabled";
+        }
+        return "HTTP cache: requests=" + cache.requestCount()
+                + " network=" + cache.networkCount()
+                + " hits=" + cache.hitCount();
+    }
+
+    /**
+     * Build a GET request for a JSON endpoint
+     */
+    public static Request jsonRequest(String url) {
+        return new Request.Builder()
+                .url(url)
+                .header("Accept", "application/json")
+                .get()
+                .build();
+    }
+
+    /**
+     * Build a GET request for a binary asset such as a logo or headshot
+     */
+    public static Request assetRequest(String url) {
+        return new Request.Builder()
+                .url(url)
+                .get()
+                .build();
+    }
+}
@@ -9,15 +9,16 @@ import com.example.nhlapp.Objects.Player;
 import com.example.nhlapp.Objects.Team;
 
 import java.io.*;
-import java.net.HttpURLConnection;
-import java.net.URL;
 
 public class ImageDownloader {
 
+    private static final String TEAM_LOGO_URL = "https://www-league.nhlstatic.com/images/logos/teams-current-primary-light/";
+    private static final String HEADSHOT_URL = "https://cms.nhl.bamgrid.com/images/headshots/current/168x168/";
+
     public static String downloadTeamLogo(Context context, Team team) {
         try {
             // Construct NHL team logo URL (official NHL API pattern)
-            String logoUrl = "https://www-league.nhlstatic.com/images/logos/teams-current-primary-light/" + team.getTeamID() + ".svg";
+            String logoUrl = TEAM_LOGO_URL + team.getTeamID() + ".svg";
 
             File logoDir = new File(context.getFilesDir(), "team_logos");
             if (!logoDir.exists()) {
@@ -26,24 +27,27 @@ public class ImageDownloader {
 
             File logoFile = new File(logoDir, team.getTeamID() + ".png");
 
-            if (logoFile.exists()) {
+            DiskCacheManager diskCache = DiskCacheManager.getInstance(context);
+            if (diskCache.contains(logoFile)) {
                 return logoFile.getAbsolutePath();
             }
 
-            URL url = new URL(logoUrl);
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setDoInput(true);
-            connection.connect();
+            // Fetched through the scheduler so retries and the host limit apply, then re-encoded
+            File rawFile = new File(logoDir, team.getTeamID() + ".download");
+            File downloaded = AssetDownloadScheduler.getInstance(context)
+                    .downloadBlocking(logoUrl, rawFile, AssetDownloadScheduler.Priority.NORMAL);
+            if (downloaded == null) {
+                return null;
+            }
 
-            InputStream input = connection.getInputStream();
-            Bitmap bitmap = BitmapFactory.decodeStream(input);
-            input.close();
-            connection.disconnect();
+            Bitmap bitmap = BitmapFactory.decodeFile(downloaded.getAbsolutePath());
+            downloaded.delete();
 
             if (bitmap != null) {
                 FileOutputStream out = new FileOutputStream(logoFile);
                 bitmap.compress(Bitmap.CompressFormat.PNG, 100, out);
                 out.close();
+                diskCache.record(logoFile);
                 return logoFile.getAbsolutePath();
             }
         } catch (Exception e) {
@@ -52,45 +56,46 @@ public class ImageDownloader {
         return null;
     }
 
-    public static String downloadPlayerHeadshot(Context context, NHLPlayer player) {
-        try {
-            // Construct NHL player headshot URL (official NHL API pattern)
-            String headshotUrl = "https://cms.nhl.bamgrid.com/images/headshots/current/168x168/" + player.getPlayerId() + ".jpg";
-
-            File headshotDir = new File(context.getFilesDir(), "player_headshots");
-            if (!headshotDir.exists()) {
-                headshotDir.mkdirs();
-            }
-
-            File headshotFile = new File(headshotDir, player.getPlayerId() + ".jpg");
+    /**
+     * Where a player's headshot is stored, whether or not it has been downloaded.
+     * Mugs from the boxscore are PNGs under the same name, decoders go by content.
+     */
+    public static File getHeadshotFile(Context context, NHLPlayer player) {
+        return new File(new File(context.getFilesDir(), "player_headshots"), player.getPlayerId() + ".jpg");
+    }
 
-            if (headshotFile.exists()) {
-                return headshotFile.getAbsolutePath();
-            }
+    public static String getHeadshotUrl(NHLPlayer player) {
+        return HEADSHOT_URL + player.getPlayerId() + ".jpg";
+    }
 
-            URL url = new URL(headshotUrl);
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setDoInput(true);
-            connection.connect();
+    public static String downloadPlayerHeadshot(Context context, NHLPlayer player) {
+        File headshotFile = getHeadshotFile(context, player);
+        if (DiskCacheManager.getInstance(context).contains(headshotFile)) {
+            return headshotFile.getAbsolutePath();
+        }
 
-            InputStream input = connection.getInputStream();
-            Bitmap bitmap = BitmapFactory.decodeStream(input);
-            input.close();
-            connection.disconnect();
+        // The JPEG is stored as served, no decode and re-encode
+        File downloaded = AssetDownloadScheduler.getInstance(context).downloadBlocking(
+                getHeadshotUrl(player), headshotFile, AssetDownloadScheduler.Priority.NORMAL);
+        return downloaded != null ? downloaded.getAbsolutePath() : null;
+    }
 
-            if (bitmap != null) {
-                FileOutputStream out = new FileOutputStream(headshotFile);
-                bitmap.compress(Bitmap.CompressFormat.JPEG, 90, out);
-                out.close();
-                return headshotFile.getAbsolutePath();
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return null;
+    /**
+     * Queue a player's headshot without waiting for it, the listener is called on the main thread
+     */
+    public static void enqueuePlayerHeadshot(Context context, NHLPlayer player,
+                                             AssetDownloadScheduler.Priority priority,
+                                             AssetDownloadScheduler.Listener listener) {
+        AssetDownloadScheduler.getInstance(context).enqueue(
+                getHeadshotUrl(player), getHeadshotFile(context, player), priority, listener);
     }
 
     public static void deleteAllImages(Context context) {
+        DiskCacheManager diskCache = DiskCacheManager.getInstance(context);
+        diskCache.clear(DiskCacheManager.LOGOS_DIR);
+        diskCache.clear(DiskCacheManager.HEADSHOTS_DIR);
+        ImageHelper.getInstance(context).reloadLogoAtlas();
+
         // Delete team logos
         File teamLogosDir = new File(context.getFilesDir(), "team_logos");
         if (teamLogosDir.exists()) {
@@ -14,34 +14,82 @@ import android.graphics.drawable.Drawable;
 import android.os.Handler;
 import android.os.Looper;
 import android.util.Log;
+import android.util.LruCache;
+import android.view.ViewGroup;
 import android.widget.ImageView;
 
 import androidx.core.content.ContextCompat;
 
+import com.example.nhlapp.Objects.NHLPlayer;
 import com.example.nhlapp.Objects.Team;
 
 import java.io.File;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class ImageHelper {
     private static final String TAG = "ImageHelper";
-    private static final String LOGOS_DIR = "team_logos";
+    private static final String LOGOS_DIR = DiskCacheManager.LOGOS_DIR;
+    private static final String LOGO_FILE_EXTENSION = ".png";
+    // Share of the app's heap that decoded bitmaps may hold
+    private static final int MEMORY_CACHE_DIVISOR = 8;
 
     private static ImageHelper instance;
-    private final ExecutorService executorService;
+    private final ThreadPoolExecutor executorService;
     private final Handler mainHandler;
     private final Context context;
+    private final LruCache<String, Bitmap> memoryCache;
+    private final DiskCacheManager diskCache;
+    // Decodes queued or running, by cache key
+    private final Map<String, DecodeRequest> inFlight = new HashMap<>();
+    private final AtomicLong requestSequence = new AtomicLong();
+    private final AtomicInteger hitCount = new AtomicInteger();
+    private final AtomicInteger missCount = new AtomicInteger();
+    private final AtomicInteger decodeCount = new AtomicInteger();
+    private final AtomicInteger coalescedCount = new AtomicInteger();
+    private final AtomicInteger cancelledCount = new AtomicInteger();
+    private final AtomicInteger atlasCount = new AtomicInteger();
+    private final AtomicInteger headshotDecodeCount = new AtomicInteger();
+    private final AtomicInteger reusedDecodeCount = new AtomicInteger();
+    // Per decode thread, sampled pixels land here before the exact-size copy is cached
+    private final ThreadLocal<Bitmap> scratchBitmap = new ThreadLocal<>();
+    // Mapped on first use, null when there is no atlas yet
+    private LogoAtlas logoAtlas;
+    private boolean logoAtlasOpened;
 
     public interface ImageLoadCallback {
         void onImageLoaded(Bitmap bitmap);
         void onImageFailed();
     }
 
+    /** Produces the bitmap for a cache key on a decode thread, null when there is none */
+    private interface Decoder {
+        Bitmap decode();
+    }
+
     private ImageHelper(Context context) {
         this.context = context.getApplicationContext();
-        this.executorService = Executors.newFixedThreadPool(3);
+        // Newest request first, see DecodeRequest
+        this.executorService = new ThreadPoolExecutor(3, 3, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>());
         this.mainHandler = new Handler(Looper.getMainLooper());
+        this.diskCache = DiskCacheManager.getInstance(this.context);
+
+        int maxBytes = (int) Math.min(Integer.MAX_VALUE, Runtime.getRuntime().maxMemory() / MEMORY_CACHE_DIVISOR);
+        this.memoryCache = new LruCache<String, Bitmap>(maxBytes) {
+            @Override
+            protected int sizeOf(String key, Bitmap bitmap) {
+                return bitmap.getAllocationByteCount();
+            }
+        };
     }
 
     public static synchronized ImageHelper getInstance(Context context) {
@@ -52,139 +100,581 @@ public class ImageHelper {
     }
 
     /**
-     * Load team logo into ImageView with fallback
+     * Load team logo into ImageView with fallback, decoded at the view's layout size
      */
     public void loadTeamLogo(Team team, ImageView imageView, int fallbackDrawableId) {
+        loadTeamLogo(team, imageView, fallbackDrawableId, layoutSize(imageView));
+    }
+
+    /**
+     * Load team logo into ImageView, decoded to fit sizePx (0 for the file's own size).
+     * A cached logo is set right away, otherwise the fallback shows until it is decoded.
+     * Whatever the view was waiting for before is cancelled.
+     */
+    public void loadTeamLogo(Team team, ImageView imageView, int fallbackDrawableId, int sizePx) {
+        if (team == null || imageView == null) {
+            return;
+        }
+        if (!bindFromCache(cacheKey(team, sizePx), imageView, true)) {
+            // Set placeholder immediately
+            if (fallbackDrawableId != 0) {
+                imageView.setImageResource(fallbackDrawableId);
+            }
+            enqueueForView(team, imageView, sizePx);
+        }
+    }
+
+    /**
+     * Load team logo into ImageView with custom placeholder
+     */
+    public void loadTeamLogo(Team team, ImageView imageView, Drawable placeholder) {
         if (team == null || imageView == null) {
             return;
         }
+        int sizePx = layoutSize(imageView);
+        if (!bindFromCache(cacheKey(team, sizePx), imageView, true)) {
+            // Set placeholder immediately
+            if (placeholder != null) {
+                imageView.setImageDrawable(placeholder);
+            }
+            enqueueForView(team, imageView, sizePx);
+        }
+    }
 
-        // Set placeholder immediately
+    /**
+     * Load a player's headshot into ImageView, decoded at the view's layout size
+     */
+    public void loadPlayerHeadshot(NHLPlayer player, ImageView imageView, int fallbackDrawableId) {
+        loadPlayerHeadshot(player, imageView, fallbackDrawableId, layoutSize(imageView));
+    }
+
+    /**
+     * Load a player's headshot into ImageView, decoded to fit sizePx. A headshot that
+     * is not on disk yet is downloaded first, as served, trying the boxscore mug URL
+     * before the generic one. Shares the memory cache and the request tracking of logos.
+     */
+    public void loadPlayerHeadshot(NHLPlayer player, ImageView imageView, int fallbackDrawableId, int sizePx) {
+        if (player == null || imageView == null) {
+            return;
+        }
+        if (player.getPlayerId() <= 0 || sizePx <= 0) {
+            cancelTeamLogo(imageView);
+            imageView.setImageResource(fallbackDrawableId);
+            return;
+        }
+        String key = headshotKey(player.getPlayerId(), sizePx);
+        if (bindFromCache(key, imageView, false)) {
+            return;
+        }
         if (fallbackDrawableId != 0) {
             imageView.setImageResource(fallbackDrawableId);
         }
 
-        // Try to load from local storage
-        loadTeamLogoAsync(team, new ImageLoadCallback() {
-            @Override
-            public void onImageLoaded(Bitmap bitmap) {
-                mainHandler.post(() -> {
-                    if (bitmap != null) {
-                        imageView.setImageBitmap(bitmap);
-                        imageView.setScaleType(ImageView.ScaleType.FIT_CENTER);
+        ViewTarget target = new ViewTarget("player " + player.getPlayerId(), imageView, key, false);
+        imageView.setTag(target);
+        File file = ImageDownloader.getHeadshotFile(context, player);
+        if (diskCache.contains(file)) {
+            target.request = enqueueHeadshotDecode(file, sizePx, key, target);
+        } else {
+            downloadHeadshot(target, file, sizePx, headshotUrls(player), 0);
+        }
+    }
+
+    private static List<String> headshotUrls(NHLPlayer player) {
+        List<String> urls = new ArrayList<>(2);
+        if (player.getLogoURL() != null && !player.getLogoURL().isEmpty()) {
+            urls.add(player.getLogoURL());
+        }
+        urls.add(ImageDownloader.getHeadshotUrl(player));
+        return urls;
+    }
+
+    /**
+     * Fetch the headshot through the download scheduler, moving on to the next URL
+     * when one fails, then decode it if the view still wants it
+     */
+    private void downloadHeadshot(ViewTarget target, File file, int sizePx, List<String> urls, int index) {
+        AssetDownloadScheduler.getInstance(context).enqueue(urls.get(index), file,
+                AssetDownloadScheduler.Priority.INTERACTIVE, new AssetDownloadScheduler.Listener() {
+                    @Override
+                    public void onDownloaded(String url, File downloaded) {
+                        diskCache.setSeason(downloaded, seasonOf(url));
+                        if (!target.isDone()) {
+                            target.request = enqueueHeadshotDecode(downloaded, sizePx, target.key, target);
+                        }
+                    }
+
+                    @Override
+                    public void onFailed(String url, String error) {
+                        if (target.isDone()) {
+                            return;
+                        }
+                        if (index + 1 < urls.size()) {
+                            downloadHeadshot(target, file, sizePx, urls, index + 1);
+                        } else {
+                            target.onImageFailed();
+                        }
                     }
                 });
-            }
+    }
 
-            @Override
-            public void onImageFailed() {
-                // Keep the fallback image that was set initially
-                Log.d(TAG, "Failed to load logo for team: " + team.getName());
+    private DecodeRequest enqueueHeadshotDecode(File file, int sizePx, String key, ImageLoadCallback callback) {
+        return enqueue(key, () -> {
+            headshotDecodeCount.incrementAndGet();
+            Bitmap bitmap = decodeSampled(file.getAbsolutePath(), sizePx);
+            if (bitmap != null) {
+                diskCache.touch(file);
+            } else if (!file.exists()) {
+                // Deleted behind the index's back, download it again next time
+                diskCache.remove(file);
             }
-        });
+            return bitmap;
+        }, callback);
+    }
+
+    /** Season of a mug URL, .../mugs/nhl/20242025/TOR/8478402.png, 0 for other URLs */
+    static int seasonOf(String url) {
+        int at = url != null ? url.indexOf("/mugs/nhl/") : -1;
+        if (at < 0) {
+            return 0;
+        }
+        int start = at + "/mugs/nhl/".length();
+        int end = url.indexOf('/', start);
+        try {
+            return end > start ? Integer.parseInt(url.substring(start, end)) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
     }
 
     /**
-     * Load team logo into ImageView with custom placeholder
+     * Stop waiting on a logo or headshot for this view, call when its row is recycled.
+     * The decode itself is dropped if nothing else is waiting on it and it has not started.
      */
-    public void loadTeamLogo(Team team, ImageView imageView, Drawable placeholder) {
-        if (team == null || imageView == null) {
+    public void cancelTeamLogo(ImageView imageView) {
+        if (imageView == null) {
             return;
         }
+        Object tag = imageView.getTag();
+        if (tag instanceof ViewTarget) {
+            ((ViewTarget) tag).cancel();
+        }
+        imageView.setTag(null);
+    }
+
+    /**
+     * Cancels the view's previous request and sets the image when it is cached, true on a hit
+     */
+    private boolean bindFromCache(String key, ImageView imageView, boolean fitCenter) {
+        Object tag = imageView.getTag();
+        if (tag instanceof ViewTarget) {
+            ViewTarget previous = (ViewTarget) tag;
+            // Rebound to the same image while it is still loading, keep waiting on it
+            if (previous.key.equals(key) && !previous.isDone()) {
+                return true;
+            }
+            previous.cancel();
+            imageView.setTag(null);
+        }
 
-        // Set placeholder immediately
-        if (placeholder != null) {
-            imageView.setImageDrawable(placeholder);
+        Bitmap cached = memoryCache.get(key);
+        if (cached != null) {
+            hitCount.incrementAndGet();
+            setImage(imageView, cached, fitCenter);
+            return true;
         }
+        return false;
+    }
 
-        // Try to load from local storage
-        loadTeamLogoAsync(team, new ImageLoadCallback() {
-            @Override
-            public void onImageLoaded(Bitmap bitmap) {
-                mainHandler.post(() -> {
-                    if (bitmap != null) {
-                        imageView.setImageBitmap(bitmap);
-                        imageView.setScaleType(ImageView.ScaleType.FIT_CENTER);
-                    }
-                });
+    private void enqueueForView(Team team, ImageView imageView, int sizePx) {
+        ViewTarget target = new ViewTarget(team.getName(), imageView, cacheKey(team, sizePx), true);
+        imageView.setTag(target);
+        target.request = enqueue(team, sizePx, target);
+    }
+
+    /** One view waiting on an image, kept in the view's tag */
+    private final class ViewTarget implements ImageLoadCallback {
+        final String label;
+        final ImageView imageView;
+        final String key;
+        // Logos are fitted, headshots keep the scale type of their layout
+        final boolean fitCenter;
+        DecodeRequest request;
+        boolean done;
+
+        ViewTarget(String label, ImageView imageView, String key, boolean fitCenter) {
+            this.label = label;
+            this.imageView = imageView;
+            this.key = key;
+            this.fitCenter = fitCenter;
+        }
+
+        boolean isDone() {
+            return done;
+        }
+
+        void cancel() {
+            done = true;
+            if (request != null) {
+                request.removeWaiter(this);
+                request = null;
             }
+        }
 
-            @Override
-            public void onImageFailed() {
-                // Keep the placeholder that was set initially
-                Log.d(TAG, "Failed to load logo for team: " + team.getName());
+        @Override
+        public void onImageLoaded(Bitmap bitmap) {
+            done = true;
+            // Skip views that were rebound to another image while this one decoded
+            if (imageView.getTag() == this) {
+                setImage(imageView, bitmap, fitCenter);
             }
-        });
+        }
+
+        @Override
+        public void onImageFailed() {
+            done = true;
+            // Keep the placeholder that was set initially
+            Log.d(TAG, "Failed to load image for " + label);
+        }
+    }
+
+    private static void setImage(ImageView imageView, Bitmap bitmap, boolean fitCenter) {
+        imageView.setImageBitmap(bitmap);
+        if (fitCenter) {
+            imageView.setScaleType(ImageView.ScaleType.FIT_CENTER);
+        }
+    }
+
+    private static int layoutSize(ImageView imageView) {
+        ViewGroup.LayoutParams params = imageView.getLayoutParams();
+        if (params == null) {
+            return 0;
+        }
+        return Math.max(0, Math.max(params.width, params.height));
     }
 
     /**
-     * Load team logo asynchronously
+     * Load team logo asynchronously at the file's own size
      */
     public void loadTeamLogoAsync(Team team, ImageLoadCallback callback) {
+        loadTeamLogoAsync(team, 0, callback);
+    }
+
+    /**
+     * Load team logo asynchronously, the callback runs on the main thread.
+     * Requests for a logo that is already being decoded wait on that decode.
+     */
+    public void loadTeamLogoAsync(Team team, int sizePx, ImageLoadCallback callback) {
         if (team == null || callback == null) {
             return;
         }
 
-        executorService.execute(() -> {
+        Bitmap cached = memoryCache.get(cacheKey(team, sizePx));
+        if (cached != null) {
+            hitCount.incrementAndGet();
+            mainHandler.post(() -> callback.onImageLoaded(cached));
+            return;
+        }
+        enqueue(team, sizePx, callback);
+    }
+
+    private DecodeRequest enqueue(Team team, int sizePx, ImageLoadCallback callback) {
+        return enqueue(cacheKey(team, sizePx), () -> decodeTeamLogo(team, sizePx), callback);
+    }
+
+    /**
+     * Queue a decode for the callback, or join the one already queued or running for the key
+     */
+    private DecodeRequest enqueue(String key, Decoder decoder, ImageLoadCallback callback) {
+        missCount.incrementAndGet();
+
+        synchronized (inFlight) {
+            DecodeRequest request = inFlight.get(key);
+            if (request != null) {
+                request.waiters.add(callback);
+                coalescedCount.incrementAndGet();
+                // The newest bind is on screen, move the shared decode to the front
+                if (!request.started && executorService.remove(request)) {
+                    request.sequence = requestSequence.incrementAndGet();
+                    executorService.execute(request);
+                }
+                return request;
+            }
+            request = new DecodeRequest(decoder, key, requestSequence.incrementAndGet());
+            request.waiters.add(callback);
+            inFlight.put(key, request);
+            executorService.execute(request);
+            return request;
+        }
+    }
+
+    /**
+     * One decode and everything waiting on it. The queue runs the newest request first,
+     * during a fling that is the row that just came on screen.
+     */
+    private final class DecodeRequest implements Runnable, Comparable<DecodeRequest> {
+        final Decoder decoder;
+        final String key;
+        // Guarded by inFlight
+        final List<ImageLoadCallback> waiters = new ArrayList<>(2);
+        boolean started;
+        volatile long sequence;
+
+        DecodeRequest(Decoder decoder, String key, long sequence) {
+            this.decoder = decoder;
+            this.key = key;
+            this.sequence = sequence;
+        }
+
+        void removeWaiter(ImageLoadCallback callback) {
+            synchronized (inFlight) {
+                waiters.remove(callback);
+                if (waiters.isEmpty() && !started && inFlight.get(key) == this) {
+                    inFlight.remove(key);
+                    executorService.remove(this);
+                    cancelledCount.incrementAndGet();
+                }
+            }
+        }
+
+        @Override
+        public int compareTo(DecodeRequest other) {
+            return Long.compare(other.sequence, sequence);
+        }
+
+        @Override
+        public void run() {
+            synchronized (inFlight) {
+                // Everyone waiting scrolled away before the decode got a thread
+                if (waiters.isEmpty()) {
+                    if (inFlight.get(key) == this) {
+                        inFlight.remove(key);
+                    }
+                    return;
+                }
+                started = true;
+            }
+
+            Bitmap bitmap = null;
             try {
-                Bitmap bitmap = loadTeamLogoBitmap(team);
+                bitmap = decoder.decode();
                 if (bitmap != null) {
-                    callback.onImageLoaded(bitmap);
-                } else {
-                    callback.onImageFailed();
+                    memoryCache.put(key, bitmap);
                 }
             } catch (Exception e) {
-                Log.e(TAG, "Error loading team logo bitmap", e);
-                callback.onImageFailed();
+                Log.e(TAG, "Error decoding bitmap for " + key, e);
+            }
+
+            List<ImageLoadCallback> waiting;
+            synchronized (inFlight) {
+                if (inFlight.get(key) == this) {
+                    inFlight.remove(key);
+                }
+                waiting = new ArrayList<>(waiters);
             }
-        });
+            Bitmap result = bitmap;
+            mainHandler.post(() -> {
+                for (ImageLoadCallback waitingCallback : waiting) {
+                    if (result != null) {
+                        waitingCallback.onImageLoaded(result);
+                    } else {
+                        waitingCallback.onImageFailed();
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Logo from the memory cache, null when it has not been decoded at this size yet
+     */
+    public Bitmap getCachedLogo(Team team, int sizePx) {
+        if (team == null) {
+            return null;
+        }
+        Bitmap cached = memoryCache.get(cacheKey(team, sizePx));
+        if (cached != null) {
+            hitCount.incrementAndGet();
+        }
+        return cached;
     }
 
     /**
-     * Load team logo bitmap from local storage
+     * Load team logo bitmap, from the memory cache when it is there
      */
     public Bitmap loadTeamLogoBitmap(Team team) {
         if (team == null) {
             return null;
         }
 
-        // Check if team has a logo path set
-        String logoPath = team.getLogoPath();
-        if (logoPath != null && !logoPath.isEmpty()) {
-            File logoFile = new File(context.getFilesDir(), logoPath);
-            if (logoFile.exists()) {
-                try {
-                    return BitmapFactory.decodeFile(logoFile.getAbsolutePath());
-                } catch (Exception e) {
-                    Log.e(TAG, "Failed to decode logo file: " + logoFile.getAbsolutePath(), e);
-                }
+        String key = cacheKey(team, 0);
+        Bitmap bitmap = memoryCache.get(key);
+        if (bitmap != null) {
+            hitCount.incrementAndGet();
+            return bitmap;
+        }
+        missCount.incrementAndGet();
+        bitmap = decodeTeamLogo(team, 0);
+        if (bitmap != null) {
+            memoryCache.put(key, bitmap);
+        }
+        return bitmap;
+    }
+
+    private Bitmap decodeTeamLogo(Team team, int sizePx) {
+        // Pre-rasterized at this size, a copy out of the atlas instead of a PNG decode
+        LogoAtlas atlas = sizePx > 0 ? getLogoAtlas() : null;
+        if (atlas != null) {
+            Bitmap bitmap = atlas.get(team.getTeamID(), sizePx);
+            if (bitmap != null) {
+                atlasCount.incrementAndGet();
+                touchLogoSources(team);
+                return bitmap;
             }
         }
 
-        // Fallback: try to find logo using team abbreviation
-        return loadTeamLogoByAbbreviation(team.getAbreviatedName());
+        File logoFile = getTeamLogoFile(team);
+        if (logoFile == null) {
+            return null;
+        }
+
+        try {
+            decodeCount.incrementAndGet();
+            Bitmap bitmap = sizePx > 0
+                    ? loadBitmapWithConstraints(logoFile.getAbsolutePath(), sizePx, sizePx, Bitmap.Config.ARGB_8888)
+                    : BitmapFactory.decodeFile(logoFile.getAbsolutePath());
+            if (bitmap != null) {
+                diskCache.touch(logoFile);
+            } else if (!logoFile.exists()) {
+                diskCache.remove(logoFile);
+            }
+            return bitmap;
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to decode logo file: " + logoFile.getAbsolutePath(), e);
+            return null;
+        }
     }
 
     /**
-     * Load team logo by abbreviation
+     * Keep the files an atlas logo was packed from at the back of the eviction order,
+     * a trim would otherwise drop them while the atlas keeps serving the team
      */
-    private Bitmap loadTeamLogoByAbbreviation(String teamAbbrev) {
-        if (teamAbbrev == null || teamAbbrev.isEmpty()) {
-            return null;
+    private void touchLogoSources(Team team) {
+        File logoFile = getTeamLogoFile(team);
+        if (logoFile == null) {
+            return;
+        }
+        diskCache.touch(logoFile);
+        String name = logoFile.getName();
+        if (name.endsWith(LOGO_FILE_EXTENSION)) {
+            String svgName = name.substring(0, name.length() - LOGO_FILE_EXTENSION.length()) + ".svg";
+            diskCache.touch(new File(logoFile.getParentFile(), svgName));
         }
+    }
 
-        String filename = teamAbbrev.toLowerCase() + "_logo.png";
-        File logoFile = new File(new File(context.getFilesDir(), LOGOS_DIR), filename);
+    private synchronized LogoAtlas getLogoAtlas() {
+        if (!logoAtlasOpened) {
+            logoAtlasOpened = true;
+            logoAtlas = LogoAtlas.open(new File(new File(context.getFilesDir(), LOGOS_DIR), LogoAtlas.ATLAS_FILE));
+            if (logoAtlas != null) {
+                Log.d(TAG, "Mapped logo atlas with " + logoAtlas.size() + " logos");
+            }
+        }
+        return logoAtlas;
+    }
 
-        if (logoFile.exists()) {
-            try {
-                return BitmapFactory.decodeFile(logoFile.getAbsolutePath());
-            } catch (Exception e) {
-                Log.e(TAG, "Failed to decode logo file: " + logoFile.getAbsolutePath(), e);
+    /**
+     * Map the atlas again on next use, call after it has been rewritten or deleted
+     */
+    public synchronized void reloadLogoAtlas() {
+        logoAtlas = null;
+        logoAtlasOpened = false;
+    }
+
+    private static String cacheKey(Team team, int sizePx) {
+        String id = team.getTeamID() > 0 ? String.valueOf(team.getTeamID()) : team.getAbreviatedName();
+        return id + "@" + sizePx;
+    }
+
+    // Prefixed so a player id never collides with a team id
+    private static String headshotKey(int playerId, int sizePx) {
+        return "p" + playerId + "@" + sizePx;
+    }
+
+    /**
+     * Drop every decoded headshot of a player, for when its file is replaced
+     */
+    public void invalidatePlayerHeadshot(int playerId) {
+        String prefix = "p" + playerId + "@";
+        for (String key : memoryCache.snapshot().keySet()) {
+            if (key.startsWith(prefix)) {
+                memoryCache.remove(key);
             }
         }
+    }
 
-        return null;
+    /**
+     * Drop every decoded logo of a team, for when its file is replaced
+     */
+    public void invalidateTeamLogo(Team team) {
+        if (team == null) {
+            return;
+        }
+        String prefix = cacheKey(team, 0);
+        prefix = prefix.substring(0, prefix.indexOf('@') + 1);
+        for (String key : memoryCache.snapshot().keySet()) {
+            if (key.startsWith(prefix)) {
+                memoryCache.remove(key);
+            }
+        }
+    }
+
+    public void clearMemoryCache() {
+        memoryCache.evictAll();
+    }
+
+    public int getHitCount() {
+        return hitCount.get();
+    }
+
+    public int getMissCount() {
+        return missCount.get();
+    }
+
+    /** Files decoded since start, stays flat once the cache is warm */
+    public int getDecodeCount() {
+        return decodeCount.get();
+    }
+
+    /** Requests that waited on a decode already running instead of starting their own */
+    public int getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /** Logos sliced from the atlas instead of decoded */
+    public int getAtlasCount() {
+        return atlasCount.get();
+    }
+
+    /** Decodes dropped because every view waiting on them was recycled first */
+    public int getCancelledCount() {
+        return cancelledCount.get();
+    }
+
+    /** Headshots decoded since start, and how many of those reused a scratch bitmap */
+    public int getHeadshotDecodeCount() {
+        return headshotDecodeCount.get();
+    }
+
+    public int getReusedDecodeCount() {
+        return reusedDecodeCount.get();
+    }
+
+    public String getCacheStats() {
+        return String.format(Locale.US, "images: %d hits, %d misses, %d atlas, %d logo decodes, %d headshot decodes (%d reused), %d coalesced, %d cancelled, %d/%d KB",
+                hitCount.get(), missCount.get(), atlasCount.get(), decodeCount.get(), headshotDecodeCount.get(),
+                reusedDecodeCount.get(), coalescedCount.get(), cancelledCount.get(),
+                memoryCache.size() / 1024, memoryCache.maxSize() / 1024);
     }
 
     /**
@@ -256,19 +746,23 @@ public class ImageHelper {
             return null;
         }
 
+        // logoPath is stored absolute, older entries may be relative to files/
         String logoPath = team.getLogoPath();
         if (logoPath != null && !logoPath.isEmpty()) {
-            File logoFile = new File(context.getFilesDir(), logoPath);
-            if (logoFile.exists()) {
+            File logoFile = new File(logoPath);
+            if (!logoFile.isAbsolute()) {
+                logoFile = new File(context.getFilesDir(), logoPath);
+            }
+            if (diskCache.contains(logoFile)) {
                 return logoFile;
             }
         }
 
-        // Fallback: check by abbreviation
-        if (team.getAbreviatedName() != null) {
-            String filename = team.getAbreviatedName().toLowerCase() + "_logo.png";
+        // Fallback: the name AltImageDownloader saves under
+        if (team.getAbreviatedName() != null && !team.getAbreviatedName().trim().isEmpty()) {
+            String filename = team.getAbreviatedName().toLowerCase(Locale.ROOT).trim() + LOGO_FILE_EXTENSION;
             File logoFile = new File(new File(context.getFilesDir(), LOGOS_DIR), filename);
-            if (logoFile.exists()) {
+            if (diskCache.contains(logoFile)) {
                 return logoFile;
             }
         }
@@ -310,6 +804,13 @@ public class ImageHelper {
      * Load bitmap with size constraints
      */
     public static Bitmap loadBitmapWithConstraints(String filePath, int maxWidth, int maxHeight) {
+        return loadBitmapWithConstraints(filePath, maxWidth, maxHeight, Bitmap.Config.RGB_565);
+    }
+
+    /**
+     * Load bitmap with size constraints in the given config, logos need ARGB_8888 for transparency
+     */
+    public static Bitmap loadBitmapWithConstraints(String filePath, int maxWidth, int maxHeight, Bitmap.Config config) {
         BitmapFactory.Options options = getBitmapDimensions(filePath);
 
         int imageWidth = options.outWidth;
@@ -324,11 +825,78 @@ public class ImageHelper {
 
         options.inJustDecodeBounds = false;
         options.inSampleSize = scaleFactor;
-        options.inPreferredConfig = Bitmap.Config.RGB_565; // Use less memory
+        options.inPreferredConfig = config;
 
         return BitmapFactory.decodeFile(filePath, options);
     }
 
+    /**
+     * Largest power of two that keeps both sides at or above the target, the decoder
+     * only subsamples by powers of two
+     */
+    static int sampleSizeFor(int width, int height, int targetPx) {
+        int sampleSize = 1;
+        while (width / (sampleSize * 2) >= targetPx && height / (sampleSize * 2) >= targetPx) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    /**
+     * Decode an image file down to fit a sizePx square. The subsampled pixels are decoded
+     * into this thread's scratch bitmap through inBitmap and only the final, exactly sized
+     * copy is allocated. Opaque JPEGs use RGB_565, half the memory of ARGB_8888.
+     */
+    private Bitmap decodeSampled(String filePath, int sizePx) {
+        BitmapFactory.Options options = getBitmapDimensions(filePath);
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            return null;
+        }
+
+        int sampleSize = sampleSizeFor(options.outWidth, options.outHeight, sizePx);
+        int sampledWidth = (options.outWidth + sampleSize - 1) / sampleSize;
+        int sampledHeight = (options.outHeight + sampleSize - 1) / sampleSize;
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = sampleSize;
+        options.inPreferredConfig = "image/jpeg".equals(options.outMimeType)
+                ? Bitmap.Config.RGB_565 : Bitmap.Config.ARGB_8888;
+        options.inMutable = true;
+
+        // Sized for ARGB_8888 so it fits either config
+        Bitmap scratch = scratchBitmap.get();
+        if (scratch != null && scratch.getAllocationByteCount() >= sampledWidth * sampledHeight * 4) {
+            options.inBitmap = scratch;
+        }
+
+        Bitmap sampled;
+        try {
+            sampled = BitmapFactory.decodeFile(filePath, options);
+            if (options.inBitmap != null && sampled == options.inBitmap) {
+                reusedDecodeCount.incrementAndGet();
+            }
+        } catch (IllegalArgumentException e) {
+            // The decoder refused the scratch bitmap, decode into a new one
+            options.inBitmap = null;
+            sampled = BitmapFactory.decodeFile(filePath, options);
+        }
+        if (sampled == null) {
+            return null;
+        }
+        if (sampled != scratch && (scratch == null
+                || sampled.getAllocationByteCount() > scratch.getAllocationByteCount())) {
+            scratchBitmap.set(sampled);
+        }
+
+        float scale = Math.min(1f, (float) sizePx / Math.max(sampled.getWidth(), sampled.getHeight()));
+        int width = Math.max(1, Math.round(sampled.getWidth() * scale));
+        int height = Math.max(1, Math.round(sampled.getHeight() * scale));
+        if (width == sampled.getWidth() && height == sampled.getHeight()) {
+            // createScaledBitmap would hand back the scratch bitmap itself
+            return sampled.copy(sampled.getConfig(), false);
+        }
+        return Bitmap.createScaledBitmap(sampled, width, height, true);
+    }
+
     /**
      * Convert drawable to bitmap
      */
@@ -359,6 +927,7 @@ public class ImageHelper {
      * Shutdown the image helper
      */
     public void shutdown() {
+        memoryCache.evictAll();
         if (executorService != null) {
             executorService.shutdown();
         }
@@ -0,0 +1,231 @@
+package com.example.nhlapp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Open addressing hash map from primitive int keys to objects.
+ *
+ * Keys live in an int[] and values in a parallel Object[], so there is no
+ * Integer boxing and no entry object per mapping. Collisions use linear
+ * probing and removal shifts the following entries back, so no tombstones
+ * build up. Null values are not allowed, an empty slot is a null value.
+ *
+ * Not thread safe. Shared instances are treated as immutable and replaced
+ * with a modified copy().
+ */
+public class IntObjectMap<V> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+    private int resizeAt;
+
+    public IntObjectMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntObjectMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    private IntObjectMap(IntObjectMap<V> source) {
+        keys = source.keys.clone();
+        values = source.values.clone();
+        size = source.size;
+        mask = source.mask;
+        resizeAt = source.resizeAt;
+    }
+
+    /** Independent copy, used to publish changes to a shared map */
+    public IntObjectMap<V> copy() {
+        return new IntObjectMap<>(this);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int slot = mix(key) & mask;
+        Object value;
+        while ((value = values[slot]) != null) {
+            if (keys[slot] == key) {
+                return (V) value;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Map key to value, returns the previous value or null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("IntObjectMap does not hold null values");
+        }
+
+        int slot = mix(key) & mask;
+        Object existing;
+        while ((existing = values[slot]) != null) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return (V) existing;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Replace the value only if the key is already present
+     */
+    public V replace(int key, V value) {
+        return containsKey(key) ? put(key, value) : null;
+    }
+
+    public void putAll(IntObjectMap<? extends V> other) {
+        for (int slot = 0; slot < other.capacity(); slot++) {
+            V value = other.valueAt(slot);
+            if (value != null) {
+                put(other.keyAt(slot), value);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int slot = mix(key) & mask;
+        Object existing;
+        while ((existing = values[slot]) != null) {
+            if (keys[slot] == key) {
+                shiftBack(slot);
+                size--;
+                return (V) existing;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    // Allocation free iteration: for (slot = 0; slot < capacity(); slot++) if (valueAt(slot) != null) ...
+
+    public int capacity() {
+        return values.length;
+    }
+
+    public int keyAt(int slot) {
+        return keys[slot];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V valueAt(int slot) {
+        return (V) values[slot];
+    }
+
+    /**
+     * All keys, in table order
+     */
+    public int[] keys() {
+        int[] result = new int[size];
+        int i = 0;
+        for (int slot = 0; slot < values.length; slot++) {
+            if (values[slot] != null) {
+                result[i++] = keys[slot];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * All values as a new list, in table order
+     */
+    @SuppressWarnings("unchecked")
+    public ArrayList<V> values() {
+        ArrayList<V> result = new ArrayList<>(size);
+        for (Object value : values) {
+            if (value != null) {
+                result.add((V) value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Close the gap left at slot by moving back any entry that probed past it
+     */
+    private void shiftBack(int slot) {
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (values[next] != null) {
+            int home = mix(keys[next]) & mask;
+            // Move the entry if its home slot is not between the gap and its current slot
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        values[gap] = null;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = mix(oldKeys[i]) & mask;
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int needed = (int) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR) + 1;
+        return Math.max(DEFAULT_CAPACITY, Integer.highestOneBit(needed - 1) << 1);
+    }
+
+    /** Spread sequential ids such as game ids across the table */
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -102,53 +102,62 @@ public class JsonHelper {
         }
     }
 
-    public static void saveImagePathsToJson(Context context) {
+    // Disk cache modification count seen by the last saveImagePathsToJson
+    private static int lastImageModCount = -1;
+
+    public static synchronized void saveImagePathsToJson(Context context) {
         try {
+            // Listed from the disk cache index, which also says when nothing changed
+            DiskCacheManager diskCache = DiskCacheManager.getInstance(context);
+            int modCount = diskCache.getModCount();
+            if (modCount == lastImageModCount && new File(context.getFilesDir(), "image_paths.json").exists()) {
+                return;
+            }
+
             JSONObject imagePathsJson = new JSONObject();
 
             // Save team logo paths
             JSONObject teamLogos = new JSONObject();
-            File teamLogosDir = new File(context.getFilesDir(), "team_logos");
-            if (teamLogosDir.exists()) {
-                File[] logoFiles = teamLogosDir.listFiles();
-                if (logoFiles != null) {
-                    for (File logoFile : logoFiles) {
-                        String teamId = logoFile.getName().replace(".png", "");
-                        teamLogos.put(teamId, logoFile.getAbsolutePath());
-                    }
-                }
+            for (File logoFile : diskCache.listFiles(DiskCacheManager.LOGOS_DIR)) {
+                String teamId = logoFile.getName().replace(".png", "");
+                teamLogos.put(teamId, logoFile.getAbsolutePath());
             }
             imagePathsJson.put("teamLogos", teamLogos);
 
             // Save player headshot paths
             JSONObject playerHeadshots = new JSONObject();
-            File playerHeadshotsDir = new File(context.getFilesDir(), "player_headshots");
-            if (playerHeadshotsDir.exists()) {
-                File[] headshotFiles = playerHeadshotsDir.listFiles();
-                if (headshotFiles != null) {
-                    for (File headshotFile : headshotFiles) {
-                        String playerId = headshotFile.getName().replace(".png", "");
-                        playerHeadshots.put(playerId, headshotFile.getAbsolutePath());
-                    }
-                }
+            for (File headshotFile : diskCache.listFiles(DiskCacheManager.HEADSHOTS_DIR)) {
+                String playerId = headshotFile.getName().replace(".png", "");
+                playerHeadshots.put(playerId, headshotFile.getAbsolutePath());
             }
             imagePathsJson.put("playerHeadshots", playerHeadshots);
 
             saveJsonToFile(context, "image_paths.json", imagePathsJson.toString());
+            lastImageModCount = modCount;
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
 
     public static void saveJsonToFile(Context context, String filename, String jsonData) {
+        // Write next to the target and rename so a kill mid-write never leaves a half file
+        File target = new File(context.getFilesDir(), filename);
+        File temp = new File(context.getFilesDir(), filename + ".tmp");
         try {
-            FileOutputStream fos = context.openFileOutput(filename, Context.MODE_PRIVATE);
+            FileOutputStream fos = new FileOutputStream(temp);
             fos.write(jsonData.getBytes());
+            fos.getFD().sync();
+            fos.close();
+            if (!temp.renameTo(target)) {
+                Log.w("JsonHelper", "Could not move " + filename + " into place");
+                temp.delete();
+                return;
+            }
 
             Log.d("JsonHelper", "Tried to save " + filename + " to " + context.getFilesDir());
-            fos.close();
         } catch (Exception e) {
             e.printStackTrace();
+            temp.delete();
         }
     }
 
@@ -172,7 +181,8 @@ public class JsonHelper {
     }
 
     public static void deleteAllJsonFiles(Context context) {
-        String[] filenames = {"teams.json", "players.json", "games.json", "image_paths.json"};
+        String[] filenames = {"teams.json", "players.json", "games.json", "image_paths.json", "season_sync.json",
+                SnapshotStore.SNAPSHOT_FILE, SnapshotStore.JOURNAL_FILE};
         for (String filename : filenames) {
             File file = new File(context.getFilesDir(), filename);
             if (file.exists()) {
@@ -192,6 +202,19 @@ public class JsonHelper {
         }
     }
 
+    /**
+     * Remove the JSON files that have been imported into the binary snapshot
+     */
+    public static void deleteLegacyDataFiles(Context context) {
+        String[] filenames = {"teams.json", "players.json", "games.json", "seasons.json", "gamesBySeason.json"};
+        for (String filename : filenames) {
+            File file = new File(context.getFilesDir(), filename);
+            if (file.exists() && !file.delete()) {
+                Log.w("JsonHelper", "Could not delete " + filename);
+            }
+        }
+    }
+
     public static void saveSeasonsToJson(Context context, List<String> seasons) {
         try {
             JSONArray jsonArray = new JSONArray();
@@ -0,0 +1,380 @@
+package com.example.nhlapp;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.example.nhlapp.Objects.Game;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the games of a day up to date from /gamecenter/{id}/landing.
+ *
+ * Each tracked game has its own next poll time based on its state: quick
+ * while the puck is in play, slow during intermissions and before the game,
+ * and not at all until shortly before a scheduled start. Finished games are
+ * dropped. Only fields that actually changed are reported, as typed changes,
+ * so a screen can refresh just the affected row.
+ *
+ * Everything runs on the main thread, AsyncApiClient already delivers there.
+ */
+public class LiveGameEngine {
+    private static final String TAG = "LiveGameEngine";
+    private static final String LANDING_URL = "https://api-web.nhle.com/v1/gamecenter/%d/landing";
+
+    // Poll intervals by game state
+    private static final long CRITICAL_INTERVAL_MS = 5_000;
+    private static final long LIVE_INTERVAL_MS = 10_000;
+    private static final long INTERMISSION_INTERVAL_MS = 60_000;
+    private static final long PREGAME_INTERVAL_MS = 60_000;
+    // Scheduled games are left alone until this long before puck drop
+    private static final long PREGAME_LEAD_MS = 10 * 60_000;
+    // Scheduled games without a start time are checked this often
+    private static final long UNKNOWN_START_INTERVAL_MS = 5 * 60_000;
+    private static final long MAX_BACKOFF_MS = 2 * 60_000;
+
+    /** What changed in a game since the last poll */
+    public enum Change {
+        STATE, SCORE, SHOTS, PERIOD, CLOCK
+    }
+
+    /** One game's changes from a single poll */
+    public static class GameChange {
+        public final Game game;
+        public final EnumSet<Change> changes;
+
+        GameChange(Game game, EnumSet<Change> changes) {
+            this.game = game;
+            this.changes = changes;
+        }
+
+        public boolean has(Change change) {
+            return changes.contains(change);
+        }
+    }
+
+    public interface Listener {
+        void onGameChanged(GameChange change);
+    }
+
+    /** Poll bookkeeping for one game */
+    private static class TrackedGame {
+        final Game game;
+        long nextPollAt;
+        boolean inFlight;
+        boolean inIntermission;
+        int failures;
+
+        TrackedGame(Game game) {
+            this.game = game;
+        }
+    }
+
+    private final AsyncApiClient apiClient;
+    private final Handler handler;
+    private final IntObjectMap<TrackedGame> tracked = new IntObjectMap<>();
+    private final List<Listener> listeners = new ArrayList<>();
+    private final Runnable pollTask = this::pollDueGames;
+    private AtomicBoolean cancelled = new AtomicBoolean(false);
+    private PlayByPlayFeed playByPlayFeed;
+    private boolean running = false;
+    private long scheduledFor = Long.MAX_VALUE;
+    private int pollCount = 0;
+
+    public LiveGameEngine(AsyncApiClient apiClient) {
+        this.apiClient = apiClient;
+        this.handler = new Handler(Looper.getMainLooper());
+    }
+
+    public void addListener(Listener listener) {
+        if (!listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Also pull new plays whenever a tracked game changes beyond its clock, null to turn off
+     */
+    public void setPlayByPlayFeed(PlayByPlayFeed playByPlayFeed) {
+        this.playByPlayFeed = playByPlayFeed;
+    }
+
+    /**
+     * Track exactly these games. Games already tracked keep their schedule,
+     * finished games are ignored.
+     */
+    public void track(List<Game> games) {
+        IntObjectMap<TrackedGame> previous = tracked.copy();
+        tracked.clear();
+
+        long now = SystemClock.elapsedRealtime();
+        for (Game game : games) {
+            if (game == null || isFinished(game.getTimeStatus())) continue;
+
+            TrackedGame entry = previous.get(game.getGameId());
+            if (entry == null || entry.game != game) {
+                entry = new TrackedGame(game);
+                entry.nextPollAt = now + initialDelay(game);
+            }
+            tracked.put(game.getGameId(), entry);
+        }
+
+        Log.d(TAG, "Tracking " + tracked.size() + " of " + games.size() + " games");
+        if (running) {
+            reschedule();
+        }
+    }
+
+    public Game getGame(int gameId) {
+        TrackedGame entry = tracked.get(gameId);
+        return entry != null ? entry.game : null;
+    }
+
+    public int getTrackedCount() {
+        return tracked.size();
+    }
+
+    /** Landing requests sent since the engine was created */
+    public int getPollCount() {
+        return pollCount;
+    }
+
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        cancelled = new AtomicBoolean(false);
+        reschedule();
+    }
+
+    /**
+     * Stop polling and drop any request still out, tracked games are kept for the next start
+     */
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        cancelled.set(true);
+        handler.removeCallbacks(pollTask);
+        scheduledFor = Long.MAX_VALUE;
+        if (playByPlayFeed != null) {
+            playByPlayFeed.cancel();
+        }
+        for (int slot = 0; slot < tracked.capacity(); slot++) {
+            TrackedGame entry = tracked.valueAt(slot);
+            if (entry != null) {
+                entry.inFlight = false;
+            }
+        }
+    }
+
+    public void shutdown() {
+        stop();
+        tracked.clear();
+        listeners.clear();
+    }
+
+    private void pollDueGames() {
+        scheduledFor = Long.MAX_VALUE;
+        if (!running) {
+            return;
+        }
+
+        long now = SystemClock.elapsedRealtime();
+        for (int slot = 0; slot < tracked.capacity(); slot++) {
+            TrackedGame entry = tracked.valueAt(slot);
+            if (entry != null && !entry.inFlight && entry.nextPollAt <= now) {
+                poll(entry);
+            }
+        }
+        reschedule();
+    }
+
+    private void poll(TrackedGame entry) {
+        entry.inFlight = true;
+        pollCount++;
+        int gameId = entry.game.getGameId();
+        AtomicBoolean requestCancelled = cancelled;
+
+        apiClient.makeAsyncStreamingRequest(
+                String.format(Locale.US, LANDING_URL, gameId),
+                StreamingJsonParser::parseLanding,
+                new AsyncApiClient.ApiCallback<StreamingJsonParser.Landing>() {
+                    @Override
+                    public void onSuccess(StreamingJsonParser.Landing landing) {
+                        if (requestCancelled.get() || tracked.get(gameId) != entry) return;
+                        entry.inFlight = false;
+                        entry.failures = 0;
+                        applyLanding(entry, landing);
+                        reschedule();
+                    }
+
+                    @Override
+                    public void onError(String error) {
+                        if (requestCancelled.get() || tracked.get(gameId) != entry) return;
+                        entry.inFlight = false;
+                        entry.failures++;
+                        long backoff = Math.min(MAX_BACKOFF_MS, LIVE_INTERVAL_MS << Math.min(entry.failures, 4));
+                        entry.nextPollAt = SystemClock.elapsedRealtime() + backoff;
+                        Log.w(TAG, "Live poll failed for game " + gameId + ", retrying in " + backoff + "ms: " + error);
+                        reschedule();
+                    }
+                },
+                requestCancelled
+        );
+    }
+
+    /**
+     * Copy what changed onto the game, notify listeners and pick the next poll time
+     */
+    private void applyLanding(TrackedGame entry, StreamingJsonParser.Landing landing) {
+        Game game = entry.game;
+        EnumSet<Change> changes = EnumSet.noneOf(Change.class);
+
+        if (landing.gameState != null && !landing.gameState.equals(game.getTimeStatus())) {
+            game.setTimeStatus(landing.gameState);
+            changes.add(Change.STATE);
+        }
+        // A side missing from the landing (-1) keeps the value the game already has
+        if (landing.homeScore >= 0 && landing.homeScore != game.getHomeScore()) {
+            game.setHomeScore(landing.homeScore);
+            changes.add(Change.SCORE);
+        }
+        if (landing.awayScore >= 0 && landing.awayScore != game.getAwayScore()) {
+            game.setAwayScore(landing.awayScore);
+            changes.add(Change.SCORE);
+        }
+        if (landing.homeShots >= 0 && landing.homeShots != game.getHomeShots()) {
+            game.setHomeShots(landing.homeShots);
+            changes.add(Change.SHOTS);
+        }
+        if (landing.awayShots >= 0 && landing.awayShots != game.getAwayShots()) {
+            game.setAwayShots(landing.awayShots);
+            changes.add(Change.SHOTS);
+        }
+        if (landing.period > 0 && landing.period != game.getPeriod()) {
+            game.setPeriod(landing.period);
+            changes.add(Change.PERIOD);
+        }
+        if (landing.secondsRemaining >= 0) {
+            int minutes = landing.secondsRemaining / 60;
+            int seconds = landing.secondsRemaining % 60;
+            int[] timer = game.timer;
+            if (timer == null || timer[0] != minutes || timer[1] != seconds
+                    || entry.inIntermission != landing.inIntermission) {
+                // Swapped rather than written in place, a reader never sees half an update
+                game.timer = new int[]{minutes, seconds};
+                changes.add(Change.CLOCK);
+            }
+        }
+        entry.inIntermission = landing.inIntermission;
+
+        if (!changes.isEmpty()) {
+            // A clock tick alone is not worth a save
+            if (!changes.equals(EnumSet.of(Change.CLOCK))) {
+                DataManager.getInstance().addGame(game);
+                if (playByPlayFeed != null) {
+                    playByPlayFeed.refresh(game);
+                }
+            }
+            GameChange change = new GameChange(game, changes);
+            for (Listener listener : new ArrayList<>(listeners)) {
+                listener.onGameChanged(change);
+            }
+        }
+
+        if (isFinished(game.getTimeStatus())) {
+            tracked.remove(game.getGameId());
+            if (playByPlayFeed != null) {
+                playByPlayFeed.release(game.getGameId());
+            }
+            Log.d(TAG, "Game " + game.getGameId() + " finished, no longer polling");
+            return;
+        }
+        entry.nextPollAt = SystemClock.elapsedRealtime() + pollInterval(game.getTimeStatus(), landing);
+    }
+
+    /**
+     * How long to wait before the next poll of a game in this state
+     */
+    private static long pollInterval(String gameState, StreamingJsonParser.Landing landing) {
+        if ("FUT".equalsIgnoreCase(gameState) || "PRE".equalsIgnoreCase(gameState)) {
+            return PREGAME_INTERVAL_MS;
+        }
+        if (landing.inIntermission) {
+            if (landing.secondsRemaining < 0) {
+                return INTERMISSION_INTERVAL_MS;
+            }
+            // The intermission clock says when play resumes
+            long untilResume = landing.secondsRemaining * 1000L;
+            return Math.max(LIVE_INTERVAL_MS, Math.min(INTERMISSION_INTERVAL_MS, untilResume));
+        }
+        if ("CRIT".equalsIgnoreCase(gameState)) {
+            return CRITICAL_INTERVAL_MS;
+        }
+        return LIVE_INTERVAL_MS;
+    }
+
+    /**
+     * Delay before the first poll, games that have not started wait for their start time
+     */
+    private static long initialDelay(Game game) {
+        String gameState = game.getTimeStatus();
+        if (!"FUT".equalsIgnoreCase(gameState)) {
+            return 0;
+        }
+
+        String startTime = game.getStartTime();
+        if (startTime == null || startTime.isEmpty()) {
+            return UNKNOWN_START_INTERVAL_MS;
+        }
+        try {
+            long untilStart = Instant.parse(startTime).toEpochMilli() - System.currentTimeMillis();
+            return Math.max(0, untilStart - PREGAME_LEAD_MS);
+        } catch (Exception e) {
+            Log.w(TAG, "Unreadable start time for game " + game.getGameId() + ": " + startTime);
+            return UNKNOWN_START_INTERVAL_MS;
+        }
+    }
+
+    private static boolean isFinished(String gameState) {
+        return "FINAL".equalsIgnoreCase(gameState) || "OFF".equalsIgnoreCase(gameState);
+    }
+
+    /**
+     * Post the poll task for the earliest due game, if that is sooner than what is already posted
+     */
+    private void reschedule() {
+        if (!running) {
+            return;
+        }
+
+        long next = Long.MAX_VALUE;
+        for (int slot = 0; slot < tracked.capacity(); slot++) {
+            TrackedGame entry = tracked.valueAt(slot);
+            if (entry != null && !entry.inFlight) {
+                next = Math.min(next, entry.nextPollAt);
+            }
+        }
+        if (next == Long.MAX_VALUE || next >= scheduledFor) {
+            return;
+        }
+
+        handler.removeCallbacks(pollTask);
+        scheduledFor = next;
+        handler.postDelayed(pollTask, Math.max(0, next - SystemClock.elapsedRealtime()));
+    }
+}
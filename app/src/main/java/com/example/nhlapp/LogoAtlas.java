@@ -0,0 +1,200 @@
+package com.example.nhlapp;
+
+import android.graphics.Bitmap;
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Every team logo, pre-rasterized at the pixel sizes the layouts show them at,
+ * in one file.
+ *
+ * Layout: magic, version, entry count, then per entry teamId, sizePx, width,
+ * height and the offset of its pixels, followed by the raw ARGB_8888 pixel
+ * data of every entry. The file is mapped once and a logo is a copy of its
+ * slice into a new Bitmap, no PNG decode involved.
+ */
+public final class LogoAtlas {
+    private static final String TAG = "LogoAtlas";
+    public static final String ATLAS_FILE = "logo_atlas.bin";
+
+    private static final int MAGIC = 0x4C4F4741; // "LOGA"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 12;
+    private static final int ENTRY_BYTES = 20;
+    private static final int BYTES_PER_PIXEL = 4;
+    // sizePx takes the low bits of an entry key
+    private static final int SIZE_BITS = 12;
+
+    /** One rasterized logo, for writing */
+    public static class Entry {
+        final int teamId;
+        final int sizePx;
+        final Bitmap bitmap;
+
+        public Entry(int teamId, int sizePx, Bitmap bitmap) {
+            this.teamId = teamId;
+            this.sizePx = sizePx;
+            // Slices are read back as ARGB_8888, 4 bytes a pixel
+            this.bitmap = bitmap.getConfig() == Bitmap.Config.ARGB_8888
+                    ? bitmap : bitmap.copy(Bitmap.Config.ARGB_8888, false);
+        }
+    }
+
+    private final ByteBuffer pixels;
+    // width, height, offset by entryKey(teamId, sizePx)
+    private final IntObjectMap<int[]> entries;
+
+    private LogoAtlas(ByteBuffer pixels, IntObjectMap<int[]> entries) {
+        this.pixels = pixels;
+        this.entries = entries;
+    }
+
+    private static int entryKey(int teamId, int sizePx) {
+        return (teamId << SIZE_BITS) | (sizePx & ((1 << SIZE_BITS) - 1));
+    }
+
+    /**
+     * Map an atlas file, null when it is missing or unreadable
+     */
+    public static LogoAtlas open(File file) {
+        if (file == null || !file.isFile()) {
+            return null;
+        }
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                Log.w(TAG, "Ignoring atlas with an unknown header: " + file);
+                return null;
+            }
+
+            int count = buffer.getInt(8);
+            IntObjectMap<int[]> entries = new IntObjectMap<>(count);
+            for (int i = 0; i < count; i++) {
+                int at = HEADER_BYTES + i * ENTRY_BYTES;
+                int width = buffer.getInt(at + 8);
+                int height = buffer.getInt(at + 12);
+                int offset = buffer.getInt(at + 16);
+                if (offset < 0 || (long) offset + (long) width * height * BYTES_PER_PIXEL > buffer.limit()) {
+                    Log.w(TAG, "Atlas entry " + i + " runs past the end of " + file);
+                    return null;
+                }
+                entries.put(entryKey(buffer.getInt(at), buffer.getInt(at + 4)), new int[]{width, height, offset});
+            }
+            return new LogoAtlas(buffer, entries);
+        } catch (IOException | RuntimeException e) {
+            Log.e(TAG, "Error mapping logo atlas " + file, e);
+            return null;
+        }
+    }
+
+    public boolean contains(int teamId, int sizePx) {
+        return entries.get(entryKey(teamId, sizePx)) != null;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * The logo of a team at sizePx as a new Bitmap, null when the atlas doesn't have it
+     */
+    public Bitmap get(int teamId, int sizePx) {
+        int[] entry = entries.get(entryKey(teamId, sizePx));
+        if (entry == null) {
+            return null;
+        }
+
+        // A duplicate per call, readers on several threads share the mapping
+        ByteBuffer slice = pixels.duplicate();
+        slice.position(entry[2]);
+        slice.limit(entry[2] + entry[0] * entry[1] * BYTES_PER_PIXEL);
+        Bitmap bitmap = Bitmap.createBitmap(entry[0], entry[1], Bitmap.Config.ARGB_8888);
+        bitmap.copyPixelsFromBuffer(slice);
+        return bitmap;
+    }
+
+    /**
+     * Copies of the logos at sizePx for every team not in skipTeamIds, so an atlas
+     * rebuilt from a few teams can carry the rest over
+     */
+    public List<Entry> entriesExcept(Set<Integer> skipTeamIds, int sizePx) {
+        List<Entry> kept = new ArrayList<>();
+        for (int slot = 0; slot < entries.capacity(); slot++) {
+            if (entries.valueAt(slot) == null) continue;
+            int key = entries.keyAt(slot);
+            int teamId = key >>> SIZE_BITS;
+            if ((key & ((1 << SIZE_BITS) - 1)) != sizePx || skipTeamIds.contains(teamId)) continue;
+            kept.add(new Entry(teamId, sizePx, get(teamId, sizePx)));
+        }
+        return kept;
+    }
+
+    /**
+     * Write an atlas, replacing the old file only once the new one is complete
+     */
+    public static boolean write(File file, List<Entry> logos) {
+        int count = logos.size();
+        long total = HEADER_BYTES + (long) count * ENTRY_BYTES;
+        int[] offsets = new int[count];
+        for (int i = 0; i < count; i++) {
+            Bitmap bitmap = logos.get(i).bitmap;
+            offsets[i] = (int) total;
+            total += (long) bitmap.getWidth() * bitmap.getHeight() * BYTES_PER_PIXEL;
+        }
+        if (total > Integer.MAX_VALUE) {
+            Log.e(TAG, "Logo atlas would be " + total + " bytes, not writing it");
+            return false;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) total);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(count);
+        for (int i = 0; i < count; i++) {
+            Entry logo = logos.get(i);
+            buffer.putInt(logo.teamId);
+            buffer.putInt(logo.sizePx);
+            buffer.putInt(logo.bitmap.getWidth());
+            buffer.putInt(logo.bitmap.getHeight());
+            buffer.putInt(offsets[i]);
+        }
+        for (Entry logo : logos) {
+            logo.bitmap.copyPixelsToBuffer(buffer);
+        }
+        buffer.flip();
+
+        File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+        try (RandomAccessFile raf = new RandomAccessFile(temp, "rw");
+             FileChannel channel = raf.getChannel()) {
+            raf.setLength(0);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            Log.e(TAG, "Error writing logo atlas", e);
+            temp.delete();
+            return false;
+        }
+
+        if (!temp.renameTo(file)) {
+            Log.e(TAG, "Could not move " + temp + " into place");
+            temp.delete();
+            return false;
+        }
+        Log.d(TAG, "Wrote " + count + " logos, " + total + " bytes, to " + file);
+        return true;
+    }
+}
@@ -9,18 +9,24 @@ import com.example.nhlapp.Objects.Team;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import okhttp3.Response;
+
 /// TODO: Optimize this code so I can execute multiple API calls at the same time and handle multiple requests
 /// I am not entirely sure how this will be done because of threads and the phone archetecture are not best friends
 /// So we have 8 cores but at different cycle speeds, I don't know how to do parallelism for that lol
@@ -32,6 +38,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public class NHLApiClient {
     private static final String BASE_URL = "https://api-web.nhle.com/v1";
     private static final String STATS_BASE_URL = "https://api.nhle.com/stats/rest/en";
+    private static final int DEFAULT_SEASON_CONCURRENCY = 6;
+    private static final long CANCELLATION_POLL_MS = 250;
 
     public static List<Team> getTeams() {
         List<Team> teams = new ArrayList<>();
@@ -145,121 +153,116 @@ public class NHLApiClient {
 
     // NEW: Overloaded method that accepts a cancellation flag
     public static List<Game> getGamesForSeason(String season, AtomicBoolean isCancelled) {
-        List<Game> games = new ArrayList<>();
+        return getGamesForSeason(season, isCancelled, DEFAULT_SEASON_CONCURRENCY);
+    }
 
+    /**
+     * Fetch every team's schedule for a season with at most maxConcurrency requests in flight.
+     * Games are deduped by id as they arrive and sorted by date once at the end.
+     * Returns an empty list if isCancelled is set at any point.
+     */
+    public static List<Game> getGamesForSeason(String season, AtomicBoolean isCancelled, int maxConcurrency) {
         // Since there's no single endpoint for all games in a season,
         // we'll need to get games for each team
-        try {
-            List<Team> teams = getTeams();
+        List<Team> teams = getTeams();
+        if (teams.isEmpty() || isCancelled(isCancelled)) {
+            return new ArrayList<>();
+        }
+
+        Map<Integer, Game> gamesById = new ConcurrentHashMap<>();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(maxConcurrency, teams.size())));
+        List<Future<?>> tasks = new ArrayList<>();
 
+        try {
             for (Team team : teams) {
-                // Check for cancellation before each team request
-                if (isCancelled != null && isCancelled.get()) {
-                    Log.d("NHLAPI", "Games fetch cancelled for season: " + season);
-                    return new ArrayList<>(); // Return empty list if cancelled
+                String teamCode = team.getAbreviatedName();
+                if (teamCode == null) {
+                    continue;
                 }
 
-                try {
-                    String teamCode = team.getAbreviatedName();
-                    if (teamCode != null) {
-                        String response = makeApiCall(BASE_URL + "/club-schedule-season/" + teamCode + "/" + season);
-                        JSONObject jsonResponse = new JSONObject(response);
-
-                        if (jsonResponse.has("games")) {
-                            JSONArray gamesArray = jsonResponse.getJSONArray("games");
-
-                            for (int i = 0; i < gamesArray.length(); i++) {
-                                // Check for cancellation during game processing
-                                if (isCancelled != null && isCancelled.get()) {
-                                    Log.d("NHLAPI", "Games fetch cancelled during processing for season: " + season);
-                                    return new ArrayList<>();
-                                }
-
-                                JSONObject gameJson = gamesArray.getJSONObject(i);
-
-                                // Check if we already have this game (avoid duplicates)
-                                int gameId = gameJson.getInt("id");
-                                boolean gameExists = false;
-                                for (Game existingGame : games) {
-                                    if (existingGame.getGameId() == gameId) {
-                                        gameExists = true;
-                                        break;
-                                    }
-                                }
-
-                                if (!gameExists) {
-                                    Game game = new Game();
-                                    game.setGameId(gameId);
-                                    game.setGameDate(gameJson.getString("gameDate"));
-
-                                    // Set team IDs
-                                    if (gameJson.has("homeTeam")) {
-                                        game.setHomeTeamId(gameJson.getJSONObject("homeTeam").getInt("id"));
-                                        game.setHomeTeamName(gameJson.getJSONObject("homeTeam").getString("abbrev"));
-                                    }
-                                    if (gameJson.has("awayTeam")) {
-                                        game.setAwayTeamId(gameJson.getJSONObject("awayTeam").getInt("id"));
-                                        game.setAwayTeamName(gameJson.getJSONObject("awayTeam").getString("abbrev"));
-                                    }
-
-                                    // Set scores if available
-                                    if (gameJson.has("homeTeam") && gameJson.getJSONObject("homeTeam").has("score")) {
-                                        game.setHomeScore(gameJson.getJSONObject("homeTeam").getInt("score"));
-                                    }
-                                    if (gameJson.has("awayTeam") && gameJson.getJSONObject("awayTeam").has("score")) {
-                                        game.setAwayScore(gameJson.getJSONObject("awayTeam").getInt("score"));
-                                    }
-
-                                    games.add(game);
-                                }
-                            }
-                        }
-                    }
-                } catch (Exception teamException) {
-                    // Check for cancellation even during exceptions
-                    if (isCancelled != null && isCancelled.get()) {
-                        Log.d("NHLAPI", "Games fetch cancelled during exception handling for season: " + season);
-                        return new ArrayList<>();
+                tasks.add(pool.submit(() -> {
+                    // Check for cancellation before each team request
+                    if (isCancelled(isCancelled)) {
+                        return null;
                     }
 
-                    // Check if the exception is due to cancellation
-                    if (teamException.getMessage() != null && teamException.getMessage().contains("Request cancelled")) {
-                        Log.d("NHLAPI", "Games fetch cancelled via interrupted connection for season: " + season);
-                        return new ArrayList<>();
+                    List<Game> teamGames = fetchClubSchedule(teamCode, season);
+                    for (Game game : teamGames) {
+                        // Each game shows up in both teams' schedules, keep the first copy
+                        gamesById.putIfAbsent(game.getGameId(), game);
                     }
+                    return null;
+                }));
+            }
 
-                    Log.w("NHLAPI", "Failed to get games for team: " + team.getName() + " - " + teamException.getMessage());
+            for (Future<?> task : tasks) {
+                while (true) {
+                    try {
+                        // Wake up periodically so a cancel doesn't wait on a slow team
+                        task.get(CANCELLATION_POLL_MS, TimeUnit.MILLISECONDS);
+                        break;
+                    } catch (TimeoutException e) {
+                        if (isCancelled(isCancelled)) {
+                            Log.d("NHLAPI", "Games fetch cancelled for season: " + season);
+                            return new ArrayList<>();
+                        }
+                    } catch (ExecutionException e) {
+                        Throwable cause = e.getCause();
+                        // Check if the exception is due to cancellation
+                        if (isCancelled(isCancelled) || (cause != null && cause.getMessage() != null
+                                && cause.getMessage().contains("Request cancelled"))) {
+                            Log.d("NHLAPI", "Games fetch cancelled via interrupted connection for season: " + season);
+                            return new ArrayList<>();
+                        }
+                        Log.w("NHLAPI", "Failed to get games for a team in season " + season + " - "
+                                + (cause != null ? cause.getMessage() : e.getMessage()));
+                        break;
+                    }
                 }
             }
+        } catch (InterruptedException e) {
+            Log.d("NHLAPI", "Games fetch interrupted for season: " + season);
+            Thread.currentThread().interrupt();
+            return new ArrayList<>();
+        } finally {
+            pool.shutdownNow();
+        }
 
-            // Final cancellation check before sorting
-            if (isCancelled != null && isCancelled.get()) {
-                Log.d("NHLAPI", "Games fetch cancelled before sorting for season: " + season);
-                return new ArrayList<>();
-            }
+        // Final cancellation check before sorting
+        if (isCancelled(isCancelled)) {
+            Log.d("NHLAPI", "Games fetch cancelled before sorting for season: " + season);
+            return new ArrayList<>();
+        }
 
-            // Sort games by date
-            Collections.sort(games, new Comparator<Game>() {
-                @Override
-                public int compare(Game g1, Game g2) {
-                    return g1.getGameDate().compareTo(g2.getGameDate());
-                }
-            });
+        // Sort games by date
+        List<Game> games = new ArrayList<>(gamesById.values());
+        Collections.sort(games, Comparator.comparing(Game::getGameDate, Comparator.nullsLast(Comparator.naturalOrder())));
 
-            Log.d("NHLAPI", "Retrieved " + games.size() + " games for season " + season);
+        Log.d("NHLAPI", "Retrieved " + games.size() + " games for season " + season);
+        return games;
+    }
 
-        } catch (Exception e) {
-            // Check if the main exception is due to cancellation
-            if (e.getMessage() != null && e.getMessage().contains("Request cancelled")) {
-                Log.d("NHLAPI", "Games fetch cancelled via interrupted connection for season: " + season);
-                return new ArrayList<>();
+    /**
+     * Stream one team's season schedule straight into Game objects
+     */
+    private static List<Game> fetchClubSchedule(String teamCode, String season) throws Exception {
+        String url = BASE_URL + "/club-schedule-season/" + teamCode + "/" + season;
+        try (Response response = HttpClientProvider.getClient()
+                .newCall(HttpClientProvider.jsonRequest(url))
+                .execute()) {
+
+            if (response.code() != 200) {
+                throw new Exception("API call failed with response code: " + response.code());
             }
+            return StreamingJsonParser.parseClubSchedule(response.body().charStream());
 
-            e.printStackTrace();
-            Log.e("NHLAPI", "Error getting games for season: " + e.getMessage());
+        } catch (java.io.InterruptedIOException e) {
+            throw new Exception("Request cancelled", e);
         }
+    }
 
-        return games;
+    private static boolean isCancelled(AtomicBoolean isCancelled) {
+        return isCancelled != null && isCancelled.get();
     }
 
     // Keep the original method for backward compatibility
@@ -268,34 +271,18 @@ public class NHLApiClient {
     }
 
     private static String makeApiCall(String urlString) throws Exception {
-        HttpURLConnection connection = null;
-        BufferedReader reader = null;
         // Should do a check here to make sure there is some form of a connection to the database
 
-        try {
-            URL url = new URL(urlString);
-            connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            connection.setConnectTimeout(10000); // Increased timeout
-            connection.setReadTimeout(10000);    // Increased timeout
-
-            // Add user agent header
-            connection.setRequestProperty("User-Agent", "NHL-App/1.0");
+        try (Response response = HttpClientProvider.getClient()
+                .newCall(HttpClientProvider.jsonRequest(urlString))
+                .execute()) {
 
-            int responseCode = connection.getResponseCode();
+            int responseCode = response.code();
             if (responseCode != 200) {
                 throw new Exception("API call failed with response code: " + responseCode);
             }
 
-            reader = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-            StringBuilder response = new StringBuilder();
-            String line;
-
-            while ((line = reader.readLine()) != null) {
-                response.append(line);
-            }
-
-            return response.toString();
+            return response.body().string();
 
         } catch (java.io.InterruptedIOException e) {
             // Task was cancelled - this is expected behavior
@@ -304,18 +291,6 @@ public class NHLApiClient {
         } catch (Exception e) {
             Log.e("NHLAPI", "API call failed for: " + urlString + " - " + e.getMessage());
             throw e;
-        } finally {
-            // Clean up resources
-            if (reader != null) {
-                try {
-                    reader.close();
-                } catch (Exception e) {
-                    // Ignore cleanup errors
-                }
-            }
-            if (connection != null) {
-                connection.disconnect();
-            }
         }
     }
 }
\ No newline at end of file
@@ -1,15 +1,31 @@
 package com.example.nhlapp.Objects;
 
+import com.example.nhlapp.IntObjectMap;
+
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.Comparator;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.OptionalInt;
-import java.util.Set;
 
 public class Game implements Serializable {
+    // Bits returned by combineGame and combineLiveState for the parts that changed
+    public static final int CHANGED_NONE = 0;
+    public static final int CHANGED_STATE = 1;              // timeStatus, result
+    public static final int CHANGED_SCORE = 1 << 1;
+    public static final int CHANGED_SHOTS = 1 << 2;
+    public static final int CHANGED_PERIOD = 1 << 3;        // period, periodDescriptor
+    public static final int CHANGED_CLOCK = 1 << 4;
+    public static final int CHANGED_SCHEDULE = 1 << 5;      // gameDate, startTime, venue
+    public static final int CHANGED_TEAMS = 1 << 6;
+    public static final int CHANGED_PLAYER_STATS = 1 << 7;
+    public static final int CHANGED_EVENTS = 1 << 8;        // playByPlay, goals, penalties
+
     public Team homeTeam;
     public Team awayTeam;
     private int [] Score;
@@ -324,436 +340,393 @@ public class Game implements Serializable {
         this.lastUpdated = lastUpdated;
     }
 
-    public void combineGame(Game newGame) {
-        // Only combine if it's the same game (same ID) or if IDs are not set
-        if (newGame == null) return;
+    /**
+     * Merge another copy of this game into it. A newer copy overwrites, a copy with
+     * the same timestamp only fills gaps. Returns the CHANGED_ bits of what actually
+     * changed, CHANGED_NONE when the merge was a no-op.
+     */
+    public int combineGame(Game newGame) {
+        // Only combine if it's the same game (same ID)
+        if (newGame == null || newGame.getGameId() != this.getGameId()) return CHANGED_NONE;
 
-        if(newGame.getGameId() != this.getGameId()) return;
+        int changed = CHANGED_NONE;
 
         if (newGame.getLastUpdated() != null && (this.lastUpdated == null || newGame.getLastUpdated().isAfter(this.lastUpdated))) {
 
-            // Update primitive fields with newer values
-            this.gameDate = newGame.gameDate;
-            this.startTime = newGame.startTime;
-            this.venue = newGame.venue;
-            this.periodDescriptor = newGame.periodDescriptor;
-            this.result = newGame.result;
-            this.timeStatus = newGame.timeStatus;
-            this.period = newGame.period;
-
-            // Update string fields if they're not null/empty in the newer version
-
-            // Update teamID if it's set in the newer version
-            if (newGame.getGameId() != 0) {
-                this.gameId = newGame.getGameId();
+            // Newer copy wins for plain fields, only differences count as changes
+            if (!Objects.equals(this.gameDate, newGame.gameDate) || !Objects.equals(this.startTime, newGame.startTime)
+                    || !Objects.equals(this.venue, newGame.venue)) {
+                this.gameDate = newGame.gameDate;
+                this.startTime = newGame.startTime;
+                this.venue = newGame.venue;
+                changed |= CHANGED_SCHEDULE;
             }
-
-            // Update array if it has meaningful data
-            if (newGame.Score != null && newGame.Score.length > 0) {
-                boolean hasData = false;
-                for (int value : newGame.Score) {
-                    if (value != 0) {
-                        hasData = true;
-                        break;
-                    }
-                }
-                if (hasData) {
-                    this.Score = newGame.Score.clone();
-                }
+            if (!Objects.equals(this.timeStatus, newGame.timeStatus) || !Objects.equals(this.result, newGame.result)) {
+                this.timeStatus = newGame.timeStatus;
+                this.result = newGame.result;
+                changed |= CHANGED_STATE;
             }
-
-            if (newGame.Shots != null && newGame.Shots.length > 0) {
-                boolean hasData = false;
-                for (int value : newGame.Shots) {
-                    if (value != 0) {
-                        hasData = true;
-                        break;
-                    }
-                }
-                if (hasData) {
-                    this.Shots = newGame.Shots.clone();
-                }
+            if (this.period != newGame.period || !Objects.equals(this.periodDescriptor, newGame.periodDescriptor)) {
+                this.period = newGame.period;
+                this.periodDescriptor = newGame.periodDescriptor;
+                changed |= CHANGED_PERIOD;
             }
 
-            if (newGame.timer != null && newGame.timer.length > 0) {
-                boolean hasData = false;
-                for (int value : newGame.timer) {
-                    if (value != 0) {
-                        hasData = true;
-                        break;
-                    }
-                }
-                if (hasData) {
-                    this.timer = newGame.timer.clone();
-                }
+            // Arrays are only taken when they carry data. Readers may hold the old array,
+            // so a new one is swapped in rather than written over
+            if (hasData(newGame.Score) && !Arrays.equals(this.Score, newGame.Score)) {
+                this.Score = newGame.Score.clone();
+                changed |= CHANGED_SCORE;
             }
-
-            // Merge lists - append new items that don't already exist
-            if (newGame.homePlayerStats != null && !newGame.homePlayerStats.isEmpty()) {
-                this.homePlayerStats = new ArrayList<>();
-                for (NHLPlayer record : newGame.homePlayerStats) {
-                    this.homePlayerStats.add(record);
-                }
+            if (hasData(newGame.Shots) && !Arrays.equals(this.Shots, newGame.Shots)) {
+                this.Shots = newGame.Shots.clone();
+                changed |= CHANGED_SHOTS;
             }
-
-            if (newGame.awayPlayerStats != null && !newGame.awayPlayerStats.isEmpty()) {
-                this.awayPlayerStats = new ArrayList<>();
-                for (NHLPlayer record : newGame.awayPlayerStats) {
-                    this.awayPlayerStats.add(record);
-                }
+            if (hasData(newGame.timer) && !Arrays.equals(this.timer, newGame.timer)) {
+                this.timer = newGame.timer.clone();
+                changed |= CHANGED_CLOCK;
             }
 
-            if (newGame.playByPlay != null && !newGame.playByPlay.isEmpty()) {
-                this.playByPlay = new ArrayList<>();
-                for (Play record : newGame.playByPlay) {
-                    this.playByPlay.add(record);
-                }
+            // Lists from a newer copy replace ours with new lists, the UI may be iterating the old ones
+            if (takesList(this.homePlayerStats, newGame.homePlayerStats)) {
+                this.homePlayerStats = new ArrayList<>(newGame.homePlayerStats);
+                changed |= CHANGED_PLAYER_STATS;
             }
-
-            if (newGame.goals != null && !newGame.goals.isEmpty()) {
-                this.goals = new ArrayList<>();
-                for (Goal record : newGame.goals) {
-                    this.goals.add(record);
-                }
+            if (takesList(this.awayPlayerStats, newGame.awayPlayerStats)) {
+                this.awayPlayerStats = new ArrayList<>(newGame.awayPlayerStats);
+                changed |= CHANGED_PLAYER_STATS;
             }
-
-            if (newGame.penalties != null && !newGame.penalties.isEmpty()) {
-                this.penalties = new ArrayList<>();
-                for (Penalty record : newGame.penalties) {
-                    this.penalties.add(record);
-                }
+            if (takesList(this.playByPlay, newGame.playByPlay)) {
+                this.playByPlay = new ArrayList<>(newGame.playByPlay);
+                changed |= CHANGED_EVENTS;
             }
-//            if(newGame.homeTeam != null && newGame.homeTeam.getLastUpdated().isAfter(this.homeTeam.getLastUpdated())) {
-//            	this.homeTeam.combineTeam(newGame.homeTeam);
-//            }
-            if(newGame.homeTeam != null ) {
-
-                if(this.homeTeam == null) {
-                    this.homeTeam = newGame.homeTeam;
-                }
-                else if (newGame.homeTeam.getLastUpdated().isAfter(this.homeTeam.getLastUpdated())) {
-                    this.homeTeam.combineTeam(newGame.homeTeam);
-                }
+            if (takesList(this.goals, newGame.goals)) {
+                this.goals = new ArrayList<>(newGame.goals);
+                changed |= CHANGED_EVENTS;
             }
-
-            if(newGame.awayTeam != null ) {
-                if(this.awayTeam == null) {
-                    this.awayTeam = newGame.awayTeam;
-                }
-                else if (newGame.awayTeam.getLastUpdated().isAfter(this.awayTeam.getLastUpdated())) {
-                    this.awayTeam.combineTeam(newGame.awayTeam);
-                }
+            if (takesList(this.penalties, newGame.penalties)) {
+                this.penalties = new ArrayList<>(newGame.penalties);
+                changed |= CHANGED_EVENTS;
             }
 
+            changed |= combineTeams(newGame);
 
             // Update timestamp
             this.lastUpdated = newGame.getLastUpdated();
 
         } else if (newGame.getLastUpdated() != null && this.lastUpdated != null && newGame.getLastUpdated().equals(this.lastUpdated)) {
 
-
-            if (this.timeStatus == null || this.timeStatus.trim().isEmpty()) {
-                if (newGame.timeStatus != null && !newGame.timeStatus.trim().isEmpty()) {
-                    this.timeStatus = newGame.timeStatus;
-                }
+            // Same timestamp, only fill what is missing here
+            if (isBlank(this.timeStatus) && !isBlank(newGame.timeStatus)) {
+                this.timeStatus = newGame.timeStatus;
+                changed |= CHANGED_STATE;
             }
-            if (this.gameDate == null || this.gameDate.trim().isEmpty()) {
-                if (newGame.gameDate != null && !newGame.gameDate.trim().isEmpty()) {
-                    this.gameDate = newGame.gameDate;
-                }
+            if (isBlank(this.result) && !isBlank(newGame.result)) {
+                this.result = newGame.result;
+                changed |= CHANGED_STATE;
             }
-            if (this.result == null || this.result.trim().isEmpty()) {
-                if (newGame.result != null && !newGame.result.trim().isEmpty()) {
-                    this.result = newGame.result;
-                }
+            if (isBlank(this.gameDate) && !isBlank(newGame.gameDate)) {
+                this.gameDate = newGame.gameDate;
+                changed |= CHANGED_SCHEDULE;
             }
-            if (this.venue == null || this.venue.trim().isEmpty()) {
-                if (newGame.venue != null && !newGame.venue.trim().isEmpty()) {
-                    this.venue = newGame.venue;
-                }
+            if (isBlank(this.venue) && !isBlank(newGame.venue)) {
+                this.venue = newGame.venue;
+                changed |= CHANGED_SCHEDULE;
             }
-            if (this.startTime == null || this.startTime.trim().isEmpty()) {
-                if (newGame.startTime != null && !newGame.startTime.trim().isEmpty()) {
-                    this.startTime = newGame.startTime;
-                }
+            if (isBlank(this.startTime) && !isBlank(newGame.startTime)) {
+                this.startTime = newGame.startTime;
+                changed |= CHANGED_SCHEDULE;
             }
-            if (this.periodDescriptor == null || this.periodDescriptor.trim().isEmpty()) {
-                if (newGame.periodDescriptor != null && !newGame.periodDescriptor.trim().isEmpty()) {
-                    this.periodDescriptor = newGame.periodDescriptor;
-                }
+            if (isBlank(this.periodDescriptor) && !isBlank(newGame.periodDescriptor)) {
+                this.periodDescriptor = newGame.periodDescriptor;
+                changed |= CHANGED_PERIOD;
             }
 
             // Merging ints
             if (this.period < 0 && newGame.period > 0) {
                 this.period = newGame.period;
+                changed |= CHANGED_PERIOD;
             }
-            // Just going to check all of the int[] values, because less code
-            for(int i=0; i<this.Score.length; i++) {
-                if(this.Score[i] < 0 && newGame.Score[i] >= 0) {
-                    this.Score[i] = newGame.Score[i];
-                }
-                if(this.Shots[i] < 0 && newGame.Shots[i] >= 0) {
-                    this.Shots[i] = newGame.Shots[i];
-                }
-                if(this.timer[i] < 0 && newGame.timer[i] >= 0) {
-                    this.timer[i] = newGame.timer[i];
-                }
+            // Filled into copies that are swapped in, like the newer-copy path
+            int[] score = fillMissing(this.Score, newGame.Score);
+            if (score != this.Score) {
+                this.Score = score;
+                changed |= CHANGED_SCORE;
+            }
+            int[] shots = fillMissing(this.Shots, newGame.Shots);
+            if (shots != this.Shots) {
+                this.Shots = shots;
+                changed |= CHANGED_SHOTS;
+            }
+            int[] clock = fillMissing(this.timer, newGame.timer);
+            if (clock != this.timer) {
+                this.timer = clock;
+                changed |= CHANGED_CLOCK;
             }
 
             // For teams got to let them individually deal with it
-
-            if(newGame.homeTeam != null ) {
-                if(this.homeTeam == null) {
-                    System.out.println("Game Home team null other " + newGame.homeTeam.teamID);
-                    this.homeTeam = newGame.homeTeam;
-                }
-                else if (newGame.homeTeam.getLastUpdated().isAfter(this.homeTeam.getLastUpdated())) {
-                    System.out.println("Game Home team" + this.homeTeam.teamID + " other " + newGame.homeTeam.teamID);
-                    this.homeTeam.combineTeam(newGame.homeTeam);
-                }
+            changed |= combineTeams(newGame);
+
+            // Lists merge by key through a hash index of what we already hold. Each merge
+            // returns null when nothing changed, otherwise the list to hold from now on
+            ArrayList<NHLPlayer> home = mergePlayerStats(this.homePlayerStats, newGame.homePlayerStats);
+            if (home != null) {
+                this.homePlayerStats = home;
+                changed |= CHANGED_PLAYER_STATS;
+            }
+            ArrayList<NHLPlayer> away = mergePlayerStats(this.awayPlayerStats, newGame.awayPlayerStats);
+            if (away != null) {
+                this.awayPlayerStats = away;
+                changed |= CHANGED_PLAYER_STATS;
+            }
+            ArrayList<Play> plays = mergePlays(this.playByPlay, newGame.playByPlay);
+            if (plays != null) {
+                this.playByPlay = plays;
+                changed |= CHANGED_EVENTS;
+            }
+            ArrayList<Goal> mergedGoals = mergeGoals(this.goals, newGame.goals);
+            if (mergedGoals != null) {
+                this.goals = mergedGoals;
+                changed |= CHANGED_EVENTS;
+            }
+            ArrayList<Penalty> mergedPenalties = mergePenalties(this.penalties, newGame.penalties);
+            if (mergedPenalties != null) {
+                this.penalties = mergedPenalties;
+                changed |= CHANGED_EVENTS;
             }
+        }
 
-            if(newGame.awayTeam != null ) {
-                if(this.awayTeam == null) {
-                    this.awayTeam = newGame.awayTeam;
-                }
-                else if (newGame.awayTeam.getLastUpdated().isAfter(this.awayTeam.getLastUpdated())) {
-                    this.awayTeam.combineTeam(newGame.awayTeam);
-                }
-            }
+        return changed;
+    }
 
-            // Dealing with the ArrayList's here
+    /**
+     * Take the live fields of another copy of this game, such as a boxscore, when they
+     * hold real values. Returns the CHANGED_ bits of what differed.
+     */
+    public int combineLiveState(Game newGame) {
+        if (newGame == null || newGame.getGameId() != this.getGameId()) return CHANGED_NONE;
 
-            // For player stats I want to avoid duplicates for playerID
-            Set<Integer> homeMap = new HashSet<>();
-            Set<Integer> awayMap = new HashSet<>();
-            for(int i = 0; i<this.homePlayerStats.size(); i++) {
-                homeMap.add(this.homePlayerStats.get(i).getPlayerId());
-            }
+        int changed = CHANGED_NONE;
+        if (!isBlank(newGame.timeStatus) && !newGame.timeStatus.equals(this.timeStatus)) {
+            this.timeStatus = newGame.timeStatus;
+            changed |= CHANGED_STATE;
+        }
+        if (newGame.getHomeScore() >= 0 && newGame.getAwayScore() >= 0
+                && (newGame.getHomeScore() != getHomeScore() || newGame.getAwayScore() != getAwayScore())) {
+            setHomeScore(newGame.getHomeScore());
+            setAwayScore(newGame.getAwayScore());
+            changed |= CHANGED_SCORE;
+        }
+        if (newGame.getHomeShots() >= 0 && newGame.getAwayShots() >= 0
+                && (newGame.getHomeShots() != getHomeShots() || newGame.getAwayShots() != getAwayShots())) {
+            setHomeShots(newGame.getHomeShots());
+            setAwayShots(newGame.getAwayShots());
+            changed |= CHANGED_SHOTS;
+        }
+        if (newGame.period > 0 && newGame.period != this.period) {
+            this.period = newGame.period;
+            changed |= CHANGED_PERIOD;
+        }
+        return changed;
+    }
 
-            for(int i = 0; i<this.awayPlayerStats.size(); i++) {
-                awayMap.add(this.awayPlayerStats.get(i).getPlayerId());
+    private int combineTeams(Game newGame) {
+        int changed = CHANGED_NONE;
+        if (newGame.homeTeam != null) {
+            if (this.homeTeam == null) {
+                this.homeTeam = newGame.homeTeam;
+                changed |= CHANGED_TEAMS;
+            } else if (this.homeTeam != newGame.homeTeam && this.homeTeam.combineTeam(newGame.homeTeam) != Team.CHANGED_NONE) {
+                changed |= CHANGED_TEAMS;
             }
-            if (newGame.homePlayerStats != null && !newGame.homePlayerStats.isEmpty()) {
-                for (NHLPlayer record : newGame.homePlayerStats) {
-                    if (!this.homePlayerStats.contains(record)) {
-                        this.homePlayerStats.add(record);
-                    }
-                }
-            }
-            if (newGame.homePlayerStats != null && !newGame.homePlayerStats.isEmpty()) {
-                for (NHLPlayer record : newGame.homePlayerStats) {
-                    if (!this.homePlayerStats.contains(record)) {
-                        this.homePlayerStats.add(record);
-                    }
-                }
+        }
+        if (newGame.awayTeam != null) {
+            if (this.awayTeam == null) {
+                this.awayTeam = newGame.awayTeam;
+                changed |= CHANGED_TEAMS;
+            } else if (this.awayTeam != newGame.awayTeam && this.awayTeam.combineTeam(newGame.awayTeam) != Team.CHANGED_NONE) {
+                changed |= CHANGED_TEAMS;
             }
+        }
+        return changed;
+    }
 
-            // ArrayLists:
-            Collections.sort(this.playByPlay,
-                    Comparator.comparing((Play obj) -> obj.getPeriod())
-                            .thenComparing(obj -> obj.getTimeInPeriod()[0])
-                            .thenComparing(obj -> obj.getTimeInPeriod()[1])
-                            .thenComparing(obj -> obj.getSortOrder())
-            );
-
-            Collections.sort(newGame.playByPlay,
-                    Comparator.comparing((Play obj) -> obj.getPeriod())
-                            .thenComparing(obj -> obj.getTimeInPeriod()[0])
-                            .thenComparing(obj -> obj.getTimeInPeriod()[1])
-                            .thenComparing(obj -> obj.getSortOrder())
-            );
-
-            Collections.sort(this.goals,
-                    Comparator.comparing((Goal obj) -> obj.getPeriodScored())
-                            .thenComparing(obj -> obj.getTimeOccured()[0])
-                            .thenComparing(obj -> obj.getTimeOccured()[1])
-                            .thenComparing(obj -> obj.getGoalScorer().getPlayerId())
-            );
-
-            Collections.sort(newGame.goals,
-                    Comparator.comparing((Goal obj) -> obj.getPeriodScored())
-                            .thenComparing(obj -> obj.getTimeOccured()[0])
-                            .thenComparing(obj -> obj.getTimeOccured()[1])
-                            .thenComparing(obj -> obj.getGoalScorer().getPlayerId())
-            );
-
-            Collections.sort(this.penalties,
-                    Comparator.comparing((Penalty obj) -> obj.getPeriodOccured())
-                            .thenComparing(obj -> obj.getTimeOccured()[0])
-                            .thenComparing(obj -> obj.getTimeOccured()[1])
-                            .thenComparing(obj -> obj.getCommittedPlayer())
-                            .thenComparing(obj -> obj.getDrawnOnPlayer())
-            );
-
-            Collections.sort(newGame.penalties,
-                    Comparator.comparing((Penalty obj) -> obj.getPeriodOccured())
-                            .thenComparing(obj -> obj.getTimeOccured()[0])
-                            .thenComparing(obj -> obj.getTimeOccured()[1])
-                            .thenComparing(obj -> obj.getCommittedPlayer())
-                            .thenComparing(obj -> obj.getDrawnOnPlayer())
-            );
-
-            // Merge playByPlay ArrayList
-            for (Play newPlay : newGame.playByPlay) {
-                boolean found = false;
-                for (Play existingPlay : this.playByPlay) {
-                    if (existingPlay.getPeriod() == newPlay.getPeriod() &&
-                            existingPlay.getTimeInPeriod()[0] == newPlay.getTimeInPeriod()[0] &&
-                            existingPlay.getTimeInPeriod()[1] == newPlay.getTimeInPeriod()[1] &&
-                            existingPlay.getSortOrder() == newPlay.getSortOrder()) {
-                        // Elements match, combine them
-                        existingPlay.combinePlay(newPlay);
-                        found = true;
-                        break;
-                    }
-                }
-                if (!found) {
-                    // Element doesn't exist in this.playByPlay, add it
-                    this.playByPlay.add(newPlay);
-                }
-            }
+    /**
+     * Merge player stats by player id, keeping roster order. Returns null when nothing was added
+     * or combined, current when players were only combined, otherwise a new list
+     */
+    private static ArrayList<NHLPlayer> mergePlayerStats(ArrayList<NHLPlayer> current, ArrayList<NHLPlayer> incoming) {
+        if (incoming == null || incoming.isEmpty()) return null;
 
-            // Merge goals ArrayList
-            for (Goal newGoal : newGame.goals) {
-                boolean found = false;
-                for (Goal existingGoal : this.goals) {
-                    if (existingGoal.getPeriodScored() == newGoal.getPeriodScored() &&
-                            existingGoal.getTimeOccured()[0] == newGoal.getTimeOccured()[0] &&
-                            existingGoal.getTimeOccured()[1] == newGoal.getTimeOccured()[1] &&
-                            existingGoal.getGoalScorer().getPlayerId() == newGoal.getGoalScorer().getPlayerId()) {
-                        // Elements match, combine them
-                        existingGoal.combineGoal(newGoal);
-                        found = true;
-                        break;
-                    }
-                }
-                if (!found) {
-                    // Element doesn't exist in this.goals, add it
-                    this.goals.add(newGoal);
-                }
+        IntObjectMap<NHLPlayer> byId = new IntObjectMap<>(current.size());
+        for (NHLPlayer player : current) {
+            byId.put(player.getPlayerId(), player);
+        }
+
+        ArrayList<NHLPlayer> merged = null;
+        boolean combined = false;
+        for (NHLPlayer player : incoming) {
+            NHLPlayer existing = byId.get(player.getPlayerId());
+            if (existing == null) {
+                if (merged == null) merged = new ArrayList<>(current);
+                merged.add(player);
+                byId.put(player.getPlayerId(), player);
+            } else if (existing != player) {
+                combined |= existing.combinePlayer(player);
             }
+        }
+        return merged != null ? merged : combined ? current : null;
+    }
 
-            // Merge penalties ArrayList
-            for (Penalty newPenalty : newGame.penalties) {
-                boolean found = false;
-                for (Penalty existingPenalty : this.penalties) {
-                    if (existingPenalty.getPeriodOccured() == newPenalty.getPeriodOccured() &&
-                            existingPenalty.getTimeOccured()[0] == newPenalty.getTimeOccured()[0] &&
-                            existingPenalty.getTimeOccured()[1] == newPenalty.getTimeOccured()[1] &&
-                            existingPenalty.getCommittedPlayer() == newPenalty.getCommittedPlayer() &&
-                            existingPenalty.getDrawnOnPlayer() == newPenalty.getDrawnOnPlayer()) {
-                        // Elements match, combine them
-                        existingPenalty.combinePenalty(newPenalty);
-                        found = true;
-                        break;
-                    }
-                }
-                if (!found) {
-                    // Element doesn't exist in this.penalties, add it
-                    this.penalties.add(newPenalty);
-                }
+    /**
+     * Merge plays by eventID, returns null when nothing changed and a new sorted list when plays were added
+     */
+    private static ArrayList<Play> mergePlays(ArrayList<Play> current, ArrayList<Play> incoming) {
+        if (incoming == null || incoming.isEmpty()) return null;
+
+        IntObjectMap<Play> byEventId = new IntObjectMap<>(current.size());
+        for (Play play : current) {
+            byEventId.put(play.getEventID(), play);
+        }
+
+        ArrayList<Play> merged = null;
+        boolean combined = false;
+        for (Play play : incoming) {
+            Play existing = byEventId.get(play.getEventID());
+            if (existing == null) {
+                if (merged == null) merged = new ArrayList<>(current);
+                merged.add(play);
+                byEventId.put(play.getEventID(), play);
+            } else if (existing != play) {
+                combined |= existing.combinePlay(play);
             }
+        }
+        if (merged != null) {
+            merged.sort(Comparator.comparing((Play obj) -> obj.getPeriod())
+                    .thenComparing(obj -> obj.getTimeInPeriod()[0])
+                    .thenComparing(obj -> obj.getTimeInPeriod()[1])
+                    .thenComparing(Play::getSortOrder, Comparator.nullsFirst(Comparator.naturalOrder())));
+            return merged;
+        }
+        return combined ? current : null;
+    }
 
-            // Re-sort the ArrayLists after merging to maintain order
-            Collections.sort(this.playByPlay,
-                    Comparator.comparing((Play obj) -> obj.getPeriod())
-                            .thenComparing(obj -> obj.getTimeInPeriod()[0])
-                            .thenComparing(obj -> obj.getTimeInPeriod()[1])
-                            .thenComparing(obj -> obj.getSortOrder())
-            );
-
-            Collections.sort(this.goals,
-                    Comparator.comparing((Goal obj) -> obj.getPeriodScored())
-                            .thenComparing(obj -> obj.getTimeOccured()[0])
-                            .thenComparing(obj -> obj.getTimeOccured()[1])
-                            .thenComparing(obj -> obj.getGoalScorer().getPlayerId())
-            );
-
-            Collections.sort(this.penalties,
-                    Comparator.comparing((Penalty obj) -> obj.getPeriodOccured())
-                            .thenComparing(obj -> obj.getTimeOccured()[0])
-                            .thenComparing(obj -> obj.getTimeOccured()[1])
-                            .thenComparing(obj -> obj.getCommittedPlayer())
-                            .thenComparing(obj -> obj.getDrawnOnPlayer())
-            );
-
-//            private ArrayList<NHLPlayer> homePlayerStats;
-//            private ArrayList<NHLPlayer> awayPlayerStats;
-
-            Collections.sort(this.homePlayerStats,
-                    Comparator.comparing((NHLPlayer obj) -> obj.getPlayerId())
-                            .thenComparing(obj -> obj.isGoalie())
-                            .thenComparing(obj -> obj.getJerseyNumber())
-                            .thenComparing(obj -> obj.getTeam())
-            );
-
-            Collections.sort(newGame.homePlayerStats,
-                    Comparator.comparing((NHLPlayer obj) -> obj.getPlayerId())
-                            .thenComparing(obj -> obj.isGoalie())
-                            .thenComparing(obj -> obj.getJerseyNumber())
-                            .thenComparing(obj -> obj.getTeam())
-            );
-
-            Collections.sort(this.awayPlayerStats,
-                    Comparator.comparing((NHLPlayer obj) -> obj.getPlayerId())
-                            .thenComparing(obj -> obj.isGoalie())
-                            .thenComparing(obj -> obj.getJerseyNumber())
-                            .thenComparing(obj -> obj.getTeam())
-            );
-
-            Collections.sort(newGame.awayPlayerStats,
-                    Comparator.comparing((NHLPlayer obj) -> obj.getPlayerId())
-                            .thenComparing(obj -> obj.isGoalie())
-                            .thenComparing(obj -> obj.getJerseyNumber())
-                            .thenComparing(obj -> obj.getTeam())
-            );
-
-
-            // Merge playByPlay ArrayList
-            for (NHLPlayer newPlayerStat : newGame.homePlayerStats) {
-                boolean found = false;
-                for (NHLPlayer existingPlayer : this.homePlayerStats) {
-                    if (existingPlayer.getPlayerId() == newPlayerStat.getPlayerId() &&
-                            existingPlayer.isGoalie() == newPlayerStat.isGoalie() &&
-                            existingPlayer.getJerseyNumber() == newPlayerStat.getJerseyNumber() &&
-                            existingPlayer.getTeam() == newPlayerStat.getTeam()) {
-                        // Elements match, combine them
-                        existingPlayer.combinePlayer(newPlayerStat);
-                        found = true;
-                        break;
-                    }
-                }
-                if (!found) {
-                    // Element doesn't exist in this.playByPlay, add it
-                    this.homePlayerStats.add(newPlayerStat);
-                }
+    /**
+     * Merge goals keyed by period, time and scorer, returns null when nothing changed and a new sorted list when goals were added
+     */
+    private static ArrayList<Goal> mergeGoals(ArrayList<Goal> current, ArrayList<Goal> incoming) {
+        if (incoming == null || incoming.isEmpty()) return null;
+
+        Map<Long, Goal> byKey = new HashMap<>();
+        for (Goal goal : current) {
+            byKey.put(goalKey(goal), goal);
+        }
+
+        ArrayList<Goal> merged = null;
+        boolean combined = false;
+        for (Goal goal : incoming) {
+            Goal existing = byKey.get(goalKey(goal));
+            if (existing == null) {
+                if (merged == null) merged = new ArrayList<>(current);
+                merged.add(goal);
+                byKey.put(goalKey(goal), goal);
+            } else if (existing != goal) {
+                combined |= existing.combineGoal(goal);
             }
+        }
+        if (merged != null) {
+            merged.sort(Comparator.comparingLong(Game::goalKey));
+            return merged;
+        }
+        return combined ? current : null;
+    }
 
-            for (NHLPlayer newPlayerStat : newGame.awayPlayerStats) {
-                boolean found = false;
-                for (NHLPlayer existingPlayer : this.awayPlayerStats) {
-                    if (existingPlayer.getPlayerId() == newPlayerStat.getPlayerId() &&
-                            existingPlayer.isGoalie() == newPlayerStat.isGoalie() &&
-                            existingPlayer.getJerseyNumber() == newPlayerStat.getJerseyNumber() &&
-                            existingPlayer.getTeam() == newPlayerStat.getTeam()) {
-                        // Elements match, combine them
-                        existingPlayer.combinePlayer(newPlayerStat);
-                        found = true;
-                        break;
-                    }
-                }
-                if (!found) {
-                    // Element doesn't exist in this.playByPlay, add it
-                    this.awayPlayerStats.add(newPlayerStat);
-                }
+    /**
+     * Merge penalties keyed by period, time and players involved, returns null when nothing changed
+     * and a new sorted list when penalties were added
+     */
+    private static ArrayList<Penalty> mergePenalties(ArrayList<Penalty> current, ArrayList<Penalty> incoming) {
+        if (incoming == null || incoming.isEmpty()) return null;
+
+        Map<String, Penalty> byKey = new HashMap<>();
+        for (Penalty penalty : current) {
+            byKey.put(penaltyKey(penalty), penalty);
+        }
+
+        ArrayList<Penalty> merged = null;
+        boolean combined = false;
+        for (Penalty penalty : incoming) {
+            String key = penaltyKey(penalty);
+            Penalty existing = byKey.get(key);
+            if (existing == null) {
+                if (merged == null) merged = new ArrayList<>(current);
+                merged.add(penalty);
+                byKey.put(key, penalty);
+            } else if (existing != penalty) {
+                combined |= existing.combinePenalty(penalty);
             }
-//            this.homePlayerStats.combinePlayer(newGame.homePlayerStats);
-//            this.awayPlayerStats.combinePlayer(newGame.awayPlayerStats);
+        }
+        if (merged != null) {
+            merged.sort(Comparator.comparing(Game::penaltyKey));
+            return merged;
+        }
+        return combined ? current : null;
+    }
 
+    /** Period, minute, second and scorer id packed so goals sort in game order */
+    private static long goalKey(Goal goal) {
+        int scorerId = goal.getGoalScorer() != null ? goal.getGoalScorer().getPlayerId() : 0;
+        return ((long) (goal.getPeriodScored() & 0xFF) << 48)
+                | ((long) (goal.getTimeOccured()[0] & 0xFF) << 40)
+                | ((long) (goal.getTimeOccured()[1] & 0xFF) << 32)
+                | (scorerId & 0xFFFFFFFFL);
+    }
 
+    private static String penaltyKey(Penalty penalty) {
+        return String.format(Locale.US, "%02d:%03d:%02d:%s:%s", penalty.getPeriodOccured(),
+                penalty.getTimeOccured()[0], penalty.getTimeOccured()[1],
+                penalty.getCommittedPlayer(), penalty.getDrawnOnPlayer());
+    }
+
+    private static boolean hasData(int[] values) {
+        if (values == null) return false;
+        for (int value : values) {
+            if (value != 0) return true;
         }
+        return false;
+    }
 
+    /**
+     * A copy of current with its negative (unknown) slots filled from incoming, or current
+     * itself when there was nothing to fill
+     */
+    private static int[] fillMissing(int[] current, int[] incoming) {
+        if (current == null || incoming == null) return current;
+        int[] filled = null;
+        for (int i = 0; i < Math.min(current.length, incoming.length); i++) {
+            if (current[i] < 0 && incoming[i] >= 0) {
+                if (filled == null) filled = current.clone();
+                filled[i] = incoming[i];
+            }
+        }
+        return filled != null ? filled : current;
+    }
+
+    /**
+     * Whether a newer copy's list should replace ours, false when it is empty or holds the same items
+     */
+    private static <T> boolean takesList(ArrayList<T> current, ArrayList<T> incoming) {
+        if (incoming == null || incoming.isEmpty() || current == incoming) return false;
+        if (current != null && current.size() == incoming.size()) {
+            for (int i = 0; i < current.size(); i++) {
+                if (current.get(i) != incoming.get(i)) return true;
+            }
+            return false;
+        }
+        return true;
+    }
 
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
     }
 }
\ No newline at end of file
@@ -3,6 +3,8 @@ package com.example.nhlapp.Objects;
 import com.example.nhlapp.Objects.NHLPlayer;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Objects;
 
 public class Goal {
     public NHLPlayer goalScorer;
@@ -93,21 +95,29 @@ public class Goal {
         this.advantage = advantage;
     }
 
-    public void combineGoal(Goal newGoal) {
+    /**
+     * Merge another copy of this goal into it, returns true if any value here changed
+     */
+    public boolean combineGoal(Goal newGoal) {
         // Only combine if it's the same game (same ID) or if IDs are not set
-        if (newGoal == null) return;
+        if (newGoal == null) return false;
 
+        boolean changed = false;
         if (newGoal.getLastUpdated() != null && (this.lastUpdated == null || newGoal.getLastUpdated().isAfter(this.lastUpdated))) {
 //		    public NHLPlayer goalScorer;
 //		    public NHLPlayer primaryAssist;
 //		    public NHLPlayer secondaryAssist;
 //		    public LocalDateTime lastUpdated;
-            if (this.sharingLink == null || this.sharingLink.isEmpty()) {
+            if ((this.sharingLink == null || this.sharingLink.isEmpty()) && !Objects.equals(this.sharingLink, newGoal.sharingLink)) {
                 this.sharingLink = newGoal.sharingLink;
+                changed = true;
             }
 
-            this.advantage = newGoal.getAdvantage();
-            this.periodScored = newGoal.getPeriodScored();
+            if (this.advantage != newGoal.getAdvantage() || this.periodScored != newGoal.getPeriodScored()) {
+                this.advantage = newGoal.getAdvantage();
+                this.periodScored = newGoal.getPeriodScored();
+                changed = true;
+            }
 
             // Update array if it has meaningful data
             boolean hasData = false;
@@ -117,10 +127,15 @@ public class Goal {
                     break;
                 }
             }
-            if (hasData) {
+            if (hasData && !Arrays.equals(this.timeOccured, newGoal.timeOccured)) {
                 this.timeOccured = newGoal.timeOccured.clone();
+                changed = true;
             }
 
+            // A fresh parse brings new player objects, only a different player is a change
+            changed |= playerId(this.goalScorer) != playerId(newGoal.goalScorer)
+                    || playerId(this.primaryAssist) != playerId(newGoal.primaryAssist)
+                    || playerId(this.secondaryAssist) != playerId(newGoal.secondaryAssist);
             this.goalScorer = newGoal.goalScorer;
             this.primaryAssist = newGoal.primaryAssist;
             this.secondaryAssist = newGoal.secondaryAssist;
@@ -132,26 +147,37 @@ public class Goal {
             if (this.sharingLink == null || this.sharingLink.trim().isEmpty()) {
                 if (newGoal.sharingLink != null && !newGoal.sharingLink.trim().isEmpty()) {
                     this.sharingLink = newGoal.sharingLink;
+                    changed = true;
                 }
             }
 
             // Merging ints
             if (this.periodScored <= 0 && newGoal.periodScored > 0) {
                 this.periodScored = newGoal.periodScored;
+                changed = true;
             }
 
             for(int i=0; i<this.timeOccured.length; i++) {
                 if(this.timeOccured[i] < 0 && newGoal.timeOccured[i] >= 0) {
                     this.timeOccured[i] = newGoal.timeOccured[i];
+                    changed = true;
                 }
             }
 
-            this.goalScorer.combinePlayer(newGoal.goalScorer);
-            this.primaryAssist.combinePlayer(newGoal.primaryAssist);
-            this.secondaryAssist.combinePlayer(newGoal.secondaryAssist);
+            changed |= combinePlayers(this.goalScorer, newGoal.goalScorer);
+            changed |= combinePlayers(this.primaryAssist, newGoal.primaryAssist);
+            changed |= combinePlayers(this.secondaryAssist, newGoal.secondaryAssist);
+        }
+        return changed;
+    }
 
+    private static int playerId(NHLPlayer player) {
+        return player != null ? player.getPlayerId() : 0;
+    }
 
-        }
+    // Unassisted goals have no assist players
+    private static boolean combinePlayers(NHLPlayer current, NHLPlayer incoming) {
+        return current != null && incoming != null && current != incoming && current.combinePlayer(incoming);
     }
 
 
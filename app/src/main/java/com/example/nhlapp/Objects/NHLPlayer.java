@@ -2,6 +2,7 @@ package com.example.nhlapp.Objects;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Objects;
 
 public class NHLPlayer implements Serializable {
@@ -461,11 +462,12 @@ public class NHLPlayer implements Serializable {
     // possible and make one better overall player
     // This is to take in another player that has the same playerID and compare as much as
     // possible and make one better overall player
-    public void combinePlayer(NHLPlayer newPlayer) {
+    public boolean combinePlayer(NHLPlayer newPlayer) {
         // Only combine if it's the same player (same ID) or if IDs are not set
         if (this.playerId != 0 && newPlayer.playerId != 0 && this.playerId != newPlayer.playerId) {
-            return; // Don't combine different players
+            return false; // Don't combine different players
         }
+        Object[] before = mergedState();
 
         // Update basic info if not already set
         if (this.name == null || this.name.isEmpty()) {
@@ -588,6 +590,29 @@ public class NHLPlayer implements Serializable {
             // Keep starter status if either player was a starter
             this.starter = this.starter || newPlayer.starter;
         }
+
+        return !Arrays.deepEquals(before, mergedState());
+    }
+
+    /**
+     * Every field combinePlayer can touch, compared before and after to tell whether it changed anything
+     */
+    private Object[] mergedState() {
+        return new Object[]{
+                name, firstName, lastName, team, position, jerseyNumber, birthDate, birthCity, birthCountry,
+                shootsCatches, age, playerId,
+                goals, assists, penaltyMinutes, shotsOnGoal, powerplayGoals, hits, blocks, faceoffsWon, faceoffsLost,
+                timeOnIce, powerPlayTimeOnIce, penaltyKillTimeOnIce, giveaways, takeaways, shifts,
+                plusMinus, faceoffWinPercentage, points,
+                isGoalie, saves, totalShots, shotsAgainst, evenStrengthGoalsAgainst, powerPlayGoalsAgainst,
+                shorthandedGoalsAgainst, goalsAgainst, savePercentage, starter,
+                copyOf(evenStrengthShotsAgainst), copyOf(powerPlayShotsAgainst),
+                copyOf(shorthandedShotsAgainst), copyOf(saveShotsAgainst)
+        };
+    }
+
+    private static int[] copyOf(int[] values) {
+        return values != null ? values.clone() : null;
     }
 }
 
@@ -1,5 +1,7 @@
 package com.example.nhlapp.Objects;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Objects;
 
 public class Penalty {
     public String committedPlayer;
@@ -99,34 +101,45 @@ public class Penalty {
         this.lastUpdated = lastUpdated;
     }
 
-    public void combinePenalty(Penalty newPenalty) {
+    /**
+     * Merge another copy of this penalty into it, returns true if any value here changed
+     */
+    public boolean combinePenalty(Penalty newPenalty) {
         // Only combine if it's the same game (same ID) or if IDs are not set
-        if (newPenalty == null) return;
+        if (newPenalty == null) return false;
 
+        boolean changed = false;
         if (newPenalty.getLastUpdated() != null && (this.lastUpdated == null || newPenalty.getLastUpdated().isAfter(this.lastUpdated))) {
 
             // Update string fields if they're not null/empty in the newer version
-            if (this.committedPlayer == null || this.committedPlayer.isEmpty()) {
+            if ((this.committedPlayer == null || this.committedPlayer.isEmpty()) && !Objects.equals(this.committedPlayer, newPenalty.committedPlayer)) {
                 this.committedPlayer = newPenalty.committedPlayer;
+                changed = true;
             }
-            if (this.drawnOnPlayer == null || this.drawnOnPlayer.isEmpty()) {
+            if ((this.drawnOnPlayer == null || this.drawnOnPlayer.isEmpty()) && !Objects.equals(this.drawnOnPlayer, newPenalty.drawnOnPlayer)) {
                 this.drawnOnPlayer = newPenalty.drawnOnPlayer;
+                changed = true;
             }
-            if (this.teamAbbrev == null || this.teamAbbrev.isEmpty()) {
+            if ((this.teamAbbrev == null || this.teamAbbrev.isEmpty()) && !Objects.equals(this.teamAbbrev, newPenalty.teamAbbrev)) {
                 this.teamAbbrev = newPenalty.teamAbbrev;
+                changed = true;
             }
-            if (this.typeOfPenalty == null || this.typeOfPenalty.isEmpty()) {
+            if ((this.typeOfPenalty == null || this.typeOfPenalty.isEmpty()) && !Objects.equals(this.typeOfPenalty, newPenalty.typeOfPenalty)) {
                 this.typeOfPenalty = newPenalty.typeOfPenalty;
+                changed = true;
             }
-            if (this.penaltyDescription == null || this.penaltyDescription.isEmpty()) {
+            if ((this.penaltyDescription == null || this.penaltyDescription.isEmpty()) && !Objects.equals(this.penaltyDescription, newPenalty.penaltyDescription)) {
                 this.penaltyDescription = newPenalty.penaltyDescription;
+                changed = true;
             }
 
-            if (newPenalty.getDuration() != 0) {
+            if (newPenalty.getDuration() != 0 && newPenalty.getDuration() != this.duration) {
                 this.duration = newPenalty.getDuration();
+                changed = true;
             }
-            if (newPenalty.getPeriodOccured() != 0) {
-                this.duration = newPenalty.getPeriodOccured();
+            if (newPenalty.getPeriodOccured() != 0 && newPenalty.getPeriodOccured() != this.periodOccured) {
+                this.periodOccured = newPenalty.getPeriodOccured();
+                changed = true;
             }
 
             // Update array if it has meaningful data
@@ -138,8 +151,9 @@ public class Penalty {
                         break;
                     }
                 }
-                if (hasData) {
+                if (hasData && !Arrays.equals(this.timeOccured, newPenalty.timeOccured)) {
                     this.timeOccured = newPenalty.timeOccured.clone();
+                    changed = true;
                 }
             }
 
@@ -149,40 +163,48 @@ public class Penalty {
             if (this.committedPlayer == null || this.committedPlayer.trim().isEmpty()) {
                 if (newPenalty.committedPlayer != null && !newPenalty.committedPlayer.trim().isEmpty()) {
                     this.committedPlayer = newPenalty.committedPlayer;
+                    changed = true;
                 }
             }
             if (this.drawnOnPlayer == null || this.drawnOnPlayer.trim().isEmpty()) {
                 if (newPenalty.drawnOnPlayer != null && !newPenalty.drawnOnPlayer.trim().isEmpty()) {
                     this.drawnOnPlayer = newPenalty.drawnOnPlayer;
+                    changed = true;
                 }
             }
             if (this.teamAbbrev == null || this.teamAbbrev.trim().isEmpty()) {
                 if (newPenalty.teamAbbrev != null && !newPenalty.teamAbbrev.trim().isEmpty()) {
                     this.teamAbbrev = newPenalty.teamAbbrev;
+                    changed = true;
                 }
             }
             if (this.typeOfPenalty == null || this.typeOfPenalty.trim().isEmpty()) {
                 if (newPenalty.typeOfPenalty != null && !newPenalty.typeOfPenalty.trim().isEmpty()) {
                     this.typeOfPenalty = newPenalty.typeOfPenalty;
+                    changed = true;
                 }
             }
             if (this.penaltyDescription == null || this.penaltyDescription.trim().isEmpty()) {
                 if (newPenalty.penaltyDescription != null && !newPenalty.penaltyDescription.trim().isEmpty()) {
                     this.penaltyDescription = newPenalty.penaltyDescription;
+                    changed = true;
                 }
             }
 
             // Merging ints
             if (this.duration < 0 && newPenalty.duration > 0) {
                 this.duration = newPenalty.duration;
+                changed = true;
             }
             if (this.periodOccured < 0 && newPenalty.periodOccured > 0) {
                 this.periodOccured = newPenalty.periodOccured;
+                changed = true;
             }
             // Just going to check all of the int[] values, because less code
             for(int i=0; i<this.timeOccured.length; i++) {
                 if(this.timeOccured[i] < 0 && newPenalty.timeOccured[i] >= 0) {
                     this.timeOccured[i] = newPenalty.timeOccured[i];
+                    changed = true;
                 }
             }
 
@@ -193,6 +215,7 @@ public class Penalty {
 
 
         }
+        return changed;
     }
 
 
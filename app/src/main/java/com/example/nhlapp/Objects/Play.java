@@ -2,8 +2,8 @@ package com.example.nhlapp.Objects;
 //package code;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.Objects;
 
 // This is to showcase a play by play due to the complexity of the play by play, need to expand on it and likely
 // Have supporting constructors and callers that can be used
@@ -20,7 +20,7 @@ public class Play{
     public String typeDescKey;
     public String sortOrder; // No clue about this either
     // Details can have a lot of information so later can deal with the different types of displaying info
-    private Map<String, String> details; // Details can contain a lot of sub information so I might just make this a dict
+    private PlayDetails details; // Known fields in typed slots, anything else in a small fallback map
     public String detailType;
     public LocalDateTime lastUpdated;
 
@@ -28,7 +28,7 @@ public class Play{
 
     public Play (){
 //        this.periodDescriptor = new int[3]; // Assuming this is always three long, can be wrong
-        this.details = new HashMap<>();
+        this.details = new PlayDetails();
         this.timeInPeriod = new int[2];
     }
 
@@ -48,25 +48,42 @@ public class Play{
 //        }
 //    }
 
-    public Map<String, String> getDetails() {
+    public PlayDetails getDetails() {
         return details;
     }
 
-    public void setDetails(Map<String, String> details) {
-        this.details = details;
+    public void setDetails(PlayDetails details) {
+        this.details = details != null ? details : new PlayDetails();
     }
 
-    // Convenience methods to get typed values back out
+    // Typed access for known fields, no parsing or boxing
+    public boolean hasDetail(PlayDetails.Key key) {
+        return details.has(key);
+    }
+
+    public int getDetailInt(PlayDetails.Key key, int missing) {
+        return details.getInt(key, missing);
+    }
+
+    // Convenience methods to get typed values back out by feed name
     public String getDetailString(String key) {
         return details.get(key);
     }
 
     public Integer getDetailInt(String key) {
+        PlayDetails.Key known = PlayDetails.keyFor(key);
+        if (known != null && known.isInt) {
+            return details.has(known) ? details.getInt(known, 0) : null;
+        }
         String value = details.get(key);
         return value != null ? Integer.valueOf(value) : null;
     }
 
     public Double getDetailDouble(String key) {
+        PlayDetails.Key known = PlayDetails.keyFor(key);
+        if (known != null && known.isInt && details.has(known)) {
+            return (double) details.getInt(known, 0);
+        }
         String value = details.get(key);
         return value != null ? Double.valueOf(value) : null;
     }
@@ -197,40 +214,53 @@ public class Play{
     }
 
 
-    public void combinePlay(Play newPlay) {
+    /**
+     * Merge another copy of this play into it, returns true if any value here changed
+     */
+    public boolean combinePlay(Play newPlay) {
         // Only combine if it's the same game (same ID) or if IDs are not set
-        if (newPlay == null) return;
+        if (newPlay == null) return false;
 
+        boolean changed = false;
         if (newPlay.getLastUpdated() != null && (this.lastUpdated == null || newPlay.getLastUpdated().isAfter(this.lastUpdated))) {
 
             // Update string fields if they're not null/empty in the newer version
-            if (this.situationCode == null || this.situationCode.isEmpty()) {
+            if ((this.situationCode == null || this.situationCode.isEmpty()) && !Objects.equals(this.situationCode, newPlay.situationCode)) {
                 this.situationCode = newPlay.situationCode;
+                changed = true;
             }
-            if (this.periodDescriptor == null || this.periodDescriptor.isEmpty()) {
+            if ((this.periodDescriptor == null || this.periodDescriptor.isEmpty()) && !Objects.equals(this.periodDescriptor, newPlay.periodDescriptor)) {
                 this.periodDescriptor = newPlay.periodDescriptor;
+                changed = true;
             }
-            if (this.homeTeamDefendingSide == null || this.homeTeamDefendingSide.isEmpty()) {
+            if ((this.homeTeamDefendingSide == null || this.homeTeamDefendingSide.isEmpty()) && !Objects.equals(this.homeTeamDefendingSide, newPlay.homeTeamDefendingSide)) {
                 this.homeTeamDefendingSide = newPlay.homeTeamDefendingSide;
+                changed = true;
             }
-            if (this.typeDescKey == null || this.typeDescKey.isEmpty()) {
+            if ((this.typeDescKey == null || this.typeDescKey.isEmpty()) && !Objects.equals(this.typeDescKey, newPlay.typeDescKey)) {
                 this.typeDescKey = newPlay.typeDescKey;
+                changed = true;
             }
-            if (this.detailType == null || this.detailType.isEmpty()) {
+            if ((this.detailType == null || this.detailType.isEmpty()) && !Objects.equals(this.detailType, newPlay.detailType)) {
                 this.detailType = newPlay.detailType;
+                changed = true;
             }
 
             if (newPlay.getPeriod() > this.period) {
                 this.period = newPlay.getPeriod();
+                changed = true;
             }
             if (newPlay.getTimeRemaining() > this.timeRemaining) {
                 this.timeRemaining = newPlay.getTimeRemaining();
+                changed = true;
             }
             if (newPlay.getTypeCode() > this.typeCode) {
                 this.typeCode = newPlay.getTypeCode();
+                changed = true;
             }
             if (newPlay.getEventID() > this.eventID) {
                 this.eventID = newPlay.getEventID();
+                changed = true;
             }
 
             // Update array if it has meaningful data
@@ -241,11 +271,15 @@ public class Play{
                     break;
                 }
             }
-            if (hasData) {
+            if (hasData && !Arrays.equals(this.timeInPeriod, newPlay.timeInPeriod)) {
                 this.timeInPeriod = newPlay.timeInPeriod.clone();
+                changed = true;
             }
 
-            this.details = newPlay.details;
+            if (!PlayDetails.same(this.details, newPlay.details)) {
+                this.details = newPlay.details;
+                changed = true;
+            }
 
             this.lastUpdated = newPlay.lastUpdated;
 
@@ -257,51 +291,62 @@ public class Play{
             if (this.periodDescriptor == null || this.periodDescriptor.trim().isEmpty()) {
                 if (newPlay.periodDescriptor != null && !newPlay.periodDescriptor.trim().isEmpty()) {
                     this.periodDescriptor = newPlay.periodDescriptor;
+                    changed = true;
                 }
             }
             if (this.situationCode == null || this.situationCode.trim().isEmpty()) {
                 if (newPlay.situationCode != null && !newPlay.situationCode.trim().isEmpty()) {
                     this.situationCode = newPlay.situationCode;
+                    changed = true;
                 }
             }
             if (this.homeTeamDefendingSide == null || this.homeTeamDefendingSide.trim().isEmpty()) {
                 if (newPlay.homeTeamDefendingSide != null && !newPlay.homeTeamDefendingSide.trim().isEmpty()) {
                     this.homeTeamDefendingSide = newPlay.homeTeamDefendingSide;
+                    changed = true;
                 }
             }
             if (this.typeDescKey == null || this.typeDescKey.trim().isEmpty()) {
                 if (newPlay.typeDescKey != null && !newPlay.typeDescKey.trim().isEmpty()) {
                     this.typeDescKey = newPlay.typeDescKey;
+                    changed = true;
                 }
             }
             if (this.sortOrder == null || this.sortOrder.trim().isEmpty()) {
                 if (newPlay.sortOrder != null && !newPlay.sortOrder.trim().isEmpty()) {
                     this.sortOrder = newPlay.sortOrder;
+                    changed = true;
                 }
             }
             if (this.detailType == null || this.detailType.trim().isEmpty()) {
                 if (newPlay.detailType != null && !newPlay.detailType.trim().isEmpty()) {
                     this.detailType = newPlay.detailType;
+                    changed = true;
                 }
             }
 
             // Merging ints
             if (this.eventID <= 0 && newPlay.eventID > 0) {
                 this.eventID = newPlay.eventID;
+                changed = true;
             }
             if (this.timeRemaining <= 0 && newPlay.timeRemaining > 0) {
                 this.timeRemaining = newPlay.timeRemaining;
+                changed = true;
             }
             if (this.period <= 0 && newPlay.period > 0) {
                 this.period = newPlay.period;
+                changed = true;
             }
             if (this.typeCode <= 0 && newPlay.typeCode > 0) {
                 this.typeCode = newPlay.typeCode;
+                changed = true;
             }
 
             for(int i=0; i<this.timeInPeriod.length; i++) {
                 if(this.timeInPeriod[i] < 0 && newPlay.timeInPeriod[i] >= 0) {
                     this.timeInPeriod[i] = newPlay.timeInPeriod[i];
+                    changed = true;
                 }
             }
 
@@ -309,21 +354,14 @@ public class Play{
                 this.lastUpdated = newPlay.lastUpdated;
             }
 
-            if (newPlay.details != null) {
-                if (this.details == null) {
-                    this.details = new HashMap<>();
-                }
-                for (Map.Entry<String, String> entry : newPlay.details.entrySet()) {
-                    if (!this.details.containsKey(entry.getKey()) ||
-                            this.details.get(entry.getKey()) == null ||
-                            this.details.get(entry.getKey()).trim().isEmpty()) {
-                        this.details.put(entry.getKey(), entry.getValue());
-                    }
-                }
+            if (this.details == null) {
+                changed |= newPlay.details != null;
+                this.details = newPlay.details;
+            } else {
+                changed |= this.details.fillMissing(newPlay.details);
             }
-
-
         }
+        return changed;
     }
 
 
@@ -0,0 +1,247 @@
+package com.example.nhlapp.Objects;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The "details" block of a play.
+ *
+ * Fields the API is known to send are stored by Key in primitive int slots or
+ * interned strings, so coordinates and player ids are read without parsing or
+ * boxing. Anything else lands in a small fallback map that is only created
+ * when a play actually has an unknown field.
+ */
+public class PlayDetails {
+
+    /** Detail fields with their own slot, INT keys are numbers in the feed */
+    public enum Key {
+        EVENT_OWNER_TEAM_ID("eventOwnerTeamId", true),
+        X_COORD("xCoord", true),
+        Y_COORD("yCoord", true),
+        ZONE_CODE("zoneCode", false),
+        SHOT_TYPE("shotType", false),
+        REASON("reason", false),
+        SECONDARY_REASON("secondaryReason", false),
+        SHOOTING_PLAYER_ID("shootingPlayerId", true),
+        GOALIE_IN_NET_ID("goalieInNetId", true),
+        SCORING_PLAYER_ID("scoringPlayerId", true),
+        SCORING_PLAYER_TOTAL("scoringPlayerTotal", true),
+        ASSIST1_PLAYER_ID("assist1PlayerId", true),
+        ASSIST1_PLAYER_TOTAL("assist1PlayerTotal", true),
+        ASSIST2_PLAYER_ID("assist2PlayerId", true),
+        ASSIST2_PLAYER_TOTAL("assist2PlayerTotal", true),
+        BLOCKING_PLAYER_ID("blockingPlayerId", true),
+        HITTING_PLAYER_ID("hittingPlayerId", true),
+        HITTEE_PLAYER_ID("hitteePlayerId", true),
+        WINNING_PLAYER_ID("winningPlayerId", true),
+        LOSING_PLAYER_ID("losingPlayerId", true),
+        PLAYER_ID("playerId", true),
+        COMMITTED_BY_PLAYER_ID("committedByPlayerId", true),
+        DRAWN_BY_PLAYER_ID("drawnByPlayerId", true),
+        SERVED_BY_PLAYER_ID("servedByPlayerId", true),
+        PENALTY_TYPE_CODE("typeCode", false),
+        DESC_KEY("descKey", false),
+        DURATION("duration", true),
+        AWAY_SCORE("awayScore", true),
+        HOME_SCORE("homeScore", true),
+        AWAY_SOG("awaySOG", true),
+        HOME_SOG("homeSOG", true);
+
+        public final String jsonName;
+        public final boolean isInt;
+
+        Key(String jsonName, boolean isInt) {
+            this.jsonName = jsonName;
+            this.isInt = isInt;
+        }
+    }
+
+    private static final Key[] KEYS = Key.values();
+    private static final Map<String, Key> KEYS_BY_NAME = new HashMap<>();
+    // Index of each key in ints or strings, by ordinal
+    private static final int[] SLOTS = new int[KEYS.length];
+    private static final int INT_SLOTS;
+    private static final int STRING_SLOTS;
+
+    static {
+        int ints = 0;
+        int strings = 0;
+        for (Key key : KEYS) {
+            KEYS_BY_NAME.put(key.jsonName, key);
+            SLOTS[key.ordinal()] = key.isInt ? ints++ : strings++;
+        }
+        INT_SLOTS = ints;
+        STRING_SLOTS = strings;
+    }
+
+    private long present;
+    private int[] ints;
+    private String[] strings;
+    private Map<String, String> extra;
+
+    /** The Key for a feed field name, null when it has no slot */
+    public static Key keyFor(String name) {
+        return KEYS_BY_NAME.get(name);
+    }
+
+    /**
+     * Store a value given as text, known keys are parsed once here.
+     * An INT key whose value is not an int is kept as text in the fallback map.
+     */
+    public void put(String name, String value) {
+        Key key = keyFor(name);
+        if (key == null || value == null) {
+            putExtra(name, value);
+        } else if (key.isInt) {
+            try {
+                putInt(key, Integer.parseInt(value.trim()));
+            } catch (NumberFormatException e) {
+                putExtra(name, value);
+            }
+        } else {
+            putString(key, value);
+        }
+    }
+
+    public void putInt(Key key, int value) {
+        if (!key.isInt) {
+            putString(key, String.valueOf(value));
+            return;
+        }
+        if (ints == null) {
+            ints = new int[INT_SLOTS];
+        }
+        ints[SLOTS[key.ordinal()]] = value;
+        present |= 1L << key.ordinal();
+    }
+
+    public void putString(Key key, String value) {
+        if (value == null) {
+            return;
+        }
+        if (key.isInt) {
+            put(key.jsonName, value);
+            return;
+        }
+        if (strings == null) {
+            strings = new String[STRING_SLOTS];
+        }
+        // Zone codes, shot types and reasons come from a small vocabulary
+        strings[SLOTS[key.ordinal()]] = value.intern();
+        present |= 1L << key.ordinal();
+    }
+
+    public boolean has(Key key) {
+        return (present & (1L << key.ordinal())) != 0;
+    }
+
+    /** The int value of an INT key, missing when the play doesn't have it */
+    public int getInt(Key key, int missing) {
+        return key.isInt && has(key) ? ints[SLOTS[key.ordinal()]] : missing;
+    }
+
+    /** The value of a key as text, null when missing */
+    public String getString(Key key) {
+        if (!has(key)) {
+            return null;
+        }
+        return key.isInt ? String.valueOf(ints[SLOTS[key.ordinal()]]) : strings[SLOTS[key.ordinal()]];
+    }
+
+    /** Any field by its feed name as text, null when missing */
+    public String get(String name) {
+        Key key = keyFor(name);
+        if (key != null && has(key)) {
+            return getString(key);
+        }
+        return extra != null ? extra.get(name) : null;
+    }
+
+    public boolean containsKey(String name) {
+        return get(name) != null;
+    }
+
+    public int size() {
+        return Long.bitCount(present) + (extra != null ? extra.size() : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Fill every field this play is missing, or holds blank, from another copy.
+     * Returns true if any value here changed.
+     */
+    public boolean fillMissing(PlayDetails other) {
+        if (other == null) {
+            return false;
+        }
+        boolean changed = false;
+        for (Key key : KEYS) {
+            if (!other.has(key)) continue;
+            if (key.isInt) {
+                if (!has(key)) {
+                    putInt(key, other.getInt(key, 0));
+                    changed = true;
+                }
+            } else {
+                String current = getString(key);
+                String incoming = other.getString(key);
+                if ((current == null || current.trim().isEmpty()) && !Objects.equals(current, incoming)) {
+                    putString(key, incoming);
+                    changed = true;
+                }
+            }
+        }
+        if (other.extra != null) {
+            for (Map.Entry<String, String> entry : other.extra.entrySet()) {
+                String current = get(entry.getKey());
+                if ((current == null || current.trim().isEmpty()) && !Objects.equals(current, entry.getValue())) {
+                    putExtra(entry.getKey(), entry.getValue());
+                    changed = true;
+                }
+            }
+        }
+        return changed;
+    }
+
+    /** Same fields holding the same values, either may be null */
+    public static boolean same(PlayDetails a, PlayDetails b) {
+        if (a == b) return true;
+        if (a == null || b == null || a.present != b.present) return false;
+        for (Key key : KEYS) {
+            if (!a.has(key)) continue;
+            int slot = SLOTS[key.ordinal()];
+            if (key.isInt ? a.ints[slot] != b.ints[slot] : !a.strings[slot].equals(b.strings[slot])) {
+                return false;
+            }
+        }
+        boolean aExtra = a.extra != null && !a.extra.isEmpty();
+        boolean bExtra = b.extra != null && !b.extra.isEmpty();
+        return aExtra == bExtra && (!aExtra || a.extra.equals(b.extra));
+    }
+
+    /** Every field as text, built on each call */
+    public Map<String, String> toMap() {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (Key key : KEYS) {
+            if (has(key)) {
+                map.put(key.jsonName, getString(key));
+            }
+        }
+        if (extra != null) {
+            map.putAll(extra);
+        }
+        return map;
+    }
+
+    private void putExtra(String name, String value) {
+        if (extra == null) {
+            extra = new HashMap<>(4);
+        }
+        extra.put(name, value);
+    }
+}
@@ -1,16 +1,20 @@
 package com.example.nhlapp.Objects;
 
+import com.example.nhlapp.IntObjectMap;
 import com.example.nhlapp.Objects.NHLPlayer;
 
 import java.lang.reflect.Array;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Dictionary;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 //interface Mergeable<T> {
 //    void mergeWith(T newTeam);
@@ -19,7 +23,15 @@ import java.util.Objects;
 //}
 
 public class Team {
-    public HashMap<Integer, NHLPlayer> teamRoster;
+    // Bits returned by combineTeam for the parts that changed
+    public static final int CHANGED_NONE = 0;
+    public static final int CHANGED_RECORD = 1;             // wins, losses, points, streak
+    public static final int CHANGED_INFO = 1 << 1;          // names, tri code, id
+    public static final int CHANGED_LOGO = 1 << 2;
+    public static final int CHANGED_GAME_RECORD = 1 << 3;
+    public static final int CHANGED_ROSTER = 1 << 4;
+
+    public IntObjectMap<NHLPlayer> teamRoster;
     //    public ArrayList<Integer> playerIDs;
     public int gamesWon;
     public int gamesWonOT;
@@ -46,7 +58,7 @@ public class Team {
     private LocalDateTime lastUpdated;
 
     public Team (){
-        this.teamRoster = new HashMap<>();
+        this.teamRoster = new IntObjectMap<>();
         this.gameRecord = new ArrayList<>();
         this.summarizedGameRecord = new int[4];
         this.gamesWon = -1;
@@ -62,11 +74,11 @@ public class Team {
         this.streakCode = -1;
     }
 
-    public HashMap<Integer, NHLPlayer> getTeamRoster() {
+    public IntObjectMap<NHLPlayer> getTeamRoster() {
         return teamRoster;
     }
 
-    public void setTeamRoster(HashMap<Integer, NHLPlayer> teamRoster) {
+    public void setTeamRoster(IntObjectMap<NHLPlayer> teamRoster) {
         this.teamRoster = teamRoster;
     }
 
@@ -321,9 +333,11 @@ public class Team {
     }
 
     public ArrayList<Integer> getRosterPlayerIds(){
-        if (this.teamRoster.isEmpty())
-            return new ArrayList<Integer>();
-        return (ArrayList<Integer>) this.teamRoster.keySet();
+        ArrayList<Integer> playerIds = new ArrayList<>(this.teamRoster.size());
+        for (int playerId : this.teamRoster.keys()) {
+            playerIds.add(playerId);
+        }
+        return playerIds;
     }
 
     public void setRosterPlayerIds(List<Integer> playerIds){
@@ -334,81 +348,79 @@ public class Team {
         }
     }
 
-    public void combineTeam(Team newTeam) {
-        if (newTeam == null) return;
+    /**
+     * Merge another copy of this team into it. A newer copy overwrites, a copy with
+     * the same timestamp only fills gaps. Returns the CHANGED_ bits of what actually
+     * changed, CHANGED_NONE when the merge was a no-op.
+     */
+    public int combineTeam(Team newTeam) {
+        if (newTeam == null) return CHANGED_NONE;
+
+        if(newTeam.getTeamID() != this.getTeamID()) return CHANGED_NONE;
 
-        if(newTeam.getTeamID() != this.getTeamID()) return;
+        int changed = CHANGED_NONE;
 
         if (newTeam.getLastUpdated() != null && (this.lastUpdated == null || newTeam.getLastUpdated().isAfter(this.lastUpdated))) {
 
             // Update primitive fields with newer values
-            this.gamesWon = newTeam.gamesWon;
-            this.gamesWonOT = newTeam.gamesWonOT;
-            this.gamesLost = newTeam.gamesLost;
-            this.gamesLostOT = newTeam.gamesLostOT;
-            this.goalsFor = newTeam.goalsFor;
-            this.goalsAgainst = newTeam.goalsAgainst;
-            this.points = newTeam.points;
-            this.gamesPlayed = newTeam.gamesPlayed;
-            this.pointsPercentage = newTeam.pointsPercentage;
-            this.regulationWins = newTeam.regulationWins;
-            this.streakCode = newTeam.streakCode;
+            if (this.gamesWon != newTeam.gamesWon || this.gamesWonOT != newTeam.gamesWonOT
+                    || this.gamesLost != newTeam.gamesLost || this.gamesLostOT != newTeam.gamesLostOT
+                    || this.goalsFor != newTeam.goalsFor || this.goalsAgainst != newTeam.goalsAgainst
+                    || this.points != newTeam.points || this.gamesPlayed != newTeam.gamesPlayed
+                    || this.pointsPercentage != newTeam.pointsPercentage || this.regulationWins != newTeam.regulationWins
+                    || this.streakCode != newTeam.streakCode) {
+                this.gamesWon = newTeam.gamesWon;
+                this.gamesWonOT = newTeam.gamesWonOT;
+                this.gamesLost = newTeam.gamesLost;
+                this.gamesLostOT = newTeam.gamesLostOT;
+                this.goalsFor = newTeam.goalsFor;
+                this.goalsAgainst = newTeam.goalsAgainst;
+                this.points = newTeam.points;
+                this.gamesPlayed = newTeam.gamesPlayed;
+                this.pointsPercentage = newTeam.pointsPercentage;
+                this.regulationWins = newTeam.regulationWins;
+                this.streakCode = newTeam.streakCode;
+                changed |= CHANGED_RECORD;
+            }
 
             // Update string fields if they're not null/empty in the newer version
-            if (newTeam.name != null && !newTeam.name.trim().isEmpty()) {
+            if (!isBlank(newTeam.name) && !newTeam.name.equals(this.name)) {
                 this.name = newTeam.name;
+                changed |= CHANGED_INFO;
             }
-            if (newTeam.abreviatedName != null && !newTeam.abreviatedName.trim().isEmpty()) {
+            if (!isBlank(newTeam.abreviatedName) && !newTeam.abreviatedName.equals(this.abreviatedName)) {
                 this.abreviatedName = newTeam.abreviatedName;
+                changed |= CHANGED_INFO;
             }
-            if (newTeam.triCode != null && !newTeam.triCode.trim().isEmpty()) {
+            if (!isBlank(newTeam.triCode) && !newTeam.triCode.equals(this.triCode)) {
                 this.triCode = newTeam.triCode;
+                changed |= CHANGED_INFO;
             }
-            if (newTeam.fullName != null && !newTeam.fullName.trim().isEmpty()) {
+            if (!isBlank(newTeam.fullName) && !newTeam.fullName.equals(this.fullName)) {
                 this.fullName = newTeam.fullName;
+                changed |= CHANGED_INFO;
             }
-            if (newTeam.logoUrl != null && !newTeam.logoUrl.trim().isEmpty()) {
+            if (!isBlank(newTeam.logoUrl) && !newTeam.logoUrl.equals(this.logoUrl)) {
                 this.logoUrl = newTeam.logoUrl;
+                changed |= CHANGED_LOGO;
             }
-            if (newTeam.streakCount != null && !newTeam.streakCount.trim().isEmpty()) {
+            if (!isBlank(newTeam.streakCount) && !newTeam.streakCount.equals(this.streakCount)) {
                 this.streakCount = newTeam.streakCount;
+                changed |= CHANGED_RECORD;
             }
 
-            // Update teamID if it's set in the newer version
-            if (newTeam.teamID != 0) {
-                this.teamID = newTeam.teamID;
-            }
-
-            // Update array if it has meaningful data
-            if (newTeam.summarizedGameRecord != null && newTeam.summarizedGameRecord.length > 0) {
-                boolean hasData = false;
-                for (int value : newTeam.summarizedGameRecord) {
-                    if (value != 0) {
-                        hasData = true;
-                        break;
-                    }
-                }
-                if (hasData) {
+            // Update array if it has meaningful data, copying into the one we have
+            if (hasData(newTeam.summarizedGameRecord) && !Arrays.equals(this.summarizedGameRecord, newTeam.summarizedGameRecord)) {
+                if (this.summarizedGameRecord != null && this.summarizedGameRecord.length == newTeam.summarizedGameRecord.length) {
+                    System.arraycopy(newTeam.summarizedGameRecord, 0, this.summarizedGameRecord, 0, this.summarizedGameRecord.length);
+                } else {
                     this.summarizedGameRecord = newTeam.summarizedGameRecord.clone();
                 }
+                changed |= CHANGED_RECORD;
             }
 
-            // Merge lists - append new items that don't already exist
-            if (newTeam.gameRecord != null && !newTeam.gameRecord.isEmpty()) {
-                for (String record : newTeam.gameRecord)
-                {
-                    if (!this.gameRecord.contains(record)) {
-                        this.gameRecord.add(record);
-                    }
-                }
-            }
-
-            // Merge team roster
-            if (newTeam.teamRoster != null && !newTeam.teamRoster.isEmpty()) {
-                for (NHLPlayer player : newTeam.teamRoster.values()) {
-                    this.addToTeamRoster(player);
-                }
-            }
+            changed |= mergeGameRecord(newTeam.gameRecord);
+            changed |= mergeRoster(newTeam.teamRoster);
 
             // Update timestamp
             this.lastUpdated = newTeam.getLastUpdated();
@@ -420,75 +432,100 @@ public class Team {
             // Same timestamp - merge non-null/non-default fields and append lists
 
             // Merge string fields - keep existing if newTeam is null/empty
-            if (this.name == null || this.name.trim().isEmpty()) {
-                if (newTeam.name != null && !newTeam.name.trim().isEmpty()) {
-                    this.name = newTeam.name;
-                }
+            if (isBlank(this.name) && !isBlank(newTeam.name)) {
+                this.name = newTeam.name;
+                changed |= CHANGED_INFO;
             }
-            if (this.abreviatedName == null || this.abreviatedName.trim().isEmpty()) {
-                if (newTeam.abreviatedName != null && !newTeam.abreviatedName.trim().isEmpty()) {
-                    this.abreviatedName = newTeam.abreviatedName;
-                }
+            if (isBlank(this.abreviatedName) && !isBlank(newTeam.abreviatedName)) {
+                this.abreviatedName = newTeam.abreviatedName;
+                changed |= CHANGED_INFO;
             }
-            if (this.triCode == null || this.triCode.trim().isEmpty()) {
-                if (newTeam.triCode != null && !newTeam.triCode.trim().isEmpty()) {
-                    this.triCode = newTeam.triCode;
-                }
+            if (isBlank(this.triCode) && !isBlank(newTeam.triCode)) {
+                this.triCode = newTeam.triCode;
+                changed |= CHANGED_INFO;
             }
-            if (this.fullName == null || this.fullName.trim().isEmpty()) {
-                if (newTeam.fullName != null && !newTeam.fullName.trim().isEmpty()) {
-                    this.fullName = newTeam.fullName;
-                }
+            if (isBlank(this.fullName) && !isBlank(newTeam.fullName)) {
+                this.fullName = newTeam.fullName;
+                changed |= CHANGED_INFO;
             }
-            if (this.logoUrl == null || this.logoUrl.trim().isEmpty()) {
-                if (newTeam.logoUrl != null && !newTeam.logoUrl.trim().isEmpty()) {
-                    this.logoUrl = newTeam.logoUrl;
-                }
+            if (isBlank(this.logoUrl) && !isBlank(newTeam.logoUrl)) {
+                this.logoUrl = newTeam.logoUrl;
+                changed |= CHANGED_LOGO;
             }
-            if (this.streakCount == null || this.streakCount.trim().isEmpty()) {
-                if (newTeam.streakCount != null && !newTeam.streakCount.trim().isEmpty()) {
-                    this.streakCount = newTeam.streakCount;
-                }
+            if (isBlank(this.streakCount) && !isBlank(newTeam.streakCount)) {
+                this.streakCount = newTeam.streakCount;
+                changed |= CHANGED_RECORD;
             }
 
             // Merge primitive fields - use newTeam's value if this one is default/zero
-            if (this.gamesWon == 0 && newTeam.gamesWon != 0) this.gamesWon = newTeam.gamesWon;
-            if (this.gamesWonOT == 0 && newTeam.gamesWonOT != 0) this.gamesWonOT = newTeam.gamesWonOT;
-            if (this.gamesLost == 0 && newTeam.gamesLost != 0) this.gamesLost = newTeam.gamesLost;
-            if (this.gamesLostOT == 0 && newTeam.gamesLostOT != 0) this.gamesLostOT = newTeam.gamesLostOT;
-            if (this.goalsFor == 0 && newTeam.goalsFor != 0) this.goalsFor = newTeam.goalsFor;
-            if (this.goalsAgainst == 0 && newTeam.goalsAgainst != 0) this.goalsAgainst = newTeam.goalsAgainst;
-            if (this.points == 0 && newTeam.points != 0) this.points = newTeam.points;
-            if (this.gamesPlayed == 0 && newTeam.gamesPlayed != 0) this.gamesPlayed = newTeam.gamesPlayed;
-            if (this.pointsPercentage == 0.0 && newTeam.pointsPercentage != 0.0) this.pointsPercentage = newTeam.pointsPercentage;
-            if (this.regulationWins == 0 && newTeam.regulationWins != 0) this.regulationWins = newTeam.regulationWins;
-            if (this.streakCode == 0 && newTeam.streakCode != 0) this.streakCode = newTeam.streakCode;
-            if (this.teamID == 0 && newTeam.teamID != 0) this.teamID = newTeam.teamID;
+            if (this.gamesWon == 0 && newTeam.gamesWon != 0) { this.gamesWon = newTeam.gamesWon; changed |= CHANGED_RECORD; }
+            if (this.gamesWonOT == 0 && newTeam.gamesWonOT != 0) { this.gamesWonOT = newTeam.gamesWonOT; changed |= CHANGED_RECORD; }
+            if (this.gamesLost == 0 && newTeam.gamesLost != 0) { this.gamesLost = newTeam.gamesLost; changed |= CHANGED_RECORD; }
+            if (this.gamesLostOT == 0 && newTeam.gamesLostOT != 0) { this.gamesLostOT = newTeam.gamesLostOT; changed |= CHANGED_RECORD; }
+            if (this.goalsFor == 0 && newTeam.goalsFor != 0) { this.goalsFor = newTeam.goalsFor; changed |= CHANGED_RECORD; }
+            if (this.goalsAgainst == 0 && newTeam.goalsAgainst != 0) { this.goalsAgainst = newTeam.goalsAgainst; changed |= CHANGED_RECORD; }
+            if (this.points == 0 && newTeam.points != 0) { this.points = newTeam.points; changed |= CHANGED_RECORD; }
+            if (this.gamesPlayed == 0 && newTeam.gamesPlayed != 0) { this.gamesPlayed = newTeam.gamesPlayed; changed |= CHANGED_RECORD; }
+            if (this.pointsPercentage == 0.0 && newTeam.pointsPercentage != 0.0) { this.pointsPercentage = newTeam.pointsPercentage; changed |= CHANGED_RECORD; }
+            if (this.regulationWins == 0 && newTeam.regulationWins != 0) { this.regulationWins = newTeam.regulationWins; changed |= CHANGED_RECORD; }
+            if (this.streakCode == 0 && newTeam.streakCode != 0) { this.streakCode = newTeam.streakCode; changed |= CHANGED_RECORD; }
+            if (this.teamID == 0 && newTeam.teamID != 0) { this.teamID = newTeam.teamID; changed |= CHANGED_INFO; }
 
             // Merge arrays
-            if (this.summarizedGameRecord == null || this.summarizedGameRecord.length == 0) {
-                if (newTeam.summarizedGameRecord != null && newTeam.summarizedGameRecord.length > 0) {
-                    this.summarizedGameRecord = newTeam.summarizedGameRecord.clone();
-                }
+            if ((this.summarizedGameRecord == null || this.summarizedGameRecord.length == 0)
+                    && newTeam.summarizedGameRecord != null && newTeam.summarizedGameRecord.length > 0) {
+                this.summarizedGameRecord = newTeam.summarizedGameRecord.clone();
+                changed |= CHANGED_RECORD;
             }
 
-            // Append to lists
-            if (newTeam.gameRecord != null && !newTeam.gameRecord.isEmpty()) {
-                for (String record : newTeam.gameRecord) {
-                    if (!this.gameRecord.contains(record)) {
-                        this.gameRecord.add(record);
-                    }
-                }
+            changed |= mergeGameRecord(newTeam.gameRecord);
+            changed |= mergeRoster(newTeam.teamRoster);
+        }
+        // If this object is newer, don't modify anything
+        return changed;
+    }
+
+    /**
+     * Append game records we don't have yet, looked up through a hash set instead of list scans
+     */
+    private int mergeGameRecord(ArrayList<String> records) {
+        if (records == null || records.isEmpty()) return CHANGED_NONE;
+
+        Set<String> known = new HashSet<>(this.gameRecord);
+        boolean added = false;
+        for (String record : records) {
+            if (known.add(record)) {
+                this.gameRecord.add(record);
+                added = true;
             }
+        }
+        return added ? CHANGED_GAME_RECORD : CHANGED_NONE;
+    }
 
-            // Merge team roster
-            if (newTeam.teamRoster != null && !newTeam.teamRoster.isEmpty()) {
-                for (NHLPlayer player : newTeam.teamRoster.values()) {
-                    this.addToTeamRoster(player);
-                }
+    private int mergeRoster(IntObjectMap<NHLPlayer> roster) {
+        if (roster == null || roster.isEmpty() || roster == this.teamRoster) return CHANGED_NONE;
+
+        boolean changed = false;
+        for (int slot = 0; slot < roster.capacity(); slot++) {
+            NHLPlayer player = roster.valueAt(slot);
+            if (player != null && this.teamRoster.get(player.getPlayerId()) != player) {
+                this.addToTeamRoster(player);
+                changed = true;
             }
         }
-        // If this object is newer, don't modify anything
+        return changed ? CHANGED_ROSTER : CHANGED_NONE;
+    }
+
+    private static boolean hasData(int[] values) {
+        if (values == null) return false;
+        for (int value : values) {
+            if (value != 0) return true;
+        }
+        return false;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
     }
 
     public ArrayList<NHLPlayer> getGoalies(){
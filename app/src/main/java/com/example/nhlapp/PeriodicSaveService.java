@@ -29,8 +29,8 @@ public class PeriodicSaveService extends Service {
                     isFirstRun = false;
                 } else if (settings.isPeriodicSavingEnabled()) {
                     Log.d("PeriodicSaveService", "Performing periodic save");
-                    DataManager.getInstance().saveAllDataToJson(PeriodicSaveService.this);
-                    JsonHelper.saveImagePathsToJson(PeriodicSaveService.this);
+                    // Only what changed since the last save, image paths are saved with it
+                    DataManager.getInstance().saveChangedData(PeriodicSaveService.this);
                 }
 
                 // Schedule next save
@@ -0,0 +1,201 @@
+package com.example.nhlapp;
+
+import android.util.Log;
+
+import com.example.nhlapp.Objects.Game;
+import com.example.nhlapp.Objects.Play;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Incremental play-by-play for games in progress.
+ *
+ * Each game remembers the highest sortOrder it has ingested. A refresh only
+ * builds Play objects above that mark and appends them to Game.playByPlay, so
+ * a 300+ event game is never re-merged. The newest MAX_PLAYS_PER_GAME plays are
+ * indexed by eventID so corrections merge in place. The Game keeps every play,
+ * only the index is bounded.
+ *
+ * Call from the main thread, AsyncApiClient delivers results there.
+ */
+public class PlayByPlayFeed {
+    private static final String TAG = "PlayByPlayFeed";
+    private static final String PLAY_BY_PLAY_URL = "https://api-web.nhle.com/v1/gamecenter/%d/play-by-play";
+    static final int MAX_PLAYS_PER_GAME = 600;
+
+    public interface Listener {
+        void onPlaysAdded(Game game, List<Play> newPlays);
+    }
+
+    /** Ingest state for one game */
+    private static class GameFeed {
+        final Game game;
+        final IntObjectMap<Play> playsByEventId = new IntObjectMap<>();
+        // eventIDs in the index, oldest overwritten first once the ring is full
+        final int[] indexedEventIds = new int[MAX_PLAYS_PER_GAME];
+        int indexedCount;
+        int nextSlot;
+        int lastSortOrder = -1;
+        boolean inFlight;
+
+        GameFeed(Game game) {
+            this.game = game;
+        }
+    }
+
+    private final AsyncApiClient apiClient;
+    private final IntObjectMap<GameFeed> feeds = new IntObjectMap<>();
+    private final List<Listener> listeners = new ArrayList<>();
+    private AtomicBoolean cancelled = new AtomicBoolean(false);
+
+    public PlayByPlayFeed(AsyncApiClient apiClient) {
+        this.apiClient = apiClient;
+    }
+
+    public void addListener(Listener listener) {
+        if (!listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Fetch plays newer than the last ones ingested for this game.
+     * Skipped while a fetch for the same game is still running.
+     */
+    public void refresh(Game game) {
+        if (game == null) {
+            return;
+        }
+
+        GameFeed feed = feedFor(game);
+        if (feed.inFlight) {
+            return;
+        }
+        feed.inFlight = true;
+
+        int watermark = feed.lastSortOrder;
+        AtomicBoolean requestCancelled = cancelled;
+        apiClient.makeAsyncStreamingRequest(
+                String.format(Locale.US, PLAY_BY_PLAY_URL, game.getGameId()),
+                reader -> StreamingJsonParser.parsePlays(reader, watermark),
+                "sortOrder>" + watermark,
+                new AsyncApiClient.ApiCallback<List<Play>>() {
+                    @Override
+                    public void onSuccess(List<Play> plays) {
+                        feed.inFlight = false;
+                        if (!requestCancelled.get()) {
+                            ingest(feed, plays);
+                        }
+                    }
+
+                    @Override
+                    public void onError(String error) {
+                        feed.inFlight = false;
+                        Log.w(TAG, "Play-by-play fetch failed for game " + game.getGameId() + ": " + error);
+                    }
+                },
+                requestCancelled
+        );
+    }
+
+    public Play getPlay(int gameId, int eventId) {
+        GameFeed feed = feeds.get(gameId);
+        return feed != null ? feed.playsByEventId.get(eventId) : null;
+    }
+
+    /** Highest sortOrder ingested for the game, -1 before the first fetch */
+    public int getLastSortOrder(int gameId) {
+        GameFeed feed = feeds.get(gameId);
+        return feed != null ? feed.lastSortOrder : -1;
+    }
+
+    /**
+     * Drop a finished game's index, its plays stay on the Game
+     */
+    public void release(int gameId) {
+        feeds.remove(gameId);
+    }
+
+    /** Ignore every fetch still out, state is kept for the next refresh */
+    public void cancel() {
+        cancelled.set(true);
+        cancelled = new AtomicBoolean(false);
+        for (int slot = 0; slot < feeds.capacity(); slot++) {
+            GameFeed feed = feeds.valueAt(slot);
+            if (feed != null) {
+                feed.inFlight = false;
+            }
+        }
+    }
+
+    private GameFeed feedFor(Game game) {
+        GameFeed feed = feeds.get(game.getGameId());
+        if (feed == null || feed.game != game) {
+            feed = new GameFeed(game);
+            // Pick up whatever the game already holds so it is not fetched twice
+            for (Play play : game.getPlayByPlay()) {
+                index(feed, play);
+                feed.lastSortOrder = Math.max(feed.lastSortOrder, sortOrderOf(play));
+            }
+            feeds.put(game.getGameId(), feed);
+        }
+        return feed;
+    }
+
+    private void ingest(GameFeed feed, List<Play> plays) {
+        List<Play> added = new ArrayList<>(plays.size());
+        for (Play play : plays) {
+            int sortOrder = sortOrderOf(play);
+            // A corrected play can come back under the same eventID, merge it into the one we hold
+            Play existing = feed.playsByEventId.get(play.getEventID());
+            if (existing != null) {
+                existing.combinePlay(play);
+            } else if (sortOrder > feed.lastSortOrder) {
+                index(feed, play);
+                feed.game.addToPlayByPlay(play);
+                added.add(play);
+            }
+            feed.lastSortOrder = Math.max(feed.lastSortOrder, sortOrder);
+        }
+
+        if (added.isEmpty()) {
+            return;
+        }
+        Log.d(TAG, "Game " + feed.game.getGameId() + ": " + added.size() + " new plays, up to sortOrder " + feed.lastSortOrder);
+        for (Listener listener : new ArrayList<>(listeners)) {
+            listener.onPlaysAdded(feed.game, added);
+        }
+    }
+
+    /**
+     * Index a play by eventID, dropping the oldest indexed play once MAX_PLAYS_PER_GAME are held.
+     * The play stays on the Game, a late correction to it is just not merged.
+     */
+    private static void index(GameFeed feed, Play play) {
+        if (feed.playsByEventId.put(play.getEventID(), play) != null) {
+            return;
+        }
+        if (feed.indexedCount == MAX_PLAYS_PER_GAME) {
+            feed.playsByEventId.remove(feed.indexedEventIds[feed.nextSlot]);
+        } else {
+            feed.indexedCount++;
+        }
+        feed.indexedEventIds[feed.nextSlot] = play.getEventID();
+        feed.nextSlot = (feed.nextSlot + 1) % MAX_PLAYS_PER_GAME;
+    }
+
+    private static int sortOrderOf(Play play) {
+        try {
+            return play.getSortOrder() != null ? Integer.parseInt(play.getSortOrder()) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.example.nhlapp;
+
+import com.example.nhlapp.Objects.NHLPlayer;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * In-memory name search over a player list, built once when the players load.
+ *
+ * Names are folded to lowercase ASCII ("Stützle" is "stutzle") and split into
+ * tokens. Every suffix of every token is kept in one sorted array, so any
+ * substring of a name token is a binary search plus a walk over the matching
+ * range, never a pass over all players. Each query token must match some name
+ * token. Results rank whole-name prefixes first, then exact tokens, then token
+ * prefixes ("ov" finds Ovechkin before Petrov), then matches inside a token,
+ * with ties kept in list order.
+ *
+ * Immutable once built, safe to query from a background thread.
+ */
+public final class PlayerSearchIndex {
+    // Lower is better
+    private static final int RANK_EXACT_TOKEN = 0;
+    private static final int RANK_TOKEN_PREFIX = 1;
+    private static final int RANK_INSIDE_TOKEN = 3;
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+
+    private final List<NHLPlayer> players;
+    private final String[] foldedNames;
+    // Distinct tokens with the player each came from
+    private final String[] tokens;
+    private final int[] tokenPlayer;
+    // Every token suffix as (token, offset), sorted by the suffix text
+    private final int[] suffixToken;
+    private final int[] suffixOffset;
+
+    /** Ranked matches of one query, pages are read straight out of it */
+    public static final class Result {
+        private final List<NHLPlayer> players;
+        // Indexes into players in rank order, null for every player in list order
+        private final int[] ranked;
+
+        Result(List<NHLPlayer> players, int[] ranked) {
+            this.players = players;
+            this.ranked = ranked;
+        }
+
+        public int size() {
+            return ranked != null ? ranked.length : players.size();
+        }
+
+        public NHLPlayer get(int position) {
+            return players.get(ranked != null ? ranked[position] : position);
+        }
+
+        /**
+         * Replace the contents of page with one page of results, only that page is copied
+         */
+        public void fillPage(int pageIndex, int pageSize, List<NHLPlayer> page) {
+            page.clear();
+            int start = pageIndex * pageSize;
+            int end = Math.min(start + pageSize, size());
+            for (int i = start; i < end; i++) {
+                page.add(get(i));
+            }
+        }
+
+        public int pageCount(int pageSize) {
+            return (size() + pageSize - 1) / pageSize;
+        }
+
+        /** Every match as a new list, for callers that need one */
+        public List<NHLPlayer> toList() {
+            List<NHLPlayer> list = new ArrayList<>(size());
+            for (int i = 0; i < size(); i++) {
+                list.add(get(i));
+            }
+            return list;
+        }
+    }
+
+    public PlayerSearchIndex(List<NHLPlayer> players) {
+        this.players = Collections.unmodifiableList(new ArrayList<>(players));
+        int count = this.players.size();
+        foldedNames = new String[count];
+
+        List<String> tokenList = new ArrayList<>(count * 2);
+        List<Integer> playerList = new ArrayList<>(count * 2);
+        int suffixCount = 0;
+        for (int i = 0; i < count; i++) {
+            NHLPlayer player = this.players.get(i);
+            String folded = fold(player != null ? player.getName() : null);
+            foldedNames[i] = folded;
+            for (String token : tokenize(folded)) {
+                tokenList.add(token);
+                playerList.add(i);
+                suffixCount += token.length();
+            }
+        }
+
+        tokens = tokenList.toArray(new String[0]);
+        tokenPlayer = new int[tokens.length];
+        for (int i = 0; i < tokenPlayer.length; i++) {
+            tokenPlayer[i] = playerList.get(i);
+        }
+
+        Integer[] order = new Integer[suffixCount];
+        int[] rawToken = new int[suffixCount];
+        int[] rawOffset = new int[suffixCount];
+        int at = 0;
+        for (int t = 0; t < tokens.length; t++) {
+            for (int offset = 0; offset < tokens[t].length(); offset++) {
+                rawToken[at] = t;
+                rawOffset[at] = offset;
+                order[at] = at;
+                at++;
+            }
+        }
+        // Sorted once here, queries only binary search
+        Arrays.sort(order, (a, b) -> compareSuffixes(tokens[rawToken[a]], rawOffset[a], tokens[rawToken[b]], rawOffset[b]));
+        suffixToken = new int[suffixCount];
+        suffixOffset = new int[suffixCount];
+        for (int i = 0; i < suffixCount; i++) {
+            suffixToken[i] = rawToken[order[i]];
+            suffixOffset[i] = rawOffset[order[i]];
+        }
+    }
+
+    public int size() {
+        return players.size();
+    }
+
+    /**
+     * Players whose name matches every token of the query, best first. A blank query
+     * matches everyone in list order without building anything.
+     */
+    public Result search(String query) {
+        String foldedQuery = fold(query);
+        List<String> queryTokens = tokenize(foldedQuery);
+        if (queryTokens.isEmpty()) {
+            return new Result(players, null);
+        }
+
+        int count = players.size();
+        int[] score = new int[count];
+        int[] bestForToken = new int[count];
+        for (int q = 0; q < queryTokens.size(); q++) {
+            String queryToken = queryTokens.get(q);
+            Arrays.fill(bestForToken, NO_MATCH);
+            int from = lowerBound(queryToken);
+            for (int i = from; i < suffixToken.length; i++) {
+                String token = tokens[suffixToken[i]];
+                int offset = suffixOffset[i];
+                if (!token.startsWith(queryToken, offset)) break;
+                int rank = offset > 0 ? RANK_INSIDE_TOKEN
+                        : token.length() == queryToken.length() ? RANK_EXACT_TOKEN : RANK_TOKEN_PREFIX;
+                int player = tokenPlayer[suffixToken[i]];
+                bestForToken[player] = Math.min(bestForToken[player], rank);
+            }
+            // A player missing any query token is out
+            for (int p = 0; p < count; p++) {
+                score[p] = bestForToken[p] == NO_MATCH || score[p] == NO_MATCH
+                        ? NO_MATCH : score[p] + bestForToken[p];
+            }
+        }
+
+        // Rank in the high bits and list position in the low bits, one primitive sort
+        long[] keyed = new long[count];
+        int matches = 0;
+        for (int p = 0; p < count; p++) {
+            if (score[p] == NO_MATCH) continue;
+            int rank = score[p] * 2 + (foldedNames[p].startsWith(foldedQuery) ? 0 : 1);
+            keyed[matches++] = ((long) rank << 32) | p;
+        }
+        Arrays.sort(keyed, 0, matches);
+
+        int[] ranked = new int[matches];
+        for (int i = 0; i < matches; i++) {
+            ranked[i] = (int) keyed[i];
+        }
+        return new Result(players, ranked);
+    }
+
+    /** First suffix that is not less than the query token */
+    private int lowerBound(String queryToken) {
+        int low = 0;
+        int high = suffixToken.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareSuffixes(tokens[suffixToken[mid]], suffixOffset[mid], queryToken, 0) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** Compare a.substring(aOffset) with b.substring(bOffset) without creating either */
+    private static int compareSuffixes(String a, int aOffset, String b, int bOffset) {
+        int aLength = a.length() - aOffset;
+        int bLength = b.length() - bOffset;
+        int shared = Math.min(aLength, bLength);
+        for (int i = 0; i < shared; i++) {
+            char ac = a.charAt(aOffset + i);
+            char bc = b.charAt(bOffset + i);
+            if (ac != bc) {
+                return ac - bc;
+            }
+        }
+        return aLength - bLength;
+    }
+
+    /**
+     * Lowercase with accents removed and anything that isn't a letter or digit as a space
+     */
+    static String fold(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) continue;
+            folded.append(Character.isLetterOrDigit(c) ? c : ' ');
+        }
+        return folded.toString().toLowerCase(Locale.ROOT).trim();
+    }
+
+    private static List<String> tokenize(String folded) {
+        List<String> result = new ArrayList<>(3);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean boundary = i == folded.length() || folded.charAt(i) == ' ';
+            if (boundary) {
+                if (start >= 0) {
+                    String token = folded.substring(start, i);
+                    if (!result.contains(token)) {
+                        result.add(token);
+                    }
+                    start = -1;
+                }
+            } else if (start < 0) {
+                start = i;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,485 @@
+package com.example.nhlapp;
+
+import android.util.Log;
+
+import com.example.nhlapp.Objects.Game;
+import com.example.nhlapp.Objects.Team;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * On-disk game store for finished seasons, one memory-mapped file per season.
+ *
+ * Each file holds fixed-width game records sorted by date, followed by an id
+ * index sorted by gameId, so a date or a single game is found with a binary
+ * search straight against the mapping. Games are only materialised when asked
+ * for, which keeps old seasons off the heap entirely.
+ *
+ * File layout:
+ *   header   magic, version, record count, first/last date (epoch day), team count
+ *   teams    id, name, abbreviation for every team referenced by the season, used
+ *            only when the app no longer knows the team
+ *   records  RECORD_SIZE bytes each, ordered by (date, gameId)
+ *   id index (gameId, record number) pairs ordered by gameId
+ */
+public class SeasonGameStore {
+    private static final String TAG = "SeasonGameStore";
+    private static final String FILE_SUFFIX = ".games";
+    private static final int MAGIC = 0x4E484C47; // "NHLG"
+    private static final int VERSION = 1;
+
+    // gameId, epochDay, homeId, awayId, homeScore, awayScore, state, pad, startEpochSecond
+    static final int RECORD_SIZE = 32;
+    private static final int ID_INDEX_ENTRY_SIZE = 8;
+    private static final long NO_START_TIME = Long.MIN_VALUE;
+
+    private static final String[] GAME_STATES = {null, "FUT", "PRE", "LIVE", "CRIT", "FINAL", "OFF"};
+
+    /** Resolves a stored team id to the app's Team, null when it isn't known */
+    public interface TeamLookup {
+        Team getTeam(int teamId);
+    }
+
+    private final File directory;
+    private final TeamLookup teamLookup;
+    private final Map<String, MappedSeason> openSeasons = new HashMap<>();
+    private boolean scanned = false;
+
+    public SeasonGameStore(File directory, TeamLookup teamLookup) {
+        this.directory = directory;
+        this.teamLookup = teamLookup;
+    }
+
+    /**
+     * Whether a season like "20232024" is over and its games can be stored.
+     * Playoffs end in June, from July of the end year nothing in it changes.
+     */
+    public static boolean isFinishedSeason(String season, LocalDate today) {
+        if (season == null || season.length() != 8) {
+            return false;
+        }
+        int endYear;
+        try {
+            endYear = Integer.parseInt(season.substring(4));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        return !today.isBefore(LocalDate.of(endYear, 7, 1));
+    }
+
+    /**
+     * Write a season to disk, replacing any previous copy
+     */
+    public synchronized boolean writeSeason(String season, List<Game> games) {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            Log.e(TAG, "Could not create " + directory);
+            return false;
+        }
+
+        List<Game> sorted = new ArrayList<>();
+        Map<Integer, Team> teams = new LinkedHashMap<>();
+        for (Game game : games) {
+            if (game == null || GameDateIndex.toEpochDay(game.getGameDate()) == GameDateIndex.NO_DAY) {
+                continue;
+            }
+            sorted.add(game);
+            collectTeam(teams, game.getHomeTeam());
+            collectTeam(teams, game.getAwayTeam());
+        }
+        sorted.sort((a, b) -> {
+            int byDate = Integer.compare(GameDateIndex.toEpochDay(a.getGameDate()),
+                    GameDateIndex.toEpochDay(b.getGameDate()));
+            return byDate != 0 ? byDate : Integer.compare(a.getGameId(), b.getGameId());
+        });
+
+        byte[][] teamNames = new byte[teams.size()][];
+        byte[][] teamAbbrevs = new byte[teams.size()][];
+        int teamBytes = 0;
+        int t = 0;
+        for (Team team : teams.values()) {
+            teamNames[t] = utf8(team.getName());
+            teamAbbrevs[t] = utf8(team.getAbreviatedName());
+            teamBytes += 4 + 2 + teamNames[t].length + 2 + teamAbbrevs[t].length;
+            t++;
+        }
+
+        int count = sorted.size();
+        int headerSize = 6 * 4;
+        ByteBuffer buffer = ByteBuffer.allocate(headerSize + teamBytes
+                + count * RECORD_SIZE + count * ID_INDEX_ENTRY_SIZE);
+
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(count);
+        buffer.putInt(count == 0 ? 0 : GameDateIndex.toEpochDay(sorted.get(0).getGameDate()));
+        buffer.putInt(count == 0 ? 0 : GameDateIndex.toEpochDay(sorted.get(count - 1).getGameDate()));
+        buffer.putInt(teams.size());
+
+        t = 0;
+        for (Integer teamId : teams.keySet()) {
+            buffer.putInt(teamId);
+            buffer.putShort((short) teamNames[t].length).put(teamNames[t]);
+            buffer.putShort((short) teamAbbrevs[t].length).put(teamAbbrevs[t]);
+            t++;
+        }
+
+        long[] idIndex = new long[count];
+        for (int i = 0; i < count; i++) {
+            Game game = sorted.get(i);
+            buffer.putInt(game.getGameId());
+            buffer.putInt(GameDateIndex.toEpochDay(game.getGameDate()));
+            buffer.putInt(game.getHomeTeamId());
+            buffer.putInt(game.getAwayTeamId());
+            buffer.putShort((short) game.getHomeScore());
+            buffer.putShort((short) game.getAwayScore());
+            buffer.put(stateCode(game.getTimeStatus()));
+            buffer.put(new byte[3]);
+            buffer.putLong(toEpochSecond(game.getStartTime()));
+            idIndex[i] = ((long) game.getGameId() << 32) | i;
+        }
+
+        Arrays.sort(idIndex);
+        for (long entry : idIndex) {
+            buffer.putInt((int) (entry >> 32));
+            buffer.putInt((int) entry);
+        }
+        buffer.flip();
+
+        File target = seasonFile(season);
+        File temp = new File(directory, season + FILE_SUFFIX + ".tmp");
+        try (RandomAccessFile file = new RandomAccessFile(temp, "rw");
+             FileChannel channel = file.getChannel()) {
+            file.setLength(0);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            Log.e(TAG, "Error writing season " + season, e);
+            temp.delete();
+            return false;
+        }
+
+        openSeasons.remove(season);
+        if (!temp.renameTo(target)) {
+            Log.e(TAG, "Could not move " + temp + " into place");
+            temp.delete();
+            return false;
+        }
+
+        Log.d(TAG, "Stored " + count + " games for season " + season);
+        return true;
+    }
+
+    public synchronized boolean hasSeason(String season) {
+        return openSeason(season) != null;
+    }
+
+    public synchronized List<String> getStoredSeasons() {
+        scanDirectory();
+        return new ArrayList<>(openSeasons.keySet());
+    }
+
+    /**
+     * Every stored game for a season, in date order
+     */
+    public List<Game> getGamesForSeason(String season) {
+        MappedSeason mapped;
+        synchronized (this) {
+            mapped = openSeason(season);
+        }
+        if (mapped == null) {
+            return new ArrayList<>();
+        }
+
+        List<Game> games = new ArrayList<>(mapped.count);
+        for (int i = 0; i < mapped.count; i++) {
+            games.add(mapped.readGame(i, teamLookup));
+        }
+        return games;
+    }
+
+    /**
+     * Games on a date (yyyy-MM-dd) from whichever stored seasons cover it
+     */
+    public List<Game> getGamesForDate(String date) {
+        List<Game> games = new ArrayList<>();
+        int day = GameDateIndex.toEpochDay(date);
+        if (day == GameDateIndex.NO_DAY) {
+            return games;
+        }
+
+        List<MappedSeason> candidates = new ArrayList<>();
+        synchronized (this) {
+            scanDirectory();
+            for (MappedSeason mapped : openSeasons.values()) {
+                if (mapped != null && mapped.count > 0 && day >= mapped.firstDay && day <= mapped.lastDay) {
+                    candidates.add(mapped);
+                }
+            }
+        }
+
+        for (MappedSeason mapped : candidates) {
+            for (int i = mapped.lowerBoundForDay(day); i < mapped.count && mapped.dayAt(i) == day; i++) {
+                games.add(mapped.readGame(i, teamLookup));
+            }
+        }
+        return games;
+    }
+
+    /**
+     * Look up one game, the season is taken from the id's leading year
+     */
+    public Game getGame(int gameId) {
+        int startYear = gameId / 1000000;
+        String season = startYear + String.valueOf(startYear + 1);
+        MappedSeason mapped;
+        synchronized (this) {
+            mapped = openSeason(season);
+        }
+        if (mapped == null) {
+            return null;
+        }
+        int record = mapped.findRecord(gameId);
+        return record < 0 ? null : mapped.readGame(record, teamLookup);
+    }
+
+    /**
+     * Drop every stored season from disk
+     */
+    public synchronized void clear() {
+        openSeasons.clear();
+        scanned = false;
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+    }
+
+    private File seasonFile(String season) {
+        return new File(directory, season + FILE_SUFFIX);
+    }
+
+    private void scanDirectory() {
+        if (scanned) {
+            return;
+        }
+        scanned = true;
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            String name = file.getName();
+            if (name.endsWith(FILE_SUFFIX)) {
+                openSeason(name.substring(0, name.length() - FILE_SUFFIX.length()));
+            }
+        }
+    }
+
+    private MappedSeason openSeason(String season) {
+        MappedSeason mapped = openSeasons.get(season);
+        if (mapped != null) {
+            return mapped;
+        }
+
+        File file = seasonFile(season);
+        if (!file.isFile()) {
+            return null;
+        }
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mapped = new MappedSeason(buffer);
+            openSeasons.put(season, mapped);
+            return mapped;
+        } catch (IOException e) {
+            // Could not be read this time, the file itself may be fine
+            Log.e(TAG, "Error mapping season " + season, e);
+            return null;
+        } catch (RuntimeException e) {
+            Log.w(TAG, "Corrupt season file " + file + " (" + file.length() + " bytes), deleting it", e);
+            if (!file.delete()) {
+                Log.e(TAG, "Could not delete " + file);
+            }
+            return null;
+        }
+    }
+
+    private static void collectTeam(Map<Integer, Team> teams, Team team) {
+        if (team != null && !teams.containsKey(team.getTeamID())) {
+            teams.put(team.getTeamID(), team);
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long toEpochSecond(String startTime) {
+        if (startTime == null || startTime.isEmpty()) {
+            return NO_START_TIME;
+        }
+        try {
+            return Instant.parse(startTime).getEpochSecond();
+        } catch (Exception e) {
+            return NO_START_TIME;
+        }
+    }
+
+    private static byte stateCode(String state) {
+        for (int i = 1; i < GAME_STATES.length; i++) {
+            if (GAME_STATES[i].equalsIgnoreCase(state)) {
+                return (byte) i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Read-only view over one mapped season file. Only absolute reads are used
+     * so it can be shared between threads.
+     */
+    private static class MappedSeason {
+        private final ByteBuffer buffer;
+        private final int count;
+        private final int firstDay;
+        private final int lastDay;
+        private final int recordsOffset;
+        private final int idIndexOffset;
+        private final Map<Integer, String[]> teams = new HashMap<>();
+
+        /** Throws IllegalStateException, or the buffer's own exceptions, for a corrupt file */
+        MappedSeason(ByteBuffer buffer) {
+            this.buffer = buffer;
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) > VERSION) {
+                throw new IllegalStateException("Unrecognised season file");
+            }
+            count = buffer.getInt(8);
+            firstDay = buffer.getInt(12);
+            lastDay = buffer.getInt(16);
+            int teamCount = buffer.getInt(20);
+
+            int position = 24;
+            for (int i = 0; i < teamCount; i++) {
+                int teamId = buffer.getInt(position);
+                position += 4;
+                String name = readString(position);
+                position += 2 + (buffer.getShort(position) & 0xFFFF);
+                String abbrev = readString(position);
+                position += 2 + (buffer.getShort(position) & 0xFFFF);
+                teams.put(teamId, new String[]{name, abbrev});
+            }
+
+            recordsOffset = position;
+            idIndexOffset = recordsOffset + count * RECORD_SIZE;
+            if (idIndexOffset + count * ID_INDEX_ENTRY_SIZE > buffer.capacity()) {
+                throw new IllegalStateException("Truncated season file");
+            }
+        }
+
+        private String readString(int position) {
+            int length = buffer.getShort(position) & 0xFFFF;
+            if (length == 0) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = buffer.get(position + 2 + i);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int dayAt(int record) {
+            return buffer.getInt(recordsOffset + record * RECORD_SIZE + 4);
+        }
+
+        /** First record on or after the given day */
+        int lowerBoundForDay(int day) {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (dayAt(mid) < day) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        int findRecord(int gameId) {
+            int low = 0;
+            int high = count - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int id = buffer.getInt(idIndexOffset + mid * ID_INDEX_ENTRY_SIZE);
+                if (id < gameId) {
+                    low = mid + 1;
+                } else if (id > gameId) {
+                    high = mid - 1;
+                } else {
+                    return buffer.getInt(idIndexOffset + mid * ID_INDEX_ENTRY_SIZE + 4);
+                }
+            }
+            return -1;
+        }
+
+        Game readGame(int record, TeamLookup teamLookup) {
+            int offset = recordsOffset + record * RECORD_SIZE;
+            Game game = new Game();
+            game.setGameId(buffer.getInt(offset));
+            game.setGameDate(LocalDate.ofEpochDay(buffer.getInt(offset + 4)).toString());
+            game.setHomeTeam(readTeam(buffer.getInt(offset + 8), teamLookup));
+            game.setAwayTeam(readTeam(buffer.getInt(offset + 12), teamLookup));
+            game.setHomeScore(buffer.getShort(offset + 16));
+            game.setAwayScore(buffer.getShort(offset + 18));
+            int state = buffer.get(offset + 20);
+            if (state > 0 && state < GAME_STATES.length) {
+                game.setTimeStatus(GAME_STATES[state]);
+            }
+            long startTime = buffer.getLong(offset + 24);
+            if (startTime != NO_START_TIME) {
+                game.setStartTime(Instant.ofEpochSecond(startTime).toString());
+            }
+            return game;
+        }
+
+        /**
+         * The app's own Team so logos and the rest come along, the stored names when it isn't known
+         */
+        private Team readTeam(int teamId, TeamLookup teamLookup) {
+            Team known = teamLookup != null ? teamLookup.getTeam(teamId) : null;
+            if (known != null) {
+                return known;
+            }
+            Team team = new Team();
+            team.setTeamID(teamId);
+            String[] names = teams.get(teamId);
+            if (names != null) {
+                team.setName(names[0]);
+                team.setAbreviatedName(names[1]);
+            }
+            return team;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.nhlapp;
+
+import com.example.nhlapp.Objects.Game;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Per-season bookkeeping for incremental schedule syncs: when the season was
+ * last synced and which games are final. Final (OFF) games never change again.
+ * A refresh looks at scheduled and live games, and at games that finished
+ * (FINAL, not yet OFF) within RECENT_FINISH_DAYS of the last sync, since their
+ * scores can still be corrected until they are made official.
+ */
+public class SeasonSyncState {
+    /** Days of schedule covered by one /schedule/{date} response */
+    public static final int SCHEDULE_WEEK_DAYS = 7;
+    /** How far ahead of today upcoming games are refreshed */
+    private static final int LOOKAHEAD_DAYS = 7;
+    /** How long before the last sync a finished but unofficial game is still refreshed */
+    private static final int RECENT_FINISH_DAYS = 2;
+
+    private final String season;
+    private long lastSyncMillis;
+    // Sorted without duplicates, a season's worth is one int[] instead of boxed set entries
+    private int[] finalGameIds;
+
+    public SeasonSyncState(String season) {
+        this.season = season;
+        this.lastSyncMillis = 0;
+        this.finalGameIds = new int[0];
+    }
+
+    public String getSeason() {
+        return season;
+    }
+
+    public synchronized long getLastSyncMillis() {
+        return lastSyncMillis;
+    }
+
+    public synchronized void setLastSyncMillis(long lastSyncMillis) {
+        this.lastSyncMillis = lastSyncMillis;
+    }
+
+    public synchronized boolean isFinal(int gameId) {
+        return Arrays.binarySearch(finalGameIds, gameId) >= 0;
+    }
+
+    public synchronized int getFinalGameCount() {
+        return finalGameIds.length;
+    }
+
+    /**
+     * Record every game in the list that has reached a final state
+     */
+    public synchronized void recordFinalGames(Collection<Game> games) {
+        int[] added = new int[games.size()];
+        int count = 0;
+        for (Game game : games) {
+            if (game != null && isFinalState(game.getTimeStatus()) && !isFinal(game.getGameId())) {
+                added[count++] = game.getGameId();
+            }
+        }
+        if (count > 0) {
+            int[] merged = Arrays.copyOf(finalGameIds, finalGameIds.length + count);
+            System.arraycopy(added, 0, merged, finalGameIds.length, count);
+            finalGameIds = sortedDistinct(merged, merged.length);
+        }
+    }
+
+    /** The first count ids sorted with duplicates removed, exactly sized */
+    private static int[] sortedDistinct(int[] ids, int count) {
+        Arrays.sort(ids, 0, count);
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            if (size == 0 || ids[size - 1] != ids[i]) {
+                ids[size++] = ids[i];
+            }
+        }
+        return size == ids.length ? ids : Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * OFF is the schedule feed's state for an official final. FINAL games just ended
+     * and can still change, they are not final here.
+     */
+    public static boolean isFinalState(String gameState) {
+        return "OFF".equalsIgnoreCase(gameState);
+    }
+
+    /**
+     * Whether a game that isn't OFF can still change. Scheduled and live games can,
+     * FINAL ones only inside the recent window. Games stored before timeStatus was
+     * kept have none, their schedule date decides like for FINAL.
+     */
+    private static boolean canStillChange(String gameState, LocalDate date, LocalDate recentFrom) {
+        if (gameState == null || gameState.isEmpty() || "FINAL".equalsIgnoreCase(gameState)) {
+            return !date.isBefore(recentFrom);
+        }
+        return true;
+    }
+
+    /**
+     * Start dates for the /schedule/{date} calls needed to refresh every game
+     * that can still change, up to a week from today. Each call returns a full
+     * week, so nearby dates collapse into a single request.
+     */
+    public synchronized List<String> getWeeksToRefresh(Collection<Game> seasonGames, LocalDate today) {
+        LocalDate horizon = today.plusDays(LOOKAHEAD_DAYS);
+        // Games that finished since the last sync, give or take, never synced counts from today
+        LocalDate lastSync = lastSyncMillis > 0
+                ? Instant.ofEpochMilli(lastSyncMillis).atZone(ZoneId.systemDefault()).toLocalDate()
+                : today;
+        LocalDate recentFrom = (lastSync.isBefore(today) ? lastSync : today).minusDays(RECENT_FINISH_DAYS);
+        TreeSet<LocalDate> pendingDates = new TreeSet<>();
+
+        for (Game game : seasonGames) {
+            if (game == null || game.getGameDate() == null || isFinal(game.getGameId())) {
+                continue;
+            }
+            try {
+                LocalDate date = LocalDate.parse(game.getGameDate());
+                if (!date.isAfter(horizon) && canStillChange(game.getTimeStatus(), date, recentFrom)) {
+                    pendingDates.add(date);
+                }
+            } catch (Exception e) {
+                // Leave malformed dates for the next full sync
+            }
+        }
+
+        if (pendingDates.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<String> weekStarts = new ArrayList<>();
+        LocalDate coveredUntil = null;
+        for (LocalDate date : pendingDates) {
+            if (coveredUntil == null || date.isAfter(coveredUntil)) {
+                weekStarts.add(date.toString());
+                coveredUntil = date.plusDays(SCHEDULE_WEEK_DAYS - 1);
+            }
+        }
+        return weekStarts;
+    }
+
+    public synchronized JSONObject toJson() throws JSONException {
+        JSONObject json = new JSONObject();
+        json.put("season", season);
+        json.put("lastSyncMillis", lastSyncMillis);
+        JSONArray finals = new JSONArray();
+        for (int gameId : finalGameIds) {
+            finals.put(gameId);
+        }
+        json.put("finalGameIds", finals);
+        return json;
+    }
+
+    public static SeasonSyncState fromJson(JSONObject json) throws JSONException {
+        SeasonSyncState state = new SeasonSyncState(json.getString("season"));
+        state.lastSyncMillis = json.optLong("lastSyncMillis", 0);
+        JSONArray finals = json.optJSONArray("finalGameIds");
+        if (finals != null) {
+            int[] ids = new int[finals.length()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = finals.getInt(i);
+            }
+            state.finalGameIds = sortedDistinct(ids, ids.length);
+        }
+        return state;
+    }
+}
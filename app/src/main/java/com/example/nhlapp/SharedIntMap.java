@@ -0,0 +1,101 @@
+package com.example.nhlapp;
+
+import java.util.ArrayList;
+
+/**
+ * Copy-on-write wrapper around IntObjectMap for the DataManager indexes.
+ * Readers go straight to the current table without locking or boxing.
+ * Writers copy it, apply their change and publish the copy, so readers never
+ * see a half applied batch. Prefer putAll/removeAll for bulk changes since
+ * every write copies the table once.
+ */
+public class SharedIntMap<V> {
+    private volatile IntObjectMap<V> map = new IntObjectMap<>();
+
+    public V get(int key) {
+        return map.get(key);
+    }
+
+    public boolean containsKey(int key) {
+        return map.containsKey(key);
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    public ArrayList<V> values() {
+        return map.values();
+    }
+
+    /**
+     * The current table, must be treated as read-only
+     */
+    public IntObjectMap<V> current() {
+        return map;
+    }
+
+    public synchronized V put(int key, V value) {
+        IntObjectMap<V> updated = map.copy();
+        V previous = updated.put(key, value);
+        map = updated;
+        return previous;
+    }
+
+    public synchronized V replace(int key, V value) {
+        if (!map.containsKey(key)) {
+            return null;
+        }
+        return put(key, value);
+    }
+
+    public synchronized void putAll(IntObjectMap<? extends V> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        IntObjectMap<V> updated = map.copy();
+        updated.putAll(batch);
+        map = updated;
+    }
+
+    public synchronized V remove(int key) {
+        if (!map.containsKey(key)) {
+            return null;
+        }
+        IntObjectMap<V> updated = map.copy();
+        V previous = updated.remove(key);
+        map = updated;
+        return previous;
+    }
+
+    /**
+     * Remove every key in the array, returns the removed values
+     */
+    public synchronized ArrayList<V> removeAll(int[] keys) {
+        ArrayList<V> removed = new ArrayList<>();
+        IntObjectMap<V> updated = map.copy();
+        for (int key : keys) {
+            V previous = updated.remove(key);
+            if (previous != null) {
+                removed.add(previous);
+            }
+        }
+        map = updated;
+        return removed;
+    }
+
+    /**
+     * Swap the whole contents in one step
+     */
+    public synchronized void replaceAll(IntObjectMap<V> contents) {
+        map = contents.copy();
+    }
+
+    public synchronized void clear() {
+        map = new IntObjectMap<>();
+    }
+}
@@ -0,0 +1,508 @@
+package com.example.nhlapp;
+
+import com.example.nhlapp.Objects.Game;
+import com.example.nhlapp.Objects.NHLPlayer;
+import com.example.nhlapp.Objects.Team;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary snapshot of the DataManager store.
+ *
+ * Layout: magic, version, an interned string table, then sections of
+ * length-prefixed records. Every id is a plain int and every string is an
+ * index into the table, so team names, abbreviations and dates are stored
+ * once no matter how many games reference them. Records carry their length so
+ * a reader can skip fields or whole sections it does not understand, which
+ * keeps older builds able to read newer snapshots.
+ *
+ * Between full snapshots, changed records are appended to a journal as small
+ * batches in the same encoding. Replaying the journal over the snapshot gives
+ * the current state, and compaction folds it back into a new snapshot. Each
+ * batch carries its length and a CRC32, so a batch torn by a crash is found on
+ * the next load and cut off before anything else is appended. Full
+ * snapshots are written to a temp file and renamed into place, so a process
+ * killed mid-write leaves the previous snapshot intact.
+ */
+public class SnapshotStore {
+    public static final String SNAPSHOT_FILE = "nhl_snapshot.bin";
+    public static final String JOURNAL_FILE = "nhl_snapshot.journal";
+
+    private static final int MAGIC = 0x4E484C53; // "NHLS"
+    private static final int VERSION = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int NO_STRING = -1;
+    // Journal batch header: payload length then CRC32 of the payload
+    private static final int BATCH_HEADER_SIZE = 8;
+
+    static final byte SECTION_TEAMS = 1;
+    static final byte SECTION_PLAYERS = 2;
+    static final byte SECTION_GAMES = 3;
+    static final byte SECTION_SEASONS = 4;
+    static final byte SECTION_SEASON_GAMES = 5;
+    static final byte SECTION_END = 0;
+
+    /** Everything a snapshot holds, in the shape DataManager rebuilds its maps from */
+    public static class Snapshot {
+        public final List<Team> teams = new ArrayList<>();
+        public final List<NHLPlayer> players = new ArrayList<>();
+        public final List<Game> games = new ArrayList<>();
+        public final List<String> seasons = new ArrayList<>();
+        public final Map<String, int[]> seasonGameIds = new LinkedHashMap<>();
+        /** False for journal batches that did not touch the season list */
+        public boolean hasSeasons = false;
+    }
+
+    /** The readable part of a journal */
+    public static class Journal {
+        /** Every batch that passed its checksum, in append order */
+        public final List<Snapshot> batches = new ArrayList<>();
+        /** Bytes up to the end of the last good batch */
+        public long validLength = 0;
+        /** True when the file holds a partial or corrupt batch after validLength */
+        public boolean tornTail = false;
+    }
+
+    private SnapshotStore() {
+    }
+
+    // Writing
+
+    /**
+     * Write a full snapshot, replacing the old file only once the new one is complete
+     */
+    public static void write(File file, Collection<Team> teams, Collection<NHLPlayer> players,
+                             Collection<Game> games, List<String> seasons,
+                             Map<String, int[]> seasonGameIds) throws IOException {
+        ByteArrayOutputStream body = encode(teams, players, games, seasons, seasonGameIds);
+
+        File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+        try (FileChannel channel = new FileOutputStream(temp).getChannel();
+             DataOutputStream out = new DataOutputStream(
+                     new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            body.writeTo(out);
+            out.flush();
+            channel.force(false);
+        } catch (IOException e) {
+            temp.delete();
+            throw e;
+        }
+
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            throw new IOException("Could not move snapshot into place");
+        }
+    }
+
+    /**
+     * Append one batch of changed records to the journal. Seasons may be null
+     * when the season list has not changed.
+     */
+    public static void appendJournal(File file, Collection<Team> teams, Collection<NHLPlayer> players,
+                                     Collection<Game> games, List<String> seasons,
+                                     Map<String, int[]> seasonGameIds) throws IOException {
+        ByteArrayOutputStream body = encode(teams, players, games, seasons, seasonGameIds);
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(body.size() + 4);
+        DataOutputStream payloadOut = new DataOutputStream(payload);
+        payloadOut.writeInt(VERSION);
+        body.writeTo(payloadOut);
+        payloadOut.flush();
+        byte[] bytes = payload.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length);
+
+        try (FileChannel channel = new FileOutputStream(file, true).getChannel();
+             DataOutputStream out = new DataOutputStream(
+                     new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE))) {
+            out.writeInt(bytes.length);
+            out.writeInt((int) crc.getValue());
+            out.write(bytes);
+            out.flush();
+            channel.force(false);
+        }
+    }
+
+    /**
+     * String table followed by the record sections
+     */
+    private static ByteArrayOutputStream encode(Collection<Team> teams, Collection<NHLPlayer> players,
+                                                Collection<Game> games, List<String> seasons,
+                                                Map<String, int[]> seasonGameIds) throws IOException {
+        StringTable strings = new StringTable();
+        ByteArrayOutputStream sections = new ByteArrayOutputStream(BUFFER_SIZE);
+        DataOutputStream bodyOut = new DataOutputStream(sections);
+        RecordWriter records = new RecordWriter();
+
+        bodyOut.writeByte(SECTION_TEAMS);
+        bodyOut.writeInt(teams.size());
+        for (Team team : teams) {
+            writeTeam(records.begin(), team, strings);
+            records.end(bodyOut);
+        }
+
+        bodyOut.writeByte(SECTION_PLAYERS);
+        bodyOut.writeInt(players.size());
+        for (NHLPlayer player : players) {
+            writePlayer(records.begin(), player, strings);
+            records.end(bodyOut);
+        }
+
+        bodyOut.writeByte(SECTION_GAMES);
+        bodyOut.writeInt(games.size());
+        for (Game game : games) {
+            writeGame(records.begin(), game, strings);
+            records.end(bodyOut);
+        }
+
+        if (seasons != null) {
+            bodyOut.writeByte(SECTION_SEASONS);
+            bodyOut.writeInt(seasons.size());
+            for (String season : seasons) {
+                records.begin().writeInt(strings.indexOf(season));
+                records.end(bodyOut);
+            }
+        }
+
+        bodyOut.writeByte(SECTION_SEASON_GAMES);
+        bodyOut.writeInt(seasonGameIds.size());
+        for (Map.Entry<String, int[]> entry : seasonGameIds.entrySet()) {
+            DataOutputStream out = records.begin();
+            out.writeInt(strings.indexOf(entry.getKey()));
+            int[] ids = entry.getValue();
+            out.writeInt(ids.length);
+            for (int id : ids) {
+                out.writeInt(id);
+            }
+            records.end(bodyOut);
+        }
+
+        bodyOut.writeByte(SECTION_END);
+        bodyOut.flush();
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(sections.size() + 1024);
+        DataOutputStream out = new DataOutputStream(body);
+        strings.writeTo(out);
+        out.flush();
+        sections.writeTo(body);
+        return body;
+    }
+
+    static void writeTeam(DataOutputStream out, Team team, StringTable strings) throws IOException {
+        out.writeInt(team.getTeamID());
+        out.writeInt(strings.indexOf(team.getName()));
+        out.writeInt(strings.indexOf(team.getAbreviatedName()));
+        out.writeInt(strings.indexOf(team.getFullName()));
+        out.writeInt(strings.indexOf(team.getLogoPath()));
+        out.writeInt(strings.indexOf(team.getLogoUrl()));
+        List<Integer> roster = team.getRosterPlayerIds();
+        out.writeInt(roster.size());
+        for (int playerId : roster) {
+            out.writeInt(playerId);
+        }
+    }
+
+    static void writePlayer(DataOutputStream out, NHLPlayer player, StringTable strings) throws IOException {
+        out.writeInt(player.getPlayerId());
+        out.writeInt(strings.indexOf(player.getName()));
+        out.writeInt(player.getTeamId());
+        out.writeInt(strings.indexOf(player.getPosition()));
+        out.writeInt(player.getJerseyNumber());
+        out.writeInt(strings.indexOf(player.getHeadshotPath()));
+    }
+
+    static void writeGame(DataOutputStream out, Game game, StringTable strings) throws IOException {
+        out.writeInt(game.getGameId());
+        out.writeInt(strings.indexOf(game.getGameDate()));
+        out.writeInt(game.getHomeTeamId());
+        out.writeInt(game.getAwayTeamId());
+        out.writeInt(game.getHomeScore());
+        out.writeInt(game.getAwayScore());
+        out.writeInt(strings.indexOf(game.getHomeTeamName()));
+        out.writeInt(strings.indexOf(game.getAwayTeamName()));
+        out.writeInt(strings.indexOf(game.getTimeStatus()));
+        out.writeInt(strings.indexOf(game.getStartTime()));
+    }
+
+    // Reading
+
+    /**
+     * Stream a snapshot back in, returns null if the file is missing
+     */
+    public static Snapshot read(File file) throws IOException {
+        if (!file.isFile()) {
+            return null;
+        }
+
+        try (FileChannel channel = new FileInputStream(file).getChannel();
+             DataInputStream in = new DataInputStream(
+                     new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE))) {
+
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a snapshot file: " + file.getName());
+            }
+            int version = in.readInt();
+            if (version > VERSION) {
+                throw new IOException("Snapshot version " + version + " is newer than " + VERSION);
+            }
+
+            return readBody(in);
+        }
+    }
+
+    /**
+     * Read every batch that passes its checksum, in the order they were appended.
+     * Reading stops at the first short, corrupt or unreadable batch, the ones before
+     * it are still returned. Only throws if the file can't be opened.
+     */
+    public static Journal readJournal(File file) throws IOException {
+        Journal journal = new Journal();
+        if (!file.isFile()) {
+            return journal;
+        }
+
+        try (FileChannel channel = new FileInputStream(file).getChannel();
+             DataInputStream in = new DataInputStream(
+                     new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE))) {
+            long remaining = channel.size();
+            CRC32 crc = new CRC32();
+            while (remaining > 0) {
+                if (remaining < BATCH_HEADER_SIZE) {
+                    journal.tornTail = true;
+                    break;
+                }
+                byte[] batch;
+                int checksum;
+                try {
+                    int length = in.readInt();
+                    checksum = in.readInt();
+                    remaining -= BATCH_HEADER_SIZE;
+                    if (length < 4 || length > remaining) {
+                        journal.tornTail = true;
+                        break;
+                    }
+                    batch = new byte[length];
+                    in.readFully(batch);
+                    remaining -= length;
+                } catch (IOException e) {
+                    // The disk failed rather than the data, keep the rest of the file as is
+                    break;
+                }
+
+                crc.reset();
+                crc.update(batch, 0, batch.length);
+                if ((int) crc.getValue() != checksum) {
+                    journal.tornTail = true;
+                    break;
+                }
+                DataInputStream batchIn = new DataInputStream(new ByteArrayInputStream(batch));
+                try {
+                    if (batchIn.readInt() > VERSION) {
+                        // Written by a newer build, leave it for that build
+                        break;
+                    }
+                    journal.batches.add(readBody(batchIn));
+                } catch (IOException e) {
+                    journal.tornTail = true;
+                    break;
+                }
+                journal.validLength += BATCH_HEADER_SIZE + batch.length;
+            }
+        }
+        return journal;
+    }
+
+    /**
+     * Cut the journal back to its last good batch so new batches follow it directly
+     */
+    public static void truncateJournal(File file, long length) throws IOException {
+        try (FileChannel channel = new RandomAccessFile(file, "rw").getChannel()) {
+            channel.truncate(length);
+            channel.force(false);
+        }
+    }
+
+    private static Snapshot readBody(DataInputStream in) throws IOException {
+        String[] strings = StringTable.readFrom(in);
+        Snapshot snapshot = new Snapshot();
+        RecordReader records = new RecordReader();
+
+        byte section;
+        while ((section = in.readByte()) != SECTION_END) {
+            int count = in.readInt();
+            if (section == SECTION_SEASONS) {
+                snapshot.hasSeasons = true;
+            }
+            for (int i = 0; i < count; i++) {
+                DataInputStream record = records.next(in);
+                switch (section) {
+                    case SECTION_TEAMS:
+                        snapshot.teams.add(readTeam(record, strings));
+                        break;
+                    case SECTION_PLAYERS:
+                        snapshot.players.add(readPlayer(record, strings));
+                        break;
+                    case SECTION_GAMES:
+                        snapshot.games.add(readGame(record, strings));
+                        break;
+                    case SECTION_SEASONS:
+                        snapshot.seasons.add(string(strings, record.readInt()));
+                        break;
+                    case SECTION_SEASON_GAMES:
+                        String season = string(strings, record.readInt());
+                        int[] ids = new int[record.readInt()];
+                        for (int j = 0; j < ids.length; j++) {
+                            ids[j] = record.readInt();
+                        }
+                        snapshot.seasonGameIds.put(season, ids);
+                        break;
+                    default:
+                        // Unknown section from a newer build, the record is already consumed
+                        break;
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    static Team readTeam(DataInputStream in, String[] strings) throws IOException {
+        Team team = new Team();
+        team.setTeamID(in.readInt());
+        team.setName(string(strings, in.readInt()));
+        team.setAbreviatedName(string(strings, in.readInt()));
+        team.setFullName(string(strings, in.readInt()));
+        team.setLogoPath(string(strings, in.readInt()));
+        team.setLogoUrl(string(strings, in.readInt()));
+        int rosterSize = in.readInt();
+        List<Integer> roster = new ArrayList<>(rosterSize);
+        for (int i = 0; i < rosterSize; i++) {
+            roster.add(in.readInt());
+        }
+        team.setRosterPlayerIds(roster);
+        return team;
+    }
+
+    static NHLPlayer readPlayer(DataInputStream in, String[] strings) throws IOException {
+        NHLPlayer player = new NHLPlayer();
+        player.setPlayerId(in.readInt());
+        player.setName(string(strings, in.readInt()));
+        player.setTeamId(in.readInt());
+        player.setPosition(string(strings, in.readInt()));
+        player.setJerseyNumber(in.readInt());
+        player.setHeadshotPath(string(strings, in.readInt()));
+        return player;
+    }
+
+    static Game readGame(DataInputStream in, String[] strings) throws IOException {
+        Game game = new Game();
+        game.setGameId(in.readInt());
+        game.setGameDate(string(strings, in.readInt()));
+        game.setHomeTeamId(in.readInt());
+        game.setAwayTeamId(in.readInt());
+        game.setHomeScore(in.readInt());
+        game.setAwayScore(in.readInt());
+        game.setHomeTeamName(string(strings, in.readInt()));
+        game.setAwayTeamName(string(strings, in.readInt()));
+        game.setTimeStatus(string(strings, in.readInt()));
+        game.setStartTime(string(strings, in.readInt()));
+        return game;
+    }
+
+    private static String string(String[] strings, int index) {
+        return index == NO_STRING ? null : strings[index];
+    }
+
+    /**
+     * Interns every string written so each distinct value is stored once
+     */
+    static class StringTable {
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int indexOf(String value) {
+            if (value == null) {
+                return NO_STRING;
+            }
+            Integer index = indexes.get(value);
+            if (index == null) {
+                index = values.size();
+                indexes.put(value, index);
+                values.add(value);
+            }
+            return index;
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeInt(values.size());
+            for (String value : values) {
+                out.writeUTF(value);
+            }
+        }
+
+        static String[] readFrom(DataInputStream in) throws IOException {
+            String[] strings = new String[in.readInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = in.readUTF();
+            }
+            return strings;
+        }
+    }
+
+    /**
+     * Buffers one record so it can be written behind its length
+     */
+    static class RecordWriter {
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        private final DataOutputStream out = new DataOutputStream(buffer);
+
+        DataOutputStream begin() {
+            buffer.reset();
+            return out;
+        }
+
+        void end(DataOutputStream target) throws IOException {
+            out.flush();
+            target.writeInt(buffer.size());
+            buffer.writeTo(target);
+        }
+    }
+
+    /**
+     * Hands out each record as its own bounded stream, extra trailing fields are ignored
+     */
+    static class RecordReader {
+        private byte[] buffer = new byte[256];
+
+        DataInputStream next(DataInputStream in) throws IOException {
+            int length = in.readInt();
+            if (length < 0) {
+                throw new IOException("Corrupt record length " + length);
+            }
+            if (length > buffer.length) {
+                buffer = new byte[Math.max(length, buffer.length * 2)];
+            }
+            in.readFully(buffer, 0, length);
+            return new DataInputStream(new ByteArrayInputStream(buffer, 0, length));
+        }
+    }
+}
@@ -0,0 +1,820 @@
+package com.example.nhlapp;
+
+import android.util.Log;
+
+import com.example.nhlapp.Objects.Game;
+import com.example.nhlapp.Objects.NHLPlayer;
+import com.example.nhlapp.Objects.Play;
+import com.example.nhlapp.Objects.PlayDetails;
+import com.example.nhlapp.Objects.Team;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds Game, Team and NHLPlayer objects straight off a response stream with
+ * Gson's JsonReader. Nothing is buffered into a String or a JSONObject tree,
+ * and any field the app does not use is skipped without being materialized.
+ */
+public class StreamingJsonParser {
+    private static final String TAG = "StreamingJsonParser";
+
+    /** Parses a response body into a result object on the request thread */
+    public interface ResponseParser<T> {
+        T parse(Reader reader) throws IOException;
+    }
+
+    /** Boxscore game plus the season it belongs to, needed for headshot URLs */
+    public static class Boxscore {
+        public final Game game;
+        public final int season;
+
+        Boxscore(Game game, int season) {
+            this.game = game;
+            this.season = season;
+        }
+    }
+
+    /** Live fields from /gamecenter/{id}/landing, -1 or null when the feed left them out */
+    public static class Landing {
+        public int gameId = -1;
+        public String gameState;
+        public int period = -1;
+        public int secondsRemaining = -1;
+        public boolean clockRunning;
+        public boolean inIntermission;
+        public int homeScore = -1;
+        public int awayScore = -1;
+        public int homeShots = -1;
+        public int awayShots = -1;
+    }
+
+    private StreamingJsonParser() {
+    }
+
+    /**
+     * Parse /club-schedule-season/{team}/{season}: { "games": [ ... ] }
+     */
+    public static List<Game> parseClubSchedule(Reader source) throws IOException {
+        List<Game> games = new ArrayList<>();
+        boolean hasGames = false;
+        boolean hasCurrentSeason = false;
+        try (JsonReader reader = new JsonReader(source)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if ("games".equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    hasGames = true;
+                    readGameArray(reader, games);
+                } else {
+                    if ("currentSeason".equals(name)) {
+                        hasCurrentSeason = true;
+                    }
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        // Same guard as the old JSONObject parse, a response without both is not a schedule
+        if (!hasGames || !hasCurrentSeason) {
+            Log.w(TAG, "Club schedule without games or currentSeason, ignoring it");
+            return new ArrayList<>();
+        }
+        return games;
+    }
+
+    /**
+     * Parse /schedule/{date}: { "gameWeek": [ { "games": [ ... ] } ] }
+     */
+    public static List<Game> parseScheduleWeeks(Reader source) throws IOException {
+        List<Game> games = new ArrayList<>();
+        try (JsonReader reader = new JsonReader(source)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if ("gameWeek".equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        reader.beginObject();
+                        while (reader.hasNext()) {
+                            if ("games".equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                                readGameArray(reader, games);
+                            } else {
+                                reader.skipValue();
+                            }
+                        }
+                        reader.endObject();
+                    }
+                    reader.endArray();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        return games;
+    }
+
+    /**
+     * Parse /gamecenter/{id}/boxscore into a game with both teams and their player stats
+     */
+    public static Boxscore parseBoxscore(Reader source) throws IOException {
+        Game game = new Game();
+        int season = 0;
+
+        try (JsonReader reader = new JsonReader(source)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "id":
+                        game.setGameId(reader.nextInt());
+                        break;
+                    case "season":
+                        season = reader.nextInt();
+                        break;
+                    case "gameDate":
+                        game.setGameDate(nextStringOrNull(reader));
+                        break;
+                    case "gameState":
+                        game.setTimeStatus(nextStringOrNull(reader));
+                        break;
+                    case "startTimeUTC":
+                        game.setStartTime(nextStringOrNull(reader));
+                        break;
+                    case "awayTeam":
+                        game.setAwayTeam(readBoxscoreTeam(reader));
+                        break;
+                    case "homeTeam":
+                        game.setHomeTeam(readBoxscoreTeam(reader));
+                        break;
+                    case "playerByGameStats":
+                        readPlayerByGameStats(reader, game);
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+        }
+
+        Team awayTeam = game.getAwayTeam();
+        if (awayTeam != null) {
+            game.setAwayTeamId(awayTeam.getTeamID());
+            game.setAwayTeamName(awayTeam.getAbreviatedName());
+            game.setAwayScore(awayTeam.getGoalsFor());
+        }
+        Team homeTeam = game.getHomeTeam();
+        if (homeTeam != null) {
+            game.setHomeTeamId(homeTeam.getTeamID());
+            game.setHomeTeamName(homeTeam.getAbreviatedName());
+            game.setHomeScore(homeTeam.getGoalsFor());
+        }
+
+        return new Boxscore(game, season);
+    }
+
+    /**
+     * Parse /gamecenter/{id}/landing down to the fields a live score line needs.
+     * Scoring summaries, three stars and the rest of the payload are skipped.
+     */
+    public static Landing parseLanding(Reader source) throws IOException {
+        Landing landing = new Landing();
+        try (JsonReader reader = new JsonReader(source)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "id":
+                        landing.gameId = reader.nextInt();
+                        break;
+                    case "gameState":
+                        landing.gameState = nextStringOrNull(reader);
+                        break;
+                    case "period":
+                        landing.period = reader.nextInt();
+                        break;
+                    case "periodDescriptor":
+                        readPeriodDescriptor(reader, landing);
+                        break;
+                    case "clock":
+                        readClock(reader, landing);
+                        break;
+                    case "homeTeam":
+                        int[] home = readLandingTeam(reader);
+                        landing.homeScore = home[0];
+                        landing.homeShots = home[1];
+                        break;
+                    case "awayTeam":
+                        int[] away = readLandingTeam(reader);
+                        landing.awayScore = away[0];
+                        landing.awayShots = away[1];
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+        }
+        return landing;
+    }
+
+    /**
+     * Parse /gamecenter/{id}/play-by-play, keeping only plays with a sortOrder above
+     * afterSortOrder. Older plays are skipped before their details are read.
+     */
+    public static List<Play> parsePlays(Reader source, int afterSortOrder) throws IOException {
+        List<Play> plays = new ArrayList<>();
+        try (JsonReader reader = new JsonReader(source)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if ("plays".equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        Play play = readPlay(reader, afterSortOrder);
+                        if (play != null) {
+                            plays.add(play);
+                        }
+                    }
+                    reader.endArray();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        return plays;
+    }
+
+    /**
+     * One play, or null when its sortOrder is at or below the watermark
+     */
+    private static Play readPlay(JsonReader reader, int afterSortOrder) throws IOException {
+        Play play = new Play();
+        int sortOrder = Integer.MIN_VALUE;
+        boolean alreadyIngested = false;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            // Once the play is known to be old, the rest of it is skipped unread
+            if (alreadyIngested) {
+                reader.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "eventId":
+                    play.setEventID(reader.nextInt());
+                    break;
+                case "sortOrder":
+                    sortOrder = reader.nextInt();
+                    play.setSortOrder(String.valueOf(sortOrder));
+                    alreadyIngested = sortOrder <= afterSortOrder;
+                    break;
+                case "periodDescriptor":
+                    readPlayPeriod(reader, play);
+                    break;
+                case "timeInPeriod":
+                    int elapsed = parseTimeOnIceToSeconds(nextStringOrNull(reader));
+                    play.setTimeInPeriod(new int[]{elapsed / 60, elapsed % 60});
+                    break;
+                case "timeRemaining":
+                    play.setTimeRemaining(parseTimeOnIceToSeconds(nextStringOrNull(reader)));
+                    break;
+                case "situationCode":
+                    play.setSituationCode(nextStringOrNull(reader));
+                    break;
+                case "homeTeamDefendingSide":
+                    play.setHomeTeamDefendingSide(nextStringOrNull(reader));
+                    break;
+                case "typeCode":
+                    play.setTypeCode(reader.nextInt());
+                    break;
+                case "typeDescKey":
+                    play.setTypeDescKey(nextStringOrNull(reader));
+                    break;
+                case "details":
+                    readPlayDetails(reader, play);
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        if (alreadyIngested || sortOrder == Integer.MIN_VALUE) {
+            return null;
+        }
+        return play;
+    }
+
+    private static void readPlayPeriod(JsonReader reader, Play play) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return;
+        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "number":
+                    play.setPeriod(reader.nextInt());
+                    break;
+                case "periodType":
+                    play.setPeriodDescriptor(nextStringOrNull(reader));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+    }
+
+    /**
+     * Flat detail values, known numeric fields are read straight into their int slot.
+     * Nested objects are skipped.
+     */
+    private static void readPlayDetails(JsonReader reader, Play play) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return;
+        }
+        PlayDetails details = play.getDetails();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            switch (reader.peek()) {
+                case NUMBER:
+                    PlayDetails.Key known = PlayDetails.keyFor(key);
+                    if (known != null && known.isInt) {
+                        try {
+                            details.putInt(known, reader.nextInt());
+                            break;
+                        } catch (NumberFormatException e) {
+                            // Not an int, the value is still there to read as text
+                        }
+                    }
+                    details.put(key, reader.nextString());
+                    break;
+                case STRING:
+                    details.put(key, reader.nextString());
+                    break;
+                case BOOLEAN:
+                    details.put(key, String.valueOf(reader.nextBoolean()));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+    }
+
+    private static void readPeriodDescriptor(JsonReader reader, Landing landing) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return;
+        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("number".equals(reader.nextName()) && reader.peek() == JsonToken.NUMBER) {
+                landing.period = reader.nextInt();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private static void readClock(JsonReader reader, Landing landing) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return;
+        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "secondsRemaining":
+                    landing.secondsRemaining = reader.nextInt();
+                    break;
+                case "timeRemaining":
+                    // Only used when secondsRemaining is missing
+                    String timeRemaining = nextStringOrNull(reader);
+                    if (landing.secondsRemaining < 0 && timeRemaining != null) {
+                        landing.secondsRemaining = parseTimeOnIceToSeconds(timeRemaining);
+                    }
+                    break;
+                case "running":
+                    landing.clockRunning = reader.nextBoolean();
+                    break;
+                case "inIntermission":
+                    landing.inIntermission = reader.nextBoolean();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+    }
+
+    /**
+     * Score and shots on goal of a landing team, -1 for either one that is missing
+     */
+    private static int[] readLandingTeam(JsonReader reader) throws IOException {
+        int[] scoreAndShots = {-1, -1};
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return scoreAndShots;
+        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "score":
+                    scoreAndShots[0] = reader.nextInt();
+                    break;
+                case "sog":
+                    scoreAndShots[1] = reader.nextInt();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return scoreAndShots;
+    }
+
+    private static void readGameArray(JsonReader reader, List<Game> games) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            Game game = readScheduleGame(reader);
+            if (game != null) {
+                games.add(game);
+            }
+        }
+        reader.endArray();
+    }
+
+    /**
+     * One game entry of a schedule response, null if it has no id
+     */
+    private static Game readScheduleGame(JsonReader reader) throws IOException {
+        Game game = new Game();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    game.setGameId(reader.nextInt());
+                    break;
+                case "gameDate":
+                    game.setGameDate(nextStringOrNull(reader));
+                    break;
+                case "gameState":
+                    game.setTimeStatus(nextStringOrNull(reader));
+                    break;
+                case "startTimeUTC":
+                    game.setStartTime(nextStringOrNull(reader));
+                    break;
+                case "homeTeam":
+                    Team homeTeam = readScheduleTeam(reader);
+                    game.setHomeTeam(homeTeam);
+                    game.setHomeTeamId(homeTeam.getTeamID());
+                    game.setHomeTeamName(homeTeam.getAbreviatedName());
+                    game.setHomeScore(homeTeam.getGoalsFor());
+                    break;
+                case "awayTeam":
+                    Team awayTeam = readScheduleTeam(reader);
+                    game.setAwayTeam(awayTeam);
+                    game.setAwayTeamId(awayTeam.getTeamID());
+                    game.setAwayTeamName(awayTeam.getAbreviatedName());
+                    game.setAwayScore(awayTeam.getGoalsFor());
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        if (game.getGameId() < 0) {
+            Log.w(TAG, "Skipping schedule entry without an id");
+            return null;
+        }
+        return game;
+    }
+
+    /**
+     * Team block of a schedule game: id, abbrev, logo and score
+     */
+    private static Team readScheduleTeam(JsonReader reader) throws IOException {
+        Team team = new Team();
+        team.setAbreviatedName("");
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    team.setTeamID(reader.nextInt());
+                    break;
+                case "abbrev":
+                    team.setAbreviatedName(reader.nextString());
+                    break;
+                case "logo":
+                    team.setLogoUrl(nextStringOrNull(reader));
+                    break;
+                case "score":
+                    team.setGoalsFor(reader.nextInt());
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return team;
+    }
+
+    /**
+     * Team block of a boxscore: adds shots on goal and the common name
+     */
+    private static Team readBoxscoreTeam(JsonReader reader) throws IOException {
+        Team team = new Team();
+        team.setAbreviatedName("");
+        team.setGoalsFor(0);
+        team.setShotsOnGoal(0);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    team.setTeamID(reader.nextInt());
+                    break;
+                case "abbrev":
+                    team.setAbreviatedName(reader.nextString());
+                    break;
+                case "logo":
+                    team.setLogoUrl(nextStringOrNull(reader));
+                    break;
+                case "score":
+                    team.setGoalsFor(nextIntOr(reader, 0));
+                    break;
+                case "sog":
+                    team.setShotsOnGoal(nextIntOr(reader, 0));
+                    break;
+                case "commonName":
+                    team.setFullName(readLocalizedName(reader));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return team;
+    }
+
+    private static void readPlayerByGameStats(JsonReader reader, Game game) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String side = reader.nextName();
+            if ("awayTeam".equals(side)) {
+                IntObjectMap<NHLPlayer> players = readTeamPlayers(reader);
+                if (game.getAwayTeam() != null) {
+                    game.getAwayTeam().setTeamRoster(players);
+                }
+            } else if ("homeTeam".equals(side)) {
+                IntObjectMap<NHLPlayer> players = readTeamPlayers(reader);
+                if (game.getHomeTeam() != null) {
+                    game.getHomeTeam().setTeamRoster(players);
+                }
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private static IntObjectMap<NHLPlayer> readTeamPlayers(JsonReader reader) throws IOException {
+        IntObjectMap<NHLPlayer> players = new IntObjectMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String group = reader.nextName();
+            if (("forwards".equals(group) || "defense".equals(group) || "goalies".equals(group))
+                    && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    NHLPlayer player = readBoxscorePlayer(reader);
+                    if (player.getPlayerId() > 0) {
+                        players.put(player.getPlayerId(), player);
+                    }
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return players;
+    }
+
+    /**
+     * One skater or goalie line from playerByGameStats
+     */
+    private static NHLPlayer readBoxscorePlayer(JsonReader reader) throws IOException {
+        NHLPlayer player = new NHLPlayer();
+        int shotsAgainst = -1;
+        int shots = -1;
+        int sa = -1;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "playerId":
+                    player.setPlayerId(nextIntOr(reader, -1));
+                    break;
+                case "sweaterNumber":
+                    player.setJerseyNumber(nextIntOr(reader, 0));
+                    break;
+                case "name":
+                    player.setName(readLocalizedName(reader));
+                    break;
+                case "position":
+                    String position = nextStringOrNull(reader);
+                    player.setPosition(position != null ? position : "");
+                    break;
+                case "goals":
+                    player.setGoals(nextIntOr(reader, 0));
+                    break;
+                case "assists":
+                    player.setAssists(nextIntOr(reader, 0));
+                    break;
+                case "points":
+                    player.setPoints(nextIntOr(reader, 0));
+                    break;
+                case "plusMinus":
+                    player.setPlusMinus(nextIntOr(reader, 0));
+                    break;
+                case "pim":
+                    player.setPenaltyMinutes(nextIntOr(reader, 0));
+                    break;
+                case "hits":
+                    player.setHits(nextIntOr(reader, 0));
+                    break;
+                case "powerPlayGoals":
+                    player.setPowerplayGoals(nextIntOr(reader, 0));
+                    break;
+                case "sog":
+                    player.setShotsOnGoal(nextIntOr(reader, 0));
+                    break;
+                case "toi":
+                    player.setTimeOnIce(readTimeOnIce(reader));
+                    break;
+                case "blockedShots":
+                    player.setBlocks(nextIntOr(reader, 0));
+                    break;
+                case "giveaways":
+                    player.setGiveaways(nextIntOr(reader, 0));
+                    break;
+                case "takeaways":
+                    player.setTakeaways(nextIntOr(reader, 0));
+                    break;
+                case "shifts":
+                    player.setShifts(nextIntOr(reader, 0));
+                    break;
+                case "faceoffWinningPctg":
+                    player.setFaceoffWinPercentage(nextDoubleOr(reader, 0.0));
+                    break;
+                case "saves":
+                    player.setSaves(nextIntOr(reader, 0));
+                    break;
+                case "shotsAgainst":
+                    shotsAgainst = nextIntOr(reader, -1);
+                    break;
+                case "shots":
+                    shots = nextIntOr(reader, -1);
+                    break;
+                case "sa":
+                    sa = nextIntOr(reader, -1);
+                    break;
+                case "goalsAgainst":
+                    player.setGoalsAgainst(nextIntOr(reader, 0));
+                    break;
+                case "savePctg":
+                    player.setSavePercentage(nextDoubleOr(reader, 0.0));
+                    break;
+                case "evenStrengthGoalsAgainst":
+                    player.setEvenStrengthGoalsAgainst(nextIntOr(reader, 0));
+                    break;
+                case "powerPlayGoalsAgainst":
+                    player.setPowerPlayGoalsAgainst(nextIntOr(reader, 0));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        // Goalie lines have used all three names for shots against
+        if (shotsAgainst >= 0) {
+            player.setTotalShots(shotsAgainst);
+        } else if (shots >= 0) {
+            player.setTotalShots(shots);
+        } else if (sa >= 0) {
+            player.setTotalShots(sa);
+        } else {
+            player.setTotalShots(0);
+        }
+        return player;
+    }
+
+    /**
+     * Read { "default": "..." } style names, or a bare string
+     */
+    private static String readLocalizedName(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.STRING) {
+            return reader.nextString();
+        }
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return "";
+        }
+
+        String name = "";
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("default".equals(reader.nextName())) {
+                name = reader.nextString();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return name;
+    }
+
+    /**
+     * TOI is "MM:SS" in boxscores but some feeds send plain seconds
+     */
+    private static int readTimeOnIce(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NUMBER) {
+            return reader.nextInt();
+        }
+        if (reader.peek() == JsonToken.STRING) {
+            return parseTimeOnIceToSeconds(reader.nextString());
+        }
+        reader.skipValue();
+        return 0;
+    }
+
+    /**
+     * Convert "12:34" or "1:23:45" to seconds
+     */
+    public static int parseTimeOnIceToSeconds(String timeString) {
+        if (timeString == null || timeString.trim().isEmpty()) {
+            return 0;
+        }
+
+        try {
+            String[] parts = timeString.split(":");
+            if (parts.length == 2) {
+                return Integer.parseInt(parts[0]) * 60 + Integer.parseInt(parts[1]);
+            } else if (parts.length == 3) {
+                return Integer.parseInt(parts[0]) * 3600 + Integer.parseInt(parts[1]) * 60 + Integer.parseInt(parts[2]);
+            }
+            return Integer.parseInt(timeString);
+        } catch (NumberFormatException e) {
+            Log.w(TAG, "Failed to parse time on ice: " + timeString);
+            return 0;
+        }
+    }
+
+    private static String nextStringOrNull(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
+
+    /** nextInt, or fallback for a JSON null like optInt gave */
+    private static int nextIntOr(JsonReader reader, int fallback) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return fallback;
+        }
+        return reader.nextInt();
+    }
+
+    /** nextDouble, or fallback for a JSON null like optDouble gave */
+    private static double nextDoubleOr(JsonReader reader, double fallback) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return fallback;
+        }
+        return reader.nextDouble();
+    }
+}
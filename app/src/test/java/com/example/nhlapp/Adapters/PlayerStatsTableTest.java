@@ -0,0 +1,99 @@
+package com.example.nhlapp.Adapters;
+
+import com.example.nhlapp.Objects.NHLPlayer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Precomputed column orders against the per-tap Comparator sort they replace.
+ */
+public class PlayerStatsTableTest {
+
+    private static List<NHLPlayer> buildSkaters(int count) {
+        List<NHLPlayer> players = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            NHLPlayer player = new NHLPlayer();
+            player.setPlayerId(8470000 + i);
+            player.setName((char) ('a' + (i * 7) % 26) + "name" + i);
+            player.setPosition(i % 3 == 0 ? "C" : "L");
+            player.setGoals(i % 3);
+            player.setAssists((i * 5) % 4);
+            player.setPoints(i % 3 + (i * 5) % 4);
+            player.setHits((i * 11) % 6);
+            player.setTimeOnIce(600 + (i * 37) % 900);
+            players.add(player);
+        }
+        return players;
+    }
+
+    private static int[] idsInOrder(PlayerStatsTable table, int[] order) {
+        int[] ids = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            ids[i] = table.players[order[i]].getPlayerId();
+        }
+        return ids;
+    }
+
+    private static int[] ids(List<NHLPlayer> players) {
+        int[] ids = new int[players.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = players.get(i).getPlayerId();
+        }
+        return ids;
+    }
+
+    @Test
+    public void ascendingOrdersMatchAStableSort() {
+        List<NHLPlayer> roster = buildSkaters(20);
+        PlayerStatsTable table = new PlayerStatsTable(roster);
+
+        List<NHLPlayer> byGoals = new ArrayList<>(roster);
+        Collections.sort(byGoals, Comparator.comparingInt(NHLPlayer::getGoals));
+        assertArrayEquals(ids(byGoals), idsInOrder(table, table.order(PlayerStatsTable.Column.GOALS, true)));
+
+        List<NHLPlayer> byToi = new ArrayList<>(roster);
+        Collections.sort(byToi, (a, b) -> Float.compare(a.getTimeOnIce(), b.getTimeOnIce()));
+        assertArrayEquals(ids(byToi), idsInOrder(table, table.order(PlayerStatsTable.Column.TOI, true)));
+
+        List<NHLPlayer> byName = new ArrayList<>(roster);
+        Collections.sort(byName, (a, b) -> a.getName().compareToIgnoreCase(b.getName()));
+        assertArrayEquals(ids(byName), idsInOrder(table, table.order(PlayerStatsTable.Column.NAME, true)));
+    }
+
+    @Test
+    public void descendingKeepsTiesInRosterOrder() {
+        List<NHLPlayer> roster = buildSkaters(18);
+        PlayerStatsTable table = new PlayerStatsTable(roster);
+
+        List<NHLPlayer> byHits = new ArrayList<>(roster);
+        Collections.sort(byHits, Comparator.comparingInt(NHLPlayer::getHits).reversed());
+        assertArrayEquals(ids(byHits), idsInOrder(table, table.order(PlayerStatsTable.Column.HITS, false)));
+
+        List<NHLPlayer> byPosition = new ArrayList<>(roster);
+        Collections.sort(byPosition, (a, b) -> b.getPosition().compareToIgnoreCase(a.getPosition()));
+        assertArrayEquals(ids(byPosition), idsInOrder(table, table.order(PlayerStatsTable.Column.POSITION, false)));
+    }
+
+    @Test
+    public void resortingReturnsTheSameArrays() {
+        PlayerStatsTable table = new PlayerStatsTable(buildSkaters(12));
+        // Flipping between columns picks prebuilt orders, nothing is sorted again
+        assertSame(table.order(PlayerStatsTable.Column.POINTS, true), table.order(PlayerStatsTable.Column.POINTS, true));
+        assertSame(table.order(PlayerStatsTable.Column.POINTS, false), table.order(PlayerStatsTable.Column.POINTS, false));
+    }
+
+    @Test
+    public void unknownLabelsSortByName() {
+        assertSame(PlayerStatsTable.Column.NAME, PlayerStatsTable.Column.forLabel("Decision"));
+        assertSame(PlayerStatsTable.Column.SAVE_PCTG, PlayerStatsTable.Column.forLabel("Sv%"));
+        assertSame(PlayerStatsTable.Column.SHOTS, PlayerStatsTable.Column.forLabel("S"));
+    }
+}
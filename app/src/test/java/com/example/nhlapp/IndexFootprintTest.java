@@ -0,0 +1,147 @@
+package com.example.nhlapp;
+
+import com.example.nhlapp.Objects.Game;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Layout of the DataManager indexes for a full season. GameDateIndex and
+ * IntObjectMap keep ids in int arrays, so there are no Integer boxes or
+ * per-entry objects for the heap to grow by. These tests pin that layout down
+ * with sizes and field types, not heap measurements.
+ */
+public class IndexFootprintTest {
+    private static final int GAME_COUNT = 1312;
+    private static final int GAMES_PER_DAY = 8;
+
+    private static List<Game> buildGames() {
+        List<Game> games = new ArrayList<>(GAME_COUNT);
+        for (int i = 0; i < GAME_COUNT; i++) {
+            Game game = new Game();
+            game.setGameId(2024020001 + i);
+            // About eight games a day over a 164 day season
+            game.setGameDate(java.time.LocalDate.of(2024, 10, 8).plusDays(i / GAMES_PER_DAY).toString());
+            games.add(game);
+        }
+        return games;
+    }
+
+    @Test
+    public void dateIndexHoldsOneIdArrayPerDay() {
+        List<Game> games = buildGames();
+        GameDateIndex index = GameDateIndex.build(games);
+
+        assertEquals(GAME_COUNT / GAMES_PER_DAY, index.size());
+        int total = 0;
+        for (int i = 0; i < index.size(); i++) {
+            if (i > 0) {
+                assertTrue(index.dayAt(i - 1) < index.dayAt(i));
+            }
+            // Exactly sized, no spare slots left over from the merge
+            assertEquals(GAMES_PER_DAY, index.gameIdsAt(i).length);
+            total += index.gameIdsAt(i).length;
+        }
+        assertEquals(GAME_COUNT, total);
+        assertArrayEquals(new int[]{2024020001, 2024020002, 2024020003, 2024020004,
+                        2024020005, 2024020006, 2024020007, 2024020008},
+                index.gameIdsOn(GameDateIndex.toEpochDay("2024-10-08")));
+    }
+
+    @Test
+    public void rescheduledGameLeavesItsOldDay() {
+        int oldDay = GameDateIndex.toEpochDay("2024-10-08");
+        int newDay = GameDateIndex.toEpochDay("2024-10-10");
+        GameDateIndex index = GameDateIndex.EMPTY.withGames(
+                new int[]{oldDay, oldDay}, new int[]{2024020001, 2024020002}, 2);
+
+        index = index.withGames(new int[]{newDay}, new int[]{2024020001}, 1);
+        assertArrayEquals(new int[]{2024020002}, index.gameIdsOn(oldDay));
+        assertArrayEquals(new int[]{2024020001}, index.gameIdsOn(newDay));
+
+        // Moving the last game off a day drops the day
+        index = index.withGames(new int[]{newDay}, new int[]{2024020002}, 1);
+        assertEquals(1, index.size());
+        assertEquals(-1, index.indexOf(oldDay));
+    }
+
+    @Test
+    public void presizedGameMapNeverRehashes() {
+        List<Game> games = buildGames();
+        IntObjectMap<Game> gamesById = new IntObjectMap<>(GAME_COUNT);
+        int capacity = gamesById.capacity();
+
+        for (Game game : games) {
+            gamesById.put(game.getGameId(), game);
+        }
+
+        assertEquals(capacity, gamesById.capacity());
+        assertEquals(GAME_COUNT, gamesById.size());
+        assertEquals(GAME_COUNT, gamesById.keys().length);
+        assertSame(games.get(100), gamesById.get(games.get(100).getGameId()));
+    }
+
+    @Test
+    public void indexesHaveNoBoxedOrPerEntryFields() {
+        // Every field is a primitive or a flat array, there is nowhere to keep an Integer or an entry object
+        for (Class<?> type : new Class<?>[]{IntObjectMap.class, GameDateIndex.class}) {
+            for (Field field : type.getDeclaredFields()) {
+                // The formatted date list is a display cache built on demand
+                if (Modifier.isStatic(field.getModifiers()) || field.getType() == List.class) continue;
+                Class<?> fieldType = field.getType();
+                while (fieldType.isArray()) {
+                    fieldType = fieldType.getComponentType();
+                }
+                assertTrue(type.getSimpleName() + "." + field.getName(),
+                        fieldType.isPrimitive() || fieldType == Object.class);
+            }
+        }
+    }
+
+    @Test
+    public void intObjectMapMatchesHashMap() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        HashMap<Integer, String> expected = new HashMap<>();
+        java.util.Random random = new java.util.Random(42);
+
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(2000) - 1000;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                String value = "v" + i;
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (int key = -1000; key < 1000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    public void sharedMapPublishesCopies() {
+        SharedIntMap<Game> shared = new SharedIntMap<>();
+        Game game = new Game();
+        game.setGameId(2024020001);
+        shared.put(game.getGameId(), game);
+
+        IntObjectMap<Game> before = shared.current();
+        shared.remove(game.getGameId());
+
+        // A reader holding the old table keeps a consistent view
+        assertSame(game, before.get(2024020001));
+        assertNull(shared.get(2024020001));
+    }
+}
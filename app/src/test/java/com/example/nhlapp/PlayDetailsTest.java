@@ -0,0 +1,144 @@
+package com.example.nhlapp;
+
+import com.example.nhlapp.Objects.Play;
+import com.example.nhlapp.Objects.PlayDetails;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Typed play details for a game's worth of shots, known fields should land
+ * in their int and string slots without the HashMap&lt;String, String&gt; fallback.
+ */
+public class PlayDetailsTest {
+    private static final int PLAY_COUNT = 350;
+
+    /** The fields a shot-on-goal carries in the play-by-play feed */
+    private static String[][] shotFields(int i) {
+        return new String[][]{
+                {"xCoord", String.valueOf(i % 190 - 95)},
+                {"yCoord", String.valueOf(i % 84 - 42)},
+                {"zoneCode", i % 3 == 0 ? "O" : "D"},
+                {"shotType", i % 2 == 0 ? "wrist" : "slap"},
+                {"shootingPlayerId", String.valueOf(8470000 + i)},
+                {"goalieInNetId", String.valueOf(8480000 + i % 2)},
+                {"eventOwnerTeamId", String.valueOf(i % 2 == 0 ? 10 : 6)},
+                {"awaySOG", String.valueOf(i / 2)},
+                {"homeSOG", String.valueOf(i / 2)},
+        };
+    }
+
+    private static List<Play> buildPlays() {
+        List<Play> plays = new ArrayList<>(PLAY_COUNT);
+        for (int i = 0; i < PLAY_COUNT; i++) {
+            Play play = new Play();
+            for (String[] field : shotFields(i)) {
+                // New strings, the way the JSON reader hands them over
+                play.addToDetails(new String(field[0]), new String(field[1]));
+            }
+            plays.add(play);
+        }
+        return plays;
+    }
+
+    private static Object fallbackMap(PlayDetails details) throws Exception {
+        Field extra = PlayDetails.class.getDeclaredField("extra");
+        extra.setAccessible(true);
+        return extra.get(details);
+    }
+
+    @Test
+    public void knownFieldsLandInTypedSlots() throws Exception {
+        List<Play> plays = buildPlays();
+        String offensiveZone = null;
+        for (int i = 0; i < PLAY_COUNT; i++) {
+            PlayDetails details = plays.get(i).getDetails();
+            assertEquals(i % 190 - 95, details.getInt(PlayDetails.Key.X_COORD, Integer.MIN_VALUE));
+            assertEquals(i % 84 - 42, details.getInt(PlayDetails.Key.Y_COORD, Integer.MIN_VALUE));
+            assertEquals(8470000 + i, details.getInt(PlayDetails.Key.SHOOTING_PLAYER_ID, -1));
+            assertEquals(8480000 + i % 2, details.getInt(PlayDetails.Key.GOALIE_IN_NET_ID, -1));
+            assertEquals(i / 2, details.getInt(PlayDetails.Key.HOME_SOG, -1));
+            assertEquals(i % 2 == 0 ? "wrist" : "slap", details.getString(PlayDetails.Key.SHOT_TYPE));
+            assertEquals(shotFields(i).length, details.size());
+            // Every field has a slot, so no play should pay for the fallback map
+            assertNull(fallbackMap(details));
+
+            String zone = details.getString(PlayDetails.Key.ZONE_CODE);
+            if ("O".equals(zone)) {
+                if (offensiveZone == null) {
+                    offensiveZone = zone;
+                }
+                assertSame("zone codes should share one string", offensiveZone, zone);
+            }
+        }
+    }
+
+    @Test
+    public void shotChartReadsWithoutParsing() {
+        List<Play> plays = buildPlays();
+        int[] offensiveZoneShots = new int[2];
+        long xSum = 0;
+        for (Play play : plays) {
+            if (!play.hasDetail(PlayDetails.Key.X_COORD)) continue;
+            xSum += play.getDetailInt(PlayDetails.Key.X_COORD, 0);
+            if ("O".equals(play.getDetails().getString(PlayDetails.Key.ZONE_CODE))) {
+                offensiveZoneShots[play.getDetailInt(PlayDetails.Key.EVENT_OWNER_TEAM_ID, 0) == 10 ? 0 : 1]++;
+            }
+        }
+
+        long expectedSum = 0;
+        int expectedOffensive = 0;
+        for (int i = 0; i < PLAY_COUNT; i++) {
+            expectedSum += i % 190 - 95;
+            expectedOffensive += i % 3 == 0 ? 1 : 0;
+        }
+        assertEquals(expectedSum, xSum);
+        assertEquals(expectedOffensive, offensiveZoneShots[0] + offensiveZoneShots[1]);
+    }
+
+    @Test
+    public void stringAccessMatchesMap() {
+        Play play = new Play();
+        play.addToDetails("xCoord", "-71");
+        play.addToDetails("zoneCode", "O");
+        play.addToDetails("highlightClip", "6362848153112");
+        play.addToDetails("duration", "2.5");
+
+        assertEquals(Integer.valueOf(-71), play.getDetailInt("xCoord"));
+        assertEquals(Double.valueOf(-71), play.getDetailDouble("xCoord"));
+        assertEquals("O", play.getDetailString("zoneCode"));
+        // Unknown keys and values that don't fit their slot are kept as text
+        assertEquals("6362848153112", play.getDetailString("highlightClip"));
+        assertEquals("2.5", play.getDetailString("duration"));
+        assertFalse(play.hasDetail(PlayDetails.Key.DURATION));
+        assertNull(play.getDetailString("yCoord"));
+        assertEquals(4, play.getDetails().size());
+    }
+
+    @Test
+    public void fillMissingKeepsExistingValues() {
+        PlayDetails current = new PlayDetails();
+        current.putInt(PlayDetails.Key.X_COORD, 10);
+        current.putString(PlayDetails.Key.ZONE_CODE, " ");
+
+        PlayDetails other = new PlayDetails();
+        other.putInt(PlayDetails.Key.X_COORD, 20);
+        other.putInt(PlayDetails.Key.Y_COORD, 5);
+        other.putString(PlayDetails.Key.ZONE_CODE, "N");
+        other.put("highlightClip", "123");
+
+        current.fillMissing(other);
+        assertEquals(10, current.getInt(PlayDetails.Key.X_COORD, 0));
+        assertEquals(5, current.getInt(PlayDetails.Key.Y_COORD, 0));
+        assertEquals("N", current.getString(PlayDetails.Key.ZONE_CODE));
+        assertEquals("123", current.get("highlightClip"));
+    }
+}
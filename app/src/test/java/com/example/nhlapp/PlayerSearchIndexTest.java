@@ -0,0 +1,112 @@
+package com.example.nhlapp;
+
+import com.example.nhlapp.Objects.NHLPlayer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Index lookups against the linear contains() filter PlayersActivity used before.
+ */
+public class PlayerSearchIndexTest {
+
+    private static List<NHLPlayer> players(String... names) {
+        List<NHLPlayer> players = new ArrayList<>(names.length);
+        for (int i = 0; i < names.length; i++) {
+            NHLPlayer player = new NHLPlayer();
+            player.setPlayerId(8470000 + i);
+            player.setName(names[i]);
+            players.add(player);
+        }
+        return players;
+    }
+
+    private static List<String> names(PlayerSearchIndex.Result result) {
+        List<String> names = new ArrayList<>(result.size());
+        for (int i = 0; i < result.size(); i++) {
+            names.add(result.get(i).getName());
+        }
+        return names;
+    }
+
+    @Test
+    public void prefixMatchesRankAheadOfMatchesInsideAName() {
+        PlayerSearchIndex index = new PlayerSearchIndex(players(
+                "Ivan Provorov", "Alex Ovechkin", "Artemi Panarin", "Nikita Kucherov"));
+
+        assertEquals(Arrays.asList("Alex Ovechkin", "Ivan Provorov", "Nikita Kucherov"),
+                names(index.search("ov")));
+    }
+
+    @Test
+    public void accentsAndCaseAreFolded() {
+        PlayerSearchIndex index = new PlayerSearchIndex(players("Tim Stützle", "Pierre-Luc Dubois"));
+
+        assertEquals(Arrays.asList("Tim Stützle"), names(index.search("STUTZ")));
+        assertEquals(Arrays.asList("Tim Stützle"), names(index.search("stü")));
+        assertEquals(Arrays.asList("Pierre-Luc Dubois"), names(index.search("luc dub")));
+    }
+
+    @Test
+    public void everyQueryTokenHasToMatch() {
+        PlayerSearchIndex index = new PlayerSearchIndex(players(
+                "Sidney Crosby", "Sidney Crosby Jr", "Brady Tkachuk", "Matthew Tkachuk"));
+
+        assertEquals(Arrays.asList("Matthew Tkachuk"), names(index.search("tkachuk mat")));
+        assertEquals(Arrays.asList("Sidney Crosby", "Sidney Crosby Jr"), names(index.search("sid cros")));
+    }
+
+    @Test
+    public void blankQueryReturnsEveryPlayerInOrder() {
+        List<NHLPlayer> players = players("Connor McDavid", "Leon Draisaitl", "Zach Hyman");
+        PlayerSearchIndex index = new PlayerSearchIndex(players);
+
+        assertEquals(Arrays.asList("Connor McDavid", "Leon Draisaitl", "Zach Hyman"), names(index.search("  ")));
+    }
+
+    @Test
+    public void sameMatchesAsTheLinearFilter() {
+        String[] first = {"Alex", "Ivan", "Nikita", "Sam", "Tage", "Jack", "Quinn", "Elias"};
+        String[] last = {"Ovechkin", "Provorov", "Kucherov", "Reinhart", "Thompson", "Hughes", "Pettersson", "Lindholm"};
+        List<String> all = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            all.add(first[i % first.length] + " " + last[(i * 3) % last.length] + i);
+        }
+        PlayerSearchIndex index = new PlayerSearchIndex(players(all.toArray(new String[0])));
+
+        for (String query : new String[]{"ov", "son", "i", "hugh", "rov1", "x", "e"}) {
+            List<String> expected = new ArrayList<>();
+            for (String name : all) {
+                if (name.toLowerCase().contains(query)) {
+                    expected.add(name);
+                }
+            }
+            List<String> actual = names(index.search(query));
+            assertEquals(query, expected.size(), actual.size());
+            assertTrue(query, actual.containsAll(expected));
+        }
+    }
+
+    @Test
+    public void pagesAreReadFromTheRankedResult() {
+        List<String> all = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            all.add("Player Number" + i);
+        }
+        PlayerSearchIndex.Result result = new PlayerSearchIndex(players(all.toArray(new String[0]))).search("player");
+        List<NHLPlayer> page = new ArrayList<>();
+
+        assertEquals(3, result.pageCount(25));
+        result.fillPage(2, 25, page);
+        assertEquals(10, page.size());
+        assertEquals("Player Number50", page.get(0).getName());
+        result.fillPage(0, 25, page);
+        assertEquals(25, page.size());
+    }
+}